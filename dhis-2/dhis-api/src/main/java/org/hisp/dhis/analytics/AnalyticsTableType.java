@@ -40,11 +40,11 @@ public enum AnalyticsTableType {
   ORG_UNIT_TARGET("analytics_orgunittarget", false, false),
   VALIDATION_RESULT("analytics_validationresult", true, false),
   EVENT("analytics_event", false, true),
-  ENROLLMENT("analytics_enrollment", false, false),
+  ENROLLMENT("analytics_enrollment", false, true),
   OWNERSHIP("analytics_ownership", false, false),
   TRACKED_ENTITY_INSTANCE_EVENTS("analytics_te_event", false, true),
   TRACKED_ENTITY_INSTANCE_ENROLLMENTS("analytics_te_enrollment", false, false),
-  TRACKED_ENTITY_INSTANCE("analytics_te", false, false);
+  TRACKED_ENTITY_INSTANCE("analytics_te", false, true);
 
   private final String tableName;
 
@@ -35,6 +35,13 @@ import java.util.List;
 public interface AuditService {
   long addAudit(Audit audit);
 
+  /**
+   * Saves the given audits in a single batch.
+   *
+   * @param audits the list of {@link Audit}.
+   */
+  void addAudits(List<Audit> audits);
+
   int countAudits(AuditQuery query);
 
   List<Audit> getAudits(AuditQuery query);
@@ -88,6 +88,21 @@ public interface CacheBuilder<V> {
    */
   CacheBuilder<V> expireAfterWrite(long duration, TimeUnit timeUnit);
 
+  /**
+   * Configure the cache instance to reload a value in the background once it is older than the
+   * given duration while still serving the current value. This requires an expiry longer than the
+   * refresh duration. Only one reload per key runs at a time.
+   *
+   * <p>The reload runs on a different thread and does not have access to the caller's transaction
+   * or security context, so it should only be used with self-contained mapping functions.
+   *
+   * @param duration The duration
+   * @param timeUnit The time unit of the duration
+   * @return The builder instance.
+   * @throws IllegalArgumentException if specified timeUnit is null.
+   */
+  CacheBuilder<V> refreshAheadAfter(long duration, TimeUnit timeUnit);
+
   /**
    * Configure the cache instance to have a default value if the key does not have an associated
    * value in cache. The default value will not be stored in the cache.
@@ -162,6 +177,13 @@ public interface CacheBuilder<V> {
    */
   long getExpiryInSeconds();
 
+  /**
+   * Getter for refreshAheadInSeconds
+   *
+   * @return the refreshAheadInSeconds value set in the builder, 0 if refresh-ahead is disabled
+   */
+  long getRefreshAheadInSeconds();
+
   /**
    * Getter for defaultvalue
    *
@@ -52,8 +52,6 @@ public interface CacheProvider {
 
   <V> Cache<V> createAllConstantsCache();
 
-  <V> Cache<V> createInUserOrgUnitHierarchyCache();
-
   <V> Cache<V> createInUserSearchOrgUnitHierarchyCache();
 
   <V> Cache<V> createPeriodIdCache();
@@ -115,4 +113,6 @@ public interface CacheProvider {
   <V> Cache<V> createDataIntegrityDetailsCache();
 
   <V> Cache<V> createQueryAliasCache();
+
+  <V> Cache<V> createTrackerPageCountCache();
 }
@@ -40,15 +40,31 @@ import org.cache2k.Cache2kBuilder;
  * Local cache implementation of {@link Cache}. This implementation is backed by Caffeine library
  * which uses an in memory Map implementation.
  *
+ * <p>Values computed by {@link #get(String, Function)} are loaded at most once per key at a time,
+ * concurrent callers wait for the load in progress. With {@link
+ * CacheBuilder#refreshAheadAfter(long, java.util.concurrent.TimeUnit)} a value that is due for
+ * refresh is still served while it is reloaded in the background.
+ *
  * @author Ameen Mohamed
  */
 public class LocalCache<V> implements Cache<V> {
   private static final String VALUE_CANNOT_BE_NULL = "Value cannot be null";
 
-  private final org.cache2k.Cache<String, V> cache2kInstance;
+  /** A cached value along with the time it was put into the cache. */
+  private record Loaded<V>(V value, long loadedAt) {
+    Loaded(V value) {
+      this(value, currentTimeMillis());
+    }
+  }
+
+  private final org.cache2k.Cache<String, Loaded<V>> cache2kInstance;
 
   private final V defaultValue;
 
+  private final long refreshAheadInMillis;
+
+  private final SingleFlight<V> loads = new SingleFlight<>();
+
   /**
    * Constructor to instantiate LocalCache object.
    *
@@ -71,18 +87,25 @@ public class LocalCache<V> implements Cache<V> {
     }
 
     // Using unknown typed key for builder and casting it
-    this.cache2kInstance = (org.cache2k.Cache<String, V>) builder.build();
+    this.cache2kInstance = (org.cache2k.Cache<String, Loaded<V>>) builder.build();
     this.defaultValue = cacheBuilder.getDefaultValue();
+    long refreshAhead = cacheBuilder.getRefreshAheadInSeconds();
+    this.refreshAheadInMillis =
+        refreshAhead > 0
+                && (!cacheBuilder.isExpiryEnabled()
+                    || refreshAhead < cacheBuilder.getExpiryInSeconds())
+            ? SECONDS.toMillis(refreshAhead)
+            : 0L;
   }
 
   @Override
   public Optional<V> getIfPresent(String key) {
-    return Optional.ofNullable(cache2kInstance.get(key));
+    return Optional.ofNullable(peek(key));
   }
 
   @Override
   public Optional<V> get(String key) {
-    return Optional.ofNullable(Optional.ofNullable(cache2kInstance.get(key)).orElse(defaultValue));
+    return Optional.ofNullable(Optional.ofNullable(peek(key)).orElse(defaultValue));
   }
 
   @Override
@@ -91,22 +114,49 @@ public class LocalCache<V> implements Cache<V> {
       throw new IllegalArgumentException("MappingFunction cannot be null");
     }
 
-    V value = cache2kInstance.get(key);
-
-    if (value == null) {
-      value = mappingFunction.apply(key);
+    Loaded<V> loaded = cache2kInstance.get(key);
+    V value;
 
-      if (value != null) {
-        cache2kInstance.put(key, value);
+    if (loaded == null) {
+      value = loads.load(key, () -> load(key, mappingFunction));
+    } else {
+      value = loaded.value();
+      if (isDueForRefresh(loaded)) {
+        loads.loadInBackground(key, () -> reload(key, mappingFunction));
       }
     }
 
     return Optional.ofNullable(value).orElse(defaultValue);
   }
 
+  private V load(String key, Function<String, V> mappingFunction) {
+    // another thread might have completed loading the key just before this one started
+    V value = peek(key);
+    return value != null ? value : reload(key, mappingFunction);
+  }
+
+  private V reload(String key, Function<String, V> mappingFunction) {
+    V value = mappingFunction.apply(key);
+
+    if (value != null) {
+      cache2kInstance.put(key, new Loaded<>(value));
+    }
+    return value;
+  }
+
+  private boolean isDueForRefresh(Loaded<V> loaded) {
+    return refreshAheadInMillis > 0
+        && currentTimeMillis() - loaded.loadedAt() >= refreshAheadInMillis;
+  }
+
+  private V peek(String key) {
+    Loaded<V> loaded = cache2kInstance.get(key);
+    return loaded == null ? null : loaded.value();
+  }
+
   @Override
   public Stream<V> getAll() {
-    return cache2kInstance.asMap().values().stream();
+    return cache2kInstance.asMap().values().stream().map(Loaded::value);
   }
 
   @Override
@@ -119,7 +169,7 @@ public class LocalCache<V> implements Cache<V> {
     if (null == value) {
       throw new IllegalArgumentException(VALUE_CANNOT_BE_NULL);
     }
-    cache2kInstance.put(key, value);
+    cache2kInstance.put(key, new Loaded<>(value));
   }
 
   @Override
@@ -127,7 +177,9 @@ public class LocalCache<V> implements Cache<V> {
     hasText(key, VALUE_CANNOT_BE_NULL);
     cache2kInstance.invoke(
         key,
-        e -> e.setValue(value).setExpiryTime(currentTimeMillis() + SECONDS.toMillis(ttlInSeconds)));
+        e ->
+            e.setValue(new Loaded<>(value))
+                .setExpiryTime(currentTimeMillis() + SECONDS.toMillis(ttlInSeconds)));
   }
 
   @Override
@@ -135,7 +187,7 @@ public class LocalCache<V> implements Cache<V> {
     if (null == value) {
       throw new IllegalArgumentException(VALUE_CANNOT_BE_NULL);
     }
-    return cache2kInstance.putIfAbsent(key, value);
+    return cache2kInstance.putIfAbsent(key, new Loaded<>(value));
   }
 
   @Override
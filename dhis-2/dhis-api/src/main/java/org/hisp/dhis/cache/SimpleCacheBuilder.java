@@ -49,6 +49,8 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
 
   private long expiryInSeconds;
 
+  private long refreshAheadInSeconds;
+
   private V defaultValue;
 
   private boolean expiryEnabled;
@@ -61,6 +63,7 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
     this.region = "default";
     this.refreshExpiryOnAccess = false;
     this.expiryInSeconds = 0;
+    this.refreshAheadInSeconds = 0;
     this.defaultValue = null;
     this.expiryEnabled = false;
     this.disabled = false;
@@ -111,6 +114,14 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
     return this;
   }
 
+  public CacheBuilder<V> refreshAheadAfter(long duration, TimeUnit timeUnit) {
+    if (timeUnit == null) {
+      throw new IllegalArgumentException("TimeUnit cannot be null");
+    }
+    this.refreshAheadInSeconds = timeUnit.toSeconds(duration);
+    return this;
+  }
+
   public CacheBuilder<V> withDefaultValue(V defaultValue) {
     this.defaultValue = defaultValue;
     return this;
@@ -166,6 +177,10 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V> {
     return expiryInSeconds;
   }
 
+  public long getRefreshAheadInSeconds() {
+    return refreshAheadInSeconds;
+  }
+
   public V getDefaultValue() {
     return defaultValue;
   }
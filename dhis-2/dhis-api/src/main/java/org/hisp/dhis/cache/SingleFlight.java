@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coordinates the loading of cache values so that there is at most one load per key in progress at
+ * any time. Concurrent callers for the same key wait for the result of the load in progress instead
+ * of computing the value themselves.
+ *
+ * @param <V> the type of the loaded values
+ */
+@Slf4j
+public final class SingleFlight<V> {
+
+  private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Runs the loader for the key unless a load for the key is already in progress in which case the
+   * result of that load is awaited and returned.
+   *
+   * @param key the key to load
+   * @param loader computes the value, only called when no other load is in progress
+   * @return the loaded value, possibly null
+   */
+  public V load(String key, Supplier<V> loader) {
+    CompletableFuture<V> own = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+    if (running != null) {
+      return await(running);
+    }
+    try {
+      V value = loader.get();
+      own.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      own.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  /**
+   * Runs the loader for the key in the background unless a load for the key is already in progress.
+   * Failures are logged, the caller never waits.
+   *
+   * @param key the key to load
+   * @param loader computes the value
+   * @return true, if a background load was started, false if a load was already in progress
+   */
+  public boolean loadInBackground(String key, Supplier<V> loader) {
+    CompletableFuture<V> own = new CompletableFuture<>();
+    if (inFlight.putIfAbsent(key, own) != null) {
+      return false;
+    }
+    CompletableFuture.runAsync(
+        () -> {
+          try {
+            own.complete(loader.get());
+          } catch (RuntimeException ex) {
+            log.warn("Background reload of cache key " + key + " failed", ex);
+            own.completeExceptionally(ex);
+          } finally {
+            inFlight.remove(key, own);
+          }
+        });
+    return true;
+  }
+
+  private static <V> V await(CompletableFuture<V> running) {
+    try {
+      return running.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException rex) throw rex;
+      if (ex.getCause() instanceof Error err) throw err;
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common;
+
+import java.util.List;
+
+/**
+ * Writes a {@link Grid} to an output as its rows are produced instead of after the complete grid
+ * has been built.
+ *
+ * <p>The writer is called with {@link #writeStart(Grid)} once, then with {@link #writeRow(List)}
+ * for each row and finally with {@link #writeEnd(Grid)}. Write failures are thrown as {@link
+ * java.io.UncheckedIOException} so that the writer can be used from row callbacks.
+ */
+public interface GridStreamWriter {
+
+  /**
+   * Writes everything that precedes the rows.
+   *
+   * @param grid the grid with headers and meta-data but without rows
+   */
+  void writeStart(Grid grid);
+
+  /**
+   * Writes a single row.
+   *
+   * @param row the row values in order of the headers passed to {@link #writeStart(Grid)}
+   */
+  void writeRow(List<Object> row);
+
+  /**
+   * Writes everything that follows the rows.
+   *
+   * @param grid the grid holding state collected while producing the rows, like references
+   */
+  void writeEnd(Grid grid);
+}
@@ -66,5 +66,7 @@ public enum Region {
   securityCache,
   dataIntegritySummaryCache,
   dataIntegrityDetailsCache,
-  queryAliasCache
+  queryAliasCache,
+  trackerPageCountCache,
+  trackerPreheatCache
 }
@@ -58,6 +58,23 @@ public interface DataAnalysisStore {
       OrganisationUnit orgUnit,
       Date from);
 
+  /**
+   * Calculates the average and standard deviation of the data values of the given data elements and
+   * organisation unit in a single query and inserts the resulting generated min-max values directly
+   * into the min-max table. Existing min-max values must be removed up front.
+   *
+   * @param dataElements the numeric data elements.
+   * @param orgUnit the organisation unit.
+   * @param from the from date for which to include data values.
+   * @param stdDevFactor the number of standard deviations from the average.
+   * @return the number of min-max values inserted.
+   */
+  int generateMinMaxValues(
+      Collection<DataElement> dataElements,
+      OrganisationUnit orgUnit,
+      Date from,
+      double stdDevFactor);
+
   /**
    * Generates a collection of data value violations of min-max predefined values.
    *
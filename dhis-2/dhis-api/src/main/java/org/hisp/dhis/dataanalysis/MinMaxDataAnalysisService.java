@@ -30,6 +30,7 @@ package org.hisp.dhis.dataanalysis;
 import java.util.Collection;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.scheduling.JobProgress;
 
 public interface MinMaxDataAnalysisService extends DataAnalysisService {
   /**
@@ -39,6 +40,23 @@ public interface MinMaxDataAnalysisService extends DataAnalysisService {
    * @param dataElements the data elements.
    * @param stdDevFactor the std dev factor.
    */
+  default void generateMinMaxValues(
+      OrganisationUnit parent, Collection<DataElement> dataElements, Double stdDevFactor) {
+    generateMinMaxValues(parent, dataElements, stdDevFactor, JobProgress.noop());
+  }
+
+  /**
+   * Generate min-max values. Existing values are removed first, then the values are generated
+   * set-based for chunks of data elements which are processed in parallel.
+   *
+   * @param parent the parent organisation unit.
+   * @param dataElements the data elements.
+   * @param stdDevFactor the std dev factor.
+   * @param progress to track progress.
+   */
   void generateMinMaxValues(
-      OrganisationUnit parent, Collection<DataElement> dataElements, Double stdDevFactor);
+      OrganisationUnit parent,
+      Collection<DataElement> dataElements,
+      Double stdDevFactor,
+      JobProgress progress);
 }
@@ -34,6 +34,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -96,6 +97,18 @@ public final class DataIntegrityCheck implements Serializable {
 
   private final transient Function<DataIntegrityCheck, DataIntegrityDetails> runDetailsCheck;
 
+  /**
+   * Optional {@link Function} that returns the time of the latest change to the objects inspected
+   * by the check. When present, a persisted result finished after that time is still valid and the
+   * check does not need to run again.
+   */
+  private final transient Function<DataIntegrityCheck, Date> runLastUpdatedCheck;
+
+  @JsonProperty
+  public boolean isIncremental() {
+    return runLastUpdatedCheck != null;
+  }
+
   public DataIntegrityCheck addExecution(long time) {
     executionCount++;
     executionTime += time;
@@ -27,6 +27,11 @@
  */
 package org.hisp.dhis.dataintegrity;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Database support for running data integrity checks.
  *
@@ -52,4 +57,52 @@ public interface DataIntegrityStore {
    * @return the mapped details
    */
   DataIntegrityDetails queryDetails(DataIntegrityCheck check, String sql);
+
+  /**
+   * Runs a query for the time of the latest change to the objects inspected by a check.
+   *
+   * @param sql the native SQL to run from a YAML declaration
+   * @return the time of the latest change, or null if there are no objects
+   */
+  Date queryLastUpdated(String sql);
+
+  /**
+   * Persists a {@link DataIntegritySummary}, replacing any previous summary of the same check.
+   *
+   * @param summary the summary to save
+   */
+  void saveSummary(DataIntegritySummary summary);
+
+  /**
+   * Persists a {@link DataIntegrityDetails}, replacing any previous details of the same check.
+   *
+   * @param details the details to save
+   */
+  void saveDetails(DataIntegrityDetails details);
+
+  /**
+   * Returns the persisted summaries of the given checks.
+   *
+   * @param checks the checks to get summaries for
+   * @return the summaries by check name, checks without summary are not included
+   */
+  Map<String, DataIntegritySummary> getSummaries(Collection<DataIntegrityCheck> checks);
+
+  /**
+   * Returns the persisted details of the given checks.
+   *
+   * @param checks the checks to get details for
+   * @return the details by check name, checks without details are not included
+   */
+  Map<String, DataIntegrityDetails> getDetails(Collection<DataIntegrityCheck> checks);
+
+  /**
+   * @return the names of the checks which have a persisted summary
+   */
+  Set<String> getSummaryNames();
+
+  /**
+   * @return the names of the checks which have persisted details
+   */
+  Set<String> getDetailsNames();
 }
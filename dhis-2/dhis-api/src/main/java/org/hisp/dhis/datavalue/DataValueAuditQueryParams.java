@@ -28,6 +28,7 @@
 package org.hisp.dhis.datavalue;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import lombok.Data;
 import lombok.experimental.Accessors;
@@ -58,6 +59,12 @@ public class DataValueAuditQueryParams {
 
   private List<AuditOperationType> auditTypes = new ArrayList<>();
 
+  /** Include audits created on or after this date. */
+  private Date startDate;
+
+  /** Include audits created before this date. */
+  private Date endDate;
+
   private Pager pager;
 
   public boolean hasPaging() {
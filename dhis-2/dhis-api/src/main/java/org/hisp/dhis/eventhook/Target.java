@@ -67,4 +67,12 @@ public abstract class Target implements Serializable {
   }
 
   @JsonProperty protected final String type;
+
+  /**
+   * @return the identifier of the client connecting to the target, which stays the same when other
+   *     properties of the target are changed
+   */
+  public abstract String getClientId();
+
+  public abstract Target setClientId(String clientId);
 }
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.maintenance;
 
+import java.util.List;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -53,6 +54,15 @@ public interface MaintenanceService {
    */
   int deleteSoftDeletedDataValues();
 
+  /**
+   * Permanently deletes at most the given number of soft deleted data values in a single
+   * transaction.
+   *
+   * @param limit the max number of data values to delete.
+   * @return the number of deleted data values.
+   */
+  int deleteSoftDeletedDataValues(int limit);
+
   /**
    * Permanently deletes events which have been soft-deleted, i.e. events where the deleted property
    * is true.
@@ -61,6 +71,24 @@ public interface MaintenanceService {
    */
   int deleteSoftDeletedEvents();
 
+  /**
+   * Returns the identifiers of soft deleted events with an identifier greater than the given one,
+   * in ascending order.
+   *
+   * @param afterId the identifier to start after, use 0 to start from the beginning.
+   * @param limit the max number of identifiers to return.
+   * @return a list of event identifiers.
+   */
+  List<Long> getSoftDeletedEventIds(long afterId, int limit);
+
+  /**
+   * Permanently deletes the soft deleted events with the given identifiers in a single transaction.
+   *
+   * @param eventIds the event identifiers.
+   * @return the number of deleted events.
+   */
+  int deleteSoftDeletedEvents(List<Long> eventIds);
+
   /**
    * Permanently deletes relationships which have been soft deleted, i.e. relationships where the
    * deleted property is true.
@@ -77,6 +105,25 @@ public interface MaintenanceService {
    */
   int deleteSoftDeletedEnrollments();
 
+  /**
+   * Returns the identifiers of soft deleted Enrollments with an identifier greater than the given
+   * one, in ascending order.
+   *
+   * @param afterId the identifier to start after, use 0 to start from the beginning.
+   * @param limit the max number of identifiers to return.
+   * @return a list of Enrollment identifiers.
+   */
+  List<Long> getSoftDeletedEnrollmentIds(long afterId, int limit);
+
+  /**
+   * Permanently deletes the soft deleted Enrollments with the given identifiers, including their
+   * events, in a single transaction.
+   *
+   * @param enrollmentIds the Enrollment identifiers.
+   * @return the number of deleted Enrollments.
+   */
+  int deleteSoftDeletedEnrollments(List<Long> enrollmentIds);
+
   /**
    * Permanently deletes tracked entities which have been soft deleted, i.e. tracked entities where
    * the deleted property is true.
@@ -49,6 +49,14 @@ public interface MaintenanceStore {
    */
   int deleteSoftDeletedDataValues();
 
+  /**
+   * Permanently deletes at most the given number of soft deleted data values.
+   *
+   * @param limit the max number of data values to delete.
+   * @return the number of deleted data values.
+   */
+  int deleteSoftDeletedDataValues(int limit);
+
   /**
    * Permanently deletes events which have been soft-deleted, i.e. events where the deleted property
    * is true.
@@ -57,6 +65,24 @@ public interface MaintenanceStore {
    */
   int deleteSoftDeletedEvents();
 
+  /**
+   * Returns the identifiers of soft deleted events with an identifier greater than the given one,
+   * in ascending order.
+   *
+   * @param afterId the identifier to start after, use 0 to start from the beginning.
+   * @param limit the max number of identifiers to return.
+   * @return a list of event identifiers.
+   */
+  List<Long> getSoftDeletedEventIds(long afterId, int limit);
+
+  /**
+   * Permanently deletes the soft deleted events with the given identifiers.
+   *
+   * @param eventIds the event identifiers.
+   * @return the number of deleted events
+   */
+  int deleteSoftDeletedEvents(List<Long> eventIds);
+
   int hardDeleteEvents(List<String> eventsToDelete, String eventSelect, String eventDeleteQuery);
 
   /**
@@ -75,6 +101,25 @@ public interface MaintenanceStore {
    */
   int deleteSoftDeletedEnrollments();
 
+  /**
+   * Returns the identifiers of soft deleted Enrollments with an identifier greater than the given
+   * one, in ascending order.
+   *
+   * @param afterId the identifier to start after, use 0 to start from the beginning.
+   * @param limit the max number of identifiers to return.
+   * @return a list of Enrollment identifiers.
+   */
+  List<Long> getSoftDeletedEnrollmentIds(long afterId, int limit);
+
+  /**
+   * Permanently deletes the soft deleted Enrollments with the given identifiers, including their
+   * events.
+   *
+   * @param enrollmentIds the Enrollment identifiers.
+   * @return the number of deleted Enrollments
+   */
+  int deleteSoftDeletedEnrollments(List<Long> enrollmentIds);
+
   /**
    * Permanently deletes tracked entities which have been soft deleted, i.e. tracked entities where
    * the deleted property is true.
@@ -341,9 +341,8 @@ public interface OrganisationUnitService extends OrganisationUnitDataIntegrityPr
       double longitude, double latitude, String topOrgUnitUid, Integer targetLevel);
 
   /**
-   * Equal to {@link OrganisationUnitService#isInUserHierarchy(User, OrganisationUnit)} except adds
-   * a caching layer on top. Use this method when performance is imperative and the risk of a stale
-   * result is tolerable.
+   * Equal to {@link OrganisationUnitService#isInUserHierarchy(User, OrganisationUnit)}, which uses
+   * the in-memory hierarchy index and needs no additional caching.
    *
    * @param user the user to check for.
    * @param organisationUnit the organisation unit.
@@ -389,6 +388,18 @@ public interface OrganisationUnitService extends OrganisationUnitDataIntegrityPr
   @Deprecated(forRemoval = true)
   boolean isInUserSearchHierarchy(User user, OrganisationUnit organisationUnit);
 
+  /**
+   * Indicates whether the given organisation unit is equal to or a descendant of any of the
+   * organisation units with the given UIDs. The check uses the in-memory hierarchy index and does
+   * not access the database.
+   *
+   * @param organisationUnit the organisation unit.
+   * @param ancestorUids the UIDs of the ancestor organisation units, like the ones of {@link
+   *     org.hisp.dhis.user.UserDetails#getUserOrgUnitIds()}.
+   * @return true if the organisation unit is part of the hierarchy of any of the ancestors.
+   */
+  boolean isInHierarchy(OrganisationUnit organisationUnit, Set<String> ancestorUids);
+
   // -------------------------------------------------------------------------
   // OrganisationUnitLevel
   // -------------------------------------------------------------------------
@@ -118,6 +118,12 @@ public class ProgramIndicator extends BaseDataDimensionalItemObject implements M
 
   private ObjectStyle style;
 
+  /**
+   * Whether values should be computed once per row when populating the analytics tables instead of
+   * being evaluated at query time.
+   */
+  private boolean materialized;
+
   // -------------------------------------------------------------------------
   // Constructors
   // -------------------------------------------------------------------------
@@ -199,6 +205,23 @@ public class ProgramIndicator extends BaseDataDimensionalItemObject implements M
         || ANALYTICS_VARIABLE_PATTERN.matcher(StringUtils.defaultIfBlank(this.filter, "")).find();
   }
 
+  /**
+   * Indicates whether the value of the program indicator for a single event or enrollment does not
+   * depend on the reporting period, which means it can be computed once and stored in the analytics
+   * tables. This is not the case when the expression or filter refers to the analytics period, or
+   * when an enrollment program indicator restricts the events it reads by event boundaries.
+   *
+   * @return true if the program indicator value is independent of the reporting period.
+   */
+  public boolean isPeriodIndependent() {
+    if (hasAnalyticsVariables()) {
+      return false;
+    }
+
+    return analyticsType != AnalyticsType.ENROLLMENT
+        || (!hasEventBoundary() && !hasEventDateCohortBoundary());
+  }
+
   /**
    * Indicates whether the program indicator includes event boundaries, to be applied if the program
    * indicator queries event data.
@@ -418,6 +441,16 @@ public class ProgramIndicator extends BaseDataDimensionalItemObject implements M
     this.orgUnitField = orgUnitField;
   }
 
+  @JsonProperty
+  @JacksonXmlProperty(namespace = DxfNamespaces.DXF_2_0)
+  public boolean isMaterialized() {
+    return materialized;
+  }
+
+  public void setMaterialized(boolean materialized) {
+    this.materialized = materialized;
+  }
+
   public static ProgramIndicator copyOf(
       ProgramIndicator original, Program program, Map<String, String> copyOptions) {
     ProgramIndicator copy = new ProgramIndicator();
@@ -441,6 +474,7 @@ public class ProgramIndicator extends BaseDataDimensionalItemObject implements M
     copy.setFilter(original.getFilter());
     copy.setFormName(original.getFormName());
     copy.setGroups(new HashSet<>());
+    copy.setMaterialized(original.isMaterialized());
     copy.setName(prefix + original.getName());
     copy.setOrgUnitField(original.getOrgUnitField());
     copy.setPublicAccess(original.getPublicAccess());
@@ -60,10 +60,12 @@ import org.hisp.dhis.scheduling.parameters.GeoJsonImportJobParams;
 import org.hisp.dhis.scheduling.parameters.HtmlPushAnalyticsJobParameters;
 import org.hisp.dhis.scheduling.parameters.LockExceptionCleanupJobParameters;
 import org.hisp.dhis.scheduling.parameters.MetadataSyncJobParameters;
+import org.hisp.dhis.scheduling.parameters.MinMaxValueGenerationJobParameters;
 import org.hisp.dhis.scheduling.parameters.MonitoringJobParameters;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
 import org.hisp.dhis.scheduling.parameters.PushAnalysisJobParameters;
 import org.hisp.dhis.scheduling.parameters.SmsJobParameters;
+import org.hisp.dhis.scheduling.parameters.SoftDeletedDataRemovalJobParameters;
 import org.hisp.dhis.scheduling.parameters.SqlViewUpdateParameters;
 import org.hisp.dhis.scheduling.parameters.TestJobParameters;
 import org.hisp.dhis.scheduling.parameters.TrackerTrigramIndexJobParameters;
@@ -303,6 +305,12 @@ public class JobConfiguration extends BaseIdentifiableObject implements Secondar
         @JsonSubTypes.Type(
             value = LockExceptionCleanupJobParameters.class,
             name = "LOCK_EXCEPTION_CLEANUP"),
+        @JsonSubTypes.Type(
+            value = SoftDeletedDataRemovalJobParameters.class,
+            name = "SOFT_DELETED_DATA_REMOVAL"),
+        @JsonSubTypes.Type(
+            value = MinMaxValueGenerationJobParameters.class,
+            name = "MIN_MAX_VALUE_GENERATION"),
         @JsonSubTypes.Type(value = TestJobParameters.class, name = "TEST"),
         @JsonSubTypes.Type(
             value = ImportOptions.class,
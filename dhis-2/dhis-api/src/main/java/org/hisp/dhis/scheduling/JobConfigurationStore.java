@@ -185,7 +185,23 @@ public interface JobConfigurationStore extends GenericDimensionalObjectStore<Job
    * @param jobId of the job to switch to {@link JobStatus#RUNNING} state
    * @return true, if update was successful, otherwise false
    */
-  boolean tryStart(@Nonnull String jobId);
+  default boolean tryStart(@Nonnull String jobId) {
+    return tryStart(jobId, 1);
+  }
+
+  /**
+   * Same as {@link #tryStart(String)} but allows up to the given number of jobs of the same {@link
+   * JobType} to be {@link JobStatus#RUNNING} at the same time (including the started one).
+   *
+   * <p>The claim is safe to attempt from multiple nodes concurrently: a job row locked by another
+   * node's claim is skipped, and claims for the same type are serialized so the limit holds
+   * cluster-wide.
+   *
+   * @param jobId of the job to switch to {@link JobStatus#RUNNING} state
+   * @param maxRunningOfType max number of running jobs of the job's type
+   * @return true, if update was successful, otherwise false
+   */
+  boolean tryStart(@Nonnull String jobId, int maxRunningOfType);
 
   /**
    * If the job is already in {@link JobStatus#RUNNING} it is marked as cancelled. The effect takes
@@ -50,12 +50,14 @@ import org.hisp.dhis.scheduling.parameters.GeoJsonImportJobParams;
 import org.hisp.dhis.scheduling.parameters.HtmlPushAnalyticsJobParameters;
 import org.hisp.dhis.scheduling.parameters.LockExceptionCleanupJobParameters;
 import org.hisp.dhis.scheduling.parameters.MetadataSyncJobParameters;
+import org.hisp.dhis.scheduling.parameters.MinMaxValueGenerationJobParameters;
 import org.hisp.dhis.scheduling.parameters.MockJobParameters;
 import org.hisp.dhis.scheduling.parameters.MonitoringJobParameters;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
 import org.hisp.dhis.scheduling.parameters.PushAnalysisJobParameters;
 import org.hisp.dhis.scheduling.parameters.SmsInboundProcessingJobParameters;
 import org.hisp.dhis.scheduling.parameters.SmsJobParameters;
+import org.hisp.dhis.scheduling.parameters.SoftDeletedDataRemovalJobParameters;
 import org.hisp.dhis.scheduling.parameters.SqlViewUpdateParameters;
 import org.hisp.dhis.scheduling.parameters.TestJobParameters;
 import org.hisp.dhis.scheduling.parameters.TrackerTrigramIndexJobParameters;
@@ -90,6 +92,8 @@ public enum JobType {
   DISABLE_INACTIVE_USERS(DisableInactiveUsersJobParameters.class),
   TEST(TestJobParameters.class),
   LOCK_EXCEPTION_CLEANUP(LockExceptionCleanupJobParameters.class),
+  SOFT_DELETED_DATA_REMOVAL(SoftDeletedDataRemovalJobParameters.class),
+  MIN_MAX_VALUE_GENERATION(MinMaxValueGenerationJobParameters.class),
 
   /*
   Programmatically used Jobs
@@ -120,6 +124,7 @@ public enum JobType {
   VALIDATION_RESULTS_NOTIFICATION(daily7am("Js3vHn2AVuG", "Validation result notification")),
   REMOVE_USED_OR_EXPIRED_RESERVED_VALUES(
       daily2am("uwWCT2BMmlq", "Remove expired or used reserved values")),
+  AUDIT_TABLE_PARTITIONING(daily2am("Rk3eW8pTq1m", "Audit table partitioning")),
   SYSTEM_VERSION_UPDATE_CHECK(
       dailyRandomBetween3and5("vt21671bgno", "System version update check notification"));
 
@@ -276,6 +281,8 @@ public enum JobType {
           Map.of(
               "predictors", "/api/predictors",
               "predictorGroups", "/api/predictorGroups");
+      case MIN_MAX_VALUE_GENERATION ->
+          Map.of("organisationUnit", "/api/organisationUnits", "dataSets", "/api/dataSets");
       case HTML_PUSH_ANALYTICS ->
           Map.of("dashboard", "/api/dashboards", "receivers", "/api/userGroups");
       default -> Map.of();
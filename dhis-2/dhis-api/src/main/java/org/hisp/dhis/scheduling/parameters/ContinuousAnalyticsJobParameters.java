@@ -49,6 +49,13 @@ public class ContinuousAnalyticsJobParameters implements JobParameters {
   /** The number of last years of data to include in the full analytics table update. */
   @JsonProperty private Integer lastYears;
 
+  /**
+   * The number of last months of data to include in the full analytics table update, takes
+   * precedence over last years. Applies at month or quarter level when the analytics table is
+   * partitioned by month or quarter.
+   */
+  @JsonProperty private Integer lastMonths;
+
   /** The types of analytics tables for which to skip update. */
   @JsonProperty private Set<AnalyticsTableType> skipTableTypes = new HashSet<>();
 
@@ -45,8 +45,21 @@ public class DataSynchronizationJobParameters implements JobParameters {
 
   public static final int PAGE_SIZE_MAX = 30000;
 
+  static final int PAGES_IN_FLIGHT_MIN = 1;
+
+  static final int PAGES_IN_FLIGHT_MAX = 16;
+
   @JsonProperty private int pageSize = 10000;
 
+  /**
+   * Whether data values are synchronized with keyset paging and gzip compressed request bodies,
+   * sending several pages concurrently and resuming from the last acknowledged page.
+   */
+  @JsonProperty private boolean pipelined = false;
+
+  /** Maximum number of pages sent concurrently when pipelined. */
+  @JsonProperty private int pagesInFlight = 4;
+
   @Override
   public Optional<ErrorReport> validate() {
     if (pageSize < PAGE_SIZE_MIN || pageSize > PAGE_SIZE_MAX) {
@@ -55,6 +68,17 @@ public class DataSynchronizationJobParameters implements JobParameters {
               getClass(), ErrorCode.E4008, "pageSize", PAGE_SIZE_MIN, PAGE_SIZE_MAX, pageSize));
     }
 
+    if (pagesInFlight < PAGES_IN_FLIGHT_MIN || pagesInFlight > PAGES_IN_FLIGHT_MAX) {
+      return Optional.of(
+          new ErrorReport(
+              getClass(),
+              ErrorCode.E4008,
+              "pagesInFlight",
+              PAGES_IN_FLIGHT_MIN,
+              PAGES_IN_FLIGHT_MAX,
+              pagesInFlight));
+    }
+
     return Optional.empty();
   }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.scheduling.parameters;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.Setter;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.feedback.ErrorReport;
+import org.hisp.dhis.scheduling.JobParameters;
+
+@Getter
+@Setter
+public class SoftDeletedDataRemovalJobParameters implements JobParameters {
+  /** Max number of rows permanently deleted in a single transaction. */
+  @JsonProperty private int chunkSize = 1000;
+
+  /** Pause in milliseconds between two chunks to give way to other database load. */
+  @JsonProperty private int pauseMillis = 0;
+
+  @JsonProperty private boolean enrollments = true;
+
+  @JsonProperty private boolean events = true;
+
+  @JsonProperty private boolean dataValues = true;
+
+  @Override
+  public Optional<ErrorReport> validate() {
+    if (chunkSize < 1 || chunkSize > 100_000) {
+      return Optional.of(
+          new ErrorReport(getClass(), ErrorCode.E4008, "chunkSize", 1, 100_000, chunkSize));
+    }
+    if (pauseMillis < 0 || pauseMillis > 60_000) {
+      return Optional.of(
+          new ErrorReport(getClass(), ErrorCode.E4008, "pauseMillis", 0, 60_000, pauseMillis));
+    }
+    return Optional.empty();
+  }
+}
@@ -353,6 +353,14 @@ public non-sealed interface SystemSettings extends Settings {
     return asDate("keyLastSuccessfulDataSynch", new Date(0L));
   }
 
+  /**
+   * @return the keyset position of the last data value page acknowledged by the remote server
+   *     during an unfinished pipelined data value synchronization, or blank if there is none
+   */
+  default String getDataSynchCheckpoint() {
+    return asString("keyDataSynchCheckpoint", "");
+  }
+
   default Date getLastSuccessfulEventsDataSynch() {
     return asDate("keyLastSuccessfulEventsDataSynch", new Date(0L));
   }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Tests the single-flight loading and refresh-ahead of the {@link LocalCache}. */
+class LocalCacheTest {
+
+  @Test
+  void testGet_ConcurrentCallersLoadOnce() throws Exception {
+    Cache<String> cache = new SimpleCacheBuilder<String>().expireAfterWrite(1, MINUTES).build();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      results.add(
+          pool.submit(
+              () ->
+                  cache.get(
+                      "key",
+                      key -> {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        await(release);
+                        return "value";
+                      })));
+      loading.await();
+      for (int i = 0; i < 7; i++) {
+        results.add(
+            pool.submit(
+                () ->
+                    cache.get(
+                        "key",
+                        key -> {
+                          loads.incrementAndGet();
+                          return "other";
+                        })));
+      }
+      release.countDown();
+      for (Future<String> result : results) {
+        assertEquals("value", result.get(5, SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGet_LoadFailureIsNotCached() {
+    Cache<String> cache = new SimpleCacheBuilder<String>().build();
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.get(
+                "key",
+                key -> {
+                  throw new IllegalStateException();
+                }));
+    assertEquals("value", cache.get("key", key -> "value"));
+  }
+
+  @Test
+  void testGet_RefreshAheadServesStaleValue() throws Exception {
+    Cache<String> cache =
+        new SimpleCacheBuilder<String>()
+            .expireAfterWrite(1, MINUTES)
+            .refreshAheadAfter(0, SECONDS)
+            .build();
+    cache.put("key", "old");
+    // refresh-ahead of 0 is disabled
+    assertEquals("old", cache.get("key", key -> "new"));
+
+    Cache<String> refreshing =
+        new SimpleCacheBuilder<String>()
+            .expireAfterWrite(1, MINUTES)
+            .refreshAheadAfter(1, SECONDS)
+            .build();
+    refreshing.put("key", "old");
+    Thread.sleep(1_100);
+    CountDownLatch reloaded = new CountDownLatch(1);
+    assertEquals(
+        "old",
+        refreshing.get(
+            "key",
+            key -> {
+              reloaded.countDown();
+              return "new";
+            }));
+    assertTrue(reloaded.await(5, SECONDS));
+    long waitUntil = System.currentTimeMillis() + 5_000;
+    while (!"new".equals(refreshing.getIfPresent("key").orElse(null))
+        && System.currentTimeMillis() < waitUntil) {
+      Thread.sleep(10);
+    }
+    assertEquals("new", refreshing.getIfPresent("key").orElse(null));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
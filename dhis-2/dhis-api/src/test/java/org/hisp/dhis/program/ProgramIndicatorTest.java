@@ -57,6 +57,33 @@ class ProgramIndicatorTest {
     assertTrue(pi.hasFilter());
   }
 
+  @Test
+  void testIsPeriodIndependent() {
+    ProgramIndicator pi = new ProgramIndicator();
+    pi.setAnalyticsType(AnalyticsType.EVENT);
+    pi.setExpression("#{A03MvHHogjR.a3kGcGDCuk6}");
+    pi.setAnalyticsPeriodBoundaries(
+        Set.of(
+            new AnalyticsPeriodBoundary(
+                AnalyticsPeriodBoundary.EVENT_DATE,
+                AnalyticsPeriodBoundaryType.BEFORE_END_OF_REPORTING_PERIOD)));
+    assertTrue(pi.isPeriodIndependent());
+
+    pi.setFilter("V{event_date} < V{analytics_period_end}");
+    assertFalse(pi.isPeriodIndependent());
+
+    pi.setFilter(null);
+    pi.setAnalyticsType(AnalyticsType.ENROLLMENT);
+    assertFalse(pi.isPeriodIndependent());
+
+    pi.setAnalyticsPeriodBoundaries(
+        Set.of(
+            new AnalyticsPeriodBoundary(
+                AnalyticsPeriodBoundary.ENROLLMENT_DATE,
+                AnalyticsPeriodBoundaryType.BEFORE_END_OF_REPORTING_PERIOD)));
+    assertTrue(pi.isPeriodIndependent());
+  }
+
   @Test
   void testCopyOf() {
     Program programOriginal = getNewProgram();
@@ -70,6 +97,7 @@ class ProgramIndicatorTest {
     assertNotSame(original, copy);
 
     assertEquals(original.getDecimals(), copy.getDecimals());
+    assertEquals(original.isMaterialized(), copy.isMaterialized());
     assertEquals(DEFAULT_PREFIX + original.getName(), copy.getName());
     assertEquals(DEFAULT_PREFIX + original.getShortName(), copy.getShortName());
   }
@@ -109,6 +137,7 @@ class ProgramIndicatorTest {
     pi.setFormName("form name");
     pi.setOrgUnitField("org unit field");
     pi.setDisplayInForm(true);
+    pi.setMaterialized(true);
     pi.setAnalyticsPeriodBoundaries(Set.of());
     pi.setStyle(new ObjectStyle());
     pi.setShortName("short name");
@@ -82,6 +82,9 @@ class DataIntegrityYamlReader {
     @JsonProperty("is_slow")
     boolean isSlow;
 
+    @JsonProperty("last_updated_sql")
+    String lastUpdatedSql;
+
     @JsonProperty String introduction;
 
     @JsonProperty String recommendation;
@@ -217,6 +220,12 @@ class DataIntegrityYamlReader {
                     dataIntegrityRecord.sqlToSummary().apply(sanitiseSQL(yamlFile.summarySql)))
                 .runDetailsCheck(
                     dataIntegrityRecord.sqlToDetails().apply(sanitiseSQL(yamlFile.detailsSql)))
+                .runLastUpdatedCheck(
+                    yamlFile.lastUpdatedSql == null
+                        ? null
+                        : dataIntegrityRecord
+                            .sqlToLastUpdated()
+                            .apply(trim(yamlFile.lastUpdatedSql)))
                 .build());
   }
 
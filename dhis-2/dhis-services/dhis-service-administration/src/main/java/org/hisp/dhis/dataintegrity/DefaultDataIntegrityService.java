@@ -56,6 +56,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -82,6 +83,8 @@ import org.hisp.dhis.dataset.DataSetService;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.expression.ExpressionValidationOutcome;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.external.location.LocationManager;
 import org.hisp.dhis.external.location.LocationManagerException;
 import org.hisp.dhis.i18n.I18n;
@@ -118,6 +121,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class DefaultDataIntegrityService implements DataIntegrityService {
   private static final String FORMULA_SEPARATOR = "#";
 
+  /** Minimum time in milliseconds between lookups of persisted results while waiting. */
+  private static final long STORE_LOOKUP_INTERVAL = 1000;
+
+  /**
+   * Maximum age in milliseconds of a persisted result which is reused by an incremental check.
+   * Checks can depend on the current time, for example on the age of objects, so a result does not
+   * stay valid forever even when none of the inspected objects changed.
+   */
+  private static final long MAX_REUSED_RESULT_AGE = TimeUnit.DAYS.toMillis(1);
+
   private final I18nManager i18nManager;
 
   private final LocationManager locationManager;
@@ -150,6 +163,8 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
 
   private final SchemaService schemaService;
 
+  private final DhisConfigurationProvider dhisConfig;
+
   private Cache<DataIntegritySummary> summaryCache;
 
   private Cache<DataIntegrityDetails> detailsCache;
@@ -158,10 +173,38 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
 
   private final Set<String> runningDetailsChecks = ConcurrentHashMap.newKeySet();
 
+  private ResultType<DataIntegritySummary> summaries;
+
+  private ResultType<DataIntegrityDetails> details;
+
   @PostConstruct
   public void init() {
     summaryCache = cacheProvider.createDataIntegritySummaryCache();
     detailsCache = cacheProvider.createDataIntegrityDetailsCache();
+    summaries =
+        new ResultType<>(
+            summaryCache,
+            runningSummaryChecks,
+            check -> check.getRunSummaryCheck().apply(check),
+            (check, startTime, ex) ->
+                new DataIntegritySummary(
+                    check, startTime, new Date(), errorMessage(check, ex), -1, null),
+            dataIntegrityStore::saveSummary,
+            dataIntegrityStore::getSummaries,
+            DataIntegritySummary::getFinishedTime,
+            DataIntegritySummary::getError);
+    details =
+        new ResultType<>(
+            detailsCache,
+            runningDetailsChecks,
+            check -> check.getRunDetailsCheck().apply(check),
+            (check, startTime, ex) ->
+                new DataIntegrityDetails(
+                    check, startTime, new Date(), errorMessage(check, ex), List.of()),
+            dataIntegrityStore::saveDetails,
+            dataIntegrityStore::getDetails,
+            DataIntegrityDetails::getFinishedTime,
+            DataIntegrityDetails::getError);
   }
 
   private static int alphabeticalOrder(DataIntegrityIssue a, DataIntegrityIssue b) {
@@ -191,13 +234,19 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
   @Nonnull
   @Override
   public Set<String> getCompletedSummaryChecks() {
-    return stream(summaryCache.keys().spliterator(), false).collect(toUnmodifiableSet());
+    return Stream.concat(
+            stream(summaryCache.keys().spliterator(), false),
+            dataIntegrityStore.getSummaryNames().stream())
+        .collect(toUnmodifiableSet());
   }
 
   @Nonnull
   @Override
   public Set<String> getCompletedDetailsChecks() {
-    return stream(detailsCache.keys().spliterator(), false).collect(toUnmodifiableSet());
+    return Stream.concat(
+            stream(detailsCache.keys().spliterator(), false),
+            dataIntegrityStore.getDetailsNames().stream())
+        .collect(toUnmodifiableSet());
   }
 
   // -------------------------------------------------------------------------
@@ -637,7 +686,7 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
   @Nonnull
   @Override
   public Map<String, DataIntegritySummary> getSummaries(@Nonnull Set<String> checks, long timeout) {
-    return getCached(checks, timeout, summaryCache);
+    return getCached(checks, timeout, summaries);
   }
 
   // OBS! We intentionally do not open the transaction here to have each check
@@ -645,21 +694,13 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
   @Override
   public void runSummaryChecks(@Nonnull Set<String> checks, JobProgress progress) {
     runDataIntegrityChecks(
-        "Data Integrity summary checks",
-        expandChecks(checks, true),
-        progress,
-        summaryCache,
-        runningSummaryChecks,
-        check -> check.getRunSummaryCheck().apply(check),
-        (check, startTime, ex) ->
-            new DataIntegritySummary(
-                check, startTime, new Date(), errorMessage(check, ex), -1, null));
+        "Data Integrity summary checks", expandChecks(checks, true), progress, summaries);
   }
 
   @Nonnull
   @Override
   public Map<String, DataIntegrityDetails> getDetails(@Nonnull Set<String> checks, long timeout) {
-    return getCached(checks, timeout, detailsCache);
+    return getCached(checks, timeout, details);
   }
 
   // OBS! We intentionally do not open the transaction here to have each check
@@ -667,15 +708,7 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
   @Override
   public void runDetailsChecks(@Nonnull Set<String> checks, JobProgress progress) {
     runDataIntegrityChecks(
-        "Data Integrity details checks",
-        expandChecks(checks, true),
-        progress,
-        detailsCache,
-        runningDetailsChecks,
-        check -> check.getRunDetailsCheck().apply(check),
-        (check, startTime, ex) ->
-            new DataIntegrityDetails(
-                check, startTime, new Date(), errorMessage(check, ex), List.of()));
+        "Data Integrity details checks", expandChecks(checks, true), progress, details);
   }
 
   private static String errorMessage(DataIntegrityCheck check, RuntimeException ex) {
@@ -684,9 +717,10 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
     return message;
   }
 
-  private <T> Map<String, T> getCached(Set<String> checks, long timeout, Cache<T> cache) {
+  private <T> Map<String, T> getCached(Set<String> checks, long timeout, ResultType<T> type) {
     Set<String> names = expandChecks(checks, false);
     long giveUpTime = currentTimeMillis() + timeout;
+    long nextStoreLookupTime = 0;
     Map<String, T> resByName = new LinkedHashMap<>();
     boolean retry = false;
     do {
@@ -700,9 +734,26 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
       }
       for (String name : names) {
         if (!resByName.containsKey(name)) {
-          cache.get(name).ifPresent(res -> resByName.put(name, res));
+          type.cache().get(name).ifPresent(res -> resByName.put(name, res));
         }
       }
+      if (resByName.size() < names.size() && currentTimeMillis() >= nextStoreLookupTime) {
+        // results of runs on other nodes or before a restart are only in the database
+        List<DataIntegrityCheck> missing =
+            names.stream()
+                .filter(not(resByName::containsKey))
+                .map(checksByName::get)
+                .filter(Objects::nonNull)
+                .toList();
+        type.load()
+            .apply(missing)
+            .forEach(
+                (name, res) -> {
+                  resByName.put(name, res);
+                  type.cache().put(name, res);
+                });
+        nextStoreLookupTime = currentTimeMillis() + STORE_LOOKUP_INTERVAL;
+      }
       retry = resByName.size() < names.size() && (timeout < 0 || currentTimeMillis() < giveUpTime);
     } while (retry);
     return resByName;
@@ -713,46 +764,136 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
     T createErrorReport(DataIntegrityCheck check, Date startTime, RuntimeException ex);
   }
 
-  private <T> void runDataIntegrityChecks(
-      String stageDesc,
-      Set<String> checks,
-      JobProgress progress,
+  /**
+   * How results of one type of check run are kept, summary or details.
+   *
+   * @param cache the cache of the node local results
+   * @param running the names of the currently running checks
+   * @param runCheck runs a check
+   * @param createErrorReport creates a result for a check which failed
+   * @param save persists a result
+   * @param load loads the persisted results of checks
+   * @param finishedTime the finished time of a result
+   * @param error the error of a result
+   */
+  private record ResultType<T>(
       Cache<T> cache,
       Set<String> running,
       Function<DataIntegrityCheck, T> runCheck,
-      DataIntegrityCheckErrorHandler<T> createErrorReport) {
+      DataIntegrityCheckErrorHandler<T> createErrorReport,
+      Consumer<T> save,
+      Function<Collection<DataIntegrityCheck>, Map<String, T>> load,
+      Function<T, Date> finishedTime,
+      Function<T, String> error) {}
+
+  private <T> void runDataIntegrityChecks(
+      String stageDesc, Set<String> checks, JobProgress progress, ResultType<T> type) {
     try {
-      running.addAll(checks);
+      type.running().addAll(checks);
       progress.startingProcess("Data integrity check");
-      progress.startingStage(stageDesc, checks.size(), SKIP_ITEM);
-      progress.runStage(
+      List<DataIntegrityCheck> all =
           checks.stream()
               .map(checksByName::get)
               .filter(Objects::nonNull)
-              .sorted(DataIntegrityCheck.FAST_TO_SLOW),
-          DataIntegrityCheck::getDescription,
-          check -> {
-            Date startTime = new Date();
-            T res;
-            try {
-              res = runCheck.apply(check);
-            } catch (RuntimeException ex) {
-              cache.put(check.getName(), createErrorReport.createErrorReport(check, startTime, ex));
-              throw ex;
-            } finally {
-              running.remove(check.getName());
-            }
-            if (res != null) {
-              check.addExecution(currentTimeMillis() - startTime.getTime());
-              cache.put(check.getName(), res);
-            }
-          });
+              .sorted(DataIntegrityCheck.FAST_TO_SLOW)
+              .toList();
+      Map<String, T> persisted =
+          type.load().apply(all.stream().filter(DataIntegrityCheck::isIncremental).toList());
+      Consumer<DataIntegrityCheck> runCheck =
+          check -> runDataIntegrityCheck(check, persisted.get(check.getName()), type);
+
+      // programmatic checks load objects through Hibernate and are run one by one,
+      // SQL checks run in parallel with a lower limit for the checks known to be slow
+      runStage(
+          progress,
+          stageDesc + " (programmatic)",
+          all.stream().filter(DataIntegrityCheck::isProgrammatic).toList(),
+          1,
+          runCheck);
+      runStage(
+          progress,
+          stageDesc,
+          all.stream().filter(check -> !check.isProgrammatic() && !check.isSlow()).toList(),
+          getParallelism(ConfigurationKey.DATA_INTEGRITY_PARALLELISM),
+          runCheck);
+      runStage(
+          progress,
+          stageDesc + " (slow)",
+          all.stream().filter(check -> !check.isProgrammatic() && check.isSlow()).toList(),
+          getParallelism(ConfigurationKey.DATA_INTEGRITY_SLOW_PARALLELISM),
+          runCheck);
       progress.completedProcess(null);
     } finally {
-      running.removeAll(checks);
+      type.running().removeAll(checks);
     }
   }
 
+  private static void runStage(
+      JobProgress progress,
+      String stageDesc,
+      List<DataIntegrityCheck> checks,
+      int parallelism,
+      Consumer<DataIntegrityCheck> runCheck) {
+    if (checks.isEmpty()) {
+      return;
+    }
+    progress.startingStage(stageDesc, checks.size(), SKIP_ITEM);
+    progress.runStageInParallel(parallelism, checks, DataIntegrityCheck::getDescription, runCheck);
+  }
+
+  private <T> void runDataIntegrityCheck(
+      DataIntegrityCheck check, T persisted, ResultType<T> type) {
+    Date startTime = new Date();
+    T res;
+    try {
+      if (persisted != null && isUpToDate(check, persisted, type)) {
+        type.cache().put(check.getName(), persisted);
+        return;
+      }
+      res = type.runCheck().apply(check);
+    } catch (RuntimeException ex) {
+      T error = type.createErrorReport().createErrorReport(check, startTime, ex);
+      type.cache().put(check.getName(), error);
+      save(check, error, type);
+      throw ex;
+    } finally {
+      type.running().remove(check.getName());
+    }
+    if (res != null) {
+      check.addExecution(currentTimeMillis() - startTime.getTime());
+      type.cache().put(check.getName(), res);
+      save(check, res, type);
+    }
+  }
+
+  /**
+   * A persisted result of an incremental check is up to date when the check did not fail, finished
+   * less than {@link #MAX_REUSED_RESULT_AGE} ago and finished after the latest change to the
+   * objects inspected by the check.
+   */
+  private static <T> boolean isUpToDate(DataIntegrityCheck check, T persisted, ResultType<T> type) {
+    Date finishedTime = type.finishedTime().apply(persisted);
+    if (type.error().apply(persisted) != null
+        || finishedTime == null
+        || finishedTime.getTime() < currentTimeMillis() - MAX_REUSED_RESULT_AGE) {
+      return false;
+    }
+    Date lastUpdated = check.getRunLastUpdatedCheck().apply(check);
+    return lastUpdated != null && finishedTime.after(lastUpdated);
+  }
+
+  private static <T> void save(DataIntegrityCheck check, T res, ResultType<T> type) {
+    try {
+      type.save().accept(res);
+    } catch (RuntimeException ex) {
+      log.warn("Failed to save result of data integrity check " + check.getName(), ex);
+    }
+  }
+
+  private int getParallelism(ConfigurationKey key) {
+    return Math.max(1, Integer.parseInt(dhisConfig.getProperty(key)));
+  }
+
   private Set<String> expandChecks(Set<String> names, boolean restricted) {
     ensureConfigurationsAreLoaded();
 
@@ -839,7 +980,8 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
             (property, defaultValue) ->
                 i18n.getString(format("data_integrity.%s", property), defaultValue),
             sql -> check -> dataIntegrityStore.querySummary(check, sql),
-            sql -> check -> dataIntegrityStore.queryDetails(check, sql)));
+            sql -> check -> dataIntegrityStore.queryDetails(check, sql),
+            sql -> check -> dataIntegrityStore.queryLastUpdated(sql)));
   }
 
   /**
@@ -879,5 +1021,6 @@ public class DefaultDataIntegrityService implements DataIntegrityService {
       Consumer<DataIntegrityCheck> adder,
       BinaryOperator<String> info,
       Function<String, Function<DataIntegrityCheck, DataIntegritySummary>> sqlToSummary,
-      Function<String, Function<DataIntegrityCheck, DataIntegrityDetails>> sqlToDetails) {}
+      Function<String, Function<DataIntegrityCheck, DataIntegrityDetails>> sqlToDetails,
+      Function<String, Function<DataIntegrityCheck, Date>> sqlToLastUpdated) {}
 }
@@ -29,16 +29,31 @@ package org.hisp.dhis.dataintegrity.hibernate;
 
 import static java.util.stream.Collectors.toUnmodifiableList;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.dataintegrity.DataIntegrityCheck;
 import org.hisp.dhis.dataintegrity.DataIntegrityDetails;
 import org.hisp.dhis.dataintegrity.DataIntegrityDetails.DataIntegrityIssue;
 import org.hisp.dhis.dataintegrity.DataIntegrityStore;
 import org.hisp.dhis.dataintegrity.DataIntegritySummary;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -51,8 +66,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Repository
 @RequiredArgsConstructor
 public class HibernateDataIntegrityStore implements DataIntegrityStore {
+  private static final String TYPE_SUMMARY = "SUMMARY";
+
+  private static final String TYPE_DETAILS = "DETAILS";
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
   @PersistenceContext private final EntityManager entityManager;
 
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
   @Override
   @Transactional(readOnly = true)
   public DataIntegritySummary querySummary(DataIntegrityCheck check, String sql) {
@@ -84,6 +107,169 @@ public class HibernateDataIntegrityStore implements DataIntegrityStore {
             .collect(toUnmodifiableList()));
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Date queryLastUpdated(String sql) {
+    Object value = entityManager.createNativeQuery(sql).getResultStream().findFirst().orElse(null);
+    return value instanceof Date date ? new Date(date.getTime()) : null;
+  }
+
+  @Override
+  @Transactional
+  public void saveSummary(DataIntegritySummary summary) {
+    save(
+        getParameters(summary.getCheck(), TYPE_SUMMARY, summary.getStartTime())
+            .addValue("finishedtime", summary.getFinishedTime())
+            .addValue("error", summary.getError())
+            .addValue("count", summary.getCount())
+            .addValue("percentage", summary.getPercentage())
+            .addValue("issues", null));
+  }
+
+  @Override
+  @Transactional
+  public void saveDetails(DataIntegrityDetails details) {
+    save(
+        getParameters(details.getCheck(), TYPE_DETAILS, details.getStartTime())
+            .addValue("finishedtime", details.getFinishedTime())
+            .addValue("error", details.getError())
+            .addValue("count", details.getIssues().size())
+            .addValue("percentage", null)
+            .addValue("issues", toJson(details.getIssues())));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, DataIntegritySummary> getSummaries(Collection<DataIntegrityCheck> checks) {
+    return getResults(
+        checks,
+        TYPE_SUMMARY,
+        (check, rs) ->
+            new DataIntegritySummary(
+                check,
+                rs.getTimestamp("starttime"),
+                rs.getTimestamp("finishedtime"),
+                rs.getString("error"),
+                rs.getInt("count"),
+                rs.getObject("percentage", Double.class)));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<String, DataIntegrityDetails> getDetails(Collection<DataIntegrityCheck> checks) {
+    return getResults(
+        checks,
+        TYPE_DETAILS,
+        (check, rs) ->
+            new DataIntegrityDetails(
+                check,
+                rs.getTimestamp("starttime"),
+                rs.getTimestamp("finishedtime"),
+                rs.getString("error"),
+                fromJson(rs.getString("issues"))));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Set<String> getSummaryNames() {
+    return getNames(TYPE_SUMMARY);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Set<String> getDetailsNames() {
+    return getNames(TYPE_DETAILS);
+  }
+
+  @FunctionalInterface
+  private interface ResultMapper<T> {
+    T map(DataIntegrityCheck check, ResultSet rs) throws SQLException;
+  }
+
+  private <T> Map<String, T> getResults(
+      Collection<DataIntegrityCheck> checks, String type, ResultMapper<T> mapper) {
+    if (checks.isEmpty()) {
+      return Map.of();
+    }
+    Map<String, DataIntegrityCheck> checksByName =
+        checks.stream().collect(Collectors.toMap(DataIntegrityCheck::getName, Function.identity()));
+    String sql =
+        "select name, starttime, finishedtime, error, count, percentage, issues "
+            + "from dataintegrityresult where type = :type and name in (:names)";
+    Map<String, T> results = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        new MapSqlParameterSource("type", type).addValue("names", checksByName.keySet()),
+        rs -> {
+          String name = rs.getString("name");
+          results.put(name, mapper.map(checksByName.get(name), rs));
+        });
+    return results;
+  }
+
+  private Set<String> getNames(String type) {
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            "select name from dataintegrityresult where type = :type",
+            new MapSqlParameterSource("type", type),
+            String.class));
+  }
+
+  private static MapSqlParameterSource getParameters(
+      DataIntegrityCheck check, String type, Date startTime) {
+    return new MapSqlParameterSource("name", check.getName())
+        .addValue("type", type)
+        .addValue("starttime", new Timestamp(startTime.getTime()));
+  }
+
+  private void save(MapSqlParameterSource params) {
+    String sql =
+        "insert into dataintegrityresult "
+            + "(name, type, starttime, finishedtime, error, count, percentage, issues) "
+            + "values (:name, :type, :starttime, :finishedtime, :error, :count, :percentage, "
+            + "cast(:issues as jsonb)) "
+            + "on conflict (name, type) do update set "
+            + "starttime = excluded.starttime, finishedtime = excluded.finishedtime, "
+            + "error = excluded.error, count = excluded.count, "
+            + "percentage = excluded.percentage, issues = excluded.issues";
+    jdbcTemplate.update(sql, params);
+  }
+
+  private static String toJson(List<DataIntegrityIssue> issues) {
+    try {
+      return JSON.writeValueAsString(issues);
+    } catch (Exception ex) {
+      throw new IllegalStateException("Failed to map data integrity issues", ex);
+    }
+  }
+
+  private static List<DataIntegrityIssue> fromJson(String json) {
+    if (json == null) {
+      return List.of();
+    }
+    try {
+      List<DataIntegrityIssue> issues = new ArrayList<>();
+      for (JsonNode issue : JSON.readTree(json)) {
+        List<String> refs = null;
+        if (issue.path("refs").isArray()) {
+          refs = new ArrayList<>();
+          for (JsonNode ref : issue.get("refs")) {
+            refs.add(ref.asText());
+          }
+        }
+        issues.add(
+            new DataIntegrityIssue(
+                issue.path("id").asText(null),
+                issue.path("name").asText(null),
+                issue.path("comment").asText(null),
+                refs));
+      }
+      return issues;
+    } catch (Exception ex) {
+      throw new IllegalStateException("Failed to map data integrity issues", ex);
+    }
+  }
+
   private static String getIndex(Object[] row, int index) {
     return row.length <= index ? null : (String) row[index];
   }
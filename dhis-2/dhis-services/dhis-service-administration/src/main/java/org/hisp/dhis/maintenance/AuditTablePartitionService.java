@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.maintenance;
+
+import static java.lang.String.format;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains audit and change log tables as PostgreSQL tables range partitioned by month on their
+ * creation timestamp.
+ *
+ * <p>An existing table is converted by renaming it and attaching it as the default partition of a
+ * new partitioned table with the original name. Monthly partitions are created ahead of time from
+ * the next month onwards, so that the default partition never holds rows in the range of a new
+ * partition. A check constraint on the default partition enforces this, so rows from the next month
+ * onwards must fall into a monthly partition. Retention drops whole monthly partitions, only rows
+ * in the default partition are deleted row by row.
+ *
+ * <p>Conversion is an explicit maintenance operation and is never done by the scheduled job, as it
+ * holds an exclusive lock on the table while the primary key index and the check constraint are
+ * built over the existing rows. The scheduled job only creates and drops monthly partitions of
+ * tables which are partitioned already. If the job did not run for longer than the configured
+ * number of months ahead, inserts fail on the check constraint of the default partition. Running
+ * the job again recovers from this, as it also creates the missing partition of the current month.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditTablePartitionService {
+  /**
+   * @param name the table name.
+   * @param idColumn the identifier column.
+   * @param dateColumn the creation timestamp column used as partition key.
+   */
+  public record AuditTable(String name, String idColumn, String dateColumn) {}
+
+  public static final List<AuditTable> AUDIT_TABLES =
+      List.of(
+          new AuditTable("audit", "auditid", "createdat"),
+          new AuditTable("datavalueaudit", "datavalueauditid", "created"),
+          new AuditTable("eventchangelog", "eventchangelogid", "created"),
+          new AuditTable(
+              "trackedentitydatavalueaudit", "trackedentitydatavalueauditid", "created"));
+
+  private static final String DEFAULT_PARTITION_SUFFIX = "_default";
+
+  private static final Pattern PARTITION_SUFFIX = Pattern.compile("_y(\\d{4})m(\\d{2})$");
+
+  private static final Pattern CHECK_DATE = Pattern.compile("'(\\d{4}-\\d{2}-\\d{2})");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final DhisConfigurationProvider config;
+
+  public int getPartitionsAhead() {
+    return Integer.parseInt(config.getProperty(ConfigurationKey.AUDIT_TABLE_PARTITIONS_AHEAD));
+  }
+
+  public int getRetentionMonths() {
+    return Integer.parseInt(config.getProperty(ConfigurationKey.AUDIT_TABLE_RETENTION_MONTHS));
+  }
+
+  /**
+   * Converts the given table into a table partitioned by month. Does nothing if the table does not
+   * exist or is partitioned already. The table is locked exclusively until the conversion is
+   * committed, so this should be run in a maintenance window.
+   *
+   * @param table the {@link AuditTable}.
+   * @return true if the table was converted.
+   */
+  @Transactional
+  public boolean convertToPartitioned(AuditTable table) {
+    String kind = getTableKind(table.name());
+
+    if (!"r".equals(kind)) {
+      return false;
+    }
+
+    String name = table.name();
+    String defaultPartition = name + DEFAULT_PARTITION_SUFFIX;
+
+    jdbcTemplate.execute(format("alter table %s rename to %s", name, defaultPartition));
+    jdbcTemplate.execute(
+        format(
+            "create table %s (like %s including defaults including constraints including storage) "
+                + "partition by range (%s)",
+            name, defaultPartition, table.dateColumn()));
+
+    // The check constraint proves that the default partition holds no rows from next month
+    // onwards, so creating a monthly partition does not need to scan the default partition
+
+    jdbcTemplate.execute(
+        format(
+            "alter table %s add constraint %s check (%s < '%s')",
+            defaultPartition,
+            getCheckName(table),
+            table.dateColumn(),
+            YearMonth.now().plusMonths(1).atDay(1)));
+
+    jdbcTemplate.execute(
+        format("alter table %s attach partition %s default", name, defaultPartition));
+
+    // Existing equivalent indexes and foreign keys of the default partition are attached to the
+    // ones created on the parent table rather than being built again
+
+    List<Map<String, Object>> indexes =
+        jdbcTemplate.queryForList(
+            "select i.relname as indexname, pg_get_indexdef(ix.indexrelid) as indexdef "
+                + "from pg_index ix "
+                + "inner join pg_class i on i.oid = ix.indexrelid "
+                + "where ix.indrelid = ?::regclass and not ix.indisunique",
+            defaultPartition);
+
+    for (Map<String, Object> index : indexes) {
+      String indexName = (String) index.get("indexname");
+      String indexDef = (String) index.get("indexdef");
+      jdbcTemplate.execute(
+          indexDef.replaceFirst(
+              "^CREATE INDEX \\S+ ON (\\S+\\.)?" + defaultPartition + " ",
+              format("create index %s_p on %s ", indexName, name)));
+    }
+
+    // The primary key of a partitioned table must include the partition key
+
+    jdbcTemplate.execute(
+        format(
+            "alter table %s add primary key (%s, %s)", name, table.idColumn(), table.dateColumn()));
+
+    List<Map<String, Object>> foreignKeys =
+        jdbcTemplate.queryForList(
+            "select conname, pg_get_constraintdef(oid) as condef "
+                + "from pg_constraint "
+                + "where conrelid = ?::regclass and contype = 'f'",
+            defaultPartition);
+
+    for (Map<String, Object> foreignKey : foreignKeys) {
+      jdbcTemplate.execute(
+          format(
+              "alter table %s add constraint %s_p %s",
+              name, foreignKey.get("conname"), foreignKey.get("condef")));
+    }
+
+    log.info("Converted table '{}' into a table partitioned by month", name);
+
+    return true;
+  }
+
+  /**
+   * Creates the missing monthly partitions up to the given number of months after the current
+   * month. The partition of the current month is created as well if the check constraint of the
+   * default partition does not cover the current month, which is the case when partitions were not
+   * created in time.
+   *
+   * @param table the {@link AuditTable}.
+   * @param monthsAhead the number of months to create partitions for.
+   * @return the number of created partitions.
+   */
+  @Transactional
+  public int createPartitions(AuditTable table, int monthsAhead) {
+    if (!"p".equals(getTableKind(table.name()))) {
+      return 0;
+    }
+
+    List<String> partitions = getPartitions(table.name());
+    YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+    int created = 0;
+
+    for (YearMonth next = getFirstPartitionMonth(table);
+        !next.isAfter(last);
+        next = next.plusMonths(1)) {
+      String partition = getPartitionName(table.name(), next);
+
+      if (!partitions.contains(partition)) {
+        jdbcTemplate.execute(
+            format(
+                "create table %s partition of %s for values from ('%s') to ('%s')",
+                partition, table.name(), next.atDay(1), next.plusMonths(1).atDay(1)));
+        created++;
+      }
+    }
+
+    return created;
+  }
+
+  /**
+   * Drops the monthly partitions for months before the retention period, and deletes rows created
+   * before the retention period from the default partition.
+   *
+   * @param table the {@link AuditTable}.
+   * @param retentionMonths the number of months to keep, including the current month.
+   * @return the number of dropped partitions.
+   */
+  @Transactional
+  public int dropExpiredPartitions(AuditTable table, int retentionMonths) {
+    if (retentionMonths < 1 || !"p".equals(getTableKind(table.name()))) {
+      return 0;
+    }
+
+    YearMonth oldest = YearMonth.now().minusMonths(retentionMonths - 1L);
+    int dropped = 0;
+
+    for (String partition : getPartitions(table.name())) {
+      Matcher matcher = PARTITION_SUFFIX.matcher(partition);
+
+      if (matcher.find()
+          && YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))
+              .isBefore(oldest)) {
+        jdbcTemplate.execute(format("drop table %s", partition));
+        dropped++;
+      }
+    }
+
+    LocalDate before = oldest.atDay(1);
+    int deleted =
+        jdbcTemplate.update(
+            format(
+                "delete from %s%s where %s < ?",
+                table.name(), DEFAULT_PARTITION_SUFFIX, table.dateColumn()),
+            Date.valueOf(before));
+
+    log.info(
+        "Dropped {} partitions and deleted {} rows created before {} from table '{}'",
+        dropped,
+        deleted,
+        before,
+        table.name());
+
+    return dropped;
+  }
+
+  /**
+   * Returns the name of the monthly partition of the given table.
+   *
+   * @param table the table name.
+   * @param month the {@link YearMonth}.
+   * @return the partition name.
+   */
+  static String getPartitionName(String table, YearMonth month) {
+    return format("%s_y%04dm%02d", table, month.getYear(), month.getMonthValue());
+  }
+
+  /**
+   * Returns the first month which can get a monthly partition. That is the month of the upper bound
+   * of the check constraint of the default partition, but not earlier than the current month, or
+   * the next month if the constraint does not exist.
+   */
+  private YearMonth getFirstPartitionMonth(AuditTable table) {
+    YearMonth month = YearMonth.now();
+    List<String> definitions =
+        jdbcTemplate.queryForList(
+            "select pg_get_constraintdef(oid) from pg_constraint where conname = ?",
+            String.class,
+            getCheckName(table));
+    Matcher matcher = definitions.isEmpty() ? null : CHECK_DATE.matcher(definitions.get(0));
+
+    if (matcher == null || !matcher.find()) {
+      return month.plusMonths(1);
+    }
+
+    YearMonth bound = YearMonth.from(LocalDate.parse(matcher.group(1)));
+
+    return bound.isAfter(month) ? bound : month;
+  }
+
+  private static String getCheckName(AuditTable table) {
+    return format("%s%s_%s_check", table.name(), DEFAULT_PARTITION_SUFFIX, table.dateColumn());
+  }
+
+  /** Returns the pg_class relkind of the given table, or null if the table does not exist. */
+  private String getTableKind(String table) {
+    List<String> kinds =
+        jdbcTemplate.queryForList(
+            "select c.relkind::text from pg_class c "
+                + "where c.relname = ? and pg_table_is_visible(c.oid)",
+            String.class,
+            table);
+
+    return kinds.isEmpty() ? null : kinds.get(0);
+  }
+
+  private List<String> getPartitions(String table) {
+    return jdbcTemplate.queryForList(
+        "select c.relname from pg_inherits i "
+            + "inner join pg_class c on c.oid = i.inhrelid "
+            + "where i.inhparent = ?::regclass",
+        String.class,
+        table);
+  }
+}
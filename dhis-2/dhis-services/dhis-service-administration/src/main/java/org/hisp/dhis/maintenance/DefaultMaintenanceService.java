@@ -102,6 +102,12 @@ public class DefaultMaintenanceService implements MaintenanceService {
     return result;
   }
 
+  @Override
+  @Transactional
+  public int deleteSoftDeletedDataValues(int limit) {
+    return maintenanceStore.deleteSoftDeletedDataValues(limit);
+  }
+
   @Override
   public int deleteSoftDeletedEvents() {
     int result = maintenanceStore.deleteSoftDeletedEvents();
@@ -111,6 +117,18 @@ public class DefaultMaintenanceService implements MaintenanceService {
     return result;
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<Long> getSoftDeletedEventIds(long afterId, int limit) {
+    return maintenanceStore.getSoftDeletedEventIds(afterId, limit);
+  }
+
+  @Override
+  @Transactional
+  public int deleteSoftDeletedEvents(List<Long> eventIds) {
+    return eventIds.isEmpty() ? 0 : maintenanceStore.deleteSoftDeletedEvents(eventIds);
+  }
+
   @Override
   public int deleteSoftDeletedRelationships() {
     int result = maintenanceStore.deleteSoftDeletedRelationships();
@@ -129,6 +147,20 @@ public class DefaultMaintenanceService implements MaintenanceService {
     return result;
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<Long> getSoftDeletedEnrollmentIds(long afterId, int limit) {
+    return maintenanceStore.getSoftDeletedEnrollmentIds(afterId, limit);
+  }
+
+  @Override
+  @Transactional
+  public int deleteSoftDeletedEnrollments(List<Long> enrollmentIds) {
+    return enrollmentIds.isEmpty()
+        ? 0
+        : maintenanceStore.deleteSoftDeletedEnrollments(enrollmentIds);
+  }
+
   @Override
   public int deleteSoftDeletedTrackedEntities() {
     int result = maintenanceStore.deleteSoftDeletedTrackedEntities();
@@ -31,6 +31,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.artemis.audit.Audit;
 import org.hisp.dhis.artemis.audit.AuditManager;
@@ -90,6 +91,16 @@ public class JdbcMaintenanceStore implements MaintenanceStore {
     return jdbcTemplate.update(sql);
   }
 
+  @Override
+  public int deleteSoftDeletedDataValues(int limit) {
+    String sql =
+        "delete from datavalue dv "
+            + "where dv.ctid = any(array("
+            + "select ctid from datavalue where deleted is true limit ?));";
+
+    return jdbcTemplate.update(sql, limit);
+  }
+
   @Override
   public int deleteSoftDeletedEvents() {
     List<String> deletedEvents =
@@ -104,6 +115,31 @@ public class JdbcMaintenanceStore implements MaintenanceStore {
     return hardDeleteEvents(deletedEvents, eventSelect, "delete from event where deleted is true");
   }
 
+  @Override
+  public List<Long> getSoftDeletedEventIds(long afterId, int limit) {
+    String sql =
+        "select eventid from event where deleted is true and eventid > ? order by eventid limit ?";
+
+    return jdbcTemplate.queryForList(sql, Long.class, afterId, limit);
+  }
+
+  @Override
+  public int deleteSoftDeletedEvents(List<Long> eventIds) {
+    String idList = getIdList(eventIds);
+
+    List<String> deletedEvents =
+        getDeletionEntities("select uid from event where deleted is true and eventid in " + idList);
+
+    if (deletedEvents.isEmpty()) {
+      return 0;
+    }
+
+    return hardDeleteEvents(
+        deletedEvents,
+        "(select eventid from event where deleted is true and eventid in " + idList + ")",
+        "delete from event where deleted is true and eventid in " + idList);
+  }
+
   @Override
   public int hardDeleteEvents(List<String> eventsToDelete, String eventSelect, String eventDelete) {
     String pmSelect = "(select id from programmessage where eventid in " + eventSelect + " )";
@@ -169,8 +205,6 @@ public class JdbcMaintenanceStore implements MaintenanceStore {
 
   @Override
   public int deleteSoftDeletedEnrollments() {
-    String enrollmentSelect = "(select enrollmentid from enrollment where deleted is true)";
-
     List<String> deletedEnrollments =
         getDeletionEntities("select uid from enrollment where deleted is true");
 
@@ -178,6 +212,43 @@ public class JdbcMaintenanceStore implements MaintenanceStore {
       return 0;
     }
 
+    return hardDeleteEnrollments(
+        deletedEnrollments,
+        "(select enrollmentid from enrollment where deleted is true)",
+        "delete from enrollment where deleted is true");
+  }
+
+  @Override
+  public List<Long> getSoftDeletedEnrollmentIds(long afterId, int limit) {
+    String sql =
+        "select enrollmentid from enrollment where deleted is true and enrollmentid > ? "
+            + "order by enrollmentid limit ?";
+
+    return jdbcTemplate.queryForList(sql, Long.class, afterId, limit);
+  }
+
+  @Override
+  public int deleteSoftDeletedEnrollments(List<Long> enrollmentIds) {
+    String idList = getIdList(enrollmentIds);
+
+    List<String> deletedEnrollments =
+        getDeletionEntities(
+            "select uid from enrollment where deleted is true and enrollmentid in " + idList);
+
+    if (deletedEnrollments.isEmpty()) {
+      return 0;
+    }
+
+    return hardDeleteEnrollments(
+        deletedEnrollments,
+        "(select enrollmentid from enrollment where deleted is true and enrollmentid in "
+            + idList
+            + ")",
+        "delete from enrollment where deleted is true and enrollmentid in " + idList);
+  }
+
+  private int hardDeleteEnrollments(
+      List<String> deletedEnrollments, String enrollmentSelect, String enrollmentDelete) {
     List<String> associatedEvents =
         getDeletionEntities("select uid from event where enrollmentid in " + enrollmentSelect);
 
@@ -217,7 +288,7 @@ public class JdbcMaintenanceStore implements MaintenanceStore {
           "delete from programnotificationinstance where enrollmentid in " + enrollmentSelect,
           "delete from event where enrollmentid in " + enrollmentSelect,
           // finally delete the enrollments themselves
-          "delete from enrollment where deleted is true"
+          enrollmentDelete
         };
 
     int result = jdbcTemplate.batchUpdate(sqlStmts)[sqlStmts.length - 1];
@@ -373,6 +444,10 @@ public class JdbcMaintenanceStore implements MaintenanceStore {
     return deletedUids;
   }
 
+  private static String getIdList(List<Long> ids) {
+    return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "(", ")"));
+  }
+
   private void auditHardDeletedEntity(
       List<String> deletedEntities, Class<? extends SoftDeletableObject> entity) {
     if (deletedEntities == null || deletedEntities.isEmpty()) {
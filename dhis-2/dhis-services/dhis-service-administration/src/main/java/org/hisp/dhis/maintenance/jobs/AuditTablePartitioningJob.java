@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.maintenance.jobs;
+
+import static org.hisp.dhis.maintenance.AuditTablePartitionService.AUDIT_TABLES;
+import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
+
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.maintenance.AuditTablePartitionService;
+import org.hisp.dhis.maintenance.AuditTablePartitionService.AuditTable;
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the partitions for the upcoming months of audit and change log tables which are
+ * partitioned by month, and drops partitions which are older than the configured retention period.
+ * Tables are converted into partitioned tables by the audit table partitioning maintenance
+ * operation only, never by this job.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditTablePartitioningJob implements Job {
+  private final AuditTablePartitionService partitionService;
+
+  @Override
+  public JobType getJobType() {
+    return JobType.AUDIT_TABLE_PARTITIONING;
+  }
+
+  @Override
+  public void execute(JobConfiguration config, JobProgress progress) {
+    progress.startingProcess("Audit table partitioning");
+
+    int monthsAhead = partitionService.getPartitionsAhead();
+    int retentionMonths = partitionService.getRetentionMonths();
+
+    progress.startingStage(
+        "Creating partitions for the next " + monthsAhead + " months",
+        AUDIT_TABLES.size(),
+        SKIP_ITEM);
+    progress.runStage(
+        AUDIT_TABLES,
+        AuditTable::name,
+        table -> partitionService.createPartitions(table, monthsAhead));
+
+    if (retentionMonths > 0) {
+      progress.startingStage(
+          "Dropping partitions older than " + retentionMonths + " months",
+          AUDIT_TABLES.size(),
+          SKIP_ITEM);
+      progress.runStage(
+          AUDIT_TABLES,
+          AuditTable::name,
+          table -> partitionService.dropExpiredPartitions(table, retentionMonths));
+    }
+
+    progress.completedProcess(null);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.maintenance.jobs;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.maintenance.MaintenanceService;
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.SoftDeletedDataRemovalJobParameters;
+import org.springframework.stereotype.Component;
+
+/**
+ * Permanently deletes soft deleted enrollments, events and data values in chunks of a bounded
+ * number of rows, each chunk in its own transaction, optionally pausing between chunks.
+ *
+ * <p>Since every chunk is committed on its own and deleted rows are gone, a job that got cancelled
+ * or interrupted by a restart simply continues with the remaining rows when run again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoftDeletedDataRemovalJob implements Job {
+  private final MaintenanceService maintenanceService;
+
+  @Override
+  public JobType getJobType() {
+    return JobType.SOFT_DELETED_DATA_REMOVAL;
+  }
+
+  @Override
+  public void execute(JobConfiguration config, JobProgress progress) {
+    SoftDeletedDataRemovalJobParameters params =
+        (SoftDeletedDataRemovalJobParameters) config.getJobParameters();
+    if (params == null) params = new SoftDeletedDataRemovalJobParameters();
+    int chunkSize = params.getChunkSize();
+    int pauseMillis = params.getPauseMillis();
+
+    progress.startingProcess("Remove soft deleted data in chunks of %d", chunkSize);
+
+    if (params.isEnrollments()) {
+      deleteByIds(
+          "enrollments",
+          progress,
+          pauseMillis,
+          afterId -> maintenanceService.getSoftDeletedEnrollmentIds(afterId, chunkSize),
+          maintenanceService::deleteSoftDeletedEnrollments);
+    }
+    if (params.isEvents()) {
+      deleteByIds(
+          "events",
+          progress,
+          pauseMillis,
+          afterId -> maintenanceService.getSoftDeletedEventIds(afterId, chunkSize),
+          maintenanceService::deleteSoftDeletedEvents);
+    }
+    if (params.isDataValues()) {
+      deleteInChunks(
+          "data values",
+          progress,
+          pauseMillis,
+          () -> {
+            int deleted = maintenanceService.deleteSoftDeletedDataValues(chunkSize);
+            return deleted == 0 ? -1 : deleted;
+          });
+    }
+
+    progress.completedProcess(null);
+  }
+
+  /**
+   * Deletes chunks selected by ascending identifier. The identifier of the last row of a chunk is
+   * used as lower bound for the next chunk so that rows which could not be deleted are not selected
+   * again.
+   */
+  private void deleteByIds(
+      String name,
+      JobProgress progress,
+      int pauseMillis,
+      LongFunction<List<Long>> nextIds,
+      ToIntFunction<List<Long>> delete) {
+    long[] afterId = {0L};
+    deleteInChunks(
+        name,
+        progress,
+        pauseMillis,
+        () -> {
+          List<Long> ids = nextIds.apply(afterId[0]);
+          if (ids.isEmpty()) return -1;
+          afterId[0] = ids.get(ids.size() - 1);
+          return delete.applyAsInt(ids);
+        });
+  }
+
+  /**
+   * @param deleteChunk deletes the next chunk and returns the number of deleted rows, or -1 when
+   *     there were no more rows left to delete
+   */
+  private void deleteInChunks(
+      String name, JobProgress progress, int pauseMillis, IntSupplier deleteChunk) {
+    progress.startingStage(format("Deleting soft deleted %s", name));
+    int total = 0;
+    int chunk = 0;
+    while (!progress.isCancelled()) {
+      progress.startingWorkItem(chunk++);
+      int deleted = deleteChunk.getAsInt();
+      if (deleted < 0) {
+        progress.completedWorkItem(null);
+        break;
+      }
+      total += deleted;
+      progress.completedWorkItem("%d %s deleted", deleted, name);
+      if (!pause(pauseMillis)) break;
+    }
+    log.info("Permanently deleted soft deleted {}: {}", name, total);
+    progress.completedStage("%d %s deleted", total, name);
+  }
+
+  private static boolean pause(int millis) {
+    if (millis <= 0) return true;
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dataintegrity;
+
+import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.AdditionalAnswers.returnsSecondArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.external.location.LocationManager;
+import org.hisp.dhis.i18n.I18n;
+import org.hisp.dhis.i18n.I18nManager;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.test.cache.TestCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests how {@link DefaultDataIntegrityService} runs checks in stages and when it reuses persisted
+ * results of incremental checks.
+ */
+@ExtendWith(MockitoExtension.class)
+class DataIntegrityCheckRunTest {
+
+  private static final String PROGRAMMATIC_CHECK = "data_elements_in_data_set_not_in_form";
+
+  private static final String SQL_CHECK = "data_elements_aggregate_no_groups";
+
+  private static final String SLOW_CHECK = "data_elements_aggregate_abandoned";
+
+  @Mock private I18nManager i18nManager;
+
+  @Mock private I18n i18n;
+
+  @Mock private LocationManager locationManager;
+
+  @Mock private SchemaService schemaService;
+
+  @Mock private CacheProvider cacheProvider;
+
+  @Mock private DataIntegrityStore dataIntegrityStore;
+
+  @Mock private DhisConfigurationProvider dhisConfig;
+
+  @InjectMocks private DefaultDataIntegrityService subject;
+
+  @BeforeEach
+  void setUp() {
+    when(i18nManager.getI18n(DataIntegrityService.class)).thenReturn(i18n);
+    when(i18n.getString(anyString(), any())).then(returnsSecondArg());
+    when(cacheProvider.createDataIntegritySummaryCache()).thenReturn(new TestCache<>());
+    when(cacheProvider.createDataIntegrityDetailsCache()).thenReturn(new TestCache<>());
+    when(dhisConfig.getProperty(ConfigurationKey.DATA_INTEGRITY_PARALLELISM)).thenReturn("4");
+    when(dhisConfig.getProperty(ConfigurationKey.DATA_INTEGRITY_SLOW_PARALLELISM)).thenReturn("1");
+    subject.init();
+  }
+
+  @Test
+  void testRunSummaryChecks_StagesByCost() {
+    JobProgress progress = mock(JobProgress.class);
+
+    subject.runSummaryChecks(Set.of(PROGRAMMATIC_CHECK, SQL_CHECK, SLOW_CHECK), progress);
+
+    verify(progress).startingStage("Data Integrity summary checks (programmatic)", 1, SKIP_ITEM);
+    verify(progress)
+        .runStageInParallel(eq(1), eq(List.of(getCheck(PROGRAMMATIC_CHECK))), any(), any());
+    verify(progress).startingStage("Data Integrity summary checks", 1, SKIP_ITEM);
+    verify(progress).runStageInParallel(eq(4), eq(List.of(getCheck(SQL_CHECK))), any(), any());
+    verify(progress).startingStage("Data Integrity summary checks (slow)", 1, SKIP_ITEM);
+    verify(progress).runStageInParallel(eq(1), eq(List.of(getCheck(SLOW_CHECK))), any(), any());
+  }
+
+  @Test
+  void testRunSummaryChecks_OnlyIncrementalChecksLoadPersistedResults() {
+    subject.runSummaryChecks(Set.of(SQL_CHECK), mock(JobProgress.class));
+
+    verify(dataIntegrityStore).getSummaries(List.of());
+  }
+
+  @Test
+  void testRunSummaryChecks_ReusesUpToDateResult() {
+    DataIntegritySummary persisted = persistedSummary(hoursAgo(1), null);
+    when(dataIntegrityStore.queryLastUpdated(anyString())).thenReturn(hoursAgo(2));
+
+    subject.runSummaryChecks(Set.of(SLOW_CHECK), JobProgress.noop());
+
+    verify(dataIntegrityStore, never()).querySummary(any(), anyString());
+    verify(dataIntegrityStore, never()).saveSummary(any());
+    assertSame(persisted, subject.getSummaries(Set.of(SLOW_CHECK), 0).get(SLOW_CHECK));
+  }
+
+  @Test
+  void testRunSummaryChecks_RunsWhenObjectsChanged() {
+    persistedSummary(hoursAgo(2), null);
+    when(dataIntegrityStore.queryLastUpdated(anyString())).thenReturn(hoursAgo(1));
+    DataIntegritySummary current = mockQuerySummary();
+
+    subject.runSummaryChecks(Set.of(SLOW_CHECK), JobProgress.noop());
+
+    verify(dataIntegrityStore).saveSummary(current);
+    assertSame(current, subject.getSummaries(Set.of(SLOW_CHECK), 0).get(SLOW_CHECK));
+  }
+
+  @Test
+  void testRunSummaryChecks_RunsWhenResultIsOlderThanADay() {
+    persistedSummary(hoursAgo(25), null);
+    when(dataIntegrityStore.queryLastUpdated(anyString())).thenReturn(hoursAgo(48));
+    DataIntegritySummary current = mockQuerySummary();
+
+    subject.runSummaryChecks(Set.of(SLOW_CHECK), JobProgress.noop());
+
+    verify(dataIntegrityStore).saveSummary(current);
+  }
+
+  @Test
+  void testRunSummaryChecks_RunsWhenResultIsError() {
+    persistedSummary(hoursAgo(1), "Check failed");
+    DataIntegritySummary current = mockQuerySummary();
+
+    subject.runSummaryChecks(Set.of(SLOW_CHECK), JobProgress.noop());
+
+    verify(dataIntegrityStore, never()).queryLastUpdated(anyString());
+    verify(dataIntegrityStore).saveSummary(current);
+  }
+
+  @Test
+  void testRunSummaryChecks_SavesErrorResult() {
+    persistedSummary(hoursAgo(1), "Check failed");
+    when(dataIntegrityStore.querySummary(any(), anyString()))
+        .thenThrow(new IllegalStateException("Query failed"));
+
+    subject.runSummaryChecks(Set.of(SLOW_CHECK), JobProgress.noop());
+
+    DataIntegritySummary summary = subject.getSummaries(Set.of(SLOW_CHECK), 0).get(SLOW_CHECK);
+    assertEquals(-1, summary.getCount());
+    verify(dataIntegrityStore).saveSummary(summary);
+  }
+
+  private DataIntegrityCheck getCheck(String name) {
+    return subject.getDataIntegrityChecks(Set.of(name)).iterator().next();
+  }
+
+  private DataIntegritySummary persistedSummary(Date finishedTime, String error) {
+    DataIntegrityCheck check = getCheck(SLOW_CHECK);
+    DataIntegritySummary summary =
+        new DataIntegritySummary(
+            check, new Date(finishedTime.getTime() - 1000), finishedTime, error, 3, 1.5);
+    when(dataIntegrityStore.getSummaries(anyCollection())).thenReturn(Map.of(SLOW_CHECK, summary));
+    return summary;
+  }
+
+  private DataIntegritySummary mockQuerySummary() {
+    DataIntegritySummary summary =
+        new DataIntegritySummary(getCheck(SLOW_CHECK), new Date(), new Date(), null, 4, 2.0);
+    when(dataIntegrityStore.querySummary(any(), anyString())).thenReturn(summary);
+    return summary;
+  }
+
+  private static Date hoursAgo(int hours) {
+    return new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours));
+  }
+}
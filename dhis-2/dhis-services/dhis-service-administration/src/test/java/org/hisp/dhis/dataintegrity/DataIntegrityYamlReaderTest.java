@@ -185,6 +185,7 @@ class DataIntegrityYamlReaderTest {
                         new Date(),
                         new Date(),
                         null,
-                        List.of(new DataIntegrityIssue("id", "name", sql, List.of())))));
+                        List.of(new DataIntegrityIssue("id", "name", sql, List.of()))),
+            sql -> check -> new Date()));
   }
 }
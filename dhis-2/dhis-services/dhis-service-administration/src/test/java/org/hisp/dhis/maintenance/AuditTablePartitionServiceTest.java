@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.maintenance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.List;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.maintenance.AuditTablePartitionService.AuditTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTablePartitionServiceTest {
+  private static final AuditTable TABLE =
+      new AuditTable("eventchangelog", "eventchangelogid", "created");
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @InjectMocks private AuditTablePartitionService service;
+
+  @Test
+  void testGetPartitionName() {
+    assertEquals(
+        "eventchangelog_y2026m03",
+        AuditTablePartitionService.getPartitionName("eventchangelog", YearMonth.of(2026, 3)));
+  }
+
+  @Test
+  void testCreatePartitionsSkipsExistingPartitions() {
+    YearMonth next = YearMonth.now().plusMonths(1);
+    YearMonth afterNext = next.plusMonths(1);
+    String existing = AuditTablePartitionService.getPartitionName("eventchangelog", next);
+    String missing = AuditTablePartitionService.getPartitionName("eventchangelog", afterNext);
+
+    when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("p"));
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("eventchangelog_default", existing));
+    mockDefaultCheck(next);
+
+    assertEquals(1, service.createPartitions(TABLE, 2));
+
+    verify(jdbcTemplate)
+        .execute(
+            "create table "
+                + missing
+                + " partition of eventchangelog for values from ('"
+                + afterNext.atDay(1)
+                + "') to ('"
+                + afterNext.plusMonths(1).atDay(1)
+                + "')");
+    verify(jdbcTemplate, never()).execute(contains(existing));
+  }
+
+  @Test
+  void testCreatePartitionsCreatesMissingCurrentMonth() {
+    YearMonth month = YearMonth.now();
+    String current = AuditTablePartitionService.getPartitionName("eventchangelog", month);
+    String next =
+        AuditTablePartitionService.getPartitionName("eventchangelog", month.plusMonths(1));
+
+    when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("p"));
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("eventchangelog_default"));
+    mockDefaultCheck(month.minusMonths(4));
+
+    assertEquals(2, service.createPartitions(TABLE, 1));
+
+    verify(jdbcTemplate).execute(startsWith("create table " + current + " partition of"));
+    verify(jdbcTemplate).execute(startsWith("create table " + next + " partition of"));
+  }
+
+  @Test
+  void testCreatePartitionsWithoutDefaultCheckSkipsCurrentMonth() {
+    YearMonth month = YearMonth.now();
+    String current = AuditTablePartitionService.getPartitionName("eventchangelog", month);
+
+    when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("p"));
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("eventchangelog_default"));
+    when(jdbcTemplate.queryForList(
+            contains("pg_constraint"),
+            eq(String.class),
+            eq("eventchangelog_default_created_check")))
+        .thenReturn(List.of());
+
+    assertEquals(1, service.createPartitions(TABLE, 1));
+
+    verify(jdbcTemplate, never()).execute(contains(current));
+  }
+
+  @Test
+  void testConvertToPartitioned() {
+    when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("r"));
+
+    assertTrue(service.convertToPartitioned(TABLE));
+
+    InOrder order = inOrder(jdbcTemplate);
+    order
+        .verify(jdbcTemplate)
+        .execute("alter table eventchangelog rename to eventchangelog_default");
+    order.verify(jdbcTemplate).execute(startsWith("create table eventchangelog (like"));
+    order
+        .verify(jdbcTemplate)
+        .execute(
+            "alter table eventchangelog_default add constraint eventchangelog_default_created_check"
+                + " check (created < '"
+                + YearMonth.now().plusMonths(1).atDay(1)
+                + "')");
+    order
+        .verify(jdbcTemplate)
+        .execute("alter table eventchangelog attach partition eventchangelog_default default");
+    order
+        .verify(jdbcTemplate)
+        .execute("alter table eventchangelog add primary key (eventchangelogid, created)");
+  }
+
+  @Test
+  void testConvertToPartitionedSkipsPartitionedTable() {
+    when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), eq("eventchangelog")))
+        .thenReturn(List.of("p"));
+
+    assertFalse(service.convertToPartitioned(TABLE));
+
+    verify(jdbcTemplate, never()).execute(anyString());
+  }
+
+  private void mockDefaultCheck(YearMonth bound) {
+    when(jdbcTemplate.queryForList(
+            contains("pg_constraint"),
+            eq(String.class),
+            eq("eventchangelog_default_created_check")))
+        .thenReturn(
+            List.of(
+                "CHECK ((created < '"
+                    + bound.atDay(1)
+                    + " 00:00:00'::timestamp without time zone))"));
+  }
+}
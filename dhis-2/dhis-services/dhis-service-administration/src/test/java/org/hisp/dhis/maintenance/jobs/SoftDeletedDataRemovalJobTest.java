@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.maintenance.jobs;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.hisp.dhis.maintenance.MaintenanceService;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.SoftDeletedDataRemovalJobParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SoftDeletedDataRemovalJobTest {
+  @Mock private MaintenanceService maintenanceService;
+
+  @InjectMocks private SoftDeletedDataRemovalJob job;
+
+  private SoftDeletedDataRemovalJobParameters params;
+
+  private JobConfiguration config;
+
+  @BeforeEach
+  void setUp() {
+    params = new SoftDeletedDataRemovalJobParameters();
+    params.setChunkSize(2);
+    config = new JobConfiguration(JobType.SOFT_DELETED_DATA_REMOVAL);
+    config.setJobParameters(params);
+  }
+
+  @Test
+  void testExecute_DeletesEventsInChunksAfterLastId() {
+    params.setEnrollments(false);
+    params.setDataValues(false);
+    when(maintenanceService.getSoftDeletedEventIds(0L, 2)).thenReturn(List.of(3L, 5L));
+    when(maintenanceService.getSoftDeletedEventIds(5L, 2)).thenReturn(List.of(8L));
+    when(maintenanceService.getSoftDeletedEventIds(8L, 2)).thenReturn(List.of());
+    when(maintenanceService.deleteSoftDeletedEvents(List.of(3L, 5L))).thenReturn(2);
+    when(maintenanceService.deleteSoftDeletedEvents(List.of(8L))).thenReturn(1);
+
+    job.execute(config, JobProgress.noop());
+
+    verify(maintenanceService).deleteSoftDeletedEvents(List.of(3L, 5L));
+    verify(maintenanceService).deleteSoftDeletedEvents(List.of(8L));
+    verify(maintenanceService, never()).getSoftDeletedEnrollmentIds(anyLong(), anyInt());
+    verify(maintenanceService, never()).deleteSoftDeletedDataValues(anyInt());
+  }
+
+  @Test
+  void testExecute_DeletesDataValuesUntilNoneLeft() {
+    params.setEnrollments(false);
+    params.setEvents(false);
+    when(maintenanceService.deleteSoftDeletedDataValues(2)).thenReturn(2, 1, 0);
+
+    job.execute(config, JobProgress.noop());
+
+    verify(maintenanceService, times(3)).deleteSoftDeletedDataValues(2);
+  }
+}
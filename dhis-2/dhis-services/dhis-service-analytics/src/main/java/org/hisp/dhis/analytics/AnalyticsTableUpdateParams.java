@@ -37,6 +37,7 @@ import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.calendar.DateTimeUnit;
 import org.hisp.dhis.period.PeriodType;
@@ -57,6 +58,13 @@ public class AnalyticsTableUpdateParams {
    */
   private final Integer lastYears;
 
+  /**
+   * Number of last months for which to update tables, takes precedence over last years. Only tables
+   * partitioned by month or quarter are updated at sub-year level, other tables update the years
+   * covered by the last months.
+   */
+  private final Integer lastMonths;
+
   /** Indicates whether to skip update of resource tables. */
   private final boolean skipResourceTables;
 
@@ -119,7 +127,7 @@ public class AnalyticsTableUpdateParams {
    * are to be updated and not all partitions including the main analytics tables.
    */
   public boolean isPartialUpdate() {
-    return lastYears != null || isLatestUpdate();
+    return lastYears != null || lastMonths != null || isLatestUpdate();
   }
 
   /** Indicates whether this is an update of the "latest" partition. */
@@ -135,6 +143,7 @@ public class AnalyticsTableUpdateParams {
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("last years", lastYears)
+        .add("last months", lastMonths)
         .add("skip resource tables", skipResourceTables)
         .add("skip table types", skipTableTypes)
         .add("skip programs", skipPrograms)
@@ -145,19 +154,35 @@ public class AnalyticsTableUpdateParams {
 
   /**
    * Returns the from date based on the last years property, i.e. the first day of year relative to
-   * the last years property.
+   * the last years property. If the last months property is set, the first day of the year of the
+   * first month is returned.
    *
    * @return the from date based on the last years property.
    */
   public Date getFromDate() {
+    return getFromDate(PartitionGranularity.YEAR);
+  }
+
+  /**
+   * Returns the from date based on the last months or last years property, aligned to the start of
+   * the partition of the given granularity.
+   *
+   * @param granularity the {@link PartitionGranularity}.
+   * @return the from date based on the last months or last years property.
+   */
+  public Date getFromDate(PartitionGranularity granularity) {
     Date earliest = null;
 
-    if (lastYears != null) {
+    if (lastMonths != null || lastYears != null) {
       Calendar calendar = PeriodType.getCalendar();
       DateTimeUnit dateTimeUnit =
           today == null ? calendar.today() : DateTimeUnit.fromJdkDate(today);
-      dateTimeUnit = calendar.minusYears(dateTimeUnit, lastYears - 1);
-      dateTimeUnit.setMonth(1);
+      dateTimeUnit =
+          lastMonths != null
+              ? calendar.minusMonths(dateTimeUnit, lastMonths - 1)
+              : calendar.minusYears(dateTimeUnit, lastYears - 1);
+      int months = lastMonths != null ? granularity.getMonths() : 12;
+      dateTimeUnit.setMonth(((dateTimeUnit.getMonth() - 1) / months) * months + 1);
       dateTimeUnit.setDay(1);
 
       earliest = dateTimeUnit.toJdkDate();
@@ -176,6 +201,9 @@ public class AnalyticsTableUpdateParams {
   }
 
   public AnalyticsTableUpdateParams withLatestPartition() {
-    return this.toBuilder().lastYears(AnalyticsTablePartition.LATEST_PARTITION).build();
+    return this.toBuilder()
+        .lastYears(AnalyticsTablePartition.LATEST_PARTITION)
+        .lastMonths(null)
+        .build();
   }
 }
@@ -29,7 +29,12 @@ package org.hisp.dhis.analytics.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
@@ -37,34 +42,72 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.system.grid.ListGrid;
 import org.springframework.stereotype.Component;
 
 /**
  * This is a wrapper class responsible for keeping and isolating all cache definitions related to
  * the analytics.
+ *
+ * <p>Grids held by the cache are never handed out directly. Every consumer receives a structural
+ * copy of the cached grid (see {@link ListGrid#copy()}), which is cheap compared to a serialization
+ * based clone and leaves the consumer free to modify the grid.
  */
 @Slf4j
 @Component
 public class AnalyticsCache {
+  private static final String METRIC_HIT_LATENCY = "dhis2.analytics.cache.hit";
+
+  private static final String METRIC_HIT_ALLOCATION = "dhis2.analytics.cache.hit.allocated";
+
   private final AnalyticsCacheSettings analyticsCacheSettings;
 
-  private Cache<Grid> queryCache;
+  private final Cache<Grid> queryCache;
+
+  private final Timer hitTimer;
+
+  private final DistributionSummary hitAllocation;
 
   /**
    * Default constructor. Note that a default expiration time is set, as as the TTL will always be
    * overwritten during cache put operations.
    */
   public AnalyticsCache(
-      CacheProvider cacheProvider, AnalyticsCacheSettings analyticsCacheSettings) {
+      CacheProvider cacheProvider,
+      AnalyticsCacheSettings analyticsCacheSettings,
+      MeterRegistry meterRegistry) {
     checkNotNull(cacheProvider);
     checkNotNull(analyticsCacheSettings);
+    checkNotNull(meterRegistry);
 
     this.analyticsCacheSettings = analyticsCacheSettings;
     this.queryCache = cacheProvider.createAnalyticsCache();
+    this.hitTimer =
+        Timer.builder(METRIC_HIT_LATENCY)
+            .description("Time spent serving a grid from the analytics cache")
+            .register(meterRegistry);
+    this.hitAllocation =
+        DistributionSummary.builder(METRIC_HIT_ALLOCATION)
+            .description("Bytes allocated while serving a grid from the analytics cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
   }
 
   public Optional<Grid> get(String key) {
-    return getGridClone(queryCache.get(key));
+    long startTime = System.nanoTime();
+    long startBytes = getAllocatedBytes();
+
+    Optional<Grid> grid = queryCache.get(key).map(this::getGridCopy);
+
+    if (grid.isPresent()) {
+      hitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+      if (startBytes >= 0) {
+        hitAllocation.record((double) getAllocatedBytes() - startBytes);
+      }
+    }
+
+    return grid;
   }
 
   /**
@@ -83,13 +126,13 @@ public class AnalyticsCache {
     Optional<Grid> cachedGrid = get(params.getKey());
 
     if (cachedGrid.isPresent()) {
-      return getGridClone(cachedGrid.get());
+      return cachedGrid.get();
     } else {
       Grid grid = function.apply(params);
 
       put(params, grid);
 
-      return getGridClone(grid);
+      return grid;
     }
   }
 
@@ -124,7 +167,7 @@ public class AnalyticsCache {
    * @param ttlInSeconds the time to live (expiration time) in seconds.
    */
   public void put(String key, Grid grid, long ttlInSeconds) {
-    queryCache.put(key, getGridClone(grid), ttlInSeconds);
+    queryCache.put(key, getGridCopy(grid), ttlInSeconds);
   }
 
   /** Clears the current cache by removing all existing entries. */
@@ -138,15 +181,33 @@ public class AnalyticsCache {
     return analyticsCacheSettings.isCachingEnabled();
   }
 
-  private Grid getGridClone(Grid grid) {
-    if (grid != null) {
+  /**
+   * Returns a copy of the given grid which is isolated from the original. A structural copy is used
+   * for {@link ListGrid}, falling back to a serialization based clone for other types.
+   *
+   * @param grid the {@link Grid}, may be null.
+   * @return a copy of the grid, or null if the given grid is null.
+   */
+  private Grid getGridCopy(Grid grid) {
+    if (grid instanceof ListGrid listGrid) {
+      return listGrid.copy();
+    } else if (grid != null) {
       return SerializationUtils.clone(grid);
     }
 
     return null;
   }
 
-  private Optional<Grid> getGridClone(Optional<Grid> grid) {
-    return grid.map(SerializationUtils::clone);
+  /**
+   * Returns the number of bytes allocated by the current thread so far, or -1 if the JVM does not
+   * support measuring thread allocation.
+   */
+  private static long getAllocatedBytes() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMxBean
+        && threadMxBean.isThreadAllocatedMemoryEnabled()) {
+      return threadMxBean.getCurrentThreadAllocatedBytes();
+    }
+
+    return -1;
   }
 }
@@ -102,6 +102,41 @@ public interface ProgramIndicatorSubqueryBuilder {
       Date earliestStartDate,
       Date latestDate);
 
+  /**
+   * Indicates whether the values of the program indicator are stored in a column of the analytics
+   * tables of the given type, named after the program indicator identifier, and can be read from
+   * there instead of being computed by a sub-query. This requires the program indicator to be
+   * flagged as materialized, to be of the given analytics type, to be independent of the reporting
+   * period, to be unchanged since the last successful analytics table update, and the column to
+   * exist in the analytics table of its program.
+   *
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @param outerSqlEntity the {@link AnalyticsType} of the analytics table.
+   * @return true if the precomputed column can be used.
+   */
+  boolean isMaterialized(ProgramIndicator programIndicator, AnalyticsType outerSqlEntity);
+
+  /**
+   * Indicates whether the program indicator can be computed per row when populating the analytics
+   * tables of its analytics type.
+   *
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @return true if the program indicator is flagged as materialized and can be precomputed.
+   */
+  boolean isMaterializable(ProgramIndicator programIndicator);
+
+  /**
+   * Generates the SQL expression which computes the value of the program indicator for a single row
+   * of the analytics table of its analytics type, referred to by the {@code ax} alias. The value is
+   * equal to the value of the sub-query generated by {@link
+   * #getAggregateClauseForProgramIndicator(ProgramIndicator, AnalyticsType, Date, Date)} for the
+   * same row.
+   *
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @return a SQL expression.
+   */
+  String getMaterializedValueSql(ProgramIndicator programIndicator);
+
   void addCte(
       ProgramIndicator programIndicator,
       AnalyticsType outerSqlEntity,
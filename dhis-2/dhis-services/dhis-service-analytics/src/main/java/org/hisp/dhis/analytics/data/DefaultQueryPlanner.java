@@ -52,7 +52,9 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.PeriodOffsetUtils;
 import org.hisp.dhis.common.BaseDimensionalObject;
@@ -81,6 +83,8 @@ import org.springframework.stereotype.Component;
 public class DefaultQueryPlanner implements QueryPlanner {
   private final PartitionManager partitionManager;
 
+  private final AnalyticsTableSettings analyticsTableSettings;
+
   // -------------------------------------------------------------------------
   // QueryPlanner implementation
   // -------------------------------------------------------------------------
@@ -142,7 +146,7 @@ public class DefaultQueryPlanner implements QueryPlanner {
   @Override
   public DataQueryParams withTableNameAndPartitions(
       DataQueryParams params, QueryPlannerParams plannerParams) {
-    Partitions partitions = PartitionUtils.getPartitions(params, plannerParams.getTableType());
+    Partitions partitions = getPartitions(params, plannerParams.getTableType());
 
     if (params.getCurrentUser() != null) {
       partitionManager.filterNonExistingPartitions(partitions, plannerParams.getTableName());
@@ -157,7 +161,7 @@ public class DefaultQueryPlanner implements QueryPlanner {
   @Override
   public DataQueryParams assignPartitionsFromQueryPeriods(
       DataQueryParams params, AnalyticsTableType tableType) {
-    Partitions partitions = PartitionUtils.getPartitions(params, tableType);
+    Partitions partitions = getPartitions(params, tableType);
 
     if (params.getTableName() != null) {
       partitionManager.filterNonExistingPartitions(partitions, params.getTableName());
@@ -697,6 +701,24 @@ public class DefaultQueryPlanner implements QueryPlanner {
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  /**
+   * Returns the partitions for the given query. The aggregate analytics table is partitioned with
+   * the configured {@link PartitionGranularity}, so that queries can be pruned to the sub-yearly
+   * partitions touched by the query periods. Other analytics tables are partitioned by year.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @return the {@link Partitions}.
+   */
+  private Partitions getPartitions(DataQueryParams params, AnalyticsTableType tableType) {
+    PartitionGranularity granularity =
+        tableType == AnalyticsTableType.DATA_VALUE
+            ? analyticsTableSettings.getPartitionGranularity()
+            : PartitionGranularity.YEAR;
+
+    return PartitionUtils.getPartitions(params, tableType, granularity);
+  }
+
   /**
    * Log query split operation.
    *
@@ -620,7 +620,7 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
               + " "
               + quoteAlias("year")
               + " in ("
-              + TextUtils.getCommaDelimitedString(params.getPartitions().getPartitions())
+              + TextUtils.getCommaDelimitedString(params.getPartitions().getYears())
               + ") ");
     }
 
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.analytics.event;
 
+import java.util.List;
+import java.util.function.Consumer;
 import org.hisp.dhis.common.Grid;
 
 /**
@@ -53,6 +55,18 @@ public interface EnrollmentAnalyticsManager {
    */
   void getEnrollments(EventQueryParams params, Grid grid, int maxLimit);
 
+  /**
+   * Retrieves enrollments like {@link #getEnrollments(EventQueryParams, Grid, int)} but passes each
+   * row to the given consumer as soon as it is read instead of keeping it in the grid.
+   *
+   * @param params the query to retrieve enrollments for.
+   * @param grid the grid providing the headers, it does not contain the rows afterwards.
+   * @param maxLimit the max number of records to retrieve.
+   * @param rowConsumer the consumer of each row.
+   */
+  void streamEnrollments(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<List<Object>> rowConsumer);
+
   /**
    * Retrieves count of enrollments based on params.
    *
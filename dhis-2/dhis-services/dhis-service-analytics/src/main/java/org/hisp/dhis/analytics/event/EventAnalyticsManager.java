@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.analytics.event;
 
+import java.util.List;
+import java.util.function.Consumer;
 import org.hisp.dhis.analytics.Rectangle;
 import org.hisp.dhis.common.Grid;
 
@@ -38,6 +40,18 @@ public interface EventAnalyticsManager {
 
   Grid getEvents(EventQueryParams params, Grid grid, int maxLimit);
 
+  /**
+   * Retrieves events like {@link #getEvents(EventQueryParams, Grid, int)} but passes each row to
+   * the given consumer as soon as it is read instead of keeping it in the grid.
+   *
+   * @param params the query to retrieve events for.
+   * @param grid the grid providing the headers, it does not contain the rows afterwards.
+   * @param maxLimit the max number of records to retrieve.
+   * @param rowConsumer the consumer of each row.
+   */
+  void streamEvents(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<List<Object>> rowConsumer);
+
   Grid getEventClusters(EventQueryParams params, Grid grid, int maxLimit);
 
   long getEventCount(EventQueryParams params);
@@ -62,12 +62,15 @@ import static org.hisp.dhis.common.QueryOperator.IN;
 import static org.hisp.dhis.common.RequestTypeAware.EndpointItem.ENROLLMENT;
 import static org.hisp.dhis.commons.util.TextUtils.getCommaDelimitedString;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_DATABASE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_STREAMING_FETCH_SIZE;
 import static org.hisp.dhis.system.util.MathUtils.getRounded;
 import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -78,6 +81,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -127,7 +131,9 @@ import org.hisp.dhis.program.ProgramIndicatorService;
 import org.hisp.dhis.setting.SystemSettingsService;
 import org.hisp.dhis.system.util.MathUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -440,6 +446,12 @@ public abstract class AbstractJdbcEventAnalyticsManager {
       String asClause = in.getUid();
       String programIndicatorSubquery;
 
+      if (!queryItem.hasRelationshipType()
+          && sqlBuilder.supportsCorrelatedSubquery()
+          && programIndicatorSubqueryBuilder.isMaterialized(in, getAnalyticsType())) {
+        return ColumnAndAlias.ofColumnAndAlias(quoteAlias(in.getUid()), asClause);
+      }
+
       if (queryItem.hasRelationshipType()) {
         programIndicatorSubquery =
             programIndicatorSubqueryBuilder.getAggregateClauseForProgramIndicator(
@@ -986,6 +998,46 @@ public abstract class AbstractJdbcEventAnalyticsManager {
     return sql;
   }
 
+  /**
+   * Runs the given SQL query and passes the rows to the consumer as they are fetched from a forward
+   * only cursor, so that the result never needs to be held in memory as a whole. The given {@link
+   * SqlRowSet} is only valid during the consumer call.
+   *
+   * @param sql the SQL query.
+   * @param consumer the consumer iterating the rows.
+   */
+  protected void streamRows(String sql, Consumer<SqlRowSet> consumer) {
+    int fetchSize = config.getIntProperty(ANALYTICS_QUERY_STREAMING_FETCH_SIZE);
+
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              // PostgreSQL only fetches rows in batches using a cursor outside auto-commit mode
+              boolean autoCommit = connection.getAutoCommit();
+
+              if (autoCommit) {
+                connection.setAutoCommit(false);
+              }
+
+              try (Statement statement =
+                  connection.createStatement(
+                      ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                  consumer.accept(new ResultSetWrappingSqlRowSet(resultSet));
+                }
+              } finally {
+                if (autoCommit) {
+                  connection.rollback();
+                  connection.setAutoCommit(true);
+                }
+              }
+
+              return null;
+            });
+  }
+
   /**
    * Adds a value from the given row set to the grid.
    *
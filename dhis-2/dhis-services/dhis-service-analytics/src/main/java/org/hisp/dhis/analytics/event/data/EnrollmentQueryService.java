@@ -51,6 +51,8 @@ import static org.hisp.dhis.analytics.tracker.ResponseHelper.UNLIMITED_PAGING;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.addPaging;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.applyHeaders;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.getDimensionsKeywords;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.isStreamable;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.isStreamableWithMetadata;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.setRowContextColumns;
 import static org.hisp.dhis.common.ValueType.DATETIME;
 import static org.hisp.dhis.common.ValueType.NUMBER;
@@ -68,7 +70,10 @@ import org.hisp.dhis.analytics.tracker.SchemeIdHandler;
 import org.hisp.dhis.common.DimensionItemKeywords.Keyword;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.GridStreamWriter;
 import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.hisp.dhis.util.Timer;
 import org.springframework.stereotype.Service;
@@ -92,6 +97,8 @@ public class EnrollmentQueryService {
 
   private final SqlBuilder sqlBuilder;
 
+  private final DhisConfigurationProvider config;
+
   /**
    * Returns a list of enrollments matching the given query.
    *
@@ -139,6 +146,67 @@ public class EnrollmentQueryService {
     return grid;
   }
 
+  /**
+   * Indicates whether the enrollments matching the given query can be streamed using {@link
+   * #streamEnrollments(EventQueryParams, GridStreamWriter)}.
+   *
+   * @param params the {@link EventQueryParams} parameters.
+   * @param withMetadata whether the response format includes the metadata.
+   * @return true if the enrollments can be streamed.
+   */
+  public boolean isStreamingEnrollments(EventQueryParams params, boolean withMetadata) {
+    return config.isEnabled(ConfigurationKey.ANALYTICS_QUERY_STREAMING)
+        && (withMetadata ? isStreamableWithMetadata(params) : isStreamable(params));
+  }
+
+  /**
+   * Writes the enrollments matching the given query to the given writer as they are read from the
+   * database. The headers and metadata are written first. As the rows are not known up front the
+   * metadata is based on the query only, which is why only queries without metadata are streamed in
+   * formats including the metadata.
+   *
+   * @param params the {@link EventQueryParams} parameters.
+   * @param writer the {@link GridStreamWriter} to write to.
+   */
+  public void streamEnrollments(EventQueryParams params, GridStreamWriter writer) {
+    // Security
+
+    securityManager.decideAccessEventQuery(params);
+    params = securityManager.withUserConstraints(params);
+
+    // Validation
+
+    queryValidator.validate(params);
+
+    List<Keyword> keywords = getDimensionsKeywords(params);
+
+    params = new EventQueryParams.Builder(params).withStartEndDatesForPeriods().build();
+
+    // Headers and metadata
+
+    Grid grid = createGridWithHeaders(params);
+    addCommonHeaders(grid, params, List.of());
+    metadataHandler.addMetadata(grid, params, keywords);
+
+    GridStreamWriter out = applyHeaders(writer, params);
+    out.writeStart(grid);
+
+    // Data
+
+    Timer timer = new Timer().start().disablePrint();
+
+    EventQueryParams queryParams = queryPlanner.planEnrollmentQuery(params);
+
+    int maxLimit =
+        params.isAggregatedEnrollments() ? UNLIMITED_PAGING : queryValidator.getMaxLimit();
+
+    enrollmentAnalyticsManager.streamEnrollments(queryParams, grid, maxLimit, out::writeRow);
+
+    timer.getTime("Streamed enrollments");
+
+    out.writeEnd(grid);
+  }
+
   /**
    * Creates a {@link Grid} object with default headers.
    *
@@ -62,6 +62,8 @@ import static org.hisp.dhis.analytics.tracker.HeaderHelper.addCommonHeaders;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.addPaging;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.applyHeaders;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.getDimensionsKeywords;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.isStreamable;
+import static org.hisp.dhis.analytics.tracker.ResponseHelper.isStreamableWithMetadata;
 import static org.hisp.dhis.analytics.tracker.ResponseHelper.setRowContextColumns;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
 import static org.hisp.dhis.common.ValueType.DATETIME;
@@ -82,7 +84,10 @@ import org.hisp.dhis.analytics.tracker.SchemeIdHandler;
 import org.hisp.dhis.common.DimensionItemKeywords.Keyword;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.GridStreamWriter;
 import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.hisp.dhis.util.Timer;
 import org.springframework.stereotype.Service;
@@ -106,6 +111,8 @@ public class EventQueryService {
 
   private final SqlBuilder sqlBuilder;
 
+  private final DhisConfigurationProvider config;
+
   /**
    * Returns a list of events matching the given query.
    *
@@ -153,6 +160,70 @@ public class EventQueryService {
     return grid;
   }
 
+  /**
+   * Indicates whether the events matching the given query can be streamed using {@link
+   * #streamEvents(EventQueryParams, GridStreamWriter)}.
+   *
+   * @param params the event query parameters.
+   * @param withMetadata whether the response format includes the metadata.
+   * @return true if the events can be streamed.
+   */
+  public boolean isStreamingEvents(EventQueryParams params, boolean withMetadata) {
+    return config.isEnabled(ConfigurationKey.ANALYTICS_QUERY_STREAMING)
+        && (withMetadata ? isStreamableWithMetadata(params) : isStreamable(params));
+  }
+
+  /**
+   * Writes the events matching the given query to the given writer as they are read from the
+   * database. The headers and metadata are written first. As the rows are not known up front the
+   * metadata is based on the query only, which is why only queries without metadata are streamed in
+   * formats including the metadata.
+   *
+   * @param params the event query parameters.
+   * @param writer the {@link GridStreamWriter} to write to.
+   */
+  public void streamEvents(EventQueryParams params, GridStreamWriter writer) {
+    // Security
+
+    securityManager.decideAccessEventQuery(params);
+    params = securityManager.withUserConstraints(params);
+
+    // Validation
+
+    queryValidator.validate(params);
+
+    List<Keyword> keywords = getDimensionsKeywords(params);
+
+    params = new EventQueryParams.Builder(params).withStartEndDatesForPeriods().build();
+
+    // Headers and metadata
+
+    Grid grid = createGridWithHeaders(params);
+    addCommonHeaders(grid, params, List.of());
+    metadataHandler.addMetadata(grid, params, keywords);
+
+    GridStreamWriter out = applyHeaders(writer, params);
+    out.writeStart(grid);
+
+    // Data
+
+    Timer timer = new Timer().start().disablePrint();
+
+    params = queryPlanner.planEventQuery(params);
+
+    if (params.getPartitions().hasAny() || params.isSkipPartitioning()) {
+      eventAnalyticsManager.streamEvents(
+          new EventQueryParams.Builder(params).build(),
+          grid,
+          queryValidator.getMaxLimit(),
+          out::writeRow);
+    }
+
+    timer.getTime("Streamed events");
+
+    out.writeEnd(grid);
+  }
+
   /**
    * Returns a list of event clusters matching the given query.
    *
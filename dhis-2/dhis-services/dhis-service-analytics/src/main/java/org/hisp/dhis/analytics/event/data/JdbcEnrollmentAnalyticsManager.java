@@ -59,8 +59,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringSubstitutor;
@@ -161,6 +163,31 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
 
   @Override
   public void getEnrollments(EventQueryParams params, Grid grid, int maxLimit) {
+    String sql = getEnrollmentsSql(params, grid, maxLimit);
+    if (params.analyzeOnly()) {
+      withExceptionHandling(
+          () -> executionPlanStore.addExecutionPlan(params.getExplainOrderId(), sql));
+    } else {
+      withExceptionHandling(
+          () -> getEnrollments(params, grid, sql, maxLimit == 0), params.isMultipleQueries());
+    }
+  }
+
+  @Override
+  public void streamEnrollments(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<List<Object>> rowConsumer) {
+    String sql = getEnrollmentsSql(params, grid, maxLimit);
+
+    log.debug("Analytics enrollment query SQL (streamed): '{}'", sql);
+
+    withExceptionHandling(
+        () ->
+            streamRows(
+                sql, rowSet -> addEnrollments(params, grid, rowSet, maxLimit == 0, rowConsumer)),
+        params.isMultipleQueries());
+  }
+
+  private String getEnrollmentsSql(EventQueryParams params, Grid grid, int maxLimit) {
     String sql;
     if (params.isAggregatedEnrollments()) {
       sql =
@@ -173,13 +200,7 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
               ? buildEnrollmentQueryWithCte(params)
               : getAggregatedEnrollmentsSql(params, maxLimit);
     }
-    if (params.analyzeOnly()) {
-      withExceptionHandling(
-          () -> executionPlanStore.addExecutionPlan(params.getExplainOrderId(), sql));
-    } else {
-      withExceptionHandling(
-          () -> getEnrollments(params, grid, sql, maxLimit == 0), params.isMultipleQueries());
-    }
+    return sql;
   }
 
   /**
@@ -193,8 +214,25 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
       EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics enrollment query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    addEnrollments(params, grid, jdbcTemplate.queryForRowSet(sql), unlimitedPaging, null);
+  }
 
+  /**
+   * Adds the enrollments of the given row set to the given grid.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param rowSet the {@link SqlRowSet} to read the enrollments from.
+   * @param unlimitedPaging whether paging is unlimited.
+   * @param rowConsumer when not null, each row is passed to the consumer and removed from the grid
+   *     once complete.
+   */
+  private void addEnrollments(
+      EventQueryParams params,
+      Grid grid,
+      SqlRowSet rowSet,
+      boolean unlimitedPaging,
+      @CheckForNull Consumer<List<Object>> rowConsumer) {
     int rowsRed = 0;
 
     grid.setLastDataRow(true);
@@ -223,6 +261,11 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
           columnOffset += getRowSetOriginItems(rowSet, grid.getHeaders().get(i).getName());
         }
       }
+
+      if (rowConsumer != null) {
+        rowConsumer.accept(grid.getRow(grid.getHeight() - 1));
+        grid.removeCurrentWriteRow();
+      }
     }
   }
 
@@ -53,7 +53,9 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.math3.util.Precision;
@@ -147,6 +149,19 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
     return grid;
   }
 
+  @Override
+  public void streamEvents(
+      EventQueryParams params, Grid grid, int maxLimit, Consumer<List<Object>> rowConsumer) {
+    String sql = getAggregatedEnrollmentsSql(params, maxLimit);
+
+    log.debug("Analytics event query SQL (streamed): '{}'", sql);
+
+    withExceptionHandling(
+        () ->
+            streamRows(sql, rowSet -> addEvents(params, grid, rowSet, maxLimit == 0, rowConsumer)),
+        params.isMultipleQueries());
+  }
+
   /**
    * Adds event to the given grid based on the given parameters and SQL statement.
    *
@@ -157,8 +172,25 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
   private void getEvents(EventQueryParams params, Grid grid, String sql, boolean unlimitedPaging) {
     log.debug("Analytics event query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = queryForRows(sql);
+    addEvents(params, grid, queryForRows(sql), unlimitedPaging, null);
+  }
 
+  /**
+   * Adds the events of the given row set to the given grid.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @param rowSet the {@link SqlRowSet} to read the events from.
+   * @param unlimitedPaging whether paging is unlimited.
+   * @param rowConsumer when not null, each row is passed to the consumer and removed from the grid
+   *     once complete.
+   */
+  private void addEvents(
+      EventQueryParams params,
+      Grid grid,
+      SqlRowSet rowSet,
+      boolean unlimitedPaging,
+      @CheckForNull Consumer<List<Object>> rowConsumer) {
     int rowsRed = 0;
 
     grid.setLastDataRow(true);
@@ -187,6 +219,11 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
         index++;
       }
+
+      if (rowConsumer != null) {
+        rowConsumer.accept(grid.getRow(grid.getHeight() - 1));
+        grid.removeCurrentWriteRow();
+      }
     }
   }
 
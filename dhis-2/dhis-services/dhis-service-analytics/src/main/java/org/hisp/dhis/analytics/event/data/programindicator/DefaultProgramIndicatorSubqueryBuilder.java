@@ -27,18 +27,21 @@
  */
 package org.hisp.dhis.analytics.event.data.programindicator;
 
+import static org.hisp.dhis.analytics.AnalyticsConstants.ANALYTICS_TBL_ALIAS;
 import static org.hisp.dhis.analytics.DataType.BOOLEAN;
 import static org.hisp.dhis.analytics.DataType.NUMERIC;
 
 import com.google.common.base.Strings;
 import java.util.Date;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.common.CteContext;
 import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
+import org.hisp.dhis.analytics.common.TableInfoReader;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.program.AnalyticsType;
@@ -58,8 +61,16 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
 
   private static final String SUBQUERY_TABLE_ALIAS = "subax";
 
+  /**
+   * Aggregation functions which yield a well-defined value when applied to a single row, where the
+   * empty string represents custom aggregation.
+   */
+  private static final Set<String> MATERIALIZABLE_FUNCTIONS =
+      Set.of("", "sum", "avg", "min", "max", "count");
+
   private final ProgramIndicatorService programIndicatorService;
   private final SystemSettingsService settingsService;
+  private final TableInfoReader tableInfoReader;
 
   @Override
   public String getAggregateClauseForProgramIndicator(
@@ -79,6 +90,69 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
         programIndicator, relationshipType, outerSqlEntity, earliestStartDate, latestDate);
   }
 
+  @Override
+  public boolean isMaterialized(ProgramIndicator programIndicator, AnalyticsType outerSqlEntity) {
+    if (programIndicator.getAnalyticsType() != outerSqlEntity
+        || !isMaterializable(programIndicator)
+        || programIndicator.getLastUpdated() == null) {
+      return false;
+    }
+
+    Date lastTableUpdate =
+        settingsService.getCurrentSettings().getLastSuccessfulAnalyticsTablesUpdate();
+
+    if (lastTableUpdate == null || !programIndicator.getLastUpdated().before(lastTableUpdate)) {
+      return false;
+    }
+
+    // the column is missing when the program was skipped or its event table did not exist
+    String tableName =
+        AnalyticsTable.getTableName(
+            ANALYTICS_TYPE_MAP.get(outerSqlEntity), programIndicator.getProgram());
+
+    return tableInfoReader.getInfo(tableName).getColumns().contains(programIndicator.getUid());
+  }
+
+  @Override
+  public boolean isMaterializable(ProgramIndicator programIndicator) {
+    return programIndicator.isMaterialized()
+        && programIndicator.isPeriodIndependent()
+        && MATERIALIZABLE_FUNCTIONS.contains(getFunction(programIndicator));
+  }
+
+  @Override
+  public String getMaterializedValueSql(ProgramIndicator programIndicator) {
+    boolean count = "count".equals(getFunction(programIndicator));
+
+    String value =
+        programIndicatorService.getAnalyticsSql(
+            programIndicator.getExpression(),
+            NUMERIC,
+            programIndicator,
+            null,
+            null,
+            ANALYTICS_TBL_ALIAS);
+
+    if (count) {
+      value = "case when (" + value + ") is not null then 1 else 0 end";
+    }
+
+    if (Strings.isNullOrEmpty(programIndicator.getFilter())) {
+      return "(" + value + ")";
+    }
+
+    String filter =
+        programIndicatorService.getAnalyticsSql(
+            programIndicator.getFilter(),
+            BOOLEAN,
+            programIndicator,
+            null,
+            null,
+            ANALYTICS_TBL_ALIAS);
+
+    return "case when (" + filter + ") then " + value + " else " + (count ? "0" : "null") + " end";
+  }
+
   @Override
   public void addCte(
       ProgramIndicator programIndicator,
@@ -99,10 +173,7 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
       CteContext cteContext) {
 
     // Define aggregation function
-    String function =
-        TextUtils.emptyIfEqual(
-            programIndicator.getAggregationTypeFallback().getValue(),
-            AggregationType.CUSTOM.getValue());
+    String function = getFunction(programIndicator);
 
     String filter = "";
     if (programIndicator.hasFilter()) {
@@ -151,6 +222,19 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
     };
   }
 
+  /**
+   * Returns the aggregation function of the given program indicator, or an empty string for custom
+   * aggregation.
+   *
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @return the name of the aggregation function.
+   */
+  private String getFunction(ProgramIndicator programIndicator) {
+    return TextUtils.emptyIfEqual(
+        programIndicator.getAggregationTypeFallback().getValue(),
+        AggregationType.CUSTOM.getValue());
+  }
+
   private String getTableName(ProgramIndicator programIndicator) {
     return "analytics_event_" + programIndicator.getProgram().getUid().toLowerCase();
   }
@@ -173,10 +257,7 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
       Date earliestStartDate,
       Date latestDate) {
     // Define aggregation function (avg, sum, ...) //
-    String function =
-        TextUtils.emptyIfEqual(
-            programIndicator.getAggregationTypeFallback().getValue(),
-            AggregationType.CUSTOM.getValue());
+    String function = getFunction(programIndicator);
 
     // Get sql construct from Program indicator expression //
     String aggregateSql =
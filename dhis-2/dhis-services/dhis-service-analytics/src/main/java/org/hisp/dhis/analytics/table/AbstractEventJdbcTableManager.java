@@ -29,19 +29,23 @@ package org.hisp.dhis.analytics.table;
 
 import static org.hisp.dhis.analytics.table.model.Skip.SKIP;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.getColumnType;
+import static org.hisp.dhis.db.model.DataType.DOUBLE;
 import static org.hisp.dhis.db.model.DataType.GEOMETRY;
 import static org.hisp.dhis.db.model.DataType.TEXT;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.Validate;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
+import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsDimensionType;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.AnalyticsValueType;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryService;
@@ -53,7 +57,9 @@ import org.hisp.dhis.db.model.IndexType;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
+import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
@@ -173,6 +179,54 @@ public abstract class AbstractEventJdbcTableManager extends AbstractJdbcTableMan
     sql += " " + fromClause;
 
     invokeTimeAndLog(sql, "Populating table: '{}'", tableName);
+
+    List<AnalyticsTableColumn> updateColumns =
+        columns.stream().filter(AnalyticsTableColumn::hasUpdateExpression).toList();
+
+    if (!updateColumns.isEmpty()) {
+      String updateSql = "update " + tableName + " as ax set ";
+      updateSql +=
+          toCommaSeparated(
+              updateColumns, col -> quote(col.getName()) + " = " + col.getUpdateExpression());
+
+      invokeTimeAndLog(updateSql, "Computing precomputed columns of table: '{}'", tableName);
+    }
+  }
+
+  /**
+   * Returns columns for the program indicators of the given program which are flagged as
+   * materialized and can be computed once per row of the analytics table for the given analytics
+   * type. The column is named after the program indicator identifier and its value is computed once
+   * the table is populated.
+   *
+   * @param program the {@link Program}.
+   * @param analyticsType the {@link AnalyticsType} of the analytics table.
+   * @param subqueryBuilder the {@link ProgramIndicatorSubqueryBuilder}.
+   * @return a list of {@link AnalyticsTableColumn}.
+   */
+  protected List<AnalyticsTableColumn> getProgramIndicatorColumns(
+      Program program,
+      AnalyticsType analyticsType,
+      ProgramIndicatorSubqueryBuilder subqueryBuilder) {
+    if (!sqlBuilder.supportsCorrelatedSubquery()) {
+      return List.of();
+    }
+
+    return program.getProgramIndicators().stream()
+        .filter(pi -> analyticsType == pi.getAnalyticsType())
+        .filter(subqueryBuilder::isMaterializable)
+        .sorted(Comparator.comparing(ProgramIndicator::getUid))
+        .map(
+            pi ->
+                AnalyticsTableColumn.builder()
+                    .name(pi.getUid())
+                    .dataType(DOUBLE)
+                    .valueType(AnalyticsValueType.FACT)
+                    .selectExpression("null")
+                    .updateExpression(subqueryBuilder.getMaterializedValueSql(pi))
+                    .skipIndex(SKIP)
+                    .build())
+        .toList();
   }
 
   /**
@@ -122,6 +122,9 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
 
   protected static final String PREFIX_ORGUNITNAMELEVEL = "namelevel";
 
+  /** Prefix of the update parameter holding the captured analytics change log mark. */
+  protected static final String PREFIX_CHANGE_LOG_MARK = "changeLogMark_";
+
   public static final String OU_NAME_HIERARCHY_COLUMN_NAME = "ounamehierarchy";
 
   protected final IdentifiableObjectManager idObjectManager;
@@ -229,7 +232,7 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
   public void swapTable(AnalyticsTableUpdateParams params, AnalyticsTable table) {
     boolean tableExists = tableExists(table.getMainName());
     boolean skipMasterTable =
-        params.isPartialUpdate() && tableExists && table.getTableType().isLatestPartition();
+        isAppendUpdate(params) && tableExists && table.getTableType().isLatestPartition();
 
     log.info("Swapping table: '{}'", table.getMainName());
     log.info("Master table exists: '{}', skip master table: '{}'", tableExists, skipMasterTable);
@@ -321,13 +324,24 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     }
   }
 
+  /**
+   * Indicates whether the given update appends partitions to the existing main table rather than
+   * replacing the main table.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return true if the update appends to the existing main table.
+   */
+  protected boolean isAppendUpdate(AnalyticsTableUpdateParams params) {
+    return params.isPartialUpdate();
+  }
+
   /**
    * Indicates if a table with the given name exists.
    *
    * @param name the table name.
    * @return true if a table with the given name exists.
    */
-  private boolean tableExists(String name) {
+  protected boolean tableExists(String name) {
     return !jdbcTemplate.queryForList(sqlBuilder.tableExists(name)).isEmpty();
   }
 
@@ -457,6 +471,103 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     log.info("{} in: {}", logMessage, timer.stop().toString());
   }
 
+  /**
+   * Captures the committed high-water mark of the analytics change log for the given source table
+   * in the update parameters. The mark is the oldest transaction ID which is still in progress, so
+   * that all entries with a lower transaction ID are committed and visible to the table update.
+   * Entries are tracked by transaction ID rather than by created time, as the created time is the
+   * start time of the transaction and a transaction may commit long after that.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param table the source table name, e.g. <code>datavalue</code>.
+   */
+  protected void captureChangeLogMark(AnalyticsTableUpdateParams params, String table) {
+    Long txid =
+        jdbcTemplate.queryForObject(
+            "select txid_snapshot_xmin(txid_current_snapshot());", Long.class);
+
+    params.addExtraParam(PREFIX_CHANGE_LOG_MARK, table, txid);
+
+    log.info("Captured analytics change log mark: {} for table: '{}'", txid, table);
+  }
+
+  /**
+   * Saves the analytics change log mark captured for the given source table once the analytics
+   * tables have been swapped. A full update sets both the mark of the main tables and of the latest
+   * partition, whereas a latest partition update sets the mark of the latest partition only.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param table the source table name, e.g. <code>datavalue</code>.
+   */
+  protected void saveChangeLogMark(AnalyticsTableUpdateParams params, String table) {
+    Object txid = params.getExtraParam(PREFIX_CHANGE_LOG_MARK, table);
+
+    if (txid == null) {
+      return;
+    }
+
+    String sql =
+        params.isLatestUpdate()
+            ? """
+            insert into ${analyticschangelogmark} (tablename, txid, latesttxid) \
+            values ('${table}', 0, ${txid}) \
+            on conflict (tablename) do update set latesttxid = excluded.latesttxid;"""
+            : """
+            insert into ${analyticschangelogmark} (tablename, txid, latesttxid) \
+            values ('${table}', ${txid}, ${txid}) \
+            on conflict (tablename) do update \
+            set txid = excluded.txid, latesttxid = excluded.latesttxid;""";
+
+    invokeTimeAndLog(
+        replaceQualify(sql, Map.of("table", table, "txid", String.valueOf(txid))),
+        "Save analytics change log mark for table: '{}'",
+        table);
+  }
+
+  /**
+   * Returns the saved analytics change log mark for the given source table. Change log entries with
+   * a transaction ID below the mark of the main tables are reflected in the main analytics tables,
+   * entries with a transaction ID below the mark of the latest partition are reflected in the
+   * latest partition. Returns 0 if no mark has been saved, so that all entries are considered.
+   *
+   * @param table the source table name, e.g. <code>datavalue</code>.
+   * @param latest whether to return the mark of the latest partition or of the main tables.
+   * @return the transaction ID mark.
+   */
+  protected long getChangeLogMark(String table, boolean latest) {
+    String sql =
+        replaceQualify(
+            """
+            select ${column} \
+            from ${analyticschangelogmark} \
+            where tablename = '${table}';""",
+            Map.of("column", latest ? "latesttxid" : "txid", "table", table));
+
+    List<Long> marks = jdbcTemplate.queryForList(sql, Long.class);
+
+    return marks.isEmpty() ? 0L : marks.get(0);
+  }
+
+  /**
+   * Removes entries of the given source table from the analytics change log which have a
+   * transaction ID below the given mark. Such entries are reflected in the main analytics tables
+   * through the last full analytics table update and are no longer needed.
+   *
+   * @param table the source table name, e.g. <code>datavalue</code>.
+   * @param txid the transaction ID mark of the main analytics tables.
+   */
+  protected void trimChangeLog(String table, long txid) {
+    String sql =
+        replaceQualify(
+            """
+            delete from ${analyticschangelog} \
+            where tablename = '${table}' \
+            and txid < ${txid};""",
+            Map.of("table", table, "txid", String.valueOf(txid)));
+
+    invokeTimeAndLog(sql, "Trim analytics change log for table: '{}'", table);
+  }
+
   /**
    * Returns a map of identifiable properties and values.
    *
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
+import org.hisp.dhis.system.startup.AbstractStartupRoutine;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup routine which creates the triggers populating the <code>analyticschangelog</code> table
+ * when the analytics change log is enabled, and drops them otherwise. The change log table and the
+ * trigger functions are created by database migrations.
+ */
+@Slf4j
+@Component
+public class AnalyticsChangeLogTriggerRoutine extends AbstractStartupRoutine {
+  /** Source table names which are captured in the change log. */
+  static final List<String> TABLES = List.of("datavalue", "event");
+
+  private final AnalyticsTableSettings analyticsTableSettings;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public AnalyticsChangeLogTriggerRoutine(
+      AnalyticsTableSettings analyticsTableSettings, JdbcTemplate jdbcTemplate) {
+    this.analyticsTableSettings = analyticsTableSettings;
+    this.jdbcTemplate = jdbcTemplate;
+    setRunlevel(10);
+    setSkipInTests(true);
+  }
+
+  @Override
+  public void execute() {
+    boolean enabled = analyticsTableSettings.isChangeLogEnabled();
+
+    for (String table : TABLES) {
+      jdbcTemplate.execute(getDropTriggerSql(table));
+
+      if (enabled) {
+        jdbcTemplate.execute(getCreateTriggerSql(table));
+      }
+    }
+
+    log.info("Analytics change log triggers {}", enabled ? "created" : "removed");
+  }
+
+  /**
+   * Returns the name of the change log trigger for the given table.
+   *
+   * @param table the table name.
+   * @return the trigger name.
+   */
+  static String getTriggerName(String table) {
+    return "analyticschangelog_" + table + "_trigger";
+  }
+
+  /**
+   * Returns a SQL statement for dropping the change log trigger of the given table.
+   *
+   * @param table the table name.
+   * @return a drop trigger SQL statement.
+   */
+  static String getDropTriggerSql(String table) {
+    return String.format("drop trigger if exists %s on %s;", getTriggerName(table), table);
+  }
+
+  /**
+   * Returns a SQL statement for creating the change log trigger of the given table. The trigger
+   * fires after each inserted, updated or deleted row and invokes the change log function of the
+   * table, which is created by a database migration.
+   *
+   * @param table the table name.
+   * @return a create trigger SQL statement.
+   */
+  static String getCreateTriggerSql(String table) {
+    return String.format(
+        "create trigger %s after insert or update or delete on %s "
+            + "for each row execute procedure analyticschangelog_%s();",
+        getTriggerName(table), table, table);
+  }
+}
@@ -45,6 +45,7 @@ import static org.hisp.dhis.util.DateUtils.toLongDate;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -61,14 +62,19 @@ import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.commons.collection.ListUtils;
+import org.hisp.dhis.commons.timer.SystemTimer;
+import org.hisp.dhis.commons.timer.Timer;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
+import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.model.Table;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitLevel;
@@ -161,6 +167,8 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
 
   private static final List<String> SORT_KEY = List.of("dx", "co");
 
+  private static final String CHANGE_LOG_TABLE = "datavalue";
+
   public JdbcAnalyticsTableManager(
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitService organisationUnitService,
@@ -201,10 +209,20 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
   @Override
   @Transactional
   public List<AnalyticsTable> getAnalyticsTables(AnalyticsTableUpdateParams params) {
-    AnalyticsTable table =
-        params.isLatestUpdate()
-            ? getLatestAnalyticsTable(params, getColumns(params))
-            : getRegularAnalyticsTable(params, getDataYears(params), getColumns(params), SORT_KEY);
+    PartitionGranularity granularity = analyticsTableSettings.getPartitionGranularity();
+    AnalyticsTable table;
+
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      captureChangeLogMark(params, CHANGE_LOG_TABLE);
+    }
+
+    if (params.isLatestUpdate()) {
+      table = getLatestAnalyticsTable(params, getColumns(params));
+    } else if (granularity.isSubYear()) {
+      table = getSubYearAnalyticsTable(params, granularity, getColumns(params));
+    } else {
+      table = getRegularAnalyticsTable(params, getDataYears(params), getColumns(params), SORT_KEY);
+    }
 
     return table.hasTablePartitions() ? List.of(table) : List.of();
   }
@@ -218,13 +236,22 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
   @Override
   public boolean hasUpdatedLatestData(Date startDate, Date endDate) {
     String sql =
-        replaceQualify(
-            """
-            select dv.dataelementid \
-            from ${datavalue} dv \
-            where dv.lastupdated >= '${startDate}' and dv.lastupdated < '${endDate}' \
-            limit 1;""",
-            Map.of("startDate", toLongDate(startDate), "endDate", toLongDate(endDate)));
+        analyticsTableSettings.isChangeLogEnabled()
+            ? replaceQualify(
+                """
+                select cl.changelogid \
+                from ${analyticschangelog} cl \
+                where cl.tablename = 'datavalue' \
+                and cl.txid >= ${txid} \
+                limit 1;""",
+                Map.of("txid", String.valueOf(getChangeLogMark(CHANGE_LOG_TABLE, true))))
+            : replaceQualify(
+                """
+                select dv.dataelementid \
+                from ${datavalue} dv \
+                where dv.lastupdated >= '${startDate}' and dv.lastupdated < '${endDate}' \
+                limit 1;""",
+                Map.of("startDate", toLongDate(startDate), "endDate", toLongDate(endDate)));
     return !jdbcTemplate.queryForList(sql).isEmpty();
   }
 
@@ -237,7 +264,13 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
 
   @Override
   public void removeUpdatedData(List<AnalyticsTable> tables) {
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      removeChangeLogData();
+      return;
+    }
+
     AnalyticsTablePartition partition = getLatestTablePartition(tables);
+
     String sql =
         replaceQualify(
             """
@@ -259,6 +292,49 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
     invokeTimeAndLog(sql, "Remove updated data values");
   }
 
+  /**
+   * Removes data values which have been inserted, updated or deleted since the last full analytics
+   * table update from the main analytics table, based on the analytics change log. Data value keys
+   * in the change log are composed of the identifiers of data element, period, org unit, category
+   * option combo and attribute option combo. Hard deleted data values are removed as well, as the
+   * change log retains their keys. Change log entries with a transaction ID below the mark of the
+   * last full analytics table update are reflected in the main analytics table and are trimmed.
+   */
+  private void removeChangeLogData() {
+    long txid = getChangeLogMark(CHANGE_LOG_TABLE, false);
+
+    String sql =
+        replaceQualify(
+            """
+            delete from ${tableName} ax \
+            where ax.id in ( \
+            select concat(des.dataelementuid,'-',ps.iso,'-',ous.organisationunituid,'-',dcs.categoryoptioncombouid,'-',acs.categoryoptioncombouid) as id \
+            from ${analyticschangelog} cl \
+            inner join analytics_rs_dataelementstructure des on cast(split_part(cl.key,'-',1) as bigint)=des.dataelementid \
+            inner join analytics_rs_periodstructure ps on cast(split_part(cl.key,'-',2) as bigint)=ps.periodid \
+            inner join analytics_rs_orgunitstructure ous on cast(split_part(cl.key,'-',3) as bigint)=ous.organisationunitid \
+            inner join analytics_rs_categorystructure dcs on cast(split_part(cl.key,'-',4) as bigint)=dcs.categoryoptioncomboid \
+            inner join analytics_rs_categorystructure acs on cast(split_part(cl.key,'-',5) as bigint)=acs.categoryoptioncomboid \
+            where cl.tablename = 'datavalue' \
+            and cl.txid >= ${txid});""",
+            Map.of(
+                "tableName", qualify(getAnalyticsTableType().getTableName()),
+                "txid", String.valueOf(txid)));
+
+    invokeTimeAndLog(sql, "Remove changed data values");
+
+    trimChangeLog(CHANGE_LOG_TABLE, txid);
+  }
+
+  @Override
+  public void swapTable(AnalyticsTableUpdateParams params, AnalyticsTable table) {
+    super.swapTable(params, table);
+
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      saveChangeLogMark(params, CHANGE_LOG_TABLE);
+    }
+  }
+
   @Override
   protected List<String> getPartitionChecks(Integer year, Date endDate) {
     Objects.requireNonNull(year);
@@ -287,29 +363,70 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
                 "aggregationTypeAverageSumOrgUnit", AggregationType.AVERAGE_SUM_ORG_UNIT.toString(),
                 "zeroValueCondition", zeroValueCondition));
     String intClause = zeroValueClause + numericClause;
+    String numericValueExpression = "cast(dv.value as " + doubleDataType + ")";
+    Set<ValueType> booleanTrueTypes = Set.of(ValueType.BOOLEAN, ValueType.TRUE_ONLY);
+    Set<ValueType> booleanFalseTypes = Set.of(ValueType.BOOLEAN);
+    Set<ValueType> textTypes = Sets.union(ValueType.TEXT_TYPES, ValueType.DATE_TYPES);
+    String booleanTrueClause = "dv.value = 'true'";
+    String booleanFalseClause = "dv.value = 'false'";
+
+    Timer timer = new SystemTimer().start();
+
+    if (analyticsTableSettings.isSinglePassPopulation()) {
+      String numericCondition = getValueTypeCondition(ValueType.NUMERIC_TYPES, intClause);
+      String booleanTrueCondition = getValueTypeCondition(booleanTrueTypes, booleanTrueClause);
+      String booleanFalseCondition = getValueTypeCondition(booleanFalseTypes, booleanFalseClause);
+      String textCondition = getValueTypeCondition(textTypes, null);
 
-    populateTable(
-        params,
-        partition,
-        "cast(dv.value as " + doubleDataType + ")",
-        "null",
-        ValueType.NUMERIC_TYPES,
-        intClause);
-    populateTable(
-        params,
-        partition,
-        "1",
-        "null",
-        Set.of(ValueType.BOOLEAN, ValueType.TRUE_ONLY),
-        "dv.value = 'true'");
-    populateTable(params, partition, "0", "null", Set.of(ValueType.BOOLEAN), "dv.value = 'false'");
-    populateTable(
-        params,
-        partition,
-        "null",
-        "dv.value",
-        Sets.union(ValueType.TEXT_TYPES, ValueType.DATE_TYPES),
-        null);
+      String valueExpression =
+          sqlBuilder.ifThenElse(
+              numericCondition,
+              numericValueExpression,
+              booleanTrueCondition,
+              "1",
+              sqlBuilder.ifThenElse(booleanFalseCondition, "0", "null"));
+      String textValueExpression = sqlBuilder.ifThenElse(textCondition, "dv.value", "null");
+      String whereClause =
+          String.join(
+              " or ",
+              List.of(
+                  numericCondition, booleanTrueCondition, booleanFalseCondition, textCondition));
+
+      populateTable(
+          params,
+          partition,
+          valueExpression,
+          textValueExpression,
+          Sets.union(Sets.union(ValueType.NUMERIC_TYPES, booleanTrueTypes), textTypes),
+          "(" + whereClause + ")");
+    } else {
+      populateTable(
+          params, partition, numericValueExpression, "null", ValueType.NUMERIC_TYPES, intClause);
+      populateTable(params, partition, "1", "null", booleanTrueTypes, booleanTrueClause);
+      populateTable(params, partition, "0", "null", booleanFalseTypes, booleanFalseClause);
+      populateTable(params, partition, "null", "dv.value", textTypes, null);
+    }
+
+    log.info(
+        "Populated table: '{}' in {} mode in: {}",
+        partition.getName(),
+        analyticsTableSettings.isSinglePassPopulation() ? "single pass" : "multi pass",
+        timer.stop().toString());
+  }
+
+  /**
+   * Returns a condition which matches data values of data elements with any of the given value
+   * types and, if specified, the given additional clause.
+   *
+   * @param valueTypes the data element value types.
+   * @param clause the additional clause, can be null.
+   * @return a SQL condition.
+   */
+  private String getValueTypeCondition(Set<ValueType> valueTypes, String clause) {
+    String valTypes = quotedCommaDelimitedString(ObjectUtils.asStringList(valueTypes));
+    String condition = replace("des.valuetype in (${valTypes})", Map.of("valTypes", valTypes));
+
+    return clause != null ? "(" + condition + " and " + clause + ")" : condition;
   }
 
   /**
@@ -333,8 +450,9 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
         settingsProvider
             .getCurrentSettings()
             .getRespectMetaDataStartEndDatesInAnalyticsTableExport();
-    String approvalSelectExpression = getApprovalSelectExpression(partition.getYear());
-    String approvalClause = getApprovalJoinClause(partition.getYear());
+    Integer year = PartitionGranularity.getYear(partition.getYear());
+    String approvalSelectExpression = getApprovalSelectExpression(year);
+    String approvalClause = getApprovalJoinClause(year);
     String partitionClause = getPartitionClause(partition);
 
     StringBuilder sql =
@@ -470,9 +588,53 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
         format("and dv.lastupdated >= '{}' ", toLongDate(partition.getStartDate()));
     String partitionFilter = format("and ps.year = {} ", partition.getYear());
 
-    return partition.isLatestPartition()
-        ? latestFilter
-        : emptyIfTrue(partitionFilter, sqlBuilder.supportsDeclarativePartitioning());
+    if (partition.isLatestPartition()) {
+      return analyticsTableSettings.isChangeLogEnabled()
+          ? getChangeLogPartitionClause(partition)
+          : latestFilter;
+    }
+
+    PartitionGranularity keyGranularity = PartitionGranularity.of(partition.getYear());
+
+    if (keyGranularity.isSubYear()) {
+      return format(
+          "and ps.{} = '{}' ",
+          quote(keyGranularity.getColumn()),
+          keyGranularity.toIsoPeriod(partition.getYear()));
+    }
+
+    PartitionGranularity granularity = analyticsTableSettings.getPartitionGranularity();
+
+    if (granularity.isSubYear()) {
+      return partitionFilter + format("and ps.{} is null ", quote(granularity.getColumn()));
+    }
+
+    return emptyIfTrue(partitionFilter, sqlBuilder.supportsDeclarativePartitioning());
+  }
+
+  /**
+   * Returns a latest partition SQL clause which includes data values changed by transactions
+   * recorded in the analytics change log since the last full analytics table update. Such data
+   * values may have a last updated time before the start of the latest partition when the
+   * transaction committed after the last full analytics table update had read the data.
+   *
+   * @param partition the latest {@link AnalyticsTablePartition}.
+   * @return a partition SQL clause.
+   */
+  private String getChangeLogPartitionClause(AnalyticsTablePartition partition) {
+    return replaceQualify(
+        """
+        and (dv.lastupdated >= '${startDate}' \
+        or (dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid) in ( \
+        select cast(split_part(cl.key,'-',1) as bigint), cast(split_part(cl.key,'-',2) as bigint), \
+        cast(split_part(cl.key,'-',3) as bigint), cast(split_part(cl.key,'-',4) as bigint), \
+        cast(split_part(cl.key,'-',5) as bigint) \
+        from ${analyticschangelog} cl \
+        where cl.tablename = 'datavalue' \
+        and cl.txid >= ${txid})) \s""",
+        Map.of(
+            "startDate", toLongDate(partition.getStartDate()),
+            "txid", String.valueOf(getChangeLogMark(CHANGE_LOG_TABLE, false))));
   }
 
   private List<AnalyticsTableColumn> getColumns(AnalyticsTableUpdateParams params) {
@@ -671,6 +833,89 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
     return jdbcTemplate.queryForList(sql.toString(), Integer.class);
   }
 
+  /**
+   * Creates an {@link AnalyticsTable} with partitions of the given sub-yearly granularity. Data for
+   * periods longer than the granularity is kept in a yearly remainder partition.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param granularity the {@link PartitionGranularity}.
+   * @param columns the list of {@link AnalyticsTableColumn}.
+   * @return an {@link AnalyticsTable}.
+   */
+  private AnalyticsTable getSubYearAnalyticsTable(
+      AnalyticsTableUpdateParams params,
+      PartitionGranularity granularity,
+      List<AnalyticsTableColumn> columns) {
+    List<Integer> partitions = getDataPartitions(params, granularity);
+    Logged logged = analyticsTableSettings.getTableLogged();
+
+    Collections.sort(partitions);
+
+    AnalyticsTable table = new AnalyticsTable(getAnalyticsTableType(), columns, SORT_KEY, logged);
+
+    for (Integer partition : partitions) {
+      Date startDate = PartitionGranularity.getStartDate(partition);
+      Date endDate = PartitionGranularity.getEndDate(partition);
+      PartitionGranularity keyGranularity = PartitionGranularity.of(partition);
+
+      List<String> checks =
+          keyGranularity.isSubYear()
+              ? List.of(
+                  quote(keyGranularity.getColumn())
+                      + " = '"
+                      + keyGranularity.toIsoPeriod(partition)
+                      + "'")
+              : ListUtils.union(
+                  getPartitionChecks(partition, endDate),
+                  List.of(quote(granularity.getColumn()) + " is null"));
+
+      table.addTablePartition(checks, partition, startDate, endDate);
+    }
+
+    return table;
+  }
+
+  /**
+   * Returns the distinct partition keys of the given granularity which contain data values,
+   * relative to the from date in the given parameters, if it exists. Data values for periods longer
+   * than the granularity map to the yearly remainder partition.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param granularity the {@link PartitionGranularity}.
+   * @return a list of partition keys.
+   */
+  private List<Integer> getDataPartitions(
+      AnalyticsTableUpdateParams params, PartitionGranularity granularity) {
+    StringBuilder sql =
+        new StringBuilder(
+            replaceQualify(
+                """
+                select distinct pes.year, pes.${column} as partitionperiod \
+                from ${datavalue} dv \
+                inner join analytics_rs_periodstructure pes on dv.periodid=pes.periodid \
+                where pes.startdate is not null \
+                and dv.lastupdated < '${startTime}'\s""",
+                Map.of(
+                    "column", quote(granularity.getColumn()),
+                    "startTime", toLongDate(params.getStartTime()))));
+
+    Date fromDate = params.getFromDate(granularity);
+
+    if (fromDate != null) {
+      sql.append(
+          replace(
+              "and pes.startdate >= '${fromDate}'",
+              Map.of("fromDate", DateUtils.toMediumDate(fromDate))));
+    }
+
+    return jdbcTemplate.query(
+        sql.toString(),
+        (rs, rowNum) -> {
+          String period = rs.getString("partitionperiod");
+          return period != null ? granularity.toPartition(period) : rs.getInt("year");
+        });
+  }
+
   @Override
   public void applyAggregationLevels(
       Table table, Collection<String> dataElements, int aggregationLevel) {
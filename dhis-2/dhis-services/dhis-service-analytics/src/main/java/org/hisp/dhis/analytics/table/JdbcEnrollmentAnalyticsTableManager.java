@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.analytics.table;
 
+import static org.hisp.dhis.util.DateUtils.getLatest;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import java.util.ArrayList;
@@ -34,9 +35,11 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
@@ -50,22 +53,28 @@ import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
+import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.resourcetable.ResourceTableService;
+import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
 /**
  * @author Markus Bekken
  */
+@Slf4j
 @Service("org.hisp.dhis.analytics.EnrollmentAnalyticsTableManager")
 public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableManager {
 
   private final List<AnalyticsTableColumn> fixedColumns;
 
+  private final ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder;
+
   public JdbcEnrollmentAnalyticsTableManager(
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitService organisationUnitService,
@@ -78,7 +87,8 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
       @Qualifier("analyticsJdbcTemplate") JdbcTemplate jdbcTemplate,
       AnalyticsTableSettings analyticsTableSettings,
       PeriodDataProvider periodDataProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder) {
     super(
         idObjectManager,
         organisationUnitService,
@@ -93,6 +103,7 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
         periodDataProvider,
         sqlBuilder);
     fixedColumns = EnrollmentAnalyticsColumn.getColumns(sqlBuilder);
+    this.programIndicatorSubqueryBuilder = programIndicatorSubqueryBuilder;
   }
 
   @Override
@@ -103,7 +114,9 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
   @Override
   @Transactional
   public List<AnalyticsTable> getAnalyticsTables(AnalyticsTableUpdateParams params) {
-    return params.isLatestUpdate() ? List.of() : getRegularAnalyticsTables(params);
+    return params.isLatestUpdate()
+        ? getLatestAnalyticsTables(params)
+        : getRegularAnalyticsTables(params);
   }
 
   /**
@@ -128,6 +141,123 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
     return tables;
   }
 
+  /**
+   * Creates a list of {@link AnalyticsTable} with a "latest" partition for each program with
+   * enrollments updated since the last analytics table update. The start date of the partition is
+   * the time of the last successful full analytics table update. The end date of the partition is
+   * the start time of this analytics table update process.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @return a list of {@link AnalyticsTable}.
+   */
+  private List<AnalyticsTable> getLatestAnalyticsTables(AnalyticsTableUpdateParams params) {
+    SystemSettings settings = settingsProvider.getCurrentSettings();
+    Date lastFullTableUpdate = settings.getLastSuccessfulAnalyticsTablesUpdate();
+    Date lastLatestPartitionUpdate = settings.getLastSuccessfulLatestAnalyticsPartitionUpdate();
+    Date lastAnyTableUpdate = getLatest(lastLatestPartitionUpdate, lastFullTableUpdate);
+
+    Assert.isTrue(
+        lastFullTableUpdate.getTime() > 0L,
+        "A full analytics table update process must be run prior to a latest partition update");
+
+    Date startDate = lastFullTableUpdate;
+    Date endDate = params.getStartTime();
+
+    List<AnalyticsTable> tables = new UniqueArrayList<>();
+
+    Logged logged = analyticsTableSettings.getTableLogged();
+
+    List<Program> programs =
+        idObjectManager.getAllNoAcl(Program.class).stream()
+            .filter(p -> !params.isSkipPrograms() || !params.getSkipPrograms().contains(p.getUid()))
+            .toList();
+
+    for (Program program : programs) {
+      if (hasUpdatedLatestData(lastAnyTableUpdate, endDate, program)) {
+        AnalyticsTable table =
+            new AnalyticsTable(getAnalyticsTableType(), getColumns(program), logged, program);
+        table.addTablePartition(
+            List.of(), AnalyticsTablePartition.LATEST_PARTITION, startDate, endDate);
+        tables.add(table);
+
+        log.info(
+            "Added latest enrollment analytics partition for program: '{}', start: '{}' and end: '{}'",
+            program.getUid(),
+            toLongDate(startDate),
+            toLongDate(endDate));
+      } else {
+        log.info(
+            "No updated latest enrollment data found for program: '{}', start: '{}' and end: '{}'",
+            program.getUid(),
+            toLongDate(lastAnyTableUpdate),
+            toLongDate(endDate));
+      }
+    }
+
+    return tables;
+  }
+
+  /**
+   * Indicates whether enrollments updated between the given start and end date exist for the given
+   * program.
+   *
+   * @param startDate the start date.
+   * @param endDate the end date.
+   * @param program the {@link Program}.
+   * @return whether updated enrollments exist.
+   */
+  private boolean hasUpdatedLatestData(Date startDate, Date endDate, Program program) {
+    String sql =
+        replaceQualify(
+            """
+            select en.enrollmentid \
+            from ${enrollment} en \
+            where en.programid = ${programId} \
+            and en.lastupdated >= '${startDate}' \
+            and en.lastupdated < '${endDate}' \
+            limit 1;""",
+            Map.of(
+                "programId", String.valueOf(program.getId()),
+                "startDate", toLongDate(startDate),
+                "endDate", toLongDate(endDate)));
+
+    return !jdbcTemplate.queryForList(sql).isEmpty();
+  }
+
+  /**
+   * Enrollment tables are not partitioned by year, so only latest updates append to the existing
+   * main table. Other partial updates rebuild and replace the main table.
+   */
+  @Override
+  protected boolean isAppendUpdate(AnalyticsTableUpdateParams params) {
+    return params.isLatestUpdate();
+  }
+
+  @Override
+  public void removeUpdatedData(List<AnalyticsTable> tables) {
+    for (AnalyticsTable table : tables) {
+      AnalyticsTablePartition partition = table.getLatestTablePartition();
+
+      String sql =
+          replaceQualify(
+              """
+              delete from ${tableName} ax \
+              where ax.enrollment in ( \
+              select en.uid \
+              from ${enrollment} en \
+              where en.programid = ${programId} \
+              and en.lastupdated >= '${startDate}' \
+              and en.lastupdated < '${endDate}');""",
+              Map.of(
+                  "tableName", qualify(table.getMainName()),
+                  "programId", String.valueOf(table.getProgram().getId()),
+                  "startDate", toLongDate(partition.getStartDate()),
+                  "endDate", toLongDate(partition.getEndDate())));
+
+      invokeTimeAndLog(sql, "Remove updated enrollments for table: '{}'", table.getMainName());
+    }
+  }
+
   @Override
   protected List<String> getPartitionChecks(Integer year, Date endDate) {
     return List.of();
@@ -137,6 +267,10 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
   public void populateTable(AnalyticsTableUpdateParams params, AnalyticsTablePartition partition) {
     Program program = partition.getMasterTable().getProgram();
     String attributeJoinClause = getAttributeValueJoinClause(program);
+    String partitionClause =
+        partition.isLatestPartition()
+            ? "and en.lastupdated >= '" + toLongDate(partition.getStartDate()) + "' "
+            : "";
 
     String fromClause =
         replaceQualify(
@@ -153,13 +287,18 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
             where pr.programid = ${programId} \
             and en.organisationunitid is not null \
             and (ougs.startdate is null or dps.monthstartdate=ougs.startdate) \
-            and en.lastupdated <= '${startTime}' \
+            and en.lastupdated <= '${startTime}' ${partitionClause}\
             and en.occurreddate is not null \
             and en.deleted = false\s""",
             Map.of(
-                "attributeJoinClause", attributeJoinClause,
-                "programId", String.valueOf(program.getId()),
-                "startTime", toLongDate(params.getStartTime())));
+                "attributeJoinClause",
+                attributeJoinClause,
+                "partitionClause",
+                partitionClause,
+                "programId",
+                String.valueOf(program.getId()),
+                "startTime",
+                toLongDate(params.getStartTime())));
 
     populateTableInternal(partition, fromClause);
   }
@@ -179,10 +318,30 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
     columns.addAll(getPeriodTypeColumns("dps"));
     columns.addAll(getTrackedEntityAttributeColumns(program));
     columns.addAll(getTrackedEntityColumns(program));
+    columns.addAll(getProgramIndicatorColumns(program));
 
     return filterDimensionColumns(columns);
   }
 
+  /**
+   * Returns a list of materialized program indicator {@link AnalyticsTableColumn}. Enrollment
+   * program indicators may read values from the event analytics table of the program, hence the
+   * columns are skipped while that table does not exist.
+   *
+   * @param program the {@link Program}.
+   * @return a list of {@link AnalyticsTableColumn}.
+   */
+  private List<AnalyticsTableColumn> getProgramIndicatorColumns(Program program) {
+    List<AnalyticsTableColumn> columns =
+        getProgramIndicatorColumns(
+            program, AnalyticsType.ENROLLMENT, programIndicatorSubqueryBuilder);
+
+    return columns.isEmpty()
+            || tableExists(AnalyticsTable.getTableName(AnalyticsTableType.EVENT, program))
+        ? columns
+        : List.of();
+  }
+
   /**
    * Returns a list of tracked entity attribute {@link AnalyticsTableColumn}.
    *
@@ -54,6 +54,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsDimensionType;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
@@ -77,6 +78,7 @@ import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.setting.SystemSettings;
@@ -98,8 +100,12 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
 
   static final String[] EXPORTABLE_EVENT_STATUSES = {"'COMPLETED'", "'ACTIVE'", "'SCHEDULE'"};
 
+  private static final String CHANGE_LOG_TABLE = "event";
+
   private final List<AnalyticsTableColumn> fixedColumns;
 
+  private final ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder;
+
   public JdbcEventAnalyticsTableManager(
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitService organisationUnitService,
@@ -112,7 +118,8 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
       @Qualifier("analyticsJdbcTemplate") JdbcTemplate jdbcTemplate,
       AnalyticsTableSettings analyticsTableSettings,
       PeriodDataProvider periodDataProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder) {
     super(
         idObjectManager,
         organisationUnitService,
@@ -127,6 +134,7 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
         periodDataProvider,
         sqlBuilder);
     fixedColumns = EventAnalyticsColumn.getColumns(sqlBuilder);
+    this.programIndicatorSubqueryBuilder = programIndicatorSubqueryBuilder;
   }
 
   @Override
@@ -145,6 +153,10 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     List<Integer> availableDataYears =
         periodDataProvider.getAvailableYears(analyticsTableSettings.getPeriodSource());
 
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      captureChangeLogMark(params, CHANGE_LOG_TABLE);
+    }
+
     return params.isLatestUpdate()
         ? getLatestAnalyticsTables(params)
         : getRegularAnalyticsTables(params, availableDataYears);
@@ -269,6 +281,10 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
    * @return whether event data exists.
    */
   private boolean hasUpdatedLatestData(Date startDate, Date endDate, Program program) {
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      return hasChangeLogData(program);
+    }
+
     String sql =
         replaceQualify(
             """
@@ -287,8 +303,37 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     return !jdbcTemplate.queryForList(sql).isEmpty();
   }
 
+  /**
+   * Indicates whether events of the given program have been inserted, updated or deleted since the
+   * last latest partition update according to the analytics change log.
+   *
+   * @param program the {@link Program}.
+   * @return whether changed events exist.
+   */
+  private boolean hasChangeLogData(Program program) {
+    String sql =
+        replaceQualify(
+            """
+            select cl.changelogid \
+            from ${analyticschangelog} cl \
+            where cl.tablename = 'event' \
+            and cl.scopeid = ${programId} \
+            and cl.txid >= ${txid} \
+            limit 1;""",
+            Map.of(
+                "programId", String.valueOf(program.getId()),
+                "txid", String.valueOf(getChangeLogMark(CHANGE_LOG_TABLE, true))));
+
+    return !jdbcTemplate.queryForList(sql).isEmpty();
+  }
+
   @Override
   public void removeUpdatedData(List<AnalyticsTable> tables) {
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      removeChangeLogData(tables);
+      return;
+    }
+
     for (AnalyticsTable table : tables) {
       AnalyticsTablePartition partition = table.getLatestTablePartition();
 
@@ -313,6 +358,48 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     }
   }
 
+  /**
+   * Removes events which have been inserted, updated or deleted since the last full analytics table
+   * update from the main event analytics tables, based on the analytics change log. Hard deleted
+   * events are removed as well, as the change log retains their identifiers. Change log entries
+   * with a transaction ID below the mark of the last full analytics table update are trimmed.
+   *
+   * @param tables the list of {@link AnalyticsTable}.
+   */
+  private void removeChangeLogData(List<AnalyticsTable> tables) {
+    long txid = getChangeLogMark(CHANGE_LOG_TABLE, false);
+
+    for (AnalyticsTable table : tables) {
+      String sql =
+          replaceQualify(
+              """
+              delete from ${tableName} ax \
+              where ax.event in ( \
+              select cl.key \
+              from ${analyticschangelog} cl \
+              where cl.tablename = 'event' \
+              and cl.scopeid = ${programId} \
+              and cl.txid >= ${txid});""",
+              Map.of(
+                  "tableName", qualify(table.getMainName()),
+                  "programId", String.valueOf(table.getProgram().getId()),
+                  "txid", String.valueOf(txid)));
+
+      invokeTimeAndLog(sql, "Remove changed events for table: '{}'", table.getMainName());
+    }
+
+    trimChangeLog(CHANGE_LOG_TABLE, txid);
+  }
+
+  @Override
+  public void swapTable(AnalyticsTableUpdateParams params, AnalyticsTable table) {
+    super.swapTable(params, table);
+
+    if (analyticsTableSettings.isChangeLogEnabled()) {
+      saveChangeLogMark(params, CHANGE_LOG_TABLE);
+    }
+  }
+
   @Override
   protected List<String> getPartitionChecks(Integer year, Date endDate) {
     Objects.requireNonNull(year);
@@ -381,9 +468,38 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     String partitionFilter =
         format("and ({}) >= '{}' and ({}) < '{}' ", statusDate, start, statusDate, end);
 
-    return partition.isLatestPartition()
-        ? latestFilter
-        : emptyIfTrue(partitionFilter, sqlBuilder.supportsDeclarativePartitioning());
+    if (partition.isLatestPartition()) {
+      return analyticsTableSettings.isChangeLogEnabled()
+          ? getChangeLogPartitionClause(partition)
+          : latestFilter;
+    }
+
+    return emptyIfTrue(partitionFilter, sqlBuilder.supportsDeclarativePartitioning());
+  }
+
+  /**
+   * Returns a latest partition SQL clause which includes events changed by transactions recorded in
+   * the analytics change log since the last full analytics table update. Such events may have a
+   * last updated time before the start of the latest partition when the transaction committed after
+   * the last full analytics table update had read the data.
+   *
+   * @param partition the latest {@link AnalyticsTablePartition}.
+   * @return a partition SQL clause.
+   */
+  private String getChangeLogPartitionClause(AnalyticsTablePartition partition) {
+    return replaceQualify(
+        """
+        and (ev.lastupdated >= '${startDate}' \
+        or ev.uid in ( \
+        select cl.key \
+        from ${analyticschangelog} cl \
+        where cl.tablename = 'event' \
+        and cl.scopeid = ${programId} \
+        and cl.txid >= ${txid})) \s""",
+        Map.of(
+            "startDate", toLongDate(partition.getStartDate()),
+            "programId", String.valueOf(partition.getMasterTable().getProgram().getId()),
+            "txid", String.valueOf(getChangeLogMark(CHANGE_LOG_TABLE, false))));
   }
 
   /**
@@ -409,6 +525,9 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
         columns.add(EventAnalyticsColumn.TRACKED_ENTITY_GEOMETRY);
       }
     }
+    columns.addAll(
+        getProgramIndicatorColumns(program, AnalyticsType.EVENT, programIndicatorSubqueryBuilder));
+
     if (sqlBuilder.supportsDeclarativePartitioning()) {
       columns.add(getPartitionColumn());
     }
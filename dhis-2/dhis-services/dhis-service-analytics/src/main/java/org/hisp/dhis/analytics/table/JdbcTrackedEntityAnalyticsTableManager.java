@@ -45,6 +45,7 @@ import static org.hisp.dhis.db.model.DataType.TIMESTAMP;
 import static org.hisp.dhis.db.model.DataType.VARCHAR_255;
 import static org.hisp.dhis.db.model.DataType.VARCHAR_50;
 import static org.hisp.dhis.db.model.constraint.Nullable.NOT_NULL;
+import static org.hisp.dhis.util.DateUtils.getLatest;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import java.util.ArrayList;
@@ -53,6 +54,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
@@ -72,6 +74,7 @@ import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.resourcetable.ResourceTableService;
+import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
@@ -81,7 +84,9 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
+@Slf4j
 @Component("org.hisp.dhis.analytics.TrackedEntityAnalyticsTableManager")
 public class JdbcTrackedEntityAnalyticsTableManager extends AbstractEventJdbcTableManager {
   private static final String PROGRAMS_BY_TET_KEY = "programsByTetUid";
@@ -136,7 +141,9 @@ public class JdbcTrackedEntityAnalyticsTableManager extends AbstractEventJdbcTab
   }
 
   /**
-   * Returns a {@link AnalyticsTable} with a list of yearly {@link AnalyticsTablePartition}.
+   * Returns a {@link AnalyticsTable} for each tracked entity type. For latest updates, only tracked
+   * entity types with tracked entities updated since the last analytics table update are included,
+   * each with a "latest" {@link AnalyticsTablePartition}.
    *
    * @param params the {@link AnalyticsTableUpdateParams}.
    * @return the analytics table with partitions.
@@ -150,6 +157,10 @@ public class JdbcTrackedEntityAnalyticsTableManager extends AbstractEventJdbcTab
 
     Logged logged = analyticsTableSettings.getTableLogged();
 
+    if (params.isLatestUpdate()) {
+      return getLatestAnalyticsTables(params, logged);
+    }
+
     return trackedEntityTypeService.getAllTrackedEntityType().stream()
         .map(
             tet ->
@@ -157,6 +168,119 @@ public class JdbcTrackedEntityAnalyticsTableManager extends AbstractEventJdbcTab
         .toList();
   }
 
+  /**
+   * Creates a list of {@link AnalyticsTable} with a "latest" partition for each tracked entity type
+   * with tracked entities updated since the last analytics table update. The start date of the
+   * partition is the time of the last successful full analytics table update. The end date of the
+   * partition is the start time of this analytics table update process.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param logged the {@link Logged} property of the tables.
+   * @return a list of {@link AnalyticsTable}.
+   */
+  private List<AnalyticsTable> getLatestAnalyticsTables(
+      AnalyticsTableUpdateParams params, Logged logged) {
+    SystemSettings settings = settingsProvider.getCurrentSettings();
+    Date lastFullTableUpdate = settings.getLastSuccessfulAnalyticsTablesUpdate();
+    Date lastLatestPartitionUpdate = settings.getLastSuccessfulLatestAnalyticsPartitionUpdate();
+    Date lastAnyTableUpdate = getLatest(lastLatestPartitionUpdate, lastFullTableUpdate);
+
+    Assert.isTrue(
+        lastFullTableUpdate.getTime() > 0L,
+        "A full analytics table update process must be run prior to a latest partition update");
+
+    Date startDate = lastFullTableUpdate;
+    Date endDate = params.getStartTime();
+
+    List<AnalyticsTable> tables = new ArrayList<>();
+
+    for (TrackedEntityType tet : trackedEntityTypeService.getAllTrackedEntityType()) {
+      if (hasUpdatedLatestData(lastAnyTableUpdate, endDate, tet)) {
+        AnalyticsTable table =
+            new AnalyticsTable(getAnalyticsTableType(), getColumns(params, tet), logged, tet);
+        table.addTablePartition(
+            List.of(), AnalyticsTablePartition.LATEST_PARTITION, startDate, endDate);
+        tables.add(table);
+
+        log.info(
+            "Added latest tracked entity analytics partition for type: '{}', start: '{}' and end: '{}'",
+            tet.getUid(),
+            toLongDate(startDate),
+            toLongDate(endDate));
+      } else {
+        log.info(
+            "No updated latest tracked entity data found for type: '{}', start: '{}' and end: '{}'",
+            tet.getUid(),
+            toLongDate(lastAnyTableUpdate),
+            toLongDate(endDate));
+      }
+    }
+
+    return tables;
+  }
+
+  /**
+   * Indicates whether tracked entities of the given type updated between the given start and end
+   * date exist.
+   *
+   * @param startDate the start date.
+   * @param endDate the end date.
+   * @param trackedEntityType the {@link TrackedEntityType}.
+   * @return whether updated tracked entities exist.
+   */
+  private boolean hasUpdatedLatestData(
+      Date startDate, Date endDate, TrackedEntityType trackedEntityType) {
+    String sql =
+        replaceQualify(
+            """
+            select te.trackedentityid \
+            from ${trackedentity} te \
+            where te.trackedentitytypeid = ${tetId} \
+            and te.lastupdated >= '${startDate}' \
+            and te.lastupdated < '${endDate}' \
+            limit 1;""",
+            Map.of(
+                "tetId", String.valueOf(trackedEntityType.getId()),
+                "startDate", toLongDate(startDate),
+                "endDate", toLongDate(endDate)));
+
+    return !jdbcTemplate.queryForList(sql).isEmpty();
+  }
+
+  /**
+   * Tracked entity tables are not partitioned by year, so only latest updates append to the
+   * existing main table. Other partial updates rebuild and replace the main table.
+   */
+  @Override
+  protected boolean isAppendUpdate(AnalyticsTableUpdateParams params) {
+    return params.isLatestUpdate();
+  }
+
+  @Override
+  public void removeUpdatedData(List<AnalyticsTable> tables) {
+    for (AnalyticsTable table : tables) {
+      AnalyticsTablePartition partition = table.getLatestTablePartition();
+
+      String sql =
+          replaceQualify(
+              """
+              delete from ${tableName} ax \
+              where ax.trackedentity in ( \
+              select te.uid \
+              from ${trackedentity} te \
+              where te.trackedentitytypeid = ${tetId} \
+              and te.lastupdated >= '${startDate}' \
+              and te.lastupdated < '${endDate}');""",
+              Map.of(
+                  "tableName", qualify(table.getMainName()),
+                  "tetId", String.valueOf(table.getTrackedEntityType().getId()),
+                  "startDate", toLongDate(partition.getStartDate()),
+                  "endDate", toLongDate(partition.getEndDate())));
+
+      invokeTimeAndLog(sql, "Remove updated tracked entities for table: '{}'", table.getMainName());
+    }
+  }
+
   private Map<String, List<Program>> getProgramsByTetUid(AnalyticsTableUpdateParams params) {
     List<Program> programs =
         params.isSkipPrograms()
@@ -301,6 +425,10 @@ public class JdbcTrackedEntityAnalyticsTableManager extends AbstractEventJdbcTab
     sql.append(toCommaSeparated(columns, AnalyticsTableColumn::getSelectExpression));
 
     TrackedEntityType trackedEntityType = partition.getMasterTable().getTrackedEntityType();
+    String partitionClause =
+        partition.isLatestPartition()
+            ? "and te.lastupdated >= '" + toLongDate(partition.getStartDate()) + "' "
+            : "";
 
     sql.append(
         replaceQualify(
@@ -331,12 +459,13 @@ public class JdbcTrackedEntityAnalyticsTableManager extends AbstractEventJdbcTab
         replaceQualify(
             """
             \swhere te.trackedentitytypeid = ${tetId} \
-            and te.lastupdated < '${startTime}' \
+            and te.lastupdated < '${startTime}' ${partitionClause}\
             and te.created is not null \
             and te.deleted = false""",
             Map.of(
                 "tetId", String.valueOf(trackedEntityType.getId()),
                 "startTime", toLongDate(params.getStartTime()),
+                "partitionClause", partitionClause,
                 "statuses", join(",", EXPORTABLE_EVENT_STATUSES))));
 
     invokeTimeAndLog(sql.toString(), "Populating table: '{}'", tableName);
@@ -64,6 +64,12 @@ public class AnalyticsTableColumn {
   /** The expression to use in select clauses. */
   private final String selectExpression;
 
+  /**
+   * The expression to compute the column value with once the table is populated, referring to the
+   * table row through the {@code ax} alias. Null if the value is set by the select expression.
+   */
+  private final String updateExpression;
+
   /** Whether to skip or include an index for column. */
   @Builder.Default private final Skip skipIndex = Skip.INCLUDE;
 
@@ -95,6 +101,11 @@ public class AnalyticsTableColumn {
     return collation != null && Collation.DEFAULT != collation;
   }
 
+  /** Indicates whether the column value is computed once the table is populated. */
+  public boolean hasUpdateExpression() {
+    return updateExpression != null;
+  }
+
   /** Indicates whether an index should not be created for this column. */
   public boolean isSkipIndex() {
     return Skip.SKIP == skipIndex;
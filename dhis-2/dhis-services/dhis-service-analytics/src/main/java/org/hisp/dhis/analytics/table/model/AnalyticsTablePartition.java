@@ -47,7 +47,8 @@ public class AnalyticsTablePartition extends Table {
 
   /**
    * The year for which this partition may contain data, where 0 indicates the "latest" data stored
-   * since last full analytics table generation.
+   * since last full analytics table generation. Can also be a sub-yearly partition key as described
+   * by {@link PartitionGranularity}.
    */
   private final Integer year;
 
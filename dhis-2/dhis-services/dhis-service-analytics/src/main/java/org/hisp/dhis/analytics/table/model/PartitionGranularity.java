@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.calendar.DateTimeUnit;
+import org.hisp.dhis.period.PeriodTypeEnum;
+
+/**
+ * Granularity of analytics table partitions.
+ *
+ * <p>A yearly partition is identified by the four-digit year. Sub-yearly partitions are identified
+ * by a key which encodes the year and the quarter or month, e.g. <code>20242</code> for the second
+ * quarter and <code>202404</code> for April of 2024. With a sub-yearly granularity, data for
+ * periods which are longer than the granularity, such as yearly data for monthly partitions, is
+ * kept in a remainder partition identified by the four-digit year.
+ *
+ * <p>Sub-yearly partitions are assigned based on the quarterly or monthly period structure column,
+ * and hence are only meaningful for the ISO calendar.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PartitionGranularity {
+  YEAR(null, 12),
+  QUARTER(PeriodTypeEnum.QUARTERLY.getName().toLowerCase(), 3),
+  MONTH(PeriodTypeEnum.MONTHLY.getName().toLowerCase(), 1);
+
+  private static final int MAX_YEAR = 9999;
+
+  private static final int MAX_QUARTER_KEY = 99999;
+
+  /**
+   * Name of the period structure column which holds the period identifying the sub-yearly
+   * partition, null for yearly granularity.
+   */
+  private final String column;
+
+  /** Number of months in one partition. */
+  private final int months;
+
+  /**
+   * Indicates whether this granularity is finer than yearly.
+   *
+   * @return true if this granularity is finer than yearly.
+   */
+  public boolean isSubYear() {
+    return this != YEAR;
+  }
+
+  /**
+   * Returns the partition key for the given period identifier of the period structure column of
+   * this granularity, e.g. <code>202404</code> for <code>202404</code> and <code>20242</code> for
+   * <code>2024Q2</code>.
+   *
+   * @param isoPeriod the period identifier.
+   * @return the partition key.
+   * @throws IllegalStateException if this granularity is yearly.
+   */
+  public Integer toPartition(String isoPeriod) {
+    return switch (this) {
+      case QUARTER ->
+          Integer.valueOf(isoPeriod.substring(0, 4)) * 10
+              + Integer.parseInt(isoPeriod.substring(5));
+      case MONTH -> Integer.valueOf(isoPeriod);
+      case YEAR -> throw new IllegalStateException("Yearly partitions have no period identifier");
+    };
+  }
+
+  /**
+   * Returns the period identifier of the period structure column of this granularity for the given
+   * sub-yearly partition key, e.g. <code>2024Q2</code> for <code>20242</code>.
+   *
+   * @param partition the sub-yearly partition key.
+   * @return the period identifier.
+   * @throws IllegalStateException if this granularity is yearly.
+   */
+  public String toIsoPeriod(Integer partition) {
+    return switch (this) {
+      case QUARTER -> (partition / 10) + "Q" + (partition % 10);
+      case MONTH -> String.valueOf(partition);
+      case YEAR -> throw new IllegalStateException("Yearly partitions have no period identifier");
+    };
+  }
+
+  /**
+   * Returns the partition keys which may contain data for the given date range. For sub-yearly
+   * granularity this includes the remainder partition of every year in the range.
+   *
+   * @param startDate the start date, inclusive.
+   * @param endDate the end date, inclusive.
+   * @return a set of partition keys.
+   */
+  public Set<Integer> getPartitions(Date startDate, Date endDate) {
+    DateTimeUnit start = DateTimeUnit.fromJdkDate(startDate);
+    DateTimeUnit end = DateTimeUnit.fromJdkDate(endDate);
+
+    Set<Integer> partitions = new HashSet<>();
+
+    for (int year = start.getYear(); year <= end.getYear(); year++) {
+      partitions.add(year);
+    }
+
+    if (isSubYear()) {
+      int month = start.getYear() * 12 + start.getMonth() - 1;
+      int endMonth = end.getYear() * 12 + end.getMonth() - 1;
+
+      for (; month <= endMonth; month++) {
+        partitions.add(getPartition(month / 12, month % 12 + 1));
+      }
+    }
+
+    return partitions;
+  }
+
+  /**
+   * Returns the start date of the given partition, inclusive.
+   *
+   * @param partition the partition key.
+   * @return the start date.
+   */
+  public static Date getStartDate(Integer partition) {
+    return new DateTimeUnit(getYear(partition), getStartMonth(partition), 1).toJdkDate();
+  }
+
+  /**
+   * Returns the end date of the given partition, exclusive, i.e. the start date of the next
+   * partition of the same granularity.
+   *
+   * @param partition the partition key.
+   * @return the end date.
+   */
+  public static Date getEndDate(Integer partition) {
+    int month = getYear(partition) * 12 + getStartMonth(partition) - 1 + of(partition).months;
+
+    return new DateTimeUnit(month / 12, month % 12 + 1, 1).toJdkDate();
+  }
+
+  /**
+   * Returns the year of the given partition key.
+   *
+   * @param partition the partition key.
+   * @return the year.
+   */
+  public static Integer getYear(Integer partition) {
+    return switch (of(partition)) {
+      case YEAR -> partition;
+      case QUARTER -> partition / 10;
+      case MONTH -> partition / 100;
+    };
+  }
+
+  /**
+   * Returns the granularity of the given partition key. Remainder partitions and the latest
+   * partition are yearly.
+   *
+   * @param partition the partition key, may be null.
+   * @return the {@link PartitionGranularity}.
+   */
+  public static PartitionGranularity of(Integer partition) {
+    if (partition == null || partition <= MAX_YEAR) {
+      return YEAR;
+    }
+
+    return partition <= MAX_QUARTER_KEY ? QUARTER : MONTH;
+  }
+
+  /**
+   * Returns the partition key of this granularity for the given year and month.
+   *
+   * @param year the year.
+   * @param month the month, starting at 1.
+   * @return the partition key.
+   */
+  private Integer getPartition(int year, int month) {
+    return switch (this) {
+      case YEAR -> year;
+      case QUARTER -> year * 10 + (month - 1) / 3 + 1;
+      case MONTH -> year * 100 + month;
+    };
+  }
+
+  /**
+   * Returns the first month of the given partition, starting at 1.
+   *
+   * @param partition the partition key.
+   * @return the first month.
+   */
+  private static int getStartMonth(Integer partition) {
+    return switch (of(partition)) {
+      case YEAR -> 1;
+      case QUARTER -> (partition % 10 - 1) * 3 + 1;
+      case MONTH -> partition % 100;
+    };
+  }
+}
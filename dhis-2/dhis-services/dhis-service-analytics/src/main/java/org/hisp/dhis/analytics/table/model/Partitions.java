@@ -43,7 +43,10 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 public class Partitions {
-  /** Yearly partitions containing four-digit years. */
+  /**
+   * Partitions containing four-digit years, or sub-yearly partition keys as described by {@link
+   * PartitionGranularity}.
+   */
   private Set<Integer> partitions = new HashSet<>();
 
   public Partitions(Set<Integer> partitions) {
@@ -90,6 +93,11 @@ public class Partitions {
     return hasAny() ? partitions.iterator().next() : null;
   }
 
+  /** Returns the years covered by the partitions. */
+  public Set<Integer> getYears() {
+    return partitions.stream().map(PartitionGranularity::getYear).collect(Collectors.toSet());
+  }
+
   /** Returns the partitions as string values. */
   public Set<String> getPartitionsAsString() {
     return partitions.stream().map(String::valueOf).collect(Collectors.toSet());
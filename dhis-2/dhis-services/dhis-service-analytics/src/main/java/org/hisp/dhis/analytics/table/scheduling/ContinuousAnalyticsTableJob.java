@@ -100,6 +100,7 @@ public class ContinuousAnalyticsTableJob implements Job {
       AnalyticsTableUpdateParams params =
           AnalyticsTableUpdateParams.newBuilder()
               .lastYears(parameters.getLastYears())
+              .lastMonths(parameters.getLastMonths())
               .skipResourceTables(false)
               .skipOutliers(parameters.getSkipOutliers())
               .skipTableTypes(parameters.getSkipTableTypes())
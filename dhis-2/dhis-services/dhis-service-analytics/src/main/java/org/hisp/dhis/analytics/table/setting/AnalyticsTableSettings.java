@@ -30,6 +30,10 @@ package org.hisp.dhis.analytics.table.setting;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.hisp.dhis.db.model.Logged.LOGGED;
 import static org.hisp.dhis.db.model.Logged.UNLOGGED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_DATABASE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_CHANGE_LOG;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_PARTITION_GRANULARITY;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SINGLE_PASS_POPULATION;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_COLUMN;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_INDEX;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_UNLOGGED;
@@ -41,10 +45,16 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.analytics.table.model.Skip;
+import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.period.PeriodDataProvider.PeriodSource;
+import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.springframework.stereotype.Component;
@@ -55,6 +65,7 @@ import org.springframework.stereotype.Component;
  *
  * @author maikel arabori
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AnalyticsTableSettings {
@@ -124,6 +135,62 @@ public class AnalyticsTableSettings {
     return toSet(config.getProperty(ANALYTICS_TABLE_SKIP_COLUMN));
   }
 
+  /**
+   * Indicates whether the aggregate analytics table should be populated with a single scan of the
+   * data value table per partition, rather than one scan per value type category.
+   *
+   * @return true if single pass population is enabled.
+   */
+  public boolean isSinglePassPopulation() {
+    return config.isEnabled(ANALYTICS_TABLE_SINGLE_PASS_POPULATION);
+  }
+
+  /**
+   * Indicates whether changes to data values and events are captured in the analytics change log
+   * table, which is then used to find changed data during latest partition updates. Only supported
+   * for PostgreSQL, as the change log is maintained by triggers in the operational database.
+   *
+   * @return true if the change log is enabled.
+   */
+  public boolean isChangeLogEnabled() {
+    return config.isEnabled(ANALYTICS_TABLE_CHANGE_LOG) && isPostgreSqlAnalyticsDatabase();
+  }
+
+  /**
+   * Returns the granularity of the aggregate analytics table partitions. Sub-yearly granularity is
+   * only supported for PostgreSQL, as other databases use declarative partitioning by year, and for
+   * the ISO calendar, as partitions are derived from quarterly and monthly period identifiers.
+   * Falls back to {@link PartitionGranularity#YEAR} otherwise.
+   *
+   * @return the {@link PartitionGranularity}.
+   */
+  public PartitionGranularity getPartitionGranularity() {
+    String value = config.getProperty(ANALYTICS_TABLE_PARTITION_GRANULARITY);
+    PartitionGranularity granularity =
+        EnumUtils.getEnum(
+            PartitionGranularity.class,
+            StringUtils.trimToEmpty(value).toUpperCase(),
+            PartitionGranularity.YEAR);
+
+    if (granularity.isSubYear()
+        && (!isPostgreSqlAnalyticsDatabase() || !PeriodType.getCalendar().isIso8601())) {
+      log.debug("Sub-yearly partition granularity not supported, using yearly partitions");
+      return PartitionGranularity.YEAR;
+    }
+
+    return granularity;
+  }
+
+  /**
+   * Indicates whether the analytics database is PostgreSQL.
+   *
+   * @return true if the analytics database is PostgreSQL.
+   */
+  private boolean isPostgreSqlAnalyticsDatabase() {
+    String value = StringUtils.trimToEmpty(config.getProperty(ANALYTICS_DATABASE));
+    return Database.POSTGRESQL.name().equalsIgnoreCase(value);
+  }
+
   /**
    * Splits the given value on comma, and returns the values as a set.
    *
@@ -38,6 +38,7 @@ import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.calendar.DateTimeUnit;
@@ -149,10 +150,31 @@ public class PartitionUtils {
    * @return partitions for query and planner parameters.
    */
   public static Partitions getPartitions(DataQueryParams params, AnalyticsTableType tableType) {
-    Partitions partitions =
-        params.hasStartEndDate()
-            ? getPartitions(params.getStartDate(), params.getEndDate())
-            : getPartitions(params.getAllPeriods());
+    return getPartitions(params, tableType, PartitionGranularity.YEAR);
+  }
+
+  /**
+   * Returns partitions of the given {@link PartitionGranularity} for the given {@link
+   * DataQueryParams} and {@link AnalyticsTableType}. Includes a "latest" partition depending on the
+   * given table type.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param granularity the {@link PartitionGranularity}.
+   * @return partitions for query and planner parameters.
+   */
+  public static Partitions getPartitions(
+      DataQueryParams params, AnalyticsTableType tableType, PartitionGranularity granularity) {
+    Partitions partitions;
+
+    if (granularity.isSubYear()) {
+      partitions = getSubYearPartitions(params, granularity);
+    } else {
+      partitions =
+          params.hasStartEndDate()
+              ? getPartitions(params.getStartDate(), params.getEndDate())
+              : getPartitions(params.getAllPeriods());
+    }
 
     if (tableType.isLatestPartition()) {
       partitions.add(AnalyticsTablePartition.LATEST_PARTITION);
@@ -161,6 +183,30 @@ public class PartitionUtils {
     return partitions;
   }
 
+  /**
+   * Returns sub-yearly partitions of the given {@link PartitionGranularity} for the given {@link
+   * DataQueryParams}, including the yearly remainder partitions.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param granularity the sub-yearly {@link PartitionGranularity}.
+   * @return partitions for query parameters.
+   */
+  private static Partitions getSubYearPartitions(
+      DataQueryParams params, PartitionGranularity granularity) {
+    Set<Integer> partitions = new HashSet<>();
+
+    if (params.hasStartEndDate()) {
+      partitions.addAll(granularity.getPartitions(params.getStartDate(), params.getEndDate()));
+    } else {
+      for (DimensionalItemObject item : params.getAllPeriods()) {
+        Period period = (Period) item;
+        partitions.addAll(granularity.getPartitions(period.getStartDate(), period.getEndDate()));
+      }
+    }
+
+    return new Partitions(partitions);
+  }
+
   /**
    * Returns the years which the given period spans.
    *
@@ -31,6 +31,7 @@ import static lombok.AccessLevel.PRIVATE;
 import static org.apache.commons.lang3.StringUtils.joinWith;
 import static org.hisp.dhis.analytics.AnalyticsMetaDataKey.PAGER;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,10 +41,12 @@ import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.common.DimensionItemKeywords.Keyword;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridStreamWriter;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.SlimPager;
 import org.hisp.dhis.common.ValueStatus;
+import org.hisp.dhis.system.grid.ListGrid;
 
 @NoArgsConstructor(access = PRIVATE)
 public class ResponseHelper {
@@ -62,6 +65,79 @@ public class ResponseHelper {
     }
   }
 
+  /**
+   * Returns a writer which applies the headers of the given query to the grid and rows it passes on
+   * to the given writer, with the same result as {@link #applyHeaders(Grid, EventQueryParams)} has
+   * for a complete grid.
+   *
+   * @param writer the {@link GridStreamWriter} to write to.
+   * @param params the {@link EventQueryParams}.
+   * @return the writer to use.
+   */
+  public static GridStreamWriter applyHeaders(GridStreamWriter writer, EventQueryParams params) {
+    if (!params.hasHeaders()) {
+      return writer;
+    }
+
+    return new GridStreamWriter() {
+      private List<Integer> columnIndexes;
+
+      @Override
+      public void writeStart(Grid grid) {
+        // the headers of the given grid must stay as they are, they describe the query columns
+        Grid retained = new ListGrid(grid.getMetaData(), grid.getInternalMetaData());
+        grid.getHeaders().forEach(retained::addHeader);
+        columnIndexes = retained.repositionHeaders(new ArrayList<>(params.getHeaders()));
+        writer.writeStart(retained);
+      }
+
+      @Override
+      public void writeRow(List<Object> row) {
+        List<Object> retained = new ArrayList<>(columnIndexes.size());
+        columnIndexes.forEach(index -> retained.add(row.get(index)));
+        writer.writeRow(retained);
+      }
+
+      @Override
+      public void writeEnd(Grid grid) {
+        writer.writeEnd(grid);
+      }
+    };
+  }
+
+  /**
+   * Indicates whether the response for the given query can be streamed. This is the case when the
+   * rows need no processing which requires all of them to be known, like paging or identifier
+   * scheme substitution.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return true if the response can be streamed.
+   */
+  public static boolean isStreamable(EventQueryParams params) {
+    return !params.isPaging()
+        && !params.analyzeOnly()
+        && !params.isSkipData()
+        && !params.isRowContext()
+        && !params.hasDataIdScheme()
+        && !params.hasCustomIdSchemeSet();
+  }
+
+  /**
+   * Indicates whether the response for the given query can be streamed in a format which includes
+   * the metadata, like JSON. Metadata of a streamed response is computed before any row is known,
+   * while the metadata of a buffered response depends on the rows. Such responses can therefore
+   * only be streamed when no metadata is requested.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return true if the response can be streamed including metadata.
+   */
+  public static boolean isStreamableWithMetadata(EventQueryParams params) {
+    return isStreamable(params)
+        && params.isSkipMeta()
+        && !params.isHierarchyMeta()
+        && !params.isShowHierarchy();
+  }
+
   /**
    * Extracts a list of {@link Keyword} from the dimensions present in the given params.
    *
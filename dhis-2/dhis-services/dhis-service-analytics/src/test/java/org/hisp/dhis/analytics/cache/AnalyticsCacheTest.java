@@ -30,6 +30,7 @@ package org.hisp.dhis.analytics.cache;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -72,7 +73,8 @@ class AnalyticsCacheTest {
 
     Mockito.<Cache<Grid>>when(cacheProvider.createAnalyticsCache()).thenReturn(cache);
 
-    AnalyticsCache analyticsCache = new AnalyticsCache(cacheProvider, settings);
+    AnalyticsCache analyticsCache =
+        new AnalyticsCache(cacheProvider, settings, new SimpleMeterRegistry());
 
     Grid grid = new ListGrid();
     grid.addHeader(new GridHeader("Header1"))
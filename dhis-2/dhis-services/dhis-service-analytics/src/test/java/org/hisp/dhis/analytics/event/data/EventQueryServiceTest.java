@@ -32,14 +32,24 @@ import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
 import static org.hisp.dhis.test.TestBase.createPeriod;
 import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.hisp.dhis.test.TestBase.injectSecurityContextNoSettings;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.hisp.dhis.analytics.AnalyticsSecurityManager;
 import org.hisp.dhis.analytics.common.scheme.SchemeInfo;
 import org.hisp.dhis.analytics.common.scheme.SchemeInfo.Data;
@@ -52,8 +62,12 @@ import org.hisp.dhis.analytics.event.EventQueryValidator;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.analytics.tracker.MetadataItemsHandler;
 import org.hisp.dhis.analytics.tracker.SchemeIdHandler;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridStreamWriter;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.db.sql.SqlBuilder;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.user.SystemUser;
@@ -89,6 +103,8 @@ class EventQueryServiceTest {
 
   @Mock private SchemeIdResponseMapper schemeIdResponseMapper;
 
+  @Mock private DhisConfigurationProvider config;
+
   @InjectMocks private EventQueryService eventQueryService;
 
   @BeforeAll
@@ -132,6 +148,80 @@ class EventQueryServiceTest {
     verify(schemeIdResponseMapper, never()).getSchemeIdResponseMap(mockSchemeInfo);
   }
 
+  @Test
+  void testStreamedEventsEqualBufferedEvents() {
+    OrganisationUnit orgUnit = createOrganisationUnit('A');
+    Program program = createProgram('A', null, null, Sets.newHashSet(orgUnit), null);
+    EventQueryParams params =
+        new EventQueryParams.Builder(mockEventQueryParams(orgUnit, program, null))
+            .withPartitions(new Partitions(Set.of(2000)))
+            .withSkipMeta(true)
+            .build();
+    List<List<Object>> rows = List.of(List.of("evA", "ouA"), List.of("evB", "ouB"));
+
+    when(securityManager.withUserConstraints(params)).thenReturn(params);
+    when(queryPlanner.planEventQuery(any(EventQueryParams.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(eventAnalyticsManager.getEvents(any(EventQueryParams.class), any(Grid.class), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              Grid grid = invocation.getArgument(1);
+              rows.forEach(row -> grid.addRow().addValues(row.toArray()));
+              return grid;
+            });
+    doAnswer(
+            invocation -> {
+              Consumer<List<Object>> consumer = invocation.getArgument(3);
+              rows.forEach(row -> consumer.accept(new ArrayList<>(row)));
+              return null;
+            })
+        .when(eventAnalyticsManager)
+        .streamEvents(any(EventQueryParams.class), any(Grid.class), anyInt(), any());
+
+    Grid buffered = eventQueryService.getEvents(params);
+
+    CollectingGridStreamWriter streamed = new CollectingGridStreamWriter();
+    eventQueryService.streamEvents(params, streamed);
+
+    assertEquals(buffered.getHeaders(), streamed.start.getHeaders());
+    assertEquals(buffered.getMetaData(), streamed.start.getMetaData());
+    assertEquals(buffered.getRows(), streamed.rows);
+    assertSame(streamed.start, streamed.end);
+  }
+
+  @Test
+  void testStreamingEventsWithMetadataRequiresSkipMeta() {
+    when(config.isEnabled(ConfigurationKey.ANALYTICS_QUERY_STREAMING)).thenReturn(true);
+
+    OrganisationUnit orgUnit = createOrganisationUnit('A');
+    Program program = createProgram('A', null, null, Sets.newHashSet(orgUnit), null);
+    EventQueryParams params = mockEventQueryParams(orgUnit, program, null);
+
+    assertFalse(eventQueryService.isStreamingEvents(params, true));
+    assertTrue(eventQueryService.isStreamingEvents(params, false));
+
+    EventQueryParams skipMeta = new EventQueryParams.Builder(params).withSkipMeta(true).build();
+
+    assertTrue(eventQueryService.isStreamingEvents(skipMeta, true));
+
+    EventQueryParams hierarchy =
+        new EventQueryParams.Builder(skipMeta).withShowHierarchy(true).build();
+
+    assertFalse(eventQueryService.isStreamingEvents(hierarchy, true));
+    assertTrue(eventQueryService.isStreamingEvents(hierarchy, false));
+  }
+
+  @Test
+  void testStreamingEventsDisabled() {
+    when(config.isEnabled(ConfigurationKey.ANALYTICS_QUERY_STREAMING)).thenReturn(false);
+
+    OrganisationUnit orgUnit = createOrganisationUnit('A');
+    Program program = createProgram('A', null, null, Sets.newHashSet(orgUnit), null);
+
+    assertFalse(
+        eventQueryService.isStreamingEvents(mockEventQueryParams(orgUnit, program, null), false));
+  }
+
   private EventQueryParams mockEventQueryParams(
       OrganisationUnit mockOrgUnit, Program mockProgram, IdScheme scheme) {
     return new EventQueryParams.Builder()
@@ -153,4 +243,27 @@ class EventQueryServiceTest {
   private Settings mockSchemeSettings(EventQueryParams eventQueryParams) {
     return Settings.builder().outputIdScheme(eventQueryParams.getOutputIdScheme()).build();
   }
+
+  private static class CollectingGridStreamWriter implements GridStreamWriter {
+    private final List<List<Object>> rows = new ArrayList<>();
+
+    private Grid start;
+
+    private Grid end;
+
+    @Override
+    public void writeStart(Grid grid) {
+      start = grid;
+    }
+
+    @Override
+    public void writeRow(List<Object> row) {
+      rows.add(row);
+    }
+
+    @Override
+    public void writeEnd(Grid grid) {
+      end = grid;
+    }
+  }
 }
@@ -29,14 +29,22 @@ package org.hisp.dhis.analytics.event.data.programindicator;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hisp.dhis.analytics.AggregationType.COUNT;
 import static org.hisp.dhis.analytics.DataType.BOOLEAN;
 import static org.hisp.dhis.analytics.DataType.NUMERIC;
 import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.hisp.dhis.test.TestBase.createProgramIndicator;
 import static org.hisp.dhis.test.TestBase.getDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Date;
+import java.util.Set;
+import org.hisp.dhis.analytics.common.TableInfoReader;
+import org.hisp.dhis.analytics.common.TableInfoReader.TableInfo;
 import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.program.ProgramIndicator;
@@ -78,6 +86,8 @@ class ProgramIndicatorSubqueryBuilderTest {
 
   @Mock private SystemSettingsService systemSettingsService;
 
+  @Mock private TableInfoReader tableInfoReader;
+
   @InjectMocks private DefaultProgramIndicatorSubqueryBuilder subject;
 
   @Spy private SystemSettings systemSettings;
@@ -211,4 +221,79 @@ class ProgramIndicatorSubqueryBuilderTest {
                 + program.getUid().toLowerCase()
                 + " as subax WHERE enrollment = ax.enrollment AND (a = b))"));
   }
+
+  @Test
+  void verifyMaterializedValueSql() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+
+    when(programIndicatorService.getAnalyticsSql(DUMMY_EXPRESSION, NUMERIC, pi, null, null, "ax"))
+        .thenReturn("ax.\"value\"");
+
+    assertEquals("(ax.\"value\")", subject.getMaterializedValueSql(pi));
+  }
+
+  @Test
+  void verifyMaterializedValueSqlWithCountAndFilter() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+    pi.setFilter(DUMMY_FILTER_EXPRESSION);
+    pi.setAggregationType(COUNT);
+
+    when(programIndicatorService.getAnalyticsSql(DUMMY_EXPRESSION, NUMERIC, pi, null, null, "ax"))
+        .thenReturn("ax.\"value\"");
+    when(programIndicatorService.getAnalyticsSql(
+            DUMMY_FILTER_EXPRESSION, BOOLEAN, pi, null, null, "ax"))
+        .thenReturn("ax.\"value\" > 10");
+
+    assertEquals(
+        "case when (ax.\"value\" > 10) then case when (ax.\"value\") is not null then 1 else 0"
+            + " end else 0 end",
+        subject.getMaterializedValueSql(pi));
+  }
+
+  @Test
+  void verifyIsMaterialized() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+    pi.setLastUpdated(getDate(2024, 1, 1));
+
+    assertFalse(subject.isMaterialized(pi, AnalyticsType.EVENT));
+
+    pi.setMaterialized(true);
+    when(systemSettings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(getDate(2024, 2, 1));
+    when(tableInfoReader.getInfo(getEventTableName()))
+        .thenReturn(new TableInfo(getEventTableName(), Set.of("event", pi.getUid())));
+
+    assertTrue(subject.isMaterialized(pi, AnalyticsType.EVENT));
+    assertFalse(subject.isMaterialized(pi, AnalyticsType.ENROLLMENT));
+
+    pi.setLastUpdated(getDate(2024, 3, 1));
+
+    assertFalse(subject.isMaterialized(pi, AnalyticsType.EVENT));
+  }
+
+  @Test
+  void verifyIsNotMaterializedWithoutColumn() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+    pi.setLastUpdated(getDate(2024, 1, 1));
+    pi.setMaterialized(true);
+    when(systemSettings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(getDate(2024, 2, 1));
+    when(tableInfoReader.getInfo(getEventTableName()))
+        .thenReturn(new TableInfo(getEventTableName(), Set.of("event")));
+
+    assertFalse(subject.isMaterialized(pi, AnalyticsType.EVENT));
+  }
+
+  @Test
+  void verifyIsNotMaterializedWithoutTableUpdate() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+    pi.setLastUpdated(getDate(2024, 1, 1));
+    pi.setMaterialized(true);
+    when(systemSettings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(null);
+
+    assertFalse(subject.isMaterialized(pi, AnalyticsType.EVENT));
+    verifyNoInteractions(tableInfoReader);
+  }
+
+  private String getEventTableName() {
+    return "analytics_event_" + program.getUid().toLowerCase();
+  }
 }
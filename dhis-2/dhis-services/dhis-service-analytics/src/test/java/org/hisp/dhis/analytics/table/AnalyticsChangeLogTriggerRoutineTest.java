@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsChangeLogTriggerRoutineTest {
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks private AnalyticsChangeLogTriggerRoutine routine;
+
+  @Test
+  void testGetCreateTriggerSql() {
+    assertEquals(
+        "create trigger analyticschangelog_datavalue_trigger after insert or update or delete "
+            + "on datavalue for each row execute procedure analyticschangelog_datavalue();",
+        AnalyticsChangeLogTriggerRoutine.getCreateTriggerSql("datavalue"));
+  }
+
+  @Test
+  void testExecuteEnabled() {
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(true);
+
+    routine.execute();
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder
+        .verify(jdbcTemplate)
+        .execute("drop trigger if exists analyticschangelog_datavalue_trigger on datavalue;");
+    inOrder
+        .verify(jdbcTemplate)
+        .execute(AnalyticsChangeLogTriggerRoutine.getCreateTriggerSql("datavalue"));
+    inOrder
+        .verify(jdbcTemplate)
+        .execute("drop trigger if exists analyticschangelog_event_trigger on event;");
+    inOrder
+        .verify(jdbcTemplate)
+        .execute(AnalyticsChangeLogTriggerRoutine.getCreateTriggerSql("event"));
+  }
+
+  @Test
+  void testExecuteDisabled() {
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(false);
+
+    routine.execute();
+
+    verify(jdbcTemplate)
+        .execute("drop trigger if exists analyticschangelog_datavalue_trigger on datavalue;");
+    verify(jdbcTemplate)
+        .execute("drop trigger if exists analyticschangelog_event_trigger on event;");
+    verifyNoMoreInteractions(jdbcTemplate);
+  }
+}
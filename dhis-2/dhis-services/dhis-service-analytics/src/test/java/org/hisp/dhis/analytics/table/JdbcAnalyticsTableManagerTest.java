@@ -35,6 +35,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +52,7 @@ import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
@@ -66,6 +70,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -114,6 +119,7 @@ class JdbcAnalyticsTableManagerTest {
   public void setUp() {
     when(settingsProvider.getCurrentSettings()).thenReturn(settings);
     when(settings.getLastSuccessfulResourceTablesUpdate()).thenReturn(new Date(0L));
+    when(analyticsTableSettings.getPartitionGranularity()).thenReturn(PartitionGranularity.YEAR);
   }
 
   @Test
@@ -321,4 +327,207 @@ class JdbcAnalyticsTableManagerTest {
 
     verify(sqlBuilder).swapParentTable(swappedPartition, "analytics_temp", "analytics");
   }
+
+  @Test
+  void testPopulateTableMultiPass() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(new Date()).build();
+
+    subject.populateTable(params, createTablePartition());
+
+    verify(jdbcTemplate, times(4)).execute(anyString());
+  }
+
+  @Test
+  void testPopulateTableSinglePass() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(new Date()).build();
+
+    when(analyticsTableSettings.isSinglePassPopulation()).thenReturn(true);
+
+    subject.populateTable(params, createTablePartition());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, times(1)).execute(sql.capture());
+    assertTrue(sql.getValue().contains("case when (des.valuetype in ("));
+    assertTrue(sql.getValue().contains("then dv.value else null end as textvalue"));
+  }
+
+  @Test
+  void testPopulateTableMonthlyPartition() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(new Date()).build();
+
+    when(analyticsTableSettings.getPartitionGranularity()).thenReturn(PartitionGranularity.MONTH);
+    when(analyticsTableSettings.isSinglePassPopulation()).thenReturn(true);
+
+    subject.populateTable(params, createTablePartition(202404));
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, times(1)).execute(sql.capture());
+    assertTrue(sql.getValue().contains("and ps.\"monthly\" = '202404'"));
+    assertFalse(sql.getValue().contains("and ps.year ="));
+  }
+
+  @Test
+  void testPopulateTableMonthlyRemainderPartition() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(new Date()).build();
+
+    when(analyticsTableSettings.getPartitionGranularity()).thenReturn(PartitionGranularity.MONTH);
+    when(analyticsTableSettings.isSinglePassPopulation()).thenReturn(true);
+
+    subject.populateTable(params, createTablePartition(2023));
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, times(1)).execute(sql.capture());
+    assertTrue(sql.getValue().contains("and ps.year = 2023 and ps.\"monthly\" is null"));
+  }
+
+  @Test
+  void testRemoveUpdatedDataWithChangeLog() {
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, List.of(), List.of(), LOGGED);
+    table.addTablePartition(
+        List.of(), AnalyticsTablePartition.LATEST_PARTITION, lastFullTableUpdate, startTime);
+
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(true);
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(1200L));
+
+    subject.removeUpdatedData(List.of(table));
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, times(2)).execute(sql.capture());
+
+    String removeSql = sql.getAllValues().get(0);
+    String trimSql = sql.getAllValues().get(1);
+
+    assertTrue(removeSql.startsWith("delete from \"analytics\" ax"));
+    assertTrue(removeSql.contains("from \"analyticschangelog\" cl"));
+    assertTrue(removeSql.contains("cl.txid >= 1200"));
+    assertFalse(removeSql.contains("created"));
+    assertFalse(removeSql.contains("dv.lastupdated"));
+    assertTrue(trimSql.startsWith("delete from \"analyticschangelog\""));
+    assertTrue(trimSql.contains("txid < 1200"));
+  }
+
+  @Test
+  void testRemoveUpdatedDataWithChangeLogWithoutMark() {
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, List.of(), List.of(), LOGGED);
+    table.addTablePartition(
+        List.of(), AnalyticsTablePartition.LATEST_PARTITION, new Date(42L), new Date());
+
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(true);
+
+    subject.removeUpdatedData(List.of(table));
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, times(2)).execute(sql.capture());
+
+    assertTrue(sql.getAllValues().get(0).contains("cl.txid >= 0"));
+    assertTrue(sql.getAllValues().get(1).contains("txid < 0"));
+  }
+
+  @Test
+  void testPopulateLatestPartitionWithChangeLog() {
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(startTime).build().withLatestPartition();
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, List.of(), List.of(), LOGGED);
+    table.addTablePartition(
+        List.of(), AnalyticsTablePartition.LATEST_PARTITION, lastFullTableUpdate, startTime);
+
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(true);
+    when(analyticsTableSettings.isSinglePassPopulation()).thenReturn(true);
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(1200L));
+
+    subject.populateTable(params, table.getLatestTablePartition());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, times(1)).execute(sql.capture());
+    assertTrue(sql.getValue().contains("and (dv.lastupdated >= '2019-03-01 02:00:00"));
+    assertTrue(sql.getValue().contains("from \"analyticschangelog\" cl"));
+    assertTrue(sql.getValue().contains("cl.txid >= 1200))"));
+  }
+
+  @Test
+  void testSwapTableSavesChangeLogMark() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(new Date()).build();
+    params.addExtraParam(AbstractJdbcTableManager.PREFIX_CHANGE_LOG_MARK, "datavalue", 1200L);
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, List.of(), List.of(), LOGGED);
+
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(true);
+
+    subject.swapTable(params, table);
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, Mockito.atLeastOnce()).execute(sql.capture());
+
+    String markSql = sql.getAllValues().get(sql.getAllValues().size() - 1);
+
+    assertTrue(markSql.startsWith("insert into \"analyticschangelogmark\""));
+    assertTrue(markSql.contains("values ('datavalue', 1200, 1200)"));
+    assertTrue(markSql.contains("set txid = excluded.txid, latesttxid = excluded.latesttxid"));
+  }
+
+  @Test
+  void testSwapLatestTableSavesLatestChangeLogMark() {
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(new Date()).build().withLatestPartition();
+    params.addExtraParam(AbstractJdbcTableManager.PREFIX_CHANGE_LOG_MARK, "datavalue", 1300L);
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, List.of(), List.of(), LOGGED);
+
+    when(analyticsTableSettings.isChangeLogEnabled()).thenReturn(true);
+
+    subject.swapTable(params, table);
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    verify(jdbcTemplate, Mockito.atLeastOnce()).execute(sql.capture());
+
+    String markSql = sql.getAllValues().get(sql.getAllValues().size() - 1);
+
+    assertTrue(markSql.contains("values ('datavalue', 0, 1300)"));
+    assertTrue(markSql.contains("do update set latesttxid = excluded.latesttxid"));
+  }
+
+  private AnalyticsTablePartition createTablePartition() {
+    return createTablePartition(2023);
+  }
+
+  private AnalyticsTablePartition createTablePartition(Integer partition) {
+    List<AnalyticsTableColumn> columns =
+        List.of(
+            AnalyticsTableColumn.builder()
+                .name("year")
+                .dataType(INTEGER)
+                .selectExpression("ps.year as year")
+                .build());
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, columns, List.of("dx"), LOGGED);
+    table.addTablePartition(
+        List.of(),
+        partition,
+        PartitionGranularity.getStartDate(partition),
+        PartitionGranularity.getEndDate(partition));
+
+    return table.getTablePartitions().get(0);
+  }
 }
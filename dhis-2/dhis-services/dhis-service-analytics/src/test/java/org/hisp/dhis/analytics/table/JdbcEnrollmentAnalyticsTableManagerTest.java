@@ -30,12 +30,17 @@ package org.hisp.dhis.analytics.table;
 import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hisp.dhis.system.util.SqlUtils.quote;
 import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.hisp.dhis.test.TestBase.createProgramTrackedEntityAttribute;
 import static org.hisp.dhis.test.TestBase.createTrackedEntityAttribute;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,6 +67,7 @@ import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.util.DateUtils;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -142,4 +148,47 @@ class JdbcEnrollmentAnalyticsTableManagerTest {
 
     assertThat(sql.getValue(), containsString(ouQuery));
   }
+
+  @Test
+  void verifyGetLatestAnalyticsTables() {
+    Program prA = createProgram('A');
+    Program prB = createProgram('B');
+
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(startTime).build().withLatestPartition();
+
+    when(settingsProvider.getCurrentSettings()).thenReturn(settings);
+    when(settings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(lastFullTableUpdate);
+    when(settings.getLastSuccessfulLatestAnalyticsPartitionUpdate()).thenReturn(new Date(0L));
+    when(idObjectManager.getAllNoAcl(Program.class)).thenReturn(List.of(prA, prB));
+    when(jdbcTemplate.queryForList(anyString()))
+        .thenReturn(List.of(Map.<String, Object>of("enrollmentid", 1)), List.of());
+
+    List<AnalyticsTable> tables = subject.getAnalyticsTables(params);
+    assertThat(tables, hasSize(1));
+
+    AnalyticsTablePartition partition = tables.get(0).getLatestTablePartition();
+    assertTrue(partition.isLatestPartition());
+    assertEquals(lastFullTableUpdate, partition.getStartDate());
+    assertEquals(startTime, partition.getEndDate());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    subject.populateTable(params, partition);
+    subject.removeUpdatedData(tables);
+    verify(jdbcTemplate, times(2)).execute(sql.capture());
+
+    String startDate = DateUtils.toLongDate(lastFullTableUpdate);
+
+    assertThat(
+        sql.getAllValues().get(0), containsString("and en.lastupdated >= '" + startDate + "'"));
+    assertThat(
+        sql.getAllValues().get(1),
+        containsString("delete from " + quote(tables.get(0).getMainName()) + " ax"));
+    assertThat(
+        sql.getAllValues().get(1), containsString("and en.lastupdated >= '" + startDate + "'"));
+  }
 }
@@ -50,12 +50,14 @@ import static org.hisp.dhis.test.TestBase.createCategory;
 import static org.hisp.dhis.test.TestBase.createCategoryCombo;
 import static org.hisp.dhis.test.TestBase.createDataElement;
 import static org.hisp.dhis.test.TestBase.createProgram;
+import static org.hisp.dhis.test.TestBase.createProgramIndicator;
 import static org.hisp.dhis.test.TestBase.createProgramStage;
 import static org.hisp.dhis.test.TestBase.createProgramTrackedEntityAttribute;
 import static org.hisp.dhis.test.TestBase.createTrackedEntityAttribute;
 import static org.hisp.dhis.test.TestBase.getDate;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -71,6 +73,7 @@ import java.util.Set;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
@@ -94,6 +97,7 @@ import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.period.PeriodDataProvider.PeriodSource;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.program.ProgramStage;
 import org.hisp.dhis.program.ProgramTrackedEntityAttribute;
 import org.hisp.dhis.resourcetable.ResourceTableService;
@@ -138,6 +142,8 @@ class JdbcEventAnalyticsTableManagerTest {
 
   @Spy private SqlBuilder sqlBuilder = new PostgreSqlBuilder();
 
+  @Mock private ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder;
+
   @InjectMocks private JdbcEventAnalyticsTableManager subject;
 
   private Date today;
@@ -599,6 +605,51 @@ class JdbcEventAnalyticsTableManagerTest {
     assertThat(sql.getValue(), containsString(ouNameQuery));
   }
 
+  @Test
+  void verifyMaterializedProgramIndicatorIsComputedWhenPopulatingEventAnalyticsTable() {
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    Program programA = createProgram('A');
+    ProgramIndicator piA = createProgramIndicator('A', programA, "#{A.B}", null);
+    piA.setMaterialized(true);
+    programA.getProgramIndicators().add(piA);
+
+    when(idObjectManager.getAllNoAcl(Program.class)).thenReturn(List.of(programA));
+    when(programIndicatorSubqueryBuilder.isMaterializable(piA)).thenReturn(true);
+    when(programIndicatorSubqueryBuilder.getMaterializedValueSql(piA)).thenReturn("(ax.\"B\")");
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder()
+            .lastYears(2)
+            .startTime(START_TIME)
+            .today(today)
+            .build();
+
+    mockPeriodYears(List.of(2018, 2019, now().getYear()));
+
+    List<Integer> availableDataYears = periodDataProvider.getAvailableYears(DATABASE);
+
+    when(jdbcTemplate.queryForList(
+            getYearQueryForCurrentYear(programA, true, availableDataYears), Integer.class))
+        .thenReturn(List.of(2018, 2019));
+
+    List<AnalyticsTable> analyticsTables = subject.getAnalyticsTables(params);
+    assertFalse(analyticsTables.isEmpty());
+    AnalyticsTablePartition partition = new AnalyticsTablePartition(analyticsTables.get(0));
+
+    subject.populateTable(params, partition);
+    verify(jdbcTemplate, times(2)).execute(sql.capture());
+
+    assertThat(sql.getAllValues().get(0), containsString(quote(piA.getUid())));
+    assertThat(
+        sql.getAllValues().get(1),
+        equalTo(
+            "update "
+                + partition.getName()
+                + " as ax set "
+                + quote(piA.getUid())
+                + " = (ax.\"B\")"));
+  }
+
   @Test
   void verifyTeiTypeOrgUnitFetchesOuNameWhenPopulatingEventAnalyticsTable() {
     ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
@@ -27,36 +27,54 @@
  */
 package org.hisp.dhis.analytics.table;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hisp.dhis.system.util.SqlUtils.quote;
+import static org.hisp.dhis.test.TestBase.createTrackedEntityType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
+import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
 import org.hisp.dhis.db.model.Column;
+import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.db.sql.PostgreSqlBuilder;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.resourcetable.ResourceTableService;
+import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityType;
 import org.hisp.dhis.trackedentity.TrackedEntityTypeService;
+import org.hisp.dhis.util.DateUtils;
+import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -77,6 +95,8 @@ class JdbcTrackedEntityAnalyticsTableManagerTest {
 
   @Mock private SystemSettingsProvider systemSettingsProvider;
 
+  @Mock private SystemSettings systemSettings;
+
   @Mock private IdentifiableObjectManager identifiableObjectManager;
 
   @Mock private TrackedEntityTypeService trackedEntityTypeService;
@@ -137,6 +157,87 @@ class JdbcTrackedEntityAnalyticsTableManagerTest {
     assertDoesntContainConfidentialTeaColumns(analyticsTable);
   }
 
+  @Test
+  void verifyGetLatestAnalyticsTables() {
+    TrackedEntityType tet = createTrackedEntityType('A');
+    tet.setId(1);
+
+    Date lastFullTableUpdate = new DateTime(2019, 3, 1, 2, 0).toDate();
+    Date startTime = new DateTime(2019, 3, 1, 10, 0).toDate();
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().startTime(startTime).build().withLatestPartition();
+
+    when(systemSettingsProvider.getCurrentSettings()).thenReturn(systemSettings);
+    when(systemSettings.getLastSuccessfulAnalyticsTablesUpdate()).thenReturn(lastFullTableUpdate);
+    when(systemSettings.getLastSuccessfulLatestAnalyticsPartitionUpdate()).thenReturn(new Date(0L));
+    when(trackedEntityTypeService.getAllTrackedEntityType()).thenReturn(List.of(tet));
+    when(jdbcTemplate.queryForList(anyString()))
+        .thenReturn(List.of(Map.<String, Object>of("trackedentityid", 1)));
+
+    List<AnalyticsTable> tables = tableManager.getAnalyticsTables(params);
+    assertThat(tables, hasSize(1));
+
+    AnalyticsTablePartition partition = tables.get(0).getLatestTablePartition();
+    assertTrue(partition.isLatestPartition());
+    assertEquals(lastFullTableUpdate, partition.getStartDate());
+    assertEquals(startTime, partition.getEndDate());
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+    tableManager.populateTable(params, partition);
+    tableManager.removeUpdatedData(tables);
+    verify(jdbcTemplate, times(2)).execute(sql.capture());
+
+    String startDate = DateUtils.toLongDate(lastFullTableUpdate);
+
+    assertThat(
+        sql.getAllValues().get(0), containsString("and te.lastupdated >= '" + startDate + "'"));
+    assertThat(
+        sql.getAllValues().get(1),
+        containsString("delete from " + quote(tables.get(0).getMainName()) + " ax"));
+    assertThat(
+        sql.getAllValues().get(1), containsString("and te.lastupdated >= '" + startDate + "'"));
+  }
+
+  @Test
+  void verifyLatestUpdateKeepsMainTable() {
+    AnalyticsTable table = createTable();
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().build().withLatestPartition();
+
+    when(jdbcTemplate.queryForList(anyString()))
+        .thenReturn(List.of(Map.<String, Object>of("table_name", table.getMainName())));
+
+    tableManager.swapTable(params, table);
+
+    verify(jdbcTemplate, never()).execute(sqlBuilder.swapTable(table, table.getMainName()));
+    verify(jdbcTemplate).execute(sqlBuilder.dropTableIfExistsCascade(table.getName()));
+  }
+
+  @Test
+  void verifyLastYearsUpdateReplacesMainTable() {
+    AnalyticsTable table = createTable();
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().lastYears(2).build();
+
+    when(jdbcTemplate.queryForList(anyString()))
+        .thenReturn(List.of(Map.<String, Object>of("table_name", table.getMainName())));
+
+    tableManager.swapTable(params, table);
+
+    verify(jdbcTemplate).execute(sqlBuilder.swapTable(table, table.getMainName()));
+    verify(jdbcTemplate, never()).execute(sqlBuilder.dropTableIfExistsCascade(table.getName()));
+  }
+
+  private AnalyticsTable createTable() {
+    return new AnalyticsTable(
+        AnalyticsTableType.TRACKED_ENTITY_INSTANCE,
+        List.of(),
+        Logged.UNLOGGED,
+        createTrackedEntityType('A'));
+  }
+
   private void assertDoesntContainConfidentialTeaColumns(AnalyticsTable analyticsTable) {
     List<Column> columns = analyticsTable.getColumns();
 
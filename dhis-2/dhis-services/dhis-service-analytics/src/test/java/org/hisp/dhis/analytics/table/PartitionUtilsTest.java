@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Set;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.table.model.PartitionGranularity;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.period.Period;
@@ -104,4 +105,22 @@ class PartitionUtilsTest {
     assertEquals(1, partitions.getPartitions().size());
     assertTrue(partitions.getPartitions().contains(2018));
   }
+
+  @Test
+  void testGetSubYearTablePartitionsFromQuery() {
+    DataQueryParams params = DataQueryParams.newBuilder().withPeriods(List.of(q2, q3)).build();
+    Partitions partitions =
+        PartitionUtils.getPartitions(
+            params, AnalyticsTableType.DATA_VALUE, PartitionGranularity.QUARTER);
+
+    assertEquals(Set.of(2018, 20184, 2019, 20191, 0), partitions.getPartitions());
+    assertEquals(Set.of(2018, 2019, 0), partitions.getYears());
+
+    params = DataQueryParams.newBuilder().withPeriods(List.of(createPeriod("201811"))).build();
+    partitions =
+        PartitionUtils.getPartitions(
+            params, AnalyticsTableType.ORG_UNIT_TARGET, PartitionGranularity.MONTH);
+
+    assertEquals(Set.of(2018, 201811), partitions.getPartitions());
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2004-2024, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.joda.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class PartitionGranularityTest {
+  @Test
+  void testIsSubYear() {
+    assertFalse(PartitionGranularity.YEAR.isSubYear());
+    assertTrue(PartitionGranularity.QUARTER.isSubYear());
+    assertTrue(PartitionGranularity.MONTH.isSubYear());
+  }
+
+  @Test
+  void testToPartition() {
+    assertEquals(20242, PartitionGranularity.QUARTER.toPartition("2024Q2"));
+    assertEquals(202404, PartitionGranularity.MONTH.toPartition("202404"));
+    assertThrows(IllegalStateException.class, () -> PartitionGranularity.YEAR.toPartition("2024"));
+  }
+
+  @Test
+  void testToIsoPeriod() {
+    assertEquals("2024Q2", PartitionGranularity.QUARTER.toIsoPeriod(20242));
+    assertEquals("202411", PartitionGranularity.MONTH.toIsoPeriod(202411));
+  }
+
+  @Test
+  void testOf() {
+    assertEquals(PartitionGranularity.YEAR, PartitionGranularity.of(null));
+    assertEquals(PartitionGranularity.YEAR, PartitionGranularity.of(0));
+    assertEquals(PartitionGranularity.YEAR, PartitionGranularity.of(2024));
+    assertEquals(PartitionGranularity.QUARTER, PartitionGranularity.of(20244));
+    assertEquals(PartitionGranularity.MONTH, PartitionGranularity.of(202412));
+  }
+
+  @Test
+  void testGetYear() {
+    assertNull(PartitionGranularity.getYear(null));
+    assertEquals(2024, PartitionGranularity.getYear(2024));
+    assertEquals(2024, PartitionGranularity.getYear(20243));
+    assertEquals(2024, PartitionGranularity.getYear(202407));
+  }
+
+  @Test
+  void testGetStartAndEndDate() {
+    assertEquals(new LocalDate(2024, 1, 1).toDate(), PartitionGranularity.getStartDate(2024));
+    assertEquals(new LocalDate(2025, 1, 1).toDate(), PartitionGranularity.getEndDate(2024));
+    assertEquals(new LocalDate(2024, 10, 1).toDate(), PartitionGranularity.getStartDate(20244));
+    assertEquals(new LocalDate(2025, 1, 1).toDate(), PartitionGranularity.getEndDate(20244));
+    assertEquals(new LocalDate(2024, 12, 1).toDate(), PartitionGranularity.getStartDate(202412));
+    assertEquals(new LocalDate(2025, 1, 1).toDate(), PartitionGranularity.getEndDate(202412));
+  }
+
+  @Test
+  void testGetPartitions() {
+    assertEquals(
+        Set.of(2024),
+        PartitionGranularity.YEAR.getPartitions(
+            new LocalDate(2024, 2, 1).toDate(), new LocalDate(2024, 4, 30).toDate()));
+    assertEquals(
+        Set.of(2024, 20241, 20242),
+        PartitionGranularity.QUARTER.getPartitions(
+            new LocalDate(2024, 2, 1).toDate(), new LocalDate(2024, 4, 30).toDate()));
+    assertEquals(
+        Set.of(2024, 2025, 202412, 202501),
+        PartitionGranularity.MONTH.getPartitions(
+            new LocalDate(2024, 12, 1).toDate(), new LocalDate(2025, 1, 31).toDate()));
+  }
+}
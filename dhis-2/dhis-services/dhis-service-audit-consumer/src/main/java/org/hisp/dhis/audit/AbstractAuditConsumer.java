@@ -27,7 +27,9 @@
  */
 package org.hisp.dhis.audit;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.jms.TextMessage;
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
@@ -39,19 +41,31 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class AbstractAuditConsumer implements AuditConsumer {
   protected AuditService auditService;
 
+  protected AuditBatchWriter auditBatchWriter;
+
   protected ObjectMapper objectMapper;
 
   protected boolean isAuditLogEnabled;
 
   protected boolean isAuditDatabaseEnabled;
 
+  /**
+   * Consumes the given audit message. The audited entity in the <code>data</code> property is kept
+   * as raw JSON instead of being deserialized and serialized again. Audits are saved to the
+   * database in batches by the {@link AuditBatchWriter}.
+   *
+   * @param message the {@link TextMessage}.
+   */
   protected void _consume(TextMessage message) {
     try {
+      ObjectNode node = (ObjectNode) objectMapper.readTree(message.getText());
+      JsonNode data = node.remove("data");
+
       org.hisp.dhis.artemis.audit.Audit auditMessage =
-          objectMapper.readValue(message.getText(), org.hisp.dhis.artemis.audit.Audit.class);
+          objectMapper.treeToValue(node, org.hisp.dhis.artemis.audit.Audit.class);
 
-      if (auditMessage.getData() != null && !(auditMessage.getData() instanceof String)) {
-        auditMessage.setData(objectMapper.writeValueAsString(auditMessage.getData()));
+      if (data != null && !data.isNull()) {
+        auditMessage.setData(data.isTextual() ? data.textValue() : data.toString());
       }
 
       org.hisp.dhis.audit.Audit audit = auditMessage.toAudit();
@@ -61,7 +75,7 @@ public abstract class AbstractAuditConsumer implements AuditConsumer {
       }
 
       if (isAuditDatabaseEnabled) {
-        auditService.addAudit(audit);
+        auditBatchWriter.add(audit);
       }
     } catch (IOException e) {
       log.error(
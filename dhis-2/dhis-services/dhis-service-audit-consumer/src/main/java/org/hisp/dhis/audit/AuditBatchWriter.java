@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffers audits consumed from the audit queues and saves them to the database in batches. A batch
+ * is saved by the consumer thread which fills it up (config key: audit.database.batch_size), and
+ * audits pending in a partially filled batch are saved at least every second. Note that upon a JVM
+ * crash, audits pending in the buffer will be lost.
+ *
+ * <p>The number of pending audits, the size of each saved batch, the time to save a batch and the
+ * lag between the creation of an audit and it being saved are exposed as metrics.
+ *
+ * <p>If saving a batch fails, the audits of the batch are saved one by one, and only the audits
+ * which fail individually are lost.
+ */
+@Slf4j
+@Component
+public class AuditBatchWriter {
+  private static final String METRIC_PENDING = "dhis2.audit.consumer.pending";
+
+  private static final String METRIC_BATCH_SIZE = "dhis2.audit.consumer.batch.size";
+
+  private static final String METRIC_WRITE = "dhis2.audit.consumer.write";
+
+  private static final String METRIC_LAG = "dhis2.audit.consumer.lag";
+
+  private static final long FLUSH_INTERVAL = 1_000; // 1 second
+
+  private final AuditService auditService;
+
+  private final int batchSize;
+
+  private final Queue<Audit> pending = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger pendingCount = new AtomicInteger();
+
+  private final DistributionSummary batchSizeSummary;
+
+  private final Timer writeTimer;
+
+  private final Timer lagTimer;
+
+  public AuditBatchWriter(
+      AuditService auditService, DhisConfigurationProvider config, MeterRegistry meterRegistry) {
+    this.auditService = auditService;
+    this.batchSize = Math.max(1, config.getIntProperty(ConfigurationKey.AUDIT_DATABASE_BATCH_SIZE));
+
+    Gauge.builder(METRIC_PENDING, pendingCount, AtomicInteger::get)
+        .description("Number of consumed audits waiting to be saved")
+        .register(meterRegistry);
+    this.batchSizeSummary =
+        DistributionSummary.builder(METRIC_BATCH_SIZE)
+            .description("Number of audits saved per batch")
+            .register(meterRegistry);
+    this.writeTimer =
+        Timer.builder(METRIC_WRITE)
+            .description("Time to save a batch of audits")
+            .register(meterRegistry);
+    this.lagTimer =
+        Timer.builder(METRIC_LAG)
+            .description("Time between the creation of an audit and it being saved")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Adds the given audit to the pending batch. Saves a batch if the number of pending audits has
+   * reached the batch size.
+   *
+   * @param audit the {@link Audit}.
+   */
+  public void add(Audit audit) {
+    pending.add(audit);
+
+    if (pendingCount.incrementAndGet() >= batchSize) {
+      writeBatch();
+    }
+  }
+
+  /** Saves all pending audits in batches. */
+  @Scheduled(fixedDelay = FLUSH_INTERVAL)
+  public void flush() {
+    int written;
+
+    do {
+      written = writeBatch();
+    } while (written > 0);
+  }
+
+  /** Saves all pending audits on shutdown. */
+  @EventListener(ContextClosedEvent.class)
+  public void onShutdown() {
+    flush();
+  }
+
+  /**
+   * Removes up to batch size audits from the pending audits and saves them in a single batch.
+   *
+   * @return the number of saved audits.
+   */
+  private int writeBatch() {
+    List<Audit> batch = new ArrayList<>(batchSize);
+    Audit audit;
+
+    while (batch.size() < batchSize && (audit = pending.poll()) != null) {
+      batch.add(audit);
+    }
+
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    pendingCount.addAndGet(-batch.size());
+
+    try {
+      writeTimer.record(() -> auditService.addAudits(batch));
+      batchSizeSummary.record(batch.size());
+      recordLag(batch);
+    } catch (Exception e) {
+      log.warn(
+          String.format(
+              "An error occurred persisting a batch of %d audits, saving audits one by one",
+              batch.size()),
+          e);
+      writeEach(batch);
+    }
+
+    return batch.size();
+  }
+
+  /**
+   * Saves the audits of a failed batch one by one, so that a single invalid audit does not discard
+   * the whole batch.
+   */
+  private void writeEach(List<Audit> batch) {
+    List<Audit> saved = new ArrayList<>(batch.size());
+
+    for (Audit audit : batch) {
+      try {
+        auditService.addAudit(audit);
+        saved.add(audit);
+      } catch (Exception e) {
+        log.error("An error occurred persisting audit", e);
+      }
+    }
+
+    recordLag(saved);
+  }
+
+  private void recordLag(List<Audit> batch) {
+    LocalDateTime now = LocalDateTime.now();
+
+    for (Audit audit : batch) {
+      if (audit.getCreatedAt() != null) {
+        lagTimer.record(Duration.between(audit.getCreatedAt(), now));
+      }
+    }
+  }
+}
@@ -31,6 +31,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.jms.TextMessage;
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.audit.AbstractAuditConsumer;
+import org.hisp.dhis.audit.AuditBatchWriter;
 import org.hisp.dhis.audit.AuditService;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
@@ -41,8 +42,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class AggregateAuditConsumer extends AbstractAuditConsumer {
   public AggregateAuditConsumer(
-      AuditService auditService, ObjectMapper objectMapper, DhisConfigurationProvider dhisConfig) {
+      AuditService auditService,
+      AuditBatchWriter auditBatchWriter,
+      ObjectMapper objectMapper,
+      DhisConfigurationProvider dhisConfig) {
     this.auditService = auditService;
+    this.auditBatchWriter = auditBatchWriter;
     this.objectMapper = objectMapper;
 
     this.isAuditLogEnabled = dhisConfig.isEnabled(ConfigurationKey.AUDIT_LOGGER);
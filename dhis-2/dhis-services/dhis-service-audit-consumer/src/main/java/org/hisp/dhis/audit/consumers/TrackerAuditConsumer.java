@@ -32,6 +32,7 @@ import jakarta.jms.TextMessage;
 import java.util.Objects;
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.audit.AbstractAuditConsumer;
+import org.hisp.dhis.audit.AuditBatchWriter;
 import org.hisp.dhis.audit.AuditService;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
@@ -46,8 +47,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class TrackerAuditConsumer extends AbstractAuditConsumer {
   public TrackerAuditConsumer(
-      AuditService auditService, ObjectMapper objectMapper, DhisConfigurationProvider dhisConfig) {
+      AuditService auditService,
+      AuditBatchWriter auditBatchWriter,
+      ObjectMapper objectMapper,
+      DhisConfigurationProvider dhisConfig) {
     this.auditService = auditService;
+    this.auditBatchWriter = auditBatchWriter;
     this.objectMapper = objectMapper;
 
     // for legacy reasons we are overriding the default here and using "off"
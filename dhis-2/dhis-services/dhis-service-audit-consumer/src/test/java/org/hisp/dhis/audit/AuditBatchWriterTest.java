@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuditBatchWriterTest {
+  @Mock private AuditService auditService;
+
+  @Mock private DhisConfigurationProvider config;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void testAdd_SavesBatchWhenBatchSizeIsReached() {
+    AuditBatchWriter writer = createWriter(3);
+    Audit auditA = createAudit("auditUIDAAA");
+    Audit auditB = createAudit("auditUIDBBB");
+    Audit auditC = createAudit("auditUIDCCC");
+
+    writer.add(auditA);
+    writer.add(auditB);
+    verify(auditService, never()).addAudits(anyList());
+
+    writer.add(auditC);
+    verify(auditService).addAudits(List.of(auditA, auditB, auditC));
+    assertEquals(0, pending());
+  }
+
+  @Test
+  void testFlush_SavesPartialBatch() {
+    AuditBatchWriter writer = createWriter(10);
+    Audit auditA = createAudit("auditUIDAAA");
+    Audit auditB = createAudit("auditUIDBBB");
+
+    writer.add(auditA);
+    writer.add(auditB);
+    assertEquals(2, pending());
+
+    writer.flush();
+    writer.flush();
+
+    verify(auditService).addAudits(List.of(auditA, auditB));
+    verifyNoMoreInteractions(auditService);
+    assertEquals(0, pending());
+    assertEquals(1, meterRegistry.get("dhis2.audit.consumer.batch.size").summary().count());
+  }
+
+  @Test
+  void testFlush_SavesPendingAuditsInBatches() {
+    AuditBatchWriter writer = createWriter(2);
+    List<Audit> audits =
+        List.of(
+            createAudit("auditUIDAAA"),
+            createAudit("auditUIDBBB"),
+            createAudit("auditUIDCCC"),
+            createAudit("auditUIDDDD"),
+            createAudit("auditUIDEEE"));
+
+    audits.forEach(writer::add);
+    verify(auditService).addAudits(audits.subList(0, 2));
+    verify(auditService).addAudits(audits.subList(2, 4));
+
+    writer.flush();
+    verify(auditService).addAudits(audits.subList(4, 5));
+    verifyNoMoreInteractions(auditService);
+  }
+
+  @Test
+  void testAdd_SavesAuditsOneByOneWhenBatchFails() {
+    AuditBatchWriter writer = createWriter(3);
+    Audit auditA = createAudit("auditUIDAAA");
+    Audit invalid = createAudit("auditUIDBBB");
+    Audit auditC = createAudit("auditUIDCCC");
+    doThrow(new IllegalStateException("value too long")).when(auditService).addAudits(anyList());
+    when(auditService.addAudit(any(Audit.class))).thenReturn(1L);
+    when(auditService.addAudit(invalid)).thenThrow(new IllegalStateException("value too long"));
+
+    writer.add(auditA);
+    writer.add(invalid);
+    assertDoesNotThrow(() -> writer.add(auditC));
+
+    verify(auditService).addAudits(List.of(auditA, invalid, auditC));
+    verify(auditService).addAudit(auditA);
+    verify(auditService).addAudit(invalid);
+    verify(auditService).addAudit(auditC);
+    assertEquals(0, pending());
+    assertEquals(2, meterRegistry.get("dhis2.audit.consumer.lag").timer().count());
+  }
+
+  private AuditBatchWriter createWriter(int batchSize) {
+    when(config.getIntProperty(ConfigurationKey.AUDIT_DATABASE_BATCH_SIZE)).thenReturn(batchSize);
+    return new AuditBatchWriter(auditService, config, meterRegistry);
+  }
+
+  private double pending() {
+    return meterRegistry.get("dhis2.audit.consumer.pending").gauge().value();
+  }
+
+  private static Audit createAudit(String uid) {
+    return Audit.builder()
+        .auditType(AuditType.UPDATE)
+        .auditScope(AuditScope.METADATA)
+        .createdAt(LocalDateTime.now())
+        .createdBy("admin")
+        .klass("org.hisp.dhis.dataelement.DataElement")
+        .uid(uid)
+        .build();
+  }
+}
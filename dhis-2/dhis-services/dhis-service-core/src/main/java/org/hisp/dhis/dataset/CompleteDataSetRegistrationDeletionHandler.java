@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.dataset;
 
+import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import org.hisp.dhis.category.CategoryOptionCombo;
@@ -50,7 +51,7 @@ public class CompleteDataSetRegistrationDeletionHandler extends JdbcDeletionHand
   protected void register() {
     whenDeleting(DataSet.class, this::deleteDataSet);
     whenVetoing(Period.class, this::allowDeletePeriod);
-    whenDeleting(OrganisationUnit.class, this::deleteOrganisationUnit);
+    whenDeletingAll(OrganisationUnit.class, this::deleteOrganisationUnits);
     whenVetoing(CategoryOptionCombo.class, this::allowDeleteCategoryOptionCombo);
   }
 
@@ -65,8 +66,8 @@ public class CompleteDataSetRegistrationDeletionHandler extends JdbcDeletionHand
         Map.of("id", period.getId()));
   }
 
-  private void deleteOrganisationUnit(OrganisationUnit unit) {
-    completeDataSetRegistrationService.deleteCompleteDataSetRegistrations(unit);
+  private void deleteOrganisationUnits(List<OrganisationUnit> units) {
+    deleteAll("delete from completedatasetregistration where sourceid in (:ids)", units);
   }
 
   private DeletionVeto allowDeleteCategoryOptionCombo(CategoryOptionCombo optionCombo) {
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.datavalue;
 
+import java.util.List;
 import java.util.Map;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.dataelement.DataElement;
@@ -42,15 +43,17 @@ public class DataValueAuditDeletionHandler extends JdbcDeletionHandler {
 
   @Override
   protected void register() {
-    whenVetoing(DataElement.class, this::allowDeleteDataElement);
+    whenVetoingAll(DataElement.class, this::allowDeleteDataElements);
     whenVetoing(Period.class, this::allowDeletePeriod);
-    whenVetoing(OrganisationUnit.class, this::allowDeleteOrganisationUnit);
-    whenVetoing(CategoryOptionCombo.class, this::allowDeleteCategoryOptionCombo);
+    whenVetoingAll(OrganisationUnit.class, this::allowDeleteOrganisationUnits);
+    whenVetoingAll(CategoryOptionCombo.class, this::allowDeleteCategoryOptionCombos);
   }
 
-  private DeletionVeto allowDeleteDataElement(DataElement dataElement) {
-    String sql = "select 1 from datavalueaudit where dataelementid=:id limit 1";
-    return vetoIfExists(VETO, sql, Map.of("id", dataElement.getId()));
+  private Map<DataElement, DeletionVeto> allowDeleteDataElements(List<DataElement> dataElements) {
+    String sql =
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from datavalueaudit where dataelementid=o.id)";
+    return vetoAllIfExists(VETO, sql, dataElements);
   }
 
   private DeletionVeto allowDeletePeriod(Period period) {
@@ -58,14 +61,20 @@ public class DataValueAuditDeletionHandler extends JdbcDeletionHandler {
     return vetoIfExists(VETO, sql, Map.of("id", period.getId()));
   }
 
-  private DeletionVeto allowDeleteOrganisationUnit(OrganisationUnit unit) {
-    String sql = "select 1 from datavalueaudit where organisationunitid=:id limit 1";
-    return vetoIfExists(VETO, sql, Map.of("id", unit.getId()));
+  private Map<OrganisationUnit, DeletionVeto> allowDeleteOrganisationUnits(
+      List<OrganisationUnit> units) {
+    String sql =
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from datavalueaudit where organisationunitid=o.id)";
+    return vetoAllIfExists(VETO, sql, units);
   }
 
-  private DeletionVeto allowDeleteCategoryOptionCombo(CategoryOptionCombo optionCombo) {
+  private Map<CategoryOptionCombo, DeletionVeto> allowDeleteCategoryOptionCombos(
+      List<CategoryOptionCombo> optionCombos) {
     String sql =
-        "select 1 from datavalueaudit where categoryoptioncomboid=:id or attributeoptioncomboid=:id limit 1";
-    return vetoIfExists(VETO, sql, Map.of("id", optionCombo.getId()));
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from datavalueaudit where categoryoptioncomboid=o.id) "
+            + "or exists (select 1 from datavalueaudit where attributeoptioncomboid=o.id)";
+    return vetoAllIfExists(VETO, sql, optionCombos);
   }
 }
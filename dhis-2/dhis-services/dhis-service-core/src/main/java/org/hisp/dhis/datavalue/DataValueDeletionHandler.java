@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.datavalue;
 
+import java.util.List;
 import java.util.Map;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.dataelement.DataElement;
@@ -45,17 +46,18 @@ public class DataValueDeletionHandler extends JdbcDeletionHandler {
 
   @Override
   protected void register() {
-    whenVetoing(DataElement.class, this::allowDeleteDataElement);
+    whenVetoingAll(DataElement.class, this::allowDeleteDataElements);
     whenVetoing(Period.class, this::allowDeletePeriod);
-    whenVetoing(OrganisationUnit.class, this::allowDeleteOrganisationUnit);
-    whenVetoing(CategoryOptionCombo.class, this::allowDeleteCategoryOptionCombo);
+    whenVetoingAll(OrganisationUnit.class, this::allowDeleteOrganisationUnits);
+    whenVetoingAll(CategoryOptionCombo.class, this::allowDeleteCategoryOptionCombos);
   }
 
-  private DeletionVeto allowDeleteDataElement(DataElement dataElement) {
-    return vetoIfExists(
+  private Map<DataElement, DeletionVeto> allowDeleteDataElements(List<DataElement> dataElements) {
+    return vetoAllIfExists(
         VETO,
-        "select 1 from datavalue where dataelementid=:id limit 1",
-        Map.of("id", dataElement.getId()));
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from datavalue where dataelementid=o.id)",
+        dataElements);
   }
 
   private DeletionVeto allowDeletePeriod(Period period) {
@@ -63,15 +65,22 @@ public class DataValueDeletionHandler extends JdbcDeletionHandler {
         VETO, "select 1 from datavalue where periodid=:id limit 1", Map.of("id", period.getId()));
   }
 
-  private DeletionVeto allowDeleteOrganisationUnit(OrganisationUnit unit) {
-    return vetoIfExists(
-        VETO, "select 1 from datavalue where sourceid=:id limit 1", Map.of("id", unit.getId()));
+  private Map<OrganisationUnit, DeletionVeto> allowDeleteOrganisationUnits(
+      List<OrganisationUnit> units) {
+    return vetoAllIfExists(
+        VETO,
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from datavalue where sourceid=o.id)",
+        units);
   }
 
-  private DeletionVeto allowDeleteCategoryOptionCombo(CategoryOptionCombo optionCombo) {
-    return vetoIfExists(
+  private Map<CategoryOptionCombo, DeletionVeto> allowDeleteCategoryOptionCombos(
+      List<CategoryOptionCombo> optionCombos) {
+    return vetoAllIfExists(
         VETO,
-        "select 1 from datavalue where categoryoptioncomboid=:id or attributeoptioncomboid=:id limit 1",
-        Map.of("id", optionCombo.getId()));
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from datavalue where categoryoptioncomboid=o.id) "
+            + "or exists (select 1 from datavalue where attributeoptioncomboid=o.id)",
+        optionCombos);
   }
 }
@@ -201,6 +201,15 @@ public class HibernateDataValueAuditStore extends HibernateGenericStore<DataValu
       predicates.add(root -> root.get("auditType").in(params.getAuditTypes()));
     }
 
+    if (params.getStartDate() != null) {
+      predicates.add(
+          root -> builder.greaterThanOrEqualTo(root.get("created"), params.getStartDate()));
+    }
+
+    if (params.getEndDate() != null) {
+      predicates.add(root -> builder.lessThan(root.get("created"), params.getEndDate()));
+    }
+
     return predicates;
   }
 }
@@ -29,7 +29,6 @@ package org.hisp.dhis.organisationunit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
-import static org.hisp.dhis.commons.util.TextUtils.joinHyphen;
 
 import com.google.common.collect.Sets;
 import java.awt.geom.Point2D;
@@ -45,8 +44,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.apache.commons.lang3.ObjectUtils;
-import org.hisp.dhis.cache.Cache;
-import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.SortProperty;
 import org.hisp.dhis.common.UID;
@@ -75,26 +72,25 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   private final OrganisationUnitLevelStore organisationUnitLevelStore;
   private final ConfigurationService configurationService;
 
-  private final Cache<Boolean> inUserOrgUnitHierarchyCache;
+  private final OrganisationUnitHierarchyIndexProvider hierarchyIndexProvider;
 
   public DefaultOrganisationUnitService(
       OrganisationUnitStore organisationUnitStore,
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitLevelStore organisationUnitLevelStore,
       ConfigurationService configurationService,
-      CacheProvider cacheProvider) {
+      OrganisationUnitHierarchyIndexProvider hierarchyIndexProvider) {
 
     checkNotNull(organisationUnitStore);
     checkNotNull(idObjectManager);
     checkNotNull(organisationUnitLevelStore);
     checkNotNull(configurationService);
-    checkNotNull(cacheProvider);
+    checkNotNull(hierarchyIndexProvider);
 
     this.organisationUnitStore = organisationUnitStore;
     this.organisationUnitLevelStore = organisationUnitLevelStore;
     this.configurationService = configurationService;
-
-    this.inUserOrgUnitHierarchyCache = cacheProvider.createInUserOrgUnitHierarchyCache();
+    this.hierarchyIndexProvider = hierarchyIndexProvider;
   }
 
   // -------------------------------------------------------------------------
@@ -359,9 +355,7 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   @Override
   @Transactional(readOnly = true)
   public boolean isInUserHierarchyCached(User user, OrganisationUnit organisationUnit) {
-    String cacheKey = joinHyphen(user.getUsername(), organisationUnit.getUid());
-    return inUserOrgUnitHierarchyCache.get(
-        cacheKey, ou -> isInUserHierarchy(user, organisationUnit));
+    return isInUserHierarchy(user, organisationUnit);
   }
 
   @Override
@@ -371,13 +365,20 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
+    OrganisationUnitHierarchyIndex index = hierarchyIndexProvider.getIndex();
+    int node = index.getNode(organisationUnit.getUid());
+
+    if (node >= 0 && index.isCurrent(node, organisationUnit.getStoredPath())) {
+      return index.isDescendant(node, user.getOrganisationUnits());
+    }
+
     OrganisationUnit unit = organisationUnitStore.getByUid(organisationUnit.getUid());
 
     if (unit == null) {
       return false;
     }
 
-    return unit.isDescendant(user.getOrganisationUnits());
+    return isDescendant(unit, user.getOrganisationUnits());
   }
 
   @Override
@@ -387,7 +388,7 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
-    return organisationUnit.isDescendant(user.getDataViewOrganisationUnitsWithFallback());
+    return isDescendant(organisationUnit, user.getDataViewOrganisationUnitsWithFallback());
   }
 
   @Override
@@ -397,7 +398,7 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
-    return organisationUnit.isDescendant(user.getTeiSearchOrganisationUnitsWithFallback());
+    return isDescendant(organisationUnit, user.getTeiSearchOrganisationUnitsWithFallback());
   }
 
   @Override
@@ -405,7 +406,40 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   public boolean isInUserHierarchy(String uid, Set<OrganisationUnit> organisationUnits) {
     OrganisationUnit organisationUnit = organisationUnitStore.getByUid(uid);
 
-    return organisationUnit != null && organisationUnit.isDescendant(organisationUnits);
+    return organisationUnit != null && isDescendant(organisationUnit, organisationUnits);
+  }
+
+  @Override
+  public boolean isInHierarchy(OrganisationUnit organisationUnit, Set<String> ancestorUids) {
+    if (organisationUnit == null || isEmpty(ancestorUids)) {
+      return false;
+    }
+
+    String path = organisationUnit.getStoredPath();
+    OrganisationUnitHierarchyIndex index = hierarchyIndexProvider.getIndex();
+    int node = index.getNode(organisationUnit.getUid());
+
+    if (node >= 0 && index.isCurrent(node, path)) {
+      return index.isDescendant(node, ancestorUids);
+    }
+
+    return path != null && ancestorUids.stream().anyMatch(path::contains);
+  }
+
+  /**
+   * Uses the hierarchy index unless the organisation unit is not (yet) indexed or was moved since
+   * the index was built, in which case the stored path is used.
+   */
+  private boolean isDescendant(
+      OrganisationUnit organisationUnit, Collection<OrganisationUnit> ancestors) {
+    OrganisationUnitHierarchyIndex index = hierarchyIndexProvider.getIndex();
+    int node = index.getNode(organisationUnit.getUid());
+
+    if (node >= 0 && index.isCurrent(node, organisationUnit.getStoredPath())) {
+      return index.isDescendant(node, ancestors);
+    }
+
+    return organisationUnit.isDescendant(ancestors);
   }
 
   // -------------------------------------------------------------------------
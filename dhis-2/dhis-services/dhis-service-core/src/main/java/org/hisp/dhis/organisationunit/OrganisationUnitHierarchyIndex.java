@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import lombok.Getter;
+
+/**
+ * An immutable, compact in-memory index of the organisation unit hierarchy.
+ *
+ * <p>Each organisation unit is identified by a dense int node number. The hierarchy is stored as a
+ * parent array plus the pre-order interval {@code [first, last]} of each node, so that a node is a
+ * descendant of another node if its pre-order position lies within the interval of the other node.
+ * This answers ancestor/descendant checks, levels and subtree sizes in constant time without
+ * looking at any paths or allocating objects.
+ *
+ * <p>Organisation units which are not reachable from a root (cyclic references) are not indexed.
+ */
+public final class OrganisationUnitHierarchyIndex {
+
+  /**
+   * The version of changes this index reflects, see {@link OrganisationUnitHierarchyIndexProvider}.
+   */
+  @Getter private final long version;
+
+  private final Map<String, Integer> nodeByUid;
+
+  private final String[] uids;
+
+  private final int[] parents;
+
+  private final int[] levels;
+
+  /** Pre-order position of each node. */
+  private final int[] first;
+
+  /** Pre-order position of the last descendant of each node. */
+  private final int[] last;
+
+  /** Node at each pre-order position. */
+  private final int[] order;
+
+  /** Path the node had when the index was built. */
+  private final String[] paths;
+
+  /**
+   * @param version the version of changes the index reflects
+   * @param ids database IDs of the organisation units
+   * @param uids UIDs of the organisation units
+   * @param parentIds database IDs of the parents, 0 for roots
+   * @param paths stored paths of the organisation units
+   */
+  OrganisationUnitHierarchyIndex(
+      long version, long[] ids, String[] uids, long[] parentIds, String[] paths) {
+    int n = ids.length;
+    this.version = version;
+    this.uids = uids;
+    this.nodeByUid = new HashMap<>((int) (n / 0.75f) + 1);
+    this.parents = new int[n];
+    this.levels = new int[n];
+    this.first = new int[n];
+    this.last = new int[n];
+    this.paths = paths;
+
+    Map<Long, Integer> nodeById = new HashMap<>((int) (n / 0.75f) + 1);
+    for (int i = 0; i < n; i++) {
+      nodeById.put(ids[i], i);
+    }
+
+    // children as adjacency lists in a single array (counting sort by parent)
+    int[] childCount = new int[n + 1];
+    for (int i = 0; i < n; i++) {
+      Integer parent = nodeById.get(parentIds[i]);
+      parents[i] = parent == null || parent == i ? -1 : parent;
+      childCount[parents[i] + 1]++;
+    }
+    int[] childStart = new int[n + 2];
+    for (int i = 0; i <= n; i++) {
+      childStart[i + 1] = childStart[i] + childCount[i];
+    }
+    int[] children = new int[n];
+    int[] fill = Arrays.copyOf(childStart, n + 1);
+    for (int i = 0; i < n; i++) {
+      children[fill[parents[i] + 1]++] = i;
+    }
+
+    // iterative depth first traversal from the roots (children of the virtual node -1)
+    Arrays.fill(first, -1);
+    int[] orderBuilder = new int[n];
+    int[] stack = new int[n];
+    int[] nextChild = new int[n];
+    int position = 0;
+    for (int r = childStart[0]; r < childStart[1]; r++) {
+      int root = children[r];
+      int depth = 0;
+      stack[0] = root;
+      levels[root] = 1;
+      first[root] = position;
+      orderBuilder[position++] = root;
+      nextChild[root] = childStart[root + 1];
+      while (depth >= 0) {
+        int node = stack[depth];
+        if (nextChild[node] < childStart[node + 2]) {
+          int child = children[nextChild[node]++];
+          levels[child] = levels[node] + 1;
+          first[child] = position;
+          orderBuilder[position++] = child;
+          nextChild[child] = childStart[child + 1];
+          stack[++depth] = child;
+        } else {
+          last[node] = position - 1;
+          depth--;
+        }
+      }
+    }
+    this.order = Arrays.copyOf(orderBuilder, position);
+
+    for (int i = 0; i < n; i++) {
+      if (first[i] >= 0) {
+        nodeByUid.put(uids[i], i);
+      }
+    }
+  }
+
+  /**
+   * @return number of indexed organisation units
+   */
+  public int size() {
+    return order.length;
+  }
+
+  /**
+   * @param uid of an organisation unit
+   * @return the node number of the organisation unit or -1 if it is not indexed
+   */
+  public int getNode(@CheckForNull String uid) {
+    Integer node = uid == null ? null : nodeByUid.get(uid);
+    return node == null ? -1 : node;
+  }
+
+  public String getUid(int node) {
+    return uids[node];
+  }
+
+  /**
+   * @return the parent node or -1 for a root
+   */
+  public int getParent(int node) {
+    return parents[node];
+  }
+
+  /**
+   * @return the level of the node, roots have level 1
+   */
+  public int getLevel(int node) {
+    return levels[node];
+  }
+
+  /**
+   * @return number of nodes in the subtree of the given node, including the node itself
+   */
+  public int getSubtreeSize(int node) {
+    return last[node] - first[node] + 1;
+  }
+
+  /**
+   * The subtree of a node is the contiguous range of pre-order positions from {@link
+   * #getFirst(int)} to {@link #getLast(int)}, use {@link #getNodeAt(int)} to resolve them.
+   *
+   * @return pre-order position of the node
+   */
+  public int getFirst(int node) {
+    return first[node];
+  }
+
+  /**
+   * @return pre-order position of the last node in the subtree of the given node
+   */
+  public int getLast(int node) {
+    return last[node];
+  }
+
+  /**
+   * @param position a pre-order position
+   * @return the node at the position
+   */
+  public int getNodeAt(int position) {
+    return order[position];
+  }
+
+  /**
+   * @return true, if the node is equal to or a descendant of the ancestor node
+   */
+  public boolean isDescendant(int node, int ancestor) {
+    return first[ancestor] <= first[node] && first[node] <= last[ancestor];
+  }
+
+  /**
+   * @return true, if the node is equal to or a descendant of any of the ancestors
+   */
+  public boolean isDescendant(int node, Collection<OrganisationUnit> ancestors) {
+    for (OrganisationUnit ancestor : ancestors) {
+      int a = ancestor == null ? -1 : getNode(ancestor.getUid());
+      if (a >= 0 && isDescendant(node, a)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Walks up from the node to its root. As a hierarchy rarely is more than a handful of levels deep
+   * this needs no more set lookups than there are levels.
+   *
+   * @return true, if the node is equal to or a descendant of any of the organisation units with the
+   *     given UIDs
+   */
+  public boolean isDescendant(int node, Set<String> ancestorUids) {
+    for (int n = node; n >= 0; n = parents[n]) {
+      if (ancestorUids.contains(uids[n])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Used to detect organisation units which have been moved after this index was built, for example
+   * within the current transaction.
+   *
+   * @param node of an organisation unit
+   * @param path the current path of the organisation unit
+   * @return true, if the index reflects the current path of the organisation unit
+   */
+  public boolean isCurrent(int node, @CheckForNull String path) {
+    return path != null && path.equals(paths[node]);
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.common.cache.Region;
+import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.CacheInvalidationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the current {@link OrganisationUnitHierarchyIndex}.
+ *
+ * <p>Every committed insert, delete or move of an organisation unit on this node increments the
+ * change version. Changes committed on other nodes of a cluster arrive as {@link
+ * CacheInvalidationEvent} for the {@link Region#inUserOrgUnitHierarchy} region. The index is
+ * rebuilt lazily on the next access after a change, so that a burst of changes, like a metadata
+ * import, results in a single rebuild. Readers never block on each other, only on a rebuild in
+ * progress.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrganisationUnitHierarchyIndexProvider
+    implements PostCommitUpdateEventListener,
+        PostCommitInsertEventListener,
+        PostCommitDeleteEventListener {
+
+  @PersistenceUnit private EntityManagerFactory emf;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final AtomicLong version = new AtomicLong();
+
+  private volatile OrganisationUnitHierarchyIndex index;
+
+  @PostConstruct
+  protected void init() {
+    SessionFactoryImpl sessionFactory = emf.unwrap(SessionFactoryImpl.class);
+
+    EventListenerRegistry registry =
+        sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+
+    registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(this);
+  }
+
+  /**
+   * @return the index reflecting all changes committed so far, rebuilt if needed
+   */
+  public OrganisationUnitHierarchyIndex getIndex() {
+    OrganisationUnitHierarchyIndex current = index;
+    if (current != null && current.getVersion() == version.get()) {
+      return current;
+    }
+    synchronized (this) {
+      current = index;
+      long expected = version.get();
+      if (current == null || current.getVersion() != expected) {
+        current = loadIndex(expected);
+        index = current;
+      }
+      return current;
+    }
+  }
+
+  public void invalidate() {
+    version.incrementAndGet();
+  }
+
+  @EventListener
+  public void handleApplicationCachesCleared(ApplicationCacheClearedEvent event) {
+    invalidate();
+  }
+
+  @EventListener
+  public void handleCacheInvalidation(CacheInvalidationEvent event) {
+    if (event.getRegion() == Region.inUserOrgUnitHierarchy) {
+      invalidate();
+    }
+  }
+
+  private OrganisationUnitHierarchyIndex loadIndex(long version) {
+    long start = System.currentTimeMillis();
+    List<Long> ids = new ArrayList<>();
+    List<String> uids = new ArrayList<>();
+    List<Long> parentIds = new ArrayList<>();
+    List<String> paths = new ArrayList<>();
+    jdbcTemplate.query(
+        "select organisationunitid, uid, parentid, path from organisationunit",
+        rs -> {
+          ids.add(rs.getLong(1));
+          uids.add(rs.getString(2));
+          parentIds.add(rs.getLong(3));
+          paths.add(rs.getString(4));
+        });
+    OrganisationUnitHierarchyIndex loaded =
+        new OrganisationUnitHierarchyIndex(
+            version,
+            ids.stream().mapToLong(Long::longValue).toArray(),
+            uids.toArray(String[]::new),
+            parentIds.stream().mapToLong(Long::longValue).toArray(),
+            paths.toArray(String[]::new));
+    log.debug(
+        "Built organisation unit hierarchy index with {} units in {} ms",
+        loaded.size(),
+        System.currentTimeMillis() - start);
+    return loaded;
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    invalidate(event.getEntity());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit && isHierarchyChange(event)) {
+      invalidate();
+    }
+  }
+
+  /** Updates which do not move an organisation unit, like a rename, keep the index valid. */
+  private static boolean isHierarchyChange(PostUpdateEvent event) {
+    int[] dirty = event.getDirtyProperties();
+    if (dirty == null) {
+      return true;
+    }
+    String[] names = event.getPersister().getPropertyNames();
+    for (int i : dirty) {
+      if ("parent".equals(names[i]) || "path".equals(names[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    invalidate(event.getEntity());
+  }
+
+  private void invalidate(Object entity) {
+    if (entity instanceof OrganisationUnit) {
+      invalidate();
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return true;
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return true;
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+    log.debug("onPostInsertCommitFailed: " + event);
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    log.debug("onPostUpdateCommitFailed: " + event);
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    log.debug("onPostDeleteCommitFailed: " + event);
+  }
+}
@@ -27,7 +27,7 @@
  */
 package org.hisp.dhis.program;
 
-import java.util.Map;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.system.deletion.JdbcDeletionHandler;
@@ -42,11 +42,10 @@ public class EventChangeLogDeletionHandler extends JdbcDeletionHandler {
 
   @Override
   protected void register() {
-    whenDeleting(DataElement.class, this::deleteDataElement);
+    whenDeletingAll(DataElement.class, this::deleteDataElements);
   }
 
-  private void deleteDataElement(DataElement dataElement) {
-    delete(
-        "delete from eventchangelog where dataelementid = :id", Map.of("id", dataElement.getId()));
+  private void deleteDataElements(List<DataElement> dataElements) {
+    deleteAll("delete from eventchangelog where dataelementid in (:ids)", dataElements);
   }
 }
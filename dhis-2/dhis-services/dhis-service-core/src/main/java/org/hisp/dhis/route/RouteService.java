@@ -31,40 +31,53 @@ import static org.hisp.dhis.config.HibernateEncryptionConfig.AES_128_STRING_ENCR
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
+import javax.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.util.Timeout;
 import org.hisp.dhis.common.auth.ApiTokenAuth;
 import org.hisp.dhis.common.auth.Auth;
 import org.hisp.dhis.common.auth.HttpBasicAuth;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.user.UserDetails;
 import org.jasypt.encryption.pbe.PBEStringCleanablePasswordEncryptor;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -77,6 +90,16 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class RouteService {
   private static final String HEADER_X_FORWARDED_USER = "X-Forwarded-User";
 
+  private static final String METRIC_REQUEST = "dhis2.route.request";
+
+  private static final String METRIC_REQUEST_BYTES = "dhis2.route.request.bytes";
+
+  private static final String METRIC_RESPONSE_BYTES = "dhis2.route.response.bytes";
+
+  private static final String TAG_ROUTE = "route";
+
+  private static final String TAG_STATUS = "status";
+
   private final RouteStore routeStore;
 
   private final ObjectMapper objectMapper;
@@ -84,7 +107,12 @@ public class RouteService {
   @Qualifier(AES_128_STRING_ENCRYPTOR)
   private final PBEStringCleanablePasswordEncryptor encryptor;
 
-  private static final RestTemplate restTemplate = new RestTemplate();
+  private final DhisConfigurationProvider config;
+
+  private final MeterRegistry meterRegistry;
+
+  /** Client with its own connection pool per route, by route UID. */
+  private final Map<String, RouteClient> clients = new ConcurrentHashMap<>();
 
   private static final Set<String> ALLOWED_REQUEST_HEADERS =
       Set.of(
@@ -117,32 +145,6 @@ public class RouteService {
           "last-modified",
           "etag");
 
-  static {
-    // Connect timeout
-    ConnectionConfig connectionConfig =
-        ConnectionConfig.custom().setConnectTimeout(Timeout.ofMilliseconds(5_000)).build();
-
-    // Socket timeout
-    SocketConfig socketConfig =
-        SocketConfig.custom().setSoTimeout(Timeout.ofMilliseconds(10_000)).build();
-
-    // Connection request timeout
-    RequestConfig requestConfig =
-        RequestConfig.custom().setConnectionRequestTimeout(Timeout.ofMilliseconds(1_000)).build();
-
-    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-    connectionManager.setDefaultSocketConfig(socketConfig);
-    connectionManager.setDefaultConnectionConfig(connectionConfig);
-
-    org.apache.hc.client5.http.classic.HttpClient httpClient =
-        org.apache.hc.client5.http.impl.classic.HttpClientBuilder.create()
-            .setConnectionManager(connectionManager)
-            .setDefaultRequestConfig(requestConfig)
-            .build();
-
-    restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient));
-  }
-
   /**
    * Retrieves a {@link Route} by UID or code, where the authentication secrets will be decrypted.
    * The route UID or code can be passed as route identifier. Returns null if the route does not
@@ -175,18 +177,23 @@ public class RouteService {
   }
 
   /**
-   * Executes the given route and returns the response from the target API.
+   * Executes the given route and streams the response from the target API to the given response.
+   * Request and response bodies are streamed as bytes and never held in memory as a whole.
    *
    * @param route the {@link Route}.
    * @param userDetails the {@link UserDetails} of the current user.
    * @param subPath the sub path.
    * @param request the {@link HttpServletRequest}.
-   * @return an {@link ResponseEntity}.
+   * @param response the {@link HttpServletResponse}.
    * @throws IOException
    * @throws BadRequestException
    */
-  public ResponseEntity<String> execute(
-      Route route, UserDetails userDetails, Optional<String> subPath, HttpServletRequest request)
+  public void execute(
+      Route route,
+      UserDetails userDetails,
+      Optional<String> subPath,
+      HttpServletRequest request,
+      HttpServletResponse response)
       throws IOException, BadRequestException {
     HttpHeaders headers = filterRequestHeaders(request);
 
@@ -212,9 +219,16 @@ public class RouteService {
       uriComponentsBuilder.path(subPath.get());
     }
 
-    String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+    boolean hasBody =
+        request.getContentLengthLong() > 0 || request.getHeader("transfer-encoding") != null;
 
-    HttpEntity<String> entity = new HttpEntity<>(body, headers);
+    if (hasBody && request.getContentType() != null) {
+      headers.setContentType(MediaType.parseMediaType(request.getContentType()));
+    }
+
+    if (hasBody && request.getContentLengthLong() > 0) {
+      headers.setContentLength(request.getContentLengthLong());
+    }
 
     HttpMethod httpMethod =
         Objects.requireNonNullElse(HttpMethod.valueOf(request.getMethod()), HttpMethod.GET);
@@ -227,22 +241,146 @@ public class RouteService {
         route.getName(),
         route.getUid());
 
-    ResponseEntity<String> response =
-        restTemplate.exchange(targetUri, httpMethod, entity, String.class);
+    long[] requestBytes = new long[1];
 
-    HttpHeaders responseHeaders = filterResponseHeaders(response.getHeaders());
+    RequestCallback requestCallback =
+        clientRequest -> {
+          clientRequest.getHeaders().addAll(headers);
 
-    String responseBody = response.getBody();
+          if (hasBody) {
+            requestBytes[0] = request.getInputStream().transferTo(clientRequest.getBody());
+          }
+        };
 
-    log.info(
-        "Request '{}' '{}' responded with status '{}' for route '{}' ('{}')",
-        httpMethod,
-        targetUri,
-        response.getStatusCode(),
-        route.getName(),
-        route.getUid());
+    ResponseExtractor<HttpStatusCode> responseExtractor =
+        clientResponse -> {
+          response.setStatus(clientResponse.getStatusCode().value());
+          filterResponseHeaders(clientResponse.getHeaders())
+              .forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+
+          long responseBytes = clientResponse.getBody().transferTo(response.getOutputStream());
+
+          summary(METRIC_RESPONSE_BYTES, "Bytes received from the target of a route", route)
+              .record(responseBytes);
+          return clientResponse.getStatusCode();
+        };
 
-    return new ResponseEntity<>(responseBody, responseHeaders, response.getStatusCode());
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+
+    try {
+      HttpStatusCode status =
+          getRestTemplate(route).execute(targetUri, httpMethod, requestCallback, responseExtractor);
+      outcome = String.valueOf(status.value());
+
+      log.info(
+          "Request '{}' '{}' responded with status '{}' for route '{}' ('{}')",
+          httpMethod,
+          targetUri,
+          status,
+          route.getName(),
+          route.getUid());
+    } catch (HttpStatusCodeException ex) {
+      outcome = String.valueOf(ex.getStatusCode().value());
+      throw ex;
+    } finally {
+      sample.stop(
+          Timer.builder(METRIC_REQUEST)
+              .description("Time to execute a route request, including streaming the response")
+              .tag(TAG_ROUTE, route.getUid())
+              .tag(TAG_STATUS, outcome)
+              .register(meterRegistry));
+      summary(METRIC_REQUEST_BYTES, "Bytes sent to the target of a route", route)
+          .record(requestBytes[0]);
+    }
+  }
+
+  private DistributionSummary summary(String name, String description, Route route) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .baseUnit("bytes")
+        .tag(TAG_ROUTE, route.getUid())
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the client of the given route. Each route has its own connection pool, so that a slow
+   * target cannot use up the connections of other routes.
+   *
+   * @param route the {@link Route}.
+   * @return a {@link RestTemplate}.
+   */
+  private RestTemplate getRestTemplate(Route route) {
+    return clients.computeIfAbsent(route.getUid(), uid -> createClient()).restTemplate();
+  }
+
+  private RouteClient createClient() {
+    ConnectionConfig connectionConfig =
+        ConnectionConfig.custom()
+            .setConnectTimeout(
+                Timeout.ofMilliseconds(
+                    config.getIntProperty(ConfigurationKey.ROUTE_CONNECT_TIMEOUT)))
+            .setSocketTimeout(
+                Timeout.ofMilliseconds(
+                    config.getIntProperty(ConfigurationKey.ROUTE_SOCKET_TIMEOUT)))
+            .build();
+
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectionRequestTimeout(
+                Timeout.ofMilliseconds(
+                    config.getIntProperty(ConfigurationKey.ROUTE_CONNECTION_REQUEST_TIMEOUT)))
+            .build();
+
+    int maxConnections = Math.max(1, config.getIntProperty(ConfigurationKey.ROUTE_MAX_CONNECTIONS));
+
+    PoolingHttpClientConnectionManager connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setDefaultConnectionConfig(connectionConfig)
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnections)
+            .build();
+
+    // content compression is disabled so that encoded bodies are passed through as they are
+    CloseableHttpClient httpClient =
+        HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .disableContentCompression()
+            .build();
+
+    return new RouteClient(
+        httpClient, new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)));
+  }
+
+  /**
+   * Removes and closes the client of the given route, so that the connection pool of an updated or
+   * deleted route is not kept. The next execution of the route creates a new client. Requests of
+   * the route which are still in progress may be aborted.
+   *
+   * @param uid the route UID.
+   */
+  public void evictClient(@Nonnull String uid) {
+    RouteClient client = clients.remove(uid);
+
+    if (client != null) {
+      close(client);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    for (String uid : clients.keySet()) {
+      evictClient(uid);
+    }
+  }
+
+  private void close(RouteClient client) {
+    try {
+      client.httpClient().close(CloseMode.GRACEFUL);
+    } catch (RuntimeException ex) {
+      log.warn("Unable to close route client: '{}'", ex.getMessage());
+    }
   }
 
   /**
@@ -325,4 +463,7 @@ public class RouteService {
       httpBasicAuth.setPassword(encryptor.decrypt(httpBasicAuth.getPassword()));
     }
   }
+
+  /** HTTP client of a route with the rest template using it. */
+  private record RouteClient(CloseableHttpClient httpClient, RestTemplate restTemplate) {}
 }
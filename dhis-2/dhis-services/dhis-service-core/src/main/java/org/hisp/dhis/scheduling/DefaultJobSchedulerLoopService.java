@@ -147,8 +147,8 @@ public class DefaultJobSchedulerLoopService implements JobSchedulerLoopService {
 
   @Override
   @Transactional
-  public boolean tryRun(@Nonnull String jobId) {
-    if (!jobConfigurationStore.tryStart(jobId)) return false;
+  public boolean tryRun(@Nonnull String jobId, int maxRunningOfType) {
+    if (!jobConfigurationStore.tryStart(jobId, maxRunningOfType)) return false;
     JobConfiguration job = jobConfigurationStore.getByUid(jobId);
     if (job == null) return false;
     doSafely("start", "MDC.put", () -> MDC.put("sessionId", getSessionId(job)));
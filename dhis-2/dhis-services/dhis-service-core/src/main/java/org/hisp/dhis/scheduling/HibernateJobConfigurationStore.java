@@ -292,8 +292,18 @@ public class HibernateJobConfigurationStore
   }
 
   @Override
-  public boolean tryStart(@Nonnull String jobId) {
-    // only flip from SCHEDULED to RUNNING if no other job of same type is RUNNING
+  public boolean tryStart(@Nonnull String jobId, int maxRunningOfType) {
+    // serialize claims per type so concurrent claims on different nodes see each other,
+    // the lock is held until the surrounding transaction ends
+    String lockSql =
+        """
+        select count(pg_advisory_xact_lock(hashtext(jobtype)))
+        from jobconfiguration
+        where uid = :id
+        """;
+    nativeSynchronizedQuery(lockSql).setParameter("id", jobId).getSingleResult();
+    // only flip from SCHEDULED to RUNNING if less than the max of the same type are RUNNING,
+    // a row locked by a competing claim is skipped
     String sql =
         """
         update jobconfiguration j1
@@ -304,17 +314,25 @@ public class HibernateJobConfigurationStore
           lastalive = now(),
           progress = null,
           cancel = false
-        where uid = :id
-        and jobstatus = 'SCHEDULED'
-        and enabled = true
-        and not exists (
-          select 1 from jobconfiguration j2
+        where j1.jobconfigurationid = (
+          select j0.jobconfigurationid from jobconfiguration j0
+          where j0.uid = :id
+          and j0.jobstatus = 'SCHEDULED'
+          and j0.enabled = true
+          for update skip locked
+        )
+        and (
+          select count(*) from jobconfiguration j2
           where j2.jobtype = j1.jobtype
           and j2.jobconfigurationid != j1.jobconfigurationid
           and j2.jobstatus = 'RUNNING'
-        )
+        ) < :max
         """;
-    return nativeSynchronizedQuery(sql).setParameter("id", jobId).executeUpdate() > 0;
+    return nativeSynchronizedQuery(sql)
+            .setParameter("id", jobId)
+            .setParameter("max", maxRunningOfType)
+            .executeUpdate()
+        > 0;
   }
 
   @Override
@@ -34,6 +34,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -42,11 +43,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.setting.SystemSettingsService;
 import org.hisp.dhis.user.SystemUser;
 import org.springframework.stereotype.Component;
@@ -57,6 +61,11 @@ import org.springframework.stereotype.Component;
  * <p>In the loop it is determined if a job should trigger and if so it is executed on a worker
  * thread.
  *
+ * <p>By default only the leader node runs jobs. When {@link
+ * ConfigurationKey#SCHEDULING_DISTRIBUTED} is enabled every node claims due jobs in the DB up to
+ * its {@link ConfigurationKey#SCHEDULING_NODE_CAPACITY}. Jobs of a node that died stop being alive
+ * and are rescheduled by the housekeeping so another node can claim them.
+ *
  * @author Jan Bernitt
  * @since 2.41
  */
@@ -94,10 +103,25 @@ public class JobScheduler implements Runnable, JobRunner {
   private final JobService jobService;
   private final JobSchedulerLoopService service;
   private final SystemSettingsService settingsProvider;
+  private final DhisConfigurationProvider config;
   private final ExecutorService workers = Executors.newCachedThreadPool();
   private final Map<JobType, Queue<String>> continuousJobsByType = new ConcurrentHashMap<>();
 
+  /** Max number of jobs running concurrently per type in the cluster, unlisted types run 1 */
+  private volatile Map<JobType, Integer> maxRunningByType = Map.of();
+
+  /** Free job slots of this node, only used when scheduling is distributed */
+  private volatile Semaphore nodeCapacity;
+
   public void start() {
+    maxRunningByType =
+        parseMaxRunningByType(config.getProperty(ConfigurationKey.SCHEDULING_JOB_TYPE_CONCURRENCY));
+    if (config.isEnabled(ConfigurationKey.SCHEDULING_DISTRIBUTED)) {
+      int capacity = Math.max(1, config.getIntProperty(ConfigurationKey.SCHEDULING_NODE_CAPACITY));
+      nodeCapacity = new Semaphore(capacity);
+      log.info(
+          "Distributed scheduling enabled, running up to %d jobs on this node".formatted(capacity));
+    }
     long loopTimeMs = LOOP_SECONDS * 1000L;
     long alignment = loopTimeMs - (currentTimeMillis() % loopTimeMs);
     Executors.newSingleThreadScheduledExecutor()
@@ -113,20 +137,23 @@ public class JobScheduler implements Runnable, JobRunner {
   /**
    * The main scheduling loop executed every 20 seconds (see {@link #start()}).
    *
-   * <p>If this node is the leader it tries to run jobs that might be due to run.
+   * <p>If this node is the leader, or scheduling is distributed, it tries to run jobs that might be
+   * due to run.
    */
   @Override
   public void run() {
     try {
       Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
-      if (service.tryBecomeLeader(TTL_SECONDS)) {
+      boolean leader = service.tryBecomeLeader(TTL_SECONDS);
+      if (leader) {
         service.assureAsLeader(TTL_SECONDS);
+      }
+      if (leader || nodeCapacity != null) {
         Map<JobType, List<JobConfiguration>> readyByType =
             service.getDueJobConfigurations(LOOP_SECONDS).stream()
                 .collect(groupingBy(JobConfiguration::getJobType));
-        // only attempt to start one per type per loop invocation
         readyByType.forEach((type, jobs) -> runIfDue(now, type, jobs));
-        if (!readyByType.containsKey(JobType.HOUSEKEEPING)) {
+        if (leader && !readyByType.containsKey(JobType.HOUSEKEEPING)) {
           createHousekeepingJob();
         }
       }
@@ -151,7 +178,8 @@ public class JobScheduler implements Runnable, JobRunner {
 
   private void runIfDue(Instant now, JobType type, List<JobConfiguration> jobs) {
     if (!type.isUsingContinuousExecution()) {
-      runIfDue(now, jobs.get(0));
+      // only attempt to start as many per type per loop invocation as may run concurrently
+      jobs.stream().limit(maxRunning(type)).forEach(job -> runIfDue(now, job));
       return;
     }
     Queue<String> jobIds = continuousJobsByType.get(type);
@@ -182,7 +210,7 @@ public class JobScheduler implements Runnable, JobRunner {
         if (config != null && (config.getJobStatus() == JobStatus.SCHEDULED)) {
           Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
           Instant dueTime = dueTime(now, config);
-          runDueJob(config, dueTime);
+          runDueJobOnNode(config, dueTime);
         }
         jobId = jobIds.poll();
       }
@@ -195,8 +223,52 @@ public class JobScheduler implements Runnable, JobRunner {
   private void runIfDue(Instant now, JobConfiguration config) {
     Instant dueTime = dueTime(now, config);
     if (dueTime != null) {
-      workers.submit(() -> runDueJob(config, dueTime));
+      workers.submit(() -> runDueJobOnNode(config, dueTime));
+    }
+  }
+
+  /**
+   * When scheduling is distributed a job is only claimed if this node has capacity left, otherwise
+   * it stays scheduled for another node or a later loop to pick it up.
+   */
+  private void runDueJobOnNode(JobConfiguration config, Instant start) {
+    Semaphore capacity = nodeCapacity;
+    if (capacity == null) {
+      runDueJob(config, start);
+      return;
+    }
+    if (!capacity.tryAcquire()) {
+      log.debug("Node at capacity, leaving job %s to other nodes".formatted(config.getUid()));
+      return;
+    }
+    try {
+      runDueJob(config, start);
+    } finally {
+      capacity.release();
+    }
+  }
+
+  private int maxRunning(JobType type) {
+    return maxRunningByType.getOrDefault(type, 1);
+  }
+
+  /**
+   * @param value comma separated {@code TYPE=limit} pairs
+   * @return the limit by type for valid pairs, invalid pairs are logged and ignored
+   */
+  static Map<JobType, Integer> parseMaxRunningByType(String value) {
+    Map<JobType, Integer> res = new EnumMap<>(JobType.class);
+    if (value == null || value.isBlank()) return res;
+    for (String pair : value.split(",")) {
+      String[] typeAndLimit = pair.split("=");
+      try {
+        int limit = Integer.parseInt(typeAndLimit[1].trim());
+        if (limit > 0) res.put(JobType.valueOf(typeAndLimit[0].trim()), limit);
+      } catch (RuntimeException ex) {
+        log.warn("Ignoring invalid job type concurrency: " + pair);
+      }
     }
+    return res;
   }
 
   private Instant dueTime(Instant now, JobConfiguration config) {
@@ -214,7 +286,7 @@ public class JobScheduler implements Runnable, JobRunner {
   /** This is executed on a worker thread. The start time is the desired time to run. */
   private void runDueJob(JobConfiguration config, Instant start) {
     String jobId = config.getUid();
-    if (!service.tryRun(jobId)) {
+    if (!service.tryRun(jobId, maxRunning(config.getJobType()))) {
       log.debug(
           String.format(
               "Could not start job %s although it should run %s",
@@ -85,7 +85,19 @@ public interface JobSchedulerLoopService {
    * @param jobId of the job to switch to a {@link JobStatus#RUNNING} state
    * @return true, if update was successful and the execution should begin, otherwise false
    */
-  boolean tryRun(@Nonnull String jobId);
+  default boolean tryRun(@Nonnull String jobId) {
+    return tryRun(jobId, 1);
+  }
+
+  /**
+   * Same as {@link #tryRun(String)} but allows up to the given number of jobs of the same {@link
+   * JobType} to run at the same time across all nodes.
+   *
+   * @param jobId of the job to switch to a {@link JobStatus#RUNNING} state
+   * @param maxRunningOfType max number of running jobs of the job's type
+   * @return true, if update was successful and the execution should begin, otherwise false
+   */
+  boolean tryRun(@Nonnull String jobId, int maxRunningOfType);
 
   /**
    * Called when a run of the provided job is about to be processed.
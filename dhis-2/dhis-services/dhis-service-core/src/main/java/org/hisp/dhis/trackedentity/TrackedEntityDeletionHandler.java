@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.trackedentity;
 
+import java.util.List;
 import java.util.Map;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.system.deletion.DeletionVeto;
@@ -40,13 +41,16 @@ import org.springframework.stereotype.Component;
 public class TrackedEntityDeletionHandler extends IdObjectDeletionHandler<TrackedEntity> {
   @Override
   protected void registerHandler() {
-    whenVetoing(OrganisationUnit.class, this::allowDeleteOrganisationUnit);
+    whenVetoingAll(OrganisationUnit.class, this::allowDeleteOrganisationUnits);
     whenVetoing(TrackedEntityType.class, this::allowDeleteTrackedEntityType);
   }
 
-  private DeletionVeto allowDeleteOrganisationUnit(OrganisationUnit unit) {
-    String sql = "select 1 from trackedentity where organisationunitid = :id limit 1";
-    return vetoIfExists(VETO, sql, Map.of("id", unit.getId()));
+  private Map<OrganisationUnit, DeletionVeto> allowDeleteOrganisationUnits(
+      List<OrganisationUnit> units) {
+    String sql =
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from trackedentity where organisationunitid = o.id)";
+    return vetoAllIfExists(VETO, sql, units);
   }
 
   private DeletionVeto allowDeleteTrackedEntityType(TrackedEntityType trackedEntityType) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrganisationUnitHierarchyIndexTest {
+
+  private OrganisationUnitHierarchyIndex index;
+
+  /**
+   *
+   *
+   * <pre>
+   *   A        F
+   *  / \
+   * B   C
+   *    / \
+   *   D   E
+   * </pre>
+   *
+   * G and H reference each other as parent.
+   */
+  @BeforeEach
+  void setUp() {
+    index =
+        new OrganisationUnitHierarchyIndex(
+            1,
+            new long[] {1, 2, 3, 4, 5, 6, 7, 8},
+            new String[] {"A", "B", "C", "D", "E", "F", "G", "H"},
+            new long[] {0, 1, 1, 3, 3, 0, 8, 7},
+            new String[] {"/A", "/A/B", "/A/C", "/A/C/D", "/A/C/E", "/F", null, null});
+  }
+
+  @Test
+  void testSizeExcludesCyclicReferences() {
+    assertEquals(6, index.size());
+    assertEquals(-1, index.getNode("G"));
+    assertEquals(-1, index.getNode("H"));
+    assertEquals(-1, index.getNode("X"));
+    assertEquals(-1, index.getNode(null));
+  }
+
+  @Test
+  void testGetLevel() {
+    assertEquals(1, index.getLevel(node("A")));
+    assertEquals(2, index.getLevel(node("C")));
+    assertEquals(3, index.getLevel(node("E")));
+    assertEquals(1, index.getLevel(node("F")));
+  }
+
+  @Test
+  void testGetParent() {
+    assertEquals(-1, index.getParent(node("A")));
+    assertEquals(node("C"), index.getParent(node("D")));
+  }
+
+  @Test
+  void testSubtree() {
+    assertEquals(5, index.getSubtreeSize(node("A")));
+    assertEquals(3, index.getSubtreeSize(node("C")));
+    assertEquals(1, index.getSubtreeSize(node("D")));
+
+    int c = node("C");
+    List<String> subtree =
+        IntStream.rangeClosed(index.getFirst(c), index.getLast(c))
+            .mapToObj(pos -> index.getUid(index.getNodeAt(pos)))
+            .sorted()
+            .toList();
+    assertEquals(List.of("C", "D", "E"), subtree);
+  }
+
+  @Test
+  void testIsDescendant() {
+    assertTrue(index.isDescendant(node("D"), node("A")));
+    assertTrue(index.isDescendant(node("D"), node("C")));
+    assertTrue(index.isDescendant(node("D"), node("D")));
+    assertFalse(index.isDescendant(node("D"), node("B")));
+    assertFalse(index.isDescendant(node("A"), node("D")));
+    assertFalse(index.isDescendant(node("F"), node("A")));
+  }
+
+  @Test
+  void testIsDescendantOfAnyUid() {
+    assertTrue(index.isDescendant(node("E"), Set.of("B", "C")));
+    assertTrue(index.isDescendant(node("E"), Set.of("F", "A")));
+    assertFalse(index.isDescendant(node("B"), Set.of("C", "F")));
+    assertFalse(index.isDescendant(node("B"), Set.of()));
+  }
+
+  @Test
+  void testIsDescendantOfAnyOrganisationUnit() {
+    OrganisationUnit b = new OrganisationUnit();
+    b.setUid("B");
+    OrganisationUnit c = new OrganisationUnit();
+    c.setUid("C");
+    OrganisationUnit unknown = new OrganisationUnit();
+    unknown.setUid("X");
+
+    assertTrue(index.isDescendant(node("D"), List.of(unknown, b, c)));
+    assertFalse(index.isDescendant(node("D"), List.of(unknown, b)));
+  }
+
+  @Test
+  void testIsCurrent() {
+    assertTrue(index.isCurrent(node("D"), "/A/C/D"));
+    assertFalse(index.isCurrent(node("D"), "/A/B/D"));
+    assertFalse(index.isCurrent(node("D"), null));
+    // same String hash code as /F
+    assertEquals("/F".hashCode(), "0'".hashCode());
+    assertTrue(index.isCurrent(node("F"), "/F"));
+    assertFalse(index.isCurrent(node("F"), "0'"));
+  }
+
+  private int node(String uid) {
+    return index.getNode(uid);
+  }
+}
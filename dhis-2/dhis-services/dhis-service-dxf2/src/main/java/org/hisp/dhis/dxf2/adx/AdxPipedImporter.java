@@ -38,6 +38,7 @@ import org.hisp.dhis.dxf2.common.ImportOptions;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSetService;
 import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -82,7 +83,8 @@ public class AdxPipedImporter implements Callable<ImportSummary> {
     DbmsUtils.bindSessionToThread(entityManagerFactory);
 
     try {
-      return dataValueSetService.importDataValueSetXml(pipeIn, importOptions, id);
+      return dataValueSetService.importDataValueSetXml(
+          pipeIn, importOptions, id, JobProgress.noop());
     } catch (Exception ex) {
       return ImportSummary.error("Exception: " + ex.getMessage());
     } finally {
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Position of a data value in the keyset order used for paging through data values changed after a
+ * point in time. Data values are ordered by last updated timestamp and then by the identifiers of
+ * data element, period, org unit, category option combo and attribute option combo, which together
+ * uniquely identify a data value.
+ */
+@Value
+public class DataValueKeyset {
+  private static final String SEPARATOR = ",";
+
+  Timestamp lastUpdated;
+
+  long dataElementId;
+
+  long periodId;
+
+  long sourceId;
+
+  long categoryOptionComboId;
+
+  long attributeOptionComboId;
+
+  /**
+   * Creates a {@link DataValueKeyset} from the current row of the given result set. The result set
+   * must contain the <code>lastupdated</code> and data value identifier columns.
+   *
+   * @param rs the {@link ResultSet}.
+   * @return a {@link DataValueKeyset}.
+   * @throws SQLException if a column cannot be read.
+   */
+  static DataValueKeyset of(ResultSet rs) throws SQLException {
+    return new DataValueKeyset(
+        rs.getTimestamp("lastupdated"),
+        rs.getLong("dataelementid"),
+        rs.getLong("periodid"),
+        rs.getLong("sourceid"),
+        rs.getLong("categoryoptioncomboid"),
+        rs.getLong("attributeoptioncomboid"));
+  }
+
+  /**
+   * Returns a string representation of this keyset which can be parsed with {@link
+   * #fromKeyString(String)}. The timestamp keeps its full precision.
+   *
+   * @return a key string.
+   */
+  public String toKeyString() {
+    return String.join(
+        SEPARATOR,
+        lastUpdated.toString(),
+        String.valueOf(dataElementId),
+        String.valueOf(periodId),
+        String.valueOf(sourceId),
+        String.valueOf(categoryOptionComboId),
+        String.valueOf(attributeOptionComboId));
+  }
+
+  /**
+   * Parses the given key string created by {@link #toKeyString()}.
+   *
+   * @param key the key string.
+   * @return a {@link DataValueKeyset}, or null if the key string is blank or invalid.
+   */
+  public static DataValueKeyset fromKeyString(String key) {
+    if (StringUtils.isBlank(key)) {
+      return null;
+    }
+
+    String[] parts = key.split(SEPARATOR);
+
+    if (parts.length != 6) {
+      return null;
+    }
+
+    try {
+      return new DataValueKeyset(
+          Timestamp.valueOf(parts[0]),
+          Long.parseLong(parts[1]),
+          Long.parseLong(parts[2]),
+          Long.parseLong(parts[3]),
+          Long.parseLong(parts[4]),
+          Long.parseLong(parts[5]));
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+}
@@ -40,6 +40,7 @@ import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.node.types.RootNode;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
 
 /**
  * @author Lars Helge Overland
@@ -82,6 +83,25 @@ public interface DataValueSetService {
   void exportDataValueSetJson(
       Date lastUpdated, OutputStream outputStream, IdSchemes idSchemes, int pageSize, int page);
 
+  /**
+   * Query for a page of {@link DataValueSet DataValueSets} using keyset paging and write result as
+   * JSON. Data values are ordered by last updated timestamp and data value identifiers, and the
+   * page starts after the given keyset position.
+   *
+   * @param lastUpdated specifies the date to filter data values last updated after
+   * @param outputStream the stream to write to
+   * @param idSchemes idSchemes
+   * @param pageSize pageSize
+   * @param after the keyset position after which the page starts, null to start from the beginning
+   * @return the keyset position of the last written data value, or null if the page is empty
+   */
+  DataValueKeyset exportDataValueSetJson(
+      Date lastUpdated,
+      OutputStream outputStream,
+      IdSchemes idSchemes,
+      int pageSize,
+      DataValueKeyset after);
+
   void exportDataValueSetCsv(DataExportParams params, Writer writer);
 
   RootNode getDataValueSetTemplate(
@@ -107,14 +127,14 @@ public interface DataValueSetService {
   ImportSummary importDataValueSet(DataValueSet dataValueSet, ImportOptions importOptions);
 
   ImportSummary importDataValueSetXml(
-      InputStream in, ImportOptions importOptions, JobConfiguration jobId);
+      InputStream in, ImportOptions importOptions, JobConfiguration jobId, JobProgress progress);
 
   ImportSummary importDataValueSetJson(
-      InputStream in, ImportOptions importOptions, JobConfiguration jobId);
+      InputStream in, ImportOptions importOptions, JobConfiguration jobId, JobProgress progress);
 
   ImportSummary importDataValueSetCsv(
-      InputStream in, ImportOptions importOptions, JobConfiguration id);
+      InputStream in, ImportOptions importOptions, JobConfiguration id, JobProgress progress);
 
   ImportSummary importDataValueSetPdf(
-      InputStream in, ImportOptions importOptions, JobConfiguration id);
+      InputStream in, ImportOptions importOptions, JobConfiguration id, JobProgress progress);
 }
@@ -29,9 +29,13 @@ package org.hisp.dhis.dxf2.datavalueset;
 
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 
 /**
  * @author Lars Helge Overland
@@ -63,4 +67,42 @@ public interface DataValueSetStore {
    */
   void exportDataValueSetJson(
       Date lastUpdated, OutputStream outputStream, IdSchemes idSchemes, int pageSize, int page);
+
+  /**
+   * Query for a page of {@link DataValueSet DataValueSets} using keyset paging and write result as
+   * JSON. Data values are ordered by last updated timestamp and data value identifiers, and the
+   * page starts after the given keyset position.
+   *
+   * @param lastUpdated specifies the date to filter data values last updated after
+   * @param outputStream the stream to write to
+   * @param idSchemes idSchemes
+   * @param pageSize pageSize
+   * @param after the keyset position after which the page starts, null to start from the beginning
+   * @return the keyset position of the last written data value, or null if the page is empty
+   */
+  DataValueKeyset exportDataValueSetJson(
+      Date lastUpdated,
+      OutputStream outputStream,
+      IdSchemes idSchemes,
+      int pageSize,
+      DataValueKeyset after);
+
+  /**
+   * Returns the persisted data values, including soft deleted values, matching the given data
+   * values by data element, period, org unit, category option combo and attribute option combo. The
+   * lookup is done with a single query.
+   *
+   * @param dataValues the data values to look up.
+   * @return a map of the given data values to the matching persisted data value, data values
+   *     without a persisted match are not included.
+   */
+  Map<DataValue, DataValue> getExistingDataValues(Collection<DataValue> dataValues);
+
+  /**
+   * Inserts the given data values in one batch, updating existing data values with the same data
+   * element, period, org unit, category option combo and attribute option combo.
+   *
+   * @param dataValues the data values to insert or update.
+   */
+  void upsertDataValues(List<DataValue> dataValues);
 }
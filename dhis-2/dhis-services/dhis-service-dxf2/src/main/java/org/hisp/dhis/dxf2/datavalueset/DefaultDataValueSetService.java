@@ -34,7 +34,6 @@ import static org.hisp.dhis.external.conf.ConfigurationKey.CHANGELOG_AGGREGATE;
 import static org.hisp.dhis.system.notification.NotificationLevel.ERROR;
 import static org.hisp.dhis.system.notification.NotificationLevel.INFO;
 import static org.hisp.dhis.system.notification.NotificationLevel.WARN;
-import static org.hisp.dhis.system.util.ValidationUtils.dataValueIsZeroAndInsignificant;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
@@ -46,8 +45,10 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
@@ -88,7 +89,6 @@ import org.hisp.dhis.fileresource.FileResourceService;
 import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.importexport.ImportStrategy;
 import org.hisp.dhis.jdbc.batchhandler.DataValueAuditBatchHandler;
-import org.hisp.dhis.jdbc.batchhandler.DataValueBatchHandler;
 import org.hisp.dhis.node.types.CollectionNode;
 import org.hisp.dhis.node.types.ComplexNode;
 import org.hisp.dhis.node.types.RootNode;
@@ -99,6 +99,7 @@ import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.security.Authorities;
 import org.hisp.dhis.security.acl.AclService;
@@ -138,6 +139,9 @@ public class DefaultDataValueSetService implements DataValueSetService {
 
   private static final int CACHE_MISS_THRESHOLD = 250;
 
+  /** Number of data values which are looked up and written together during import. */
+  private static final int IMPORT_CHUNK_SIZE = 5000;
+
   private final IdentifiableObjectManager identifiableObjectManager;
 
   private final CategoryService categoryService;
@@ -397,6 +401,18 @@ public class DefaultDataValueSetService implements DataValueSetService {
     dataValueSetStore.exportDataValueSetJson(lastUpdated, outputStream, idSchemes, pageSize, page);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public DataValueKeyset exportDataValueSetJson(
+      Date lastUpdated,
+      OutputStream outputStream,
+      IdSchemes idSchemes,
+      int pageSize,
+      DataValueKeyset after) {
+    return dataValueSetStore.exportDataValueSetJson(
+        lastUpdated, outputStream, idSchemes, pageSize, after);
+  }
+
   @Override
   @Transactional
   public void exportDataValueSetCsv(DataExportParams params, Writer writer) {
@@ -542,46 +558,50 @@ public class DefaultDataValueSetService implements DataValueSetService {
   @Override
   @Transactional
   public ImportSummary importDataValueSetXml(InputStream in) {
-    return importDataValueSetXml(in, ImportOptions.getDefaultImportOptions(), null);
+    return importDataValueSetXml(
+        in, ImportOptions.getDefaultImportOptions(), null, JobProgress.noop());
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetJson(InputStream in) {
-    return importDataValueSetJson(in, ImportOptions.getDefaultImportOptions(), null);
+    return importDataValueSetJson(
+        in, ImportOptions.getDefaultImportOptions(), null, JobProgress.noop());
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetXml(InputStream in, ImportOptions options) {
-    return importDataValueSetXml(in, options, null);
+    return importDataValueSetXml(in, options, null, JobProgress.noop());
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetJson(InputStream in, ImportOptions options) {
-    return importDataValueSetJson(in, options, null);
+    return importDataValueSetJson(in, options, null, JobProgress.noop());
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetCsv(InputStream in, ImportOptions options) {
-    return importDataValueSetCsv(in, options, null);
+    return importDataValueSetCsv(in, options, null, JobProgress.noop());
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSet(DataValueSet dataValueSet, ImportOptions options) {
-    return importDataValueSet(options, null, () -> new SimpleDataValueSetReader(dataValueSet));
+    return importDataValueSet(
+        options, null, JobProgress.noop(), () -> new SimpleDataValueSetReader(dataValueSet));
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetXml(
-      InputStream in, ImportOptions options, JobConfiguration id) {
+      InputStream in, ImportOptions options, JobConfiguration id, JobProgress progress) {
     return importDataValueSet(
         options,
         id,
+        progress,
         () ->
             new XmlDataValueSetReader(XMLFactory.getXMLReader(wrapAndCheckCompressionFormat(in))));
   }
@@ -589,20 +609,22 @@ public class DefaultDataValueSetService implements DataValueSetService {
   @Override
   @Transactional
   public ImportSummary importDataValueSetJson(
-      InputStream in, ImportOptions options, JobConfiguration id) {
+      InputStream in, ImportOptions options, JobConfiguration id, JobProgress progress) {
     return importDataValueSet(
         options,
         id,
+        progress,
         () -> new JsonDataValueSetReader(wrapAndCheckCompressionFormat(in), jsonMapper));
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetCsv(
-      InputStream in, ImportOptions options, JobConfiguration id) {
+      InputStream in, ImportOptions options, JobConfiguration id, JobProgress progress) {
     return importDataValueSet(
         options,
         id,
+        progress,
         () ->
             new CsvDataValueSetReader(
                 CsvUtils.getReader(wrapAndCheckCompressionFormat(in)), options));
@@ -611,30 +633,30 @@ public class DefaultDataValueSetService implements DataValueSetService {
   @Override
   @Transactional
   public ImportSummary importDataValueSetPdf(
-      InputStream in, ImportOptions options, JobConfiguration id) {
-    return importDataValueSet(options, id, () -> new PdfDataValueSetReader(in));
+      InputStream in, ImportOptions options, JobConfiguration id, JobProgress progress) {
+    return importDataValueSet(options, id, progress, () -> new PdfDataValueSetReader(in));
   }
 
   @Override
   @Transactional
   public ImportSummary importDataValueSetPdf(InputStream in, ImportOptions options) {
-    return importDataValueSetPdf(in, options, null);
+    return importDataValueSetPdf(in, options, null, JobProgress.noop());
   }
 
   private ImportSummary importDataValueSet(
-      ImportOptions options, JobConfiguration id, Callable<DataValueSetReader> createReader) {
+      ImportOptions options,
+      JobConfiguration id,
+      JobProgress progress,
+      Callable<DataValueSetReader> createReader) {
     options = ObjectUtils.firstNonNull(options, ImportOptions.getDefaultImportOptions());
 
     notifier.clear(id);
 
-    try (BatchHandler<DataValue> dvBatch =
-            batchHandlerFactory.createBatchHandler(DataValueBatchHandler.class);
-        BatchHandler<DataValueAudit> dvaBatch =
+    try (BatchHandler<DataValueAudit> dvaBatch =
             batchHandlerFactory.createBatchHandler(DataValueAuditBatchHandler.class);
         DataValueSetReader reader = createReader.call()) {
-      ImportSummary summary = importDataValueSet(options, id, reader, dvBatch, dvaBatch);
+      ImportSummary summary = importDataValueSet(options, id, progress, reader, dvaBatch);
 
-      dvBatch.flush();
       dvaBatch.flush();
 
       NotificationLevel notificationLevel = options.getNotificationLevel(INFO);
@@ -670,17 +692,19 @@ public class DefaultDataValueSetService implements DataValueSetService {
    *       <ul>
    *         <p>If id scheme is specific in the data value set, any id schemes in the import options
    *         will be ignored.
+   *         <p>Data values are validated one by one and written in chunks of {@link
+   *         #IMPORT_CHUNK_SIZE}. Existing data values of a chunk are looked up with a single query,
+   *         and the chunk is written with a single batch of upserts.
    */
   private ImportSummary importDataValueSet(
       ImportOptions options,
       JobConfiguration id,
+      JobProgress progress,
       DataValueSetReader reader,
-      BatchHandler<DataValue> dataValueBatchHandler,
       BatchHandler<DataValueAudit> auditBatchHandler) {
     DataValueSet dataValueSet = reader.readHeader();
     final ImportContext context =
-        createDataValueSetImportContext(
-            options, dataValueSet, dataValueBatchHandler, auditBatchHandler);
+        createDataValueSetImportContext(options, dataValueSet, auditBatchHandler);
     logDataValueSetImportContextInfo(context);
 
     Clock clock =
@@ -738,18 +762,22 @@ public class DefaultDataValueSetService implements DataValueSetService {
     clock.logTime("Validated outer meta-data");
     notifier.notify(id, notificationLevel, "Importing data values");
 
+    List<PendingDataValue> chunk = new ArrayList<>();
     List<? extends DataValueEntry> values = dataValueSet.getDataValues();
     int index = 0;
     if (values != null && !values.isEmpty()) {
       for (DataValueEntry dataValue : values) {
-        importDataValue(context, dataSetContext, importCount, now, index++, dataValue);
+        addDataValue(context, dataSetContext, importCount, now, index++, dataValue, chunk);
+        importDataValuesIfFull(context, importCount, chunk, progress);
       }
     }
     DataValueEntry dataValue = reader.readNext();
     while (dataValue != null) {
-      importDataValue(context, dataSetContext, importCount, now, index++, dataValue);
+      addDataValue(context, dataSetContext, importCount, now, index++, dataValue, chunk);
+      importDataValuesIfFull(context, importCount, chunk, progress);
       dataValue = reader.readNext();
     }
+    importDataValues(context, importCount, chunk, progress);
 
     context
         .getSummary()
@@ -781,13 +809,18 @@ public class DefaultDataValueSetService implements DataValueSetService {
     return date;
   }
 
-  private void importDataValue(
+  /**
+   * Validates the given data value and adds it to the given chunk of data values to import. Ignored
+   * and rejected data values are counted and not added.
+   */
+  private void addDataValue(
       ImportContext context,
       DataSetContext dataSetContext,
       ImportCount importCount,
       Date now,
       int index,
-      DataValueEntry dataValue) {
+      DataValueEntry dataValue,
+      List<PendingDataValue> chunk) {
     ImportContext.DataValueContext valueContext =
         createDataValueContext(index, dataValue, context, dataSetContext);
 
@@ -810,14 +843,85 @@ public class DefaultDataValueSetService implements DataValueSetService {
     // Create data value
     // -----------------------------------------------------------------
     DataValue internalValue = createDataValue(dataValue, context, valueContext, now);
+    boolean zeroAndInsignificant =
+        ValidationUtils.dataValueIsZeroAndInsignificant(
+            dataValue.getValue(), valueContext.getDataElement());
 
-    // -----------------------------------------------------------------
-    // Save, update or delete data value
-    // -----------------------------------------------------------------
-    DataValue existingValue =
-        !context.isSkipExistingCheck()
-            ? context.getDataValueBatchHandler().findObject(internalValue)
-            : null;
+    chunk.add(new PendingDataValue(valueContext, internalValue, zeroAndInsignificant));
+  }
+
+  private void importDataValuesIfFull(
+      ImportContext context,
+      ImportCount importCount,
+      List<PendingDataValue> chunk,
+      JobProgress progress) {
+    if (chunk.size() >= IMPORT_CHUNK_SIZE) {
+      importDataValues(context, importCount, chunk, progress);
+    }
+  }
+
+  /**
+   * Imports the given chunk of data values. Existing data values are looked up with a single query
+   * and the data values to save are written in a single batch. Data values which are saved update
+   * the existing values of the chunk, so that later values with the same key see them. The chunk is
+   * cleared afterwards.
+   */
+  private void importDataValues(
+      ImportContext context,
+      ImportCount importCount,
+      List<PendingDataValue> chunk,
+      JobProgress progress) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    progress.startingWorkItem("Importing chunk of {} data values", chunk.size());
+    long startTime = System.currentTimeMillis();
+
+    Map<DataValue, DataValue> existingValues =
+        context.isSkipExistingCheck()
+            ? new HashMap<>()
+            : new HashMap<>(
+                dataValueSetStore.getExistingDataValues(
+                    chunk.stream().map(PendingDataValue::internalValue).toList()));
+
+    List<DataValue> saveValues = new ArrayList<>();
+
+    for (PendingDataValue value : chunk) {
+      DataValue existingValue = existingValues.get(value.internalValue());
+      int saveCount = saveValues.size();
+
+      importDataValue(context, importCount, value, existingValue, saveValues);
+
+      if (saveValues.size() > saveCount) {
+        existingValues.put(value.internalValue(), value.internalValue());
+      }
+    }
+
+    if (!saveValues.isEmpty()) {
+      dataValueSetStore.upsertDataValues(saveValues);
+    }
+
+    long millis = Math.max(1L, System.currentTimeMillis() - startTime);
+
+    progress.completedWorkItem(
+        "Imported {} data values, saved {} in {} ms, {} values per second",
+        chunk.size(),
+        saveValues.size(),
+        millis,
+        chunk.size() * 1000L / millis);
+
+    chunk.clear();
+  }
+
+  private void importDataValue(
+      ImportContext context,
+      ImportCount importCount,
+      PendingDataValue value,
+      DataValue existingValue,
+      List<DataValue> saveValues) {
+    ImportContext.DataValueContext valueContext = value.valueContext();
+    DataValue internalValue = value.internalValue();
 
     // -----------------------------------
     // Preserve any existing created date
@@ -827,9 +931,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
     }
 
     final ImportStrategy strategy = context.getStrategy();
-    boolean zeroAndInsignificant =
-        ValidationUtils.dataValueIsZeroAndInsignificant(
-            dataValue.getValue(), valueContext.getDataElement());
+    boolean zeroAndInsignificant = value.zeroAndInsignificant();
     if (zeroAndInsignificant && (existingValue == null || strategy.isCreate())) {
       // Ignore value
       context.getSummary().skipValue();
@@ -842,17 +944,24 @@ public class DefaultDataValueSetService implements DataValueSetService {
     if (!context.isSkipExistingCheck() && existingValue != null && !existingValue.isDeleted()) {
       if (strategy.isCreateAndUpdate() || strategy.isUpdate()) {
         saveDataValueUpdate(
-            context, importCount, dataValue, valueContext, internalValue, existingValue);
+            context,
+            importCount,
+            valueContext,
+            internalValue,
+            existingValue,
+            zeroAndInsignificant,
+            saveValues);
       } else if (strategy.isDelete()) {
         saveDataValueDelete(
-            context, importCount, dataValue, valueContext, internalValue, existingValue);
+            context, importCount, valueContext, internalValue, existingValue, saveValues);
       } else {
         importCount.incrementIgnored();
         context.addRejected(valueContext.getIndex());
       }
     } else {
       if (strategy.isCreateAndUpdate() || strategy.isCreate()) {
-        saveDataValueCreate(context, importCount, valueContext, internalValue, existingValue);
+        saveDataValueCreate(
+            context, importCount, valueContext, internalValue, existingValue, saveValues);
       } else {
         importCount.incrementIgnored();
         context.addRejected(valueContext.getIndex());
@@ -865,7 +974,8 @@ public class DefaultDataValueSetService implements DataValueSetService {
       ImportCount importCount,
       ImportContext.DataValueContext valueContext,
       DataValue internalValue,
-      DataValue existingValue) {
+      DataValue existingValue,
+      List<DataValue> saveValues) {
     if (internalValue.isNullValue()) {
       importCount.incrementIgnored();
       return; // Ignore null values
@@ -874,7 +984,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
       importCount.incrementImported();
 
       if (!context.isDryRun()) {
-        context.getDataValueBatchHandler().updateObject(internalValue);
+        saveValues.add(internalValue);
 
         if (valueContext.getDataElement().isFileType()) {
           FileResource fr = fileResourceService.getFileResource(internalValue.getValue());
@@ -886,12 +996,11 @@ public class DefaultDataValueSetService implements DataValueSetService {
       }
       return;
     }
-    boolean added = false;
 
     if (!context.isDryRun()) {
-      added = context.getDataValueBatchHandler().addObject(internalValue);
+      saveValues.add(internalValue);
 
-      if (added && valueContext.getDataElement().isFileType()) {
+      if (valueContext.getDataElement().isFileType()) {
         FileResource fr = fileResourceService.getFileResource(internalValue.getValue());
 
         fr.setAssigned(true);
@@ -900,18 +1009,16 @@ public class DefaultDataValueSetService implements DataValueSetService {
       }
     }
 
-    if (context.isDryRun() || added) {
-      importCount.incrementImported();
-    }
+    importCount.incrementImported();
   }
 
   private void saveDataValueDelete(
       ImportContext context,
       ImportCount importCount,
-      DataValueEntry dataValue,
       ImportContext.DataValueContext valueContext,
       DataValue internalValue,
-      DataValue existingValue) {
+      DataValue existingValue,
+      List<DataValue> saveValues) {
     internalValue.setDeleted(true);
 
     importCount.incrementDeleted();
@@ -925,14 +1032,14 @@ public class DefaultDataValueSetService implements DataValueSetService {
         }
       }
 
-      context.getDataValueBatchHandler().updateObject(internalValue);
+      saveValues.add(internalValue);
 
       if (!context.isSkipAudit()) {
         DataValueAudit auditValue =
             new DataValueAudit(
                 internalValue,
                 existingValue.getValue(),
-                context.getStoredBy(dataValue),
+                internalValue.getStoredBy(),
                 AuditOperationType.DELETE);
 
         context.getAuditBatchHandler().addObject(auditValue);
@@ -943,14 +1050,13 @@ public class DefaultDataValueSetService implements DataValueSetService {
   private void saveDataValueUpdate(
       ImportContext context,
       ImportCount importCount,
-      DataValueEntry dataValue,
       ImportContext.DataValueContext valueContext,
       DataValue internalValue,
-      DataValue existingValue) {
+      DataValue existingValue,
+      boolean zeroAndInsignificant,
+      List<DataValue> saveValues) {
     AuditOperationType auditOperationType = AuditOperationType.UPDATE;
-    if (internalValue.isNullValue()
-        || internalValue.isDeleted()
-        || dataValueIsZeroAndInsignificant(dataValue.getValue(), valueContext.getDataElement())) {
+    if (internalValue.isNullValue() || internalValue.isDeleted() || zeroAndInsignificant) {
       internalValue.setDeleted(true);
 
       auditOperationType = AuditOperationType.DELETE;
@@ -963,7 +1069,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
       } else importCount.incrementUpdated();
     }
     if (!context.isDryRun()) {
-      context.getDataValueBatchHandler().updateObject(internalValue);
+      saveValues.add(internalValue);
 
       if (!context.isSkipAudit()
           && !Objects.equals(existingValue.getValue(), internalValue.getValue())) {
@@ -971,7 +1077,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
             new DataValueAudit(
                 internalValue,
                 existingValue.getValue(),
-                context.getStoredBy(dataValue),
+                internalValue.getStoredBy(),
                 auditOperationType);
 
         context.getAuditBatchHandler().addObject(auditValue);
@@ -1056,10 +1162,7 @@ public class DefaultDataValueSetService implements DataValueSetService {
   }
 
   private ImportContext createDataValueSetImportContext(
-      ImportOptions options,
-      DataValueSet data,
-      BatchHandler<DataValue> dataValueBatchHandler,
-      BatchHandler<DataValueAudit> auditBatchHandler) {
+      ImportOptions options, DataValueSet data, BatchHandler<DataValueAudit> auditBatchHandler) {
 
     String currentUsername = CurrentUserUtil.getCurrentUsername();
     User currentUser = userService.getUserByUsername(currentUsername);
@@ -1153,7 +1256,6 @@ public class DefaultDataValueSetService implements DataValueSetService {
         .periodCallable(new PeriodCallable(periodService, null, trimToNull(data.getPeriod())))
 
         // data processing
-        .dataValueBatchHandler(dataValueBatchHandler.init())
         .auditBatchHandler(skipAudit ? null : auditBatchHandler.init())
         .singularNameForType(klass -> schemaService.getDynamicSchema(klass).getSingular())
         .build();
@@ -1354,4 +1456,13 @@ public class DefaultDataValueSetService implements DataValueSetService {
 
     summary.setDataSetComplete(DateUtils.toMediumDate(completeDate));
   }
+
+  /**
+   * A validated data value waiting to be imported as part of a chunk. Does not reference the {@link
+   * DataValueEntry}, as readers may reuse the same entry instance for every value.
+   */
+  private record PendingDataValue(
+      ImportContext.DataValueContext valueContext,
+      DataValue internalValue,
+      boolean zeroAndInsignificant) {}
 }
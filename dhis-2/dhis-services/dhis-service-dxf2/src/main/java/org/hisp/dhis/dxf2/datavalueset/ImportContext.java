@@ -195,8 +195,6 @@ public final class ImportContext {
 
   private final IdentifiableObjectCallable<Period> periodCallable;
 
-  private final BatchHandler<org.hisp.dhis.datavalue.DataValue> dataValueBatchHandler;
-
   private final BatchHandler<DataValueAudit> auditBatchHandler;
 
   private final Function<Class<? extends IdentifiableObject>, String> singularNameForType;
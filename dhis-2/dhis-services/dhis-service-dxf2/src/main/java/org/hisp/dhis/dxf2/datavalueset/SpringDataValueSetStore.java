@@ -39,7 +39,13 @@ import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.calendar.Calendar;
@@ -47,6 +53,7 @@ import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.query.JpaQueryUtils;
@@ -129,7 +136,157 @@ public class SpringDataValueSetStore implements DataValueSetStore {
     }
   }
 
+  @Override
+  public DataValueKeyset exportDataValueSetJson(
+      Date lastUpdated,
+      OutputStream out,
+      IdSchemes idSchemes,
+      int pageSize,
+      DataValueKeyset after) {
+    final String keyColumns =
+        "dv.lastupdated, dv.dataelementid, dv.periodid, dv.sourceid, "
+            + "dv.categoryoptioncomboid, dv.attributeoptioncomboid";
+
+    String sql =
+        buildDataValueSql(
+            lastUpdated,
+            idSchemes,
+            "dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, "
+                + "dv.attributeoptioncomboid, ");
+
+    Object[] args = new Object[0];
+
+    if (after != null) {
+      sql += "and (" + keyColumns + ") > (?, ?, ?, ?, ?, ?) ";
+      args =
+          new Object[] {
+            after.getLastUpdated(),
+            after.getDataElementId(),
+            after.getPeriodId(),
+            after.getSourceId(),
+            after.getCategoryOptionComboId(),
+            after.getAttributeOptionComboId()
+          };
+    }
+
+    sql += "order by " + keyColumns + " limit " + pageSize;
+
+    AtomicReference<DataValueKeyset> last = new AtomicReference<>();
+
+    try (DataValueSetWriter writer = new JsonDataValueSetWriter(out)) {
+      writer.writeHeader();
+
+      final Calendar calendar = PeriodType.getCalendar();
+      jdbcTemplate.query(
+          sql,
+          (ResultSet rs) -> {
+            writer.writeValue(new ResultSetDataValueEntry(rs, calendar));
+            last.set(DataValueKeyset.of(rs));
+          },
+          args);
+    }
+
+    return last.get();
+  }
+
+  @Override
+  public Map<DataValue, DataValue> getExistingDataValues(Collection<DataValue> dataValues) {
+    Map<List<Long>, DataValue> keys = new HashMap<>();
+
+    for (DataValue dataValue : dataValues) {
+      keys.putIfAbsent(getKey(dataValue), dataValue);
+    }
+
+    Map<DataValue, DataValue> existingValues = new HashMap<>();
+
+    if (keys.isEmpty()) {
+      return existingValues;
+    }
+
+    String keyValues =
+        keys.keySet().stream()
+            .map(key -> "(" + getCommaDelimitedString(key) + ")")
+            .collect(Collectors.joining(","));
+
+    String sql =
+        "select dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, "
+            + "dv.attributeoptioncomboid, dv.value, dv.storedby, dv.created, dv.lastupdated, "
+            + "dv.comment, dv.followup, dv.deleted "
+            + "from datavalue dv "
+            + "where (dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, "
+            + "dv.attributeoptioncomboid) in ("
+            + keyValues
+            + ")";
+
+    jdbcTemplate.query(
+        sql,
+        (ResultSet rs) -> {
+          DataValue input =
+              keys.get(
+                  List.of(
+                      rs.getLong("dataelementid"),
+                      rs.getLong("periodid"),
+                      rs.getLong("sourceid"),
+                      rs.getLong("categoryoptioncomboid"),
+                      rs.getLong("attributeoptioncomboid")));
+
+          DataValue existing = new DataValue();
+          existing.setDataElement(input.getDataElement());
+          existing.setPeriod(input.getPeriod());
+          existing.setSource(input.getSource());
+          existing.setCategoryOptionCombo(input.getCategoryOptionCombo());
+          existing.setAttributeOptionCombo(input.getAttributeOptionCombo());
+          existing.setValue(rs.getString("value"));
+          existing.setStoredBy(rs.getString("storedby"));
+          existing.setCreated(rs.getTimestamp("created"));
+          existing.setLastUpdated(rs.getTimestamp("lastupdated"));
+          existing.setComment(rs.getString("comment"));
+          existing.setFollowup(rs.getBoolean("followup"));
+          existing.setDeleted(rs.getBoolean("deleted"));
+
+          existingValues.put(input, existing);
+        });
+
+    return existingValues;
+  }
+
+  @Override
+  public void upsertDataValues(List<DataValue> dataValues) {
+    String sql =
+        "insert into datavalue (dataelementid, periodid, sourceid, categoryoptioncomboid, "
+            + "attributeoptioncomboid, value, storedby, created, lastupdated, comment, followup, "
+            + "deleted) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "on conflict (dataelementid, periodid, sourceid, categoryoptioncomboid, "
+            + "attributeoptioncomboid) do update set "
+            + "value = excluded.value, storedby = excluded.storedby, created = excluded.created, "
+            + "lastupdated = excluded.lastupdated, comment = excluded.comment, "
+            + "followup = excluded.followup, deleted = excluded.deleted";
+
+    jdbcTemplate.batchUpdate(
+        sql,
+        dataValues,
+        dataValues.size(),
+        (ps, dataValue) -> {
+          ps.setLong(1, dataValue.getDataElement().getId());
+          ps.setLong(2, dataValue.getPeriod().getId());
+          ps.setLong(3, dataValue.getSource().getId());
+          ps.setLong(4, dataValue.getCategoryOptionCombo().getId());
+          ps.setLong(5, dataValue.getAttributeOptionCombo().getId());
+          ps.setString(6, dataValue.getValue());
+          ps.setString(7, dataValue.getStoredBy());
+          ps.setTimestamp(8, toTimestamp(dataValue.getCreated()));
+          ps.setTimestamp(9, toTimestamp(dataValue.getLastUpdated()));
+          ps.setString(10, dataValue.getComment());
+          ps.setBoolean(11, dataValue.isFollowup());
+          ps.setBoolean(12, dataValue.isDeleted());
+        });
+  }
+
   private String buildDataValueSql(Date lastUpdated, IdSchemes idSchemes) {
+    return buildDataValueSql(lastUpdated, idSchemes, "");
+  }
+
+  private String buildDataValueSql(Date lastUpdated, IdSchemes idSchemes, String extraColumns) {
     String deScheme = idSchemes.getDataElementIdScheme().getIdentifiableString().toLowerCase();
     String ouScheme = idSchemes.getOrgUnitIdScheme().getIdentifiableString().toLowerCase();
     String ocScheme =
@@ -148,6 +305,7 @@ public class SpringDataValueSetStore implements DataValueSetStore {
             + " as cocid, aoc."
             + aocScheme
             + " as aocid, "
+            + extraColumns
             + "dv.value, dv.storedby, dv.created, dv.lastupdated, dv.comment, dv.followup, dv.deleted "
             + "from datavalue dv "
             + "join dataelement de on (dv.dataelementid=de.dataelementid) "
@@ -359,6 +517,26 @@ public class SpringDataValueSetStore implements DataValueSetStore {
     return sql;
   }
 
+  /**
+   * Returns the identifier key of the given data value, consisting of the data element, period, org
+   * unit, category option combo and attribute option combo identifiers.
+   *
+   * @param dataValue the {@link DataValue}.
+   * @return the identifier key.
+   */
+  private static List<Long> getKey(DataValue dataValue) {
+    return List.of(
+        dataValue.getDataElement().getId(),
+        dataValue.getPeriod().getId(),
+        dataValue.getSource().getId(),
+        dataValue.getCategoryOptionCombo().getId(),
+        dataValue.getAttributeOptionCombo().getId());
+  }
+
+  private static Timestamp toTimestamp(Date date) {
+    return date != null ? new Timestamp(date.getTime()) : null;
+  }
+
   /**
    * Returns an attribute option combo filter SQL clause. The filter enforces that only attribute
    * option combinations which the given user has access to are returned.
@@ -77,18 +77,23 @@ public class DataValueSetImportJob implements Job {
           switch (contentType) {
             case "application/json" ->
                 progress.runStage(
-                    () -> dataValueSetService.importDataValueSetJson(input, options, jobId));
+                    () ->
+                        dataValueSetService.importDataValueSetJson(
+                            input, options, jobId, progress));
             case "application/csv" ->
                 progress.runStage(
-                    () -> dataValueSetService.importDataValueSetCsv(input, options, jobId));
+                    () ->
+                        dataValueSetService.importDataValueSetCsv(input, options, jobId, progress));
             case "application/pdf" ->
                 progress.runStage(
-                    () -> dataValueSetService.importDataValueSetPdf(input, options, jobId));
+                    () ->
+                        dataValueSetService.importDataValueSetPdf(input, options, jobId, progress));
             case "application/adx+xml" ->
                 progress.runStage(() -> adxDataService.saveDataValueSet(input, options, jobId));
             case "application/xml" ->
                 progress.runStage(
-                    () -> dataValueSetService.importDataValueSetXml(input, options, jobId));
+                    () ->
+                        dataValueSetService.importDataValueSetXml(input, options, jobId, progress));
             default -> {
               progress.failedStage("Unknown format: {}", contentType);
               yield null;
@@ -34,22 +34,26 @@ import static org.hisp.dhis.eventhook.EventUtils.metadataDelete;
 import static org.hisp.dhis.eventhook.EventUtils.metadataUpdate;
 
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
 import org.hisp.dhis.cache.HibernateCacheManager;
 import org.hisp.dhis.common.BaseIdentifiableObject;
-import org.hisp.dhis.common.DeleteNotAllowedException;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.common.MergeMode;
-import org.hisp.dhis.common.ObjectDeletionRequestedEvent;
 import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.dxf2.metadata.FlushMode;
+import org.hisp.dhis.dxf2.metadata.MetadataImportException;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleCommitReport;
 import org.hisp.dhis.eventhook.EventHookPublisher;
 import org.hisp.dhis.feedback.ErrorCode;
@@ -57,6 +61,7 @@ import org.hisp.dhis.feedback.ErrorMessage;
 import org.hisp.dhis.feedback.ErrorReport;
 import org.hisp.dhis.feedback.ObjectReport;
 import org.hisp.dhis.feedback.TypeReport;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.preheat.Preheat;
 import org.hisp.dhis.preheat.PreheatParams;
 import org.hisp.dhis.preheat.PreheatService;
@@ -363,10 +368,11 @@ public class DefaultObjectBundleService implements ObjectBundleService {
     List<T> persistedObjects = bundle.getPreheat().getAll(bundle.getPreheatIdentifier(), objects);
     List<ObjectBundleHook<T>> hooks = objectBundleHooks.getTypeImportHooks(klass);
 
-    String message =
-        "Deleting %d %s object(s) as %s"
-            .formatted(objects.size(), klass.getSimpleName(), bundle.getUsername());
-    progress.startingStage(message, persistedObjects.size());
+    Map<T, ObjectReport> objectReports = new LinkedHashMap<>();
+
+    progress.startingStage(
+        "Running preDelete %s bundle hooks".formatted(klass.getSimpleName()),
+        persistedObjects.size());
     progress.runStage(
         persistedObjects,
         IdentifiableObject::getName,
@@ -374,8 +380,64 @@ public class DefaultObjectBundleService implements ObjectBundleService {
           ObjectReport objectReport = new ObjectReport(object, bundle);
           objectReport.setDisplayName(IdentifiableObjectUtils.getDisplayName(object));
           typeReport.addObjectReport(objectReport);
+          objectReports.put(object, objectReport);
           hooks.forEach(hook -> hook.preDelete(object, bundle));
-          deleteObject(object, session, bundle, typeReport, objectReport, klass);
+        });
+
+    for (List<T> round : getDeletionRounds(klass, persistedObjects)) {
+      deleteRound(session, klass, round, objectReports, typeReport, bundle, progress);
+    }
+
+    progress.startingStage("Publish deletion event for %s objects".formatted(objects.size()));
+    progress.runStage(
+        () ->
+            objects.forEach(
+                object -> eventHookPublisher.publishEvent(metadataDelete(klass, object.getUid()))));
+
+    return typeReport;
+  }
+
+  /**
+   * Runs the deletion handlers for the given objects and deletes the objects which are not vetoed.
+   */
+  private <T extends IdentifiableObject> void deleteRound(
+      Session session,
+      Class<T> klass,
+      List<T> objects,
+      Map<T, ObjectReport> objectReports,
+      TypeReport typeReport,
+      ObjectBundle bundle,
+      JobProgress progress) {
+    progress.startingStage(
+        "Running deletion handlers for %d %s object(s)"
+            .formatted(objects.size(), klass.getSimpleName()));
+    Map<T, String> vetoes = progress.runStage(null, () -> runDeletionHandlers(klass, objects));
+    // handlers may have removed related objects already, so ignoring the objects is not safe and
+    // the import is rolled back as a whole
+    if (vetoes == null) {
+      throw new MetadataImportException("Deletion handlers failed for " + klass.getSimpleName());
+    }
+
+    String message =
+        "Deleting %d %s object(s) as %s"
+            .formatted(objects.size(), klass.getSimpleName(), bundle.getUsername());
+    progress.startingStage(message, objects.size());
+    progress.runStage(
+        objects,
+        IdentifiableObject::getName,
+        object -> {
+          String veto = vetoes.get(object);
+          if (veto != null) {
+            objectReports
+                .get(object)
+                .addErrorReport(
+                    new ErrorReport(klass, new ErrorMessage(veto, ErrorCode.E4030, null)));
+            typeReport.getStats().incIgnored();
+            typeReport.getStats().decDeleted();
+            return;
+          }
+          session.delete(object);
+          bundle.getPreheat().remove(bundle.getPreheatIdentifier(), object);
           if (log.isDebugEnabled()) {
             String msg =
                 "(%s) Deleted object '%s'"
@@ -389,14 +451,29 @@ public class DefaultObjectBundleService implements ObjectBundleService {
             session.flush();
           }
         });
+  }
 
-    progress.startingStage("Publish deletion event for %s objects".formatted(objects.size()));
-    progress.runStage(
-        () ->
-            objects.forEach(
-                object -> eventHookPublisher.publishEvent(metadataDelete(klass, object.getUid()))));
+  /**
+   * Splits the objects to delete into rounds which are deleted one after another. Organisation
+   * units are deleted level by level starting with the deepest level, so that the deletion handlers
+   * detach children from their parents before the veto of the parent is checked. A unit with a
+   * child which is vetoed is then vetoed itself.
+   */
+  private static <T extends IdentifiableObject> Collection<List<T>> getDeletionRounds(
+      Class<T> klass, List<T> objects) {
+    if (!OrganisationUnit.class.isAssignableFrom(klass)) {
+      return List.of(objects);
+    }
 
-    return typeReport;
+    Map<Integer, List<T>> objectsByLevel = new TreeMap<>(Comparator.reverseOrder());
+
+    for (T object : objects) {
+      objectsByLevel
+          .computeIfAbsent(((OrganisationUnit) object).getLevel(), level -> new ArrayList<>())
+          .add(object);
+    }
+
+    return objectsByLevel.values();
   }
 
   @SuppressWarnings("unchecked")
@@ -407,22 +484,21 @@ public class DefaultObjectBundleService implements ObjectBundleService {
         .collect(toList());
   }
 
-  private void deleteObject(
-      IdentifiableObject object,
-      Session session,
-      ObjectBundle bundle,
-      TypeReport typeReport,
-      ObjectReport objectReport,
-      Class<? extends IdentifiableObject> klass) {
-    try {
-      deletionManager.onDeletionWithoutRollBack(new ObjectDeletionRequestedEvent(object));
-      session.delete(object);
-      bundle.getPreheat().remove(bundle.getPreheatIdentifier(), object);
-    } catch (DeleteNotAllowedException ex) {
-      objectReport.addErrorReport(
-          new ErrorReport(klass, new ErrorMessage(ex.getMessage(), ErrorCode.E4030, null)));
-      typeReport.getStats().incIgnored();
-      typeReport.getStats().decDeleted();
-    }
+  /**
+   * Runs the veto and deletion handlers for all objects at once, so that set based handlers run a
+   * single query for all objects.
+   *
+   * @return the message for each object which must not be deleted
+   */
+  private <T extends IdentifiableObject> Map<T, String> runDeletionHandlers(
+      Class<T> klass, List<T> objects) {
+    Map<T, String> vetoes = new HashMap<>();
+    deletionManager
+        .onDeletionOfAll(klass, objects)
+        .forEach(
+            (object, veto) ->
+                vetoes.put(
+                    object, new ErrorMessage(ErrorCode.E4030, veto.getMessage()).getMessage()));
+    return vetoes;
   }
 }
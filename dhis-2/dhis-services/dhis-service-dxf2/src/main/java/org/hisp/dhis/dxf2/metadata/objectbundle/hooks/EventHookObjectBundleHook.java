@@ -28,11 +28,15 @@
 package org.hisp.dhis.dxf2.metadata.objectbundle.hooks;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
 import org.hisp.dhis.eventhook.EventHook;
 import org.hisp.dhis.eventhook.EventHookSecretManager;
 import org.hisp.dhis.eventhook.ReloadEventHookListeners;
+import org.hisp.dhis.eventhook.Target;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
@@ -53,9 +57,47 @@ public class EventHookObjectBundleHook extends AbstractObjectBundleHook<EventHoo
 
   @Override
   public void preUpdate(EventHook eventHook, EventHook persistedObject, ObjectBundle bundle) {
+    keepClientIds(eventHook, persistedObject);
     secretManager.encrypt(eventHook);
   }
 
+  /**
+   * Keeps the client IDs of the persisted targets when an update omits them, as undelivered events
+   * are kept by the client ID of their target. A target without client ID gets a generated one on
+   * deserialization, which is replaced by the client ID of the persisted target of the same type at
+   * the same position.
+   */
+  private static void keepClientIds(EventHook eventHook, EventHook persistedObject) {
+    List<Target> targets = eventHook.getTargets();
+    List<Target> persistedTargets = persistedObject.getTargets();
+    Set<String> clientIds = getClientIds(targets);
+    Set<String> persistedClientIds = getClientIds(persistedTargets);
+
+    for (int i = 0; i < Math.min(targets.size(), persistedTargets.size()); i++) {
+      Target target = targets.get(i);
+      Target persisted = persistedTargets.get(i);
+
+      if (target.getType().equals(persisted.getType())
+          && isGeneratedClientId(target)
+          && !persistedClientIds.contains(target.getClientId())
+          && !clientIds.contains(persisted.getClientId())) {
+        target.setClientId(persisted.getClientId());
+      }
+    }
+  }
+
+  private static Set<String> getClientIds(List<Target> targets) {
+    return targets.stream().map(Target::getClientId).collect(Collectors.toSet());
+  }
+
+  private static boolean isGeneratedClientId(Target target) {
+    String prefix = "dhis2-" + target.getType() + "-";
+    String clientId = target.getClientId();
+    return clientId != null
+        && clientId.startsWith(prefix)
+        && CodeGenerator.isValidUid(clientId.substring(prefix.length()));
+  }
+
   @Override
   public <E extends EventHook> void postTypeImport(
       Class<E> klass, List<E> objects, ObjectBundle bundle) {
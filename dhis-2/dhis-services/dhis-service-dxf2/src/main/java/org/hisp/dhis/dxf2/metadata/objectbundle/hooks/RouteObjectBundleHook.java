@@ -35,6 +35,7 @@ import org.hisp.dhis.common.auth.Auth;
 import org.hisp.dhis.common.auth.HttpBasicAuth;
 import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
 import org.hisp.dhis.route.Route;
+import org.hisp.dhis.route.RouteService;
 import org.jasypt.encryption.pbe.PBEStringCleanablePasswordEncryptor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -49,6 +50,8 @@ public class RouteObjectBundleHook extends AbstractObjectBundleHook<Route> {
   @Qualifier(AES_128_STRING_ENCRYPTOR)
   private final PBEStringCleanablePasswordEncryptor encryptor;
 
+  private final RouteService routeService;
+
   @Override
   public void preCreate(Route route, ObjectBundle bundle) {
     encrypt(route);
@@ -59,6 +62,16 @@ public class RouteObjectBundleHook extends AbstractObjectBundleHook<Route> {
     encrypt(route);
   }
 
+  @Override
+  public void postUpdate(Route persistedObject, ObjectBundle bundle) {
+    routeService.evictClient(persistedObject.getUid());
+  }
+
+  @Override
+  public void preDelete(Route persistedObject, ObjectBundle bundle) {
+    routeService.evictClient(persistedObject.getUid());
+  }
+
   private void encrypt(Route route) {
     Auth auth = route.getAuth();
 
@@ -57,7 +57,12 @@ public class DataSynchronizationJob implements Job {
     DataSynchronizationJobParameters params =
         (DataSynchronizationJobParameters) config.getJobParameters();
 
-    dataValueSync.synchronizeData(params.getPageSize(), progress);
+    if (params.isPipelined()) {
+      dataValueSync.synchronizeDataPipelined(
+          params.getPageSize(), params.getPagesInFlight(), progress);
+    } else {
+      dataValueSync.synchronizeData(params.getPageSize(), progress);
+    }
     completenessSync.synchronizeData(progress);
   }
 }
@@ -30,18 +30,30 @@ package org.hisp.dhis.dxf2.sync;
 import static java.lang.String.format;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.Date;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.dxf2.datavalueset.DataValueKeyset;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSetService;
 import org.hisp.dhis.dxf2.metadata.sync.exception.MetadataSyncServiceException;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SystemSettings;
 import org.hisp.dhis.setting.SystemSettingsService;
 import org.hisp.dhis.system.util.CodecUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RequestCallback;
@@ -62,6 +74,10 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
 
   private final RestTemplate restTemplate;
 
+  private static final String CHECKPOINT_KEY = "keyDataSynchCheckpoint";
+
+  private record PendingPage(DataValueKeyset last, Future<Boolean> result) {}
+
   @Getter
   private static final class DataValueSynchronisationContext
       extends PagedDataSynchronisationContext {
@@ -111,6 +127,7 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
     if (runSyncWithPaging(context, progress)) {
       progress.completedProcess("SUCCESS! DataValueSynchronization job is done.");
       settingsService.put("keyLastSuccessfulDataSynch", context.getStartTime());
+      settingsService.put(CHECKPOINT_KEY, "");
       return SynchronizationResult.success("DataValueSynchronization done.");
     }
 
@@ -119,6 +136,71 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
     return SynchronizationResult.failure(msg);
   }
 
+  /**
+   * Synchronizes data values changed since the last successful synchronization using keyset paging
+   * on last updated timestamp and data value identifiers. Pages are exported one after another and
+   * sent as gzip compressed request bodies, with up to the given number of pages in flight
+   * concurrently. The position of the last page acknowledged in order by the remote server is
+   * stored as a checkpoint, so that an interrupted synchronization resumes after that page instead
+   * of starting over.
+   *
+   * @param pageSize the number of data values per page.
+   * @param pagesInFlight the maximum number of pages sent concurrently.
+   * @param progress the {@link JobProgress}.
+   * @return the {@link SynchronizationResult}.
+   */
+  public SynchronizationResult synchronizeDataPipelined(
+      int pageSize, int pagesInFlight, JobProgress progress) {
+    progress.startingProcess("Starting pipelined DataValueSynchronization job");
+    SystemSettings settings = settingsService.getCurrentSettings();
+    if (!SyncUtils.testServerAvailability(settings, restTemplate).isAvailable()) {
+      String msg = "DataValueSynchronization failed. Remote server is unavailable.";
+      progress.failedProcess(msg);
+      return SynchronizationResult.failure(msg);
+    }
+
+    progress.startingStage("Counting data values");
+    DataValueSynchronisationContext context =
+        progress.runStage(
+            new DataValueSynchronisationContext(null, pageSize),
+            ctx ->
+                "DataValues last changed before "
+                    + ctx.getSkipChangedBefore()
+                    + " will not be synchronized.",
+            () -> createContext(pageSize));
+
+    if (context.getObjectsToSynchronize() == 0) {
+      settingsService.put(CHECKPOINT_KEY, "");
+      String msg = "Skipping synchronization, no new or updated DataValues";
+      progress.completedProcess(msg);
+      return SynchronizationResult.success(msg);
+    }
+
+    DataValueKeyset checkpoint = DataValueKeyset.fromKeyString(settings.getDataSynchCheckpoint());
+
+    progress.startingStage(
+        format(
+            "Synchronizing %d DataValues to %s with page size %d and %d pages in flight%s",
+            context.getObjectsToSynchronize(),
+            context.getInstance().getUrl(),
+            context.getPageSize(),
+            pagesInFlight,
+            checkpoint != null ? ", resuming after " + checkpoint.toKeyString() : ""));
+
+    if (progress.runStage(
+        false, () -> runPipelinedSync(context, settings, checkpoint, pagesInFlight))) {
+      progress.completedProcess("SUCCESS! DataValueSynchronization job is done.");
+      settingsService.put("keyLastSuccessfulDataSynch", context.getStartTime());
+      settingsService.put(CHECKPOINT_KEY, "");
+      return SynchronizationResult.success("DataValueSynchronization done.");
+    }
+
+    String msg =
+        "DataValueSynchronization failed. Synchronization will resume from the last acknowledged page.";
+    progress.failedProcess(msg);
+    return SynchronizationResult.failure(msg);
+  }
+
   private DataValueSynchronisationContext createContext(final int pageSize) {
     SystemSettings settings = settingsService.getCurrentSettings();
     final Date lastSuccessTime = settings.getLastSuccessfulDataSynch();
@@ -155,6 +237,72 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
     return !progress.isSkipCurrentStage();
   }
 
+  private boolean runPipelinedSync(
+      DataValueSynchronisationContext context,
+      SystemSettings settings,
+      DataValueKeyset checkpoint,
+      int pagesInFlight)
+      throws IOException, InterruptedException, ExecutionException {
+    ExecutorService executor = Executors.newFixedThreadPool(pagesInFlight);
+    Deque<PendingPage> pending = new ArrayDeque<>();
+    DataValueKeyset after = checkpoint;
+
+    try {
+      while (true) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataValueKeyset last;
+
+        try (OutputStream out = new GZIPOutputStream(body)) {
+          last =
+              dataValueSetService.exportDataValueSetJson(
+                  context.getLastUpdatedAfter(),
+                  out,
+                  new IdSchemes(),
+                  context.getPageSize(),
+                  after);
+        }
+
+        if (last == null) {
+          break;
+        }
+
+        while (pending.size() >= pagesInFlight) {
+          acknowledgePage(pending.poll());
+        }
+
+        byte[] bytes = body.toByteArray();
+        pending.add(
+            new PendingPage(
+                last,
+                executor.submit(
+                    () -> sendCompressedSyncRequest(bytes, settings, context.getInstance()))));
+        after = last;
+      }
+
+      while (!pending.isEmpty()) {
+        acknowledgePage(pending.poll());
+      }
+
+      return true;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Waits for the given page to be acknowledged by the remote server and stores its position as the
+   * checkpoint. Pages are acknowledged in the order they were exported, hence all data values up to
+   * and including the checkpoint have been synchronized.
+   */
+  private void acknowledgePage(PendingPage page) throws InterruptedException, ExecutionException {
+    if (!page.result().get()) {
+      throw new MetadataSyncServiceException(
+          format("Page ending at %s synchronisation failed.", page.last().toKeyString()));
+    }
+
+    settingsService.put(CHECKPOINT_KEY, page.last().toKeyString());
+  }
+
   protected void synchronizePage(int page, DataValueSynchronisationContext context) {
     if (!sendSyncRequest(page, context)) {
       throw new MetadataSyncServiceException(format("Page %d synchronisation failed.", page));
@@ -186,4 +334,22 @@ public class DataValueSynchronization implements DataSynchronizationWithPaging {
         instance,
         SyncEndpoint.DATA_VALUE_SETS);
   }
+
+  private boolean sendCompressedSyncRequest(
+      byte[] body, SystemSettings settings, SystemInstance instance) {
+    RequestCallback requestCallback =
+        request -> {
+          request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+          request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+          request
+              .getHeaders()
+              .add(
+                  SyncUtils.HEADER_AUTHORIZATION,
+                  CodecUtils.getBasicAuthString(instance.getUsername(), instance.getPassword()));
+          request.getBody().write(body);
+        };
+
+    return SyncUtils.sendSyncRequest(
+        settings, restTemplate, requestCallback, instance, SyncEndpoint.DATA_VALUE_SETS);
+  }
 }
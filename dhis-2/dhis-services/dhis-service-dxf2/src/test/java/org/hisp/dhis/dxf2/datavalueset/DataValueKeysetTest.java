@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004-2022, University of Oslo
+ * Copyright (c) 2004-2023, University of Oslo
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -25,33 +25,32 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+package org.hisp.dhis.dxf2.datavalueset;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
-/**
- * Exposes a static method to fetch an Executor for the Aggregates operations
- *
- * @author Luciano Fiandesio
- */
-class ThreadPoolManager {
-  // Thread factory that sets a user-defined thread name (useful for debugging
-  // purposes)
-  private ThreadPoolManager() {
-    throw new IllegalStateException("only used for its static fields");
-  }
+import java.sql.Timestamp;
+import org.junit.jupiter.api.Test;
 
-  private static final ThreadFactory threadFactory =
-      new ThreadFactoryBuilder().setNameFormat("TRACKER-TE-FETCH-%d").setDaemon(true).build();
+class DataValueKeysetTest {
+  @Test
+  void testToAndFromKeyString() {
+    DataValueKeyset keyset =
+        new DataValueKeyset(Timestamp.valueOf("2024-03-01 10:15:30.123456"), 11, 12, 13, 14, 15);
 
-  /** Cached thread pool: not bound to a size, but can reuse existing threads. */
-  private static final Executor AGGREGATE_THREAD_POOL =
-      Executors.newCachedThreadPool(threadFactory);
+    String key = keyset.toKeyString();
+
+    assertEquals("2024-03-01 10:15:30.123456,11,12,13,14,15", key);
+    assertEquals(keyset, DataValueKeyset.fromKeyString(key));
+  }
 
-  static Executor getPool() {
-    return AGGREGATE_THREAD_POOL;
+  @Test
+  void testFromKeyStringInvalid() {
+    assertNull(DataValueKeyset.fromKeyString(null));
+    assertNull(DataValueKeyset.fromKeyString(""));
+    assertNull(DataValueKeyset.fromKeyString("2024-03-01 10:15:30,11,12"));
+    assertNull(DataValueKeyset.fromKeyString("yesterday,11,12,13,14,15"));
+    assertNull(DataValueKeyset.fromKeyString("2024-03-01 10:15:30,a,12,13,14,15"));
   }
 }
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.dxf2.datavalueset;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.hisp.dhis.test.TestBase.createDataElement;
 import static org.hisp.dhis.test.TestBase.createDataSet;
 import static org.hisp.dhis.test.TestBase.injectSecurityContextNoSettings;
@@ -37,6 +39,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,6 +47,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Map;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.calendar.CalendarService;
@@ -54,6 +58,7 @@ import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataset.CompleteDataSetRegistrationService;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.LockExceptionStore;
+import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.dxf2.common.ImportOptions;
 import org.hisp.dhis.dxf2.importsummary.ImportConflicts;
@@ -64,7 +69,6 @@ import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.fileresource.FileResourceService;
 import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.jdbc.batchhandler.DataValueAuditBatchHandler;
-import org.hisp.dhis.jdbc.batchhandler.DataValueBatchHandler;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.MonthlyPeriodType;
 import org.hisp.dhis.period.PeriodService;
@@ -78,7 +82,6 @@ import org.hisp.dhis.user.UserService;
 import org.hisp.quick.BatchHandlerFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.AdditionalAnswers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -140,11 +143,6 @@ class DataValueSetServiceImportTest {
     Calendar calendar = mock(Calendar.class);
     when(calendarService.getSystemCalendar()).thenReturn(calendar);
 
-    DataValueBatchHandler batchHandler = mock(DataValueBatchHandler.class);
-    when(batchHandler.init()).thenReturn(batchHandler);
-    when(batchHandlerFactory.createBatchHandler(DataValueBatchHandler.class))
-        .thenReturn(batchHandler);
-
     DataValueAuditBatchHandler auditBatchHandler = mock(DataValueAuditBatchHandler.class);
     when(batchHandlerFactory.createBatchHandler(DataValueAuditBatchHandler.class))
         .thenReturn(auditBatchHandler);
@@ -164,14 +162,20 @@ class DataValueSetServiceImportTest {
 
     // simulate that the imported DataValue already exists and is identical
     // (no changes)
-    when(batchHandler.findObject(any())).then(AdditionalAnswers.returnsFirstArg());
+    when(dataValueSetStore.getExistingDataValues(any()))
+        .then(
+            invocation -> {
+              Collection<DataValue> values = invocation.getArgument(0);
+              return values.stream().collect(toMap(identity(), identity(), (a, b) -> a));
+            });
 
     ImportSummary summary =
         dataValueSetService.importDataValueSetXml(
             readFile("datavalueset/dataValueSetA.xml"), new ImportOptions());
 
     assertSuccessWithImportedUpdatedDeleted(0, 0, 0, 3, summary);
-    verify(batchHandler, never()).updateObject(any());
+    verify(dataValueSetStore, times(1)).getExistingDataValues(any());
+    verify(dataValueSetStore, never()).upsertDataValues(any());
   }
 
   private InputStream readFile(String filename) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.dxf2.datavalueset.DataValueKeyset;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSetService;
+import org.hisp.dhis.dxf2.importsummary.ImportStatus;
+import org.hisp.dhis.dxf2.importsummary.ImportSummary;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.setting.SystemSettings;
+import org.hisp.dhis.setting.SystemSettingsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class DataValueSynchronizationTest {
+  private static final String CHECKPOINT_KEY = "keyDataSynchCheckpoint";
+
+  private static final String SYNC_URL = "http://remote.org/api/dataValueSets";
+
+  /** Keysets of the exported pages, which only differ in the trailing key columns. */
+  private static final List<DataValueKeyset> PAGES = List.of(keyset(1), keyset(2), keyset(3));
+
+  @Mock private DataValueService dataValueService;
+
+  @Mock private DataValueSetService dataValueSetService;
+
+  @Mock private SystemSettingsService settingsService;
+
+  @Mock private RestTemplate restTemplate;
+
+  private DataValueSynchronization synchronization;
+
+  /** Page numbers of the requests received by the remote server. */
+  private final Set<Integer> received = ConcurrentHashMap.newKeySet();
+
+  @BeforeEach
+  void setUp() {
+    synchronization =
+        new DataValueSynchronization(
+            dataValueService, dataValueSetService, settingsService, restTemplate);
+  }
+
+  @Test
+  void testSynchronizeDataPipelined_AcknowledgesPagesInExportOrder() {
+    givenSettings(null);
+    CountDownLatch lastPageReceived = new CountDownLatch(1);
+    givenRemoteServer(
+        page -> {
+          if (page == 3) {
+            lastPageReceived.countDown();
+          } else if (page == 1) {
+            // the first page completes after all later pages
+            await(lastPageReceived);
+          }
+          return ImportStatus.SUCCESS;
+        });
+
+    SynchronizationResult result =
+        synchronization.synchronizeDataPipelined(10, 3, JobProgress.noop());
+
+    assertEquals(SynchronizationStatus.SUCCESS, result.status);
+    assertEquals(Set.of(1, 2, 3), received);
+    InOrder inOrder = inOrder(settingsService);
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, PAGES.get(0).toKeyString());
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, PAGES.get(1).toKeyString());
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, PAGES.get(2).toKeyString());
+    inOrder.verify(settingsService).put(eq("keyLastSuccessfulDataSynch"), any(Date.class));
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, "");
+  }
+
+  @Test
+  void testSynchronizeDataPipelined_KeepsCheckpointOfLastAcknowledgedPageOnFailure() {
+    givenSettings(null);
+    CountDownLatch lastPageReceived = new CountDownLatch(1);
+    givenRemoteServer(
+        page -> {
+          if (page == 3) {
+            lastPageReceived.countDown();
+            return ImportStatus.SUCCESS;
+          }
+          if (page == 2) {
+            // the page after the failed page is acknowledged by the remote server
+            await(lastPageReceived);
+            return ImportStatus.ERROR;
+          }
+          return ImportStatus.SUCCESS;
+        });
+
+    SynchronizationResult result =
+        synchronization.synchronizeDataPipelined(10, 3, JobProgress.noop());
+
+    assertEquals(SynchronizationStatus.FAILURE, result.status);
+    verify(settingsService).put(CHECKPOINT_KEY, PAGES.get(0).toKeyString());
+    verify(settingsService, never()).put(CHECKPOINT_KEY, PAGES.get(1).toKeyString());
+    verify(settingsService, never()).put(CHECKPOINT_KEY, PAGES.get(2).toKeyString());
+    verify(settingsService, never()).put(CHECKPOINT_KEY, "");
+    verify(settingsService, never()).put(eq("keyLastSuccessfulDataSynch"), any());
+  }
+
+  @Test
+  void testSynchronizeDataPipelined_ResumesAfterCheckpoint() {
+    givenSettings(PAGES.get(0));
+    givenRemoteServer(page -> ImportStatus.SUCCESS);
+
+    SynchronizationResult result =
+        synchronization.synchronizeDataPipelined(10, 1, JobProgress.noop());
+
+    assertEquals(SynchronizationStatus.SUCCESS, result.status);
+    assertEquals(Set.of(2, 3), received);
+    verify(dataValueSetService, never())
+        .exportDataValueSetJson(any(), any(), any(), anyInt(), eq((DataValueKeyset) null));
+    InOrder inOrder = inOrder(settingsService);
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, PAGES.get(1).toKeyString());
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, PAGES.get(2).toKeyString());
+    inOrder.verify(settingsService).put(CHECKPOINT_KEY, "");
+  }
+
+  private void givenSettings(DataValueKeyset checkpoint) {
+    Map<String, String> settings = new HashMap<>();
+    settings.put("keyRemoteInstanceUrl", "http://remote.org");
+    settings.put("keyRemoteInstanceUsername", "admin");
+    settings.put("keyRemoteInstancePassword", "district");
+    if (checkpoint != null) {
+      settings.put(CHECKPOINT_KEY, checkpoint.toKeyString());
+    }
+    when(settingsService.getCurrentSettings()).thenReturn(SystemSettings.of(settings));
+    when(restTemplate.exchange(
+            anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+        .thenReturn(ResponseEntity.ok("pong"));
+    when(dataValueService.getDataValueCountLastUpdatedAfter(any(Date.class), eq(true)))
+        .thenReturn(30);
+
+    // each page is written as its page number, the page after the last page is empty
+    when(dataValueSetService.exportDataValueSetJson(
+            any(Date.class),
+            any(OutputStream.class),
+            any(),
+            eq(10),
+            nullable(DataValueKeyset.class)))
+        .thenAnswer(
+            invocation -> {
+              DataValueKeyset after = invocation.getArgument(4);
+              int page = PAGES.indexOf(after) + 1;
+              if (page == PAGES.size()) {
+                return null;
+              }
+              OutputStream out = invocation.getArgument(1);
+              out.write(String.valueOf(page + 1).getBytes(StandardCharsets.UTF_8));
+              return PAGES.get(page);
+            });
+  }
+
+  private void givenRemoteServer(RemotePage remote) {
+    when(restTemplate.execute(
+            eq(SYNC_URL),
+            eq(HttpMethod.POST),
+            any(RequestCallback.class),
+            any(ResponseExtractor.class)))
+        .thenAnswer(
+            invocation -> {
+              RequestCallback callback = invocation.getArgument(2);
+              MockClientHttpRequest request = new MockClientHttpRequest();
+              callback.doWithRequest(request);
+              assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+              int page = Integer.parseInt(decompress(request.getBodyAsBytes()));
+              assertTrue(received.add(page));
+              return new ImportSummary(remote.respond(page));
+            });
+  }
+
+  private static String decompress(byte[] body) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static DataValueKeyset keyset(long attributeOptionComboId) {
+    return new DataValueKeyset(
+        Timestamp.valueOf("2024-01-01 00:00:00"), 11L, 12L, 13L, 14L, attributeOptionComboId);
+  }
+
+  @FunctionalInterface
+  private interface RemotePage {
+    ImportStatus respond(int page);
+  }
+}
@@ -40,7 +40,8 @@ import lombok.Data;
 @Data
 @Builder
 public class EventHookContext {
-  @Builder.Default Map<String, List<Handler>> targets = new HashMap<>();
+  /** Handlers of the targets by event hook UID, by target ID within the event hook. */
+  @Builder.Default Map<String, Map<String, Handler>> targets = new HashMap<>();
 
   @Builder.Default List<EventHook> eventHooks = new ArrayList<>();
 
@@ -48,11 +49,11 @@ public class EventHookContext {
     return targets.containsKey(uid) || targets.get(uid).isEmpty();
   }
 
-  public List<Handler> getTarget(String uid) {
+  public Map<String, Handler> getTarget(String uid) {
     return targets.get(uid);
   }
 
   public void closeTargets() {
-    targets.values().forEach(handlers -> handlers.forEach(Handler::close));
+    targets.values().forEach(handlers -> handlers.values().forEach(Handler::close));
   }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.eventhook.EventHookOutboxStore.Entry;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers the events of the event hook outbox to the targets of the event hooks. Events are
+ * delivered per target in batches, with a configurable number of concurrent deliveries per target.
+ * Failed deliveries are retried with exponential backoff until the max number of attempts is
+ * reached, after which the events are kept as dead letters. With a single concurrent delivery,
+ * newer events of a target wait until older events are delivered or moved to the dead letters.
+ */
+@Slf4j
+@Component
+public class EventHookDispatcher {
+  private static final String METRIC_LAG = "dhis2.eventhook.delivery.lag";
+
+  private static final String METRIC_DELIVERED = "dhis2.eventhook.delivery.delivered";
+
+  private static final String METRIC_FAILURES = "dhis2.eventhook.delivery.failures";
+
+  private static final String METRIC_DEAD = "dhis2.eventhook.delivery.dead";
+
+  private static final String TAG_HOOK = "hook";
+
+  /** Claimed events are delivered again if they are neither delivered nor failed by then. */
+  private static final long LEASE = 300_000; // 5 minutes
+
+  private final EventHookOutboxStore outboxStore;
+
+  private final Executor executor;
+
+  private final MeterRegistry meterRegistry;
+
+  private final int batchSize;
+
+  private final int concurrency;
+
+  private final int maxAttempts;
+
+  private final long retryDelay;
+
+  private final long maxRetryDelay;
+
+  /** Permits for concurrent deliveries, by event hook UID and target ID. */
+  private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+  public EventHookDispatcher(
+      EventHookOutboxStore outboxStore,
+      @Qualifier("eventHookTaskExecutor") Executor executor,
+      DhisConfigurationProvider config,
+      MeterRegistry meterRegistry) {
+    this.outboxStore = outboxStore;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.batchSize =
+        Math.max(1, config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_BATCH_SIZE));
+    this.concurrency =
+        Math.max(1, config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_CONCURRENCY));
+    this.maxAttempts =
+        Math.max(1, config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_MAX_ATTEMPTS));
+    this.retryDelay =
+        Math.max(0, config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_RETRY_DELAY));
+    this.maxRetryDelay =
+        Math.max(
+            retryDelay,
+            config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_MAX_RETRY_DELAY));
+  }
+
+  /**
+   * @return true if more than one event is delivered per request, in which case webhook targets
+   *     receive the events as a JSON array
+   */
+  public boolean isBatched() {
+    return batchSize > 1;
+  }
+
+  /**
+   * Starts delivering the due events of all targets of the given event hook, unless the max number
+   * of concurrent deliveries is already running for a target.
+   *
+   * @param eventHook the event hook
+   * @param handlers the handlers of the event hook targets by target ID
+   */
+  public void dispatch(EventHook eventHook, Map<String, Handler> handlers) {
+    for (Map.Entry<String, Handler> target : handlers.entrySet()) {
+      String targetId = target.getKey();
+      Handler handler = target.getValue();
+      Semaphore semaphore =
+          permits.computeIfAbsent(
+              eventHook.getUid() + ":" + targetId, key -> new Semaphore(concurrency));
+
+      while (semaphore.tryAcquire()) {
+        try {
+          executor.execute(() -> drain(eventHook, targetId, handler, semaphore));
+        } catch (RejectedExecutionException ex) {
+          semaphore.release();
+          log.warn("Event hook delivery for '{}' rejected, retrying later", eventHook.getUid());
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Delivers batches of due events of a single target until there are no more due events or a
+   * delivery failed.
+   */
+  private void drain(EventHook eventHook, String targetId, Handler handler, Semaphore semaphore) {
+    try {
+      List<Entry> entries;
+      boolean delivered;
+
+      do {
+        entries =
+            outboxStore.claimDue(eventHook.getUid(), targetId, batchSize, LEASE, concurrency == 1);
+        delivered = entries.isEmpty() || deliver(eventHook, handler, entries);
+      } while (delivered && entries.size() == batchSize);
+    } catch (RuntimeException ex) {
+      log.error("Event hook delivery for '{}' failed", eventHook.getUid(), ex);
+    } finally {
+      semaphore.release();
+    }
+  }
+
+  private boolean deliver(EventHook eventHook, Handler handler, List<Entry> entries) {
+    List<Long> ids = entries.stream().map(Entry::id).toList();
+
+    try {
+      handler.run(eventHook, entries.stream().map(Entry::payload).toList());
+    } catch (EventHookException | RuntimeException ex) {
+      failed(eventHook, entries, ids, ex);
+      return false;
+    }
+
+    outboxStore.delete(ids);
+
+    Instant now = Instant.now();
+    Timer lag = lagTimer(eventHook);
+    entries.forEach(entry -> lag.record(Duration.between(entry.created(), now)));
+    counter(METRIC_DELIVERED, "Number of delivered events", eventHook).increment(entries.size());
+    return true;
+  }
+
+  private void failed(EventHook eventHook, List<Entry> entries, List<Long> ids, Exception ex) {
+    // all events of a batch are claimed together and share their number of attempts
+    int attempts = entries.stream().mapToInt(Entry::attempts).max().orElse(0) + 1;
+    String error = ex.getMessage();
+
+    counter(METRIC_FAILURES, "Number of failed event deliveries", eventHook)
+        .increment(entries.size());
+
+    if (attempts >= maxAttempts) {
+      log.error(
+          "Event hook '{}' failed to deliver {} event(s) after {} attempts: {}",
+          eventHook.getUid(),
+          entries.size(),
+          attempts,
+          error);
+      outboxStore.deadLetter(ids, error);
+      counter(METRIC_DEAD, "Number of events given up after the max attempts", eventHook)
+          .increment(entries.size());
+      return;
+    }
+
+    long delay = getRetryDelay(attempts);
+    log.warn(
+        "Event hook '{}' failed to deliver {} event(s), attempt {} of {}, retrying in {} ms: {}",
+        eventHook.getUid(),
+        entries.size(),
+        attempts,
+        maxAttempts,
+        delay,
+        error);
+    outboxStore.retry(ids, Instant.now().plusMillis(delay), error);
+  }
+
+  /**
+   * @param attempts the number of failed attempts
+   * @return the delay before the next attempt, doubled for each failed attempt
+   */
+  long getRetryDelay(int attempts) {
+    int exponent = Math.min(attempts - 1, 30);
+    return Math.min(maxRetryDelay, retryDelay * (1L << exponent));
+  }
+
+  private Timer lagTimer(EventHook eventHook) {
+    return Timer.builder(METRIC_LAG)
+        .description("Time between an event being added to the outbox and it being delivered")
+        .tag(TAG_HOOK, eventHook.getUid())
+        .register(meterRegistry);
+  }
+
+  private Counter counter(String name, String description, EventHook eventHook) {
+    return Counter.builder(name)
+        .description(description)
+        .tag(TAG_HOOK, eventHook.getUid())
+        .register(meterRegistry);
+  }
+}
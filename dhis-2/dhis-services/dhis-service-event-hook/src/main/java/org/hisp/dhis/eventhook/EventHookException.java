@@ -34,4 +34,8 @@ public class EventHookException extends Exception {
   public EventHookException(String message) {
     super(message);
   }
+
+  public EventHookException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
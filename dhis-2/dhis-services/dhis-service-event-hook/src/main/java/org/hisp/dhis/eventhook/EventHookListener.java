@@ -33,10 +33,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.eventhook.EventHookOutboxStore.Delivery;
 import org.hisp.dhis.eventhook.handlers.ConsoleHandler;
 import org.hisp.dhis.eventhook.handlers.JmsHandler;
 import org.hisp.dhis.eventhook.handlers.KafkaHandler;
@@ -48,6 +51,7 @@ import org.hisp.dhis.eventhook.targets.WebhookTarget;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -55,6 +59,7 @@ import org.springframework.transaction.event.TransactionalEventListener;
 /**
  * @author Morten Olav Hansen
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventHookListener {
@@ -62,43 +67,92 @@ public class EventHookListener {
 
   private final FieldFilterService fieldFilterService;
 
-  private EventHookContext eventHookContext = EventHookContext.builder().build();
+  private volatile EventHookContext eventHookContext = EventHookContext.builder().build();
 
   private final EventHookService eventHookService;
 
+  private final EventHookOutboxStore outboxStore;
+
+  private final EventHookDispatcher dispatcher;
+
+  /**
+   * Adds the event to the outbox of all targets of the event hooks matching the event. The event is
+   * serialized once per distinct set of fields of the matching event hooks.
+   */
   @Async("eventHookTaskExecutor")
   @TransactionalEventListener(
       classes = Event.class,
       phase = TransactionPhase.AFTER_COMMIT,
       fallbackExecution = true)
   public void eventListener(Event event) throws JsonProcessingException {
-    for (EventHook eventHook : eventHookContext.getEventHooks()) {
-      if (event.getPath().startsWith(eventHook.getSource().getPath())) {
-        if (!eventHookContext.hasTarget(eventHook.getUid())) {
-          continue;
-        }
+    EventHookContext context = eventHookContext;
+    Map<String, String> payloadsByFields = new HashMap<>();
+    List<EventHook> matched = new ArrayList<>();
+    List<Delivery> deliveries = new ArrayList<>();
 
-        if (event.getObject() instanceof Collection) {
-          List<ObjectNode> objects = new ArrayList<>();
+    for (EventHook eventHook : context.getEventHooks()) {
+      Map<String, Handler> handlers = context.getTarget(eventHook.getUid());
 
-          for (Object object : ((Collection<?>) event.getObject())) {
-            objects.add(fieldFilterService.toObjectNode(object, eventHook.getSource().getFields()));
-          }
+      if (handlers == null
+          || handlers.isEmpty()
+          || !event.getPath().startsWith(eventHook.getSource().getPath())) {
+        continue;
+      }
 
-          event = event.withObject(objects);
-        } else {
-          ObjectNode objectNode =
-              fieldFilterService.toObjectNode(event.getObject(), eventHook.getSource().getFields());
-          event = event.withObject(objectNode);
-        }
+      String fields = eventHook.getSource().getFields();
+      String payload = payloadsByFields.get(fields);
 
-        String payload = objectMapper.writeValueAsString(event);
+      if (payload == null) {
+        payload = serialize(event, fields);
+        payloadsByFields.put(fields, payload);
+      }
 
-        List<Handler> handlers = eventHookContext.getTarget(eventHook.getUid());
+      for (String targetId : handlers.keySet()) {
+        deliveries.add(new Delivery(eventHook.getUid(), targetId, payload));
+      }
 
-        for (Handler handler : handlers) {
-          handler.run(eventHook, event, payload);
-        }
+      matched.add(eventHook);
+    }
+
+    if (deliveries.isEmpty()) {
+      return;
+    }
+
+    outboxStore.add(deliveries);
+
+    for (EventHook eventHook : matched) {
+      dispatcher.dispatch(eventHook, context.getTarget(eventHook.getUid()));
+    }
+  }
+
+  private String serialize(Event event, String fields) throws JsonProcessingException {
+    if (event.getObject() instanceof Collection) {
+      List<ObjectNode> objects = new ArrayList<>();
+
+      for (Object object : ((Collection<?>) event.getObject())) {
+        objects.add(fieldFilterService.toObjectNode(object, fields));
+      }
+
+      return objectMapper.writeValueAsString(event.withObject(objects));
+    }
+
+    ObjectNode objectNode = fieldFilterService.toObjectNode(event.getObject(), fields);
+    return objectMapper.writeValueAsString(event.withObject(objectNode));
+  }
+
+  /**
+   * Delivers due events which were added while no delivery was running for their target, events due
+   * for a retry and events left over by other nodes or a restart.
+   */
+  @Scheduled(fixedDelay = 1_000)
+  public void dispatch() {
+    EventHookContext context = eventHookContext;
+
+    for (EventHook eventHook : context.getEventHooks()) {
+      Map<String, Handler> handlers = context.getTarget(eventHook.getUid());
+
+      if (handlers != null && !handlers.isEmpty()) {
+        dispatcher.dispatch(eventHook, handlers);
       }
     }
   }
@@ -109,28 +163,59 @@ public class EventHookListener {
     eventHookContext.closeTargets();
 
     List<EventHook> eventHooks = eventHookService.getAll();
-    Map<String, List<Handler>> targets = new HashMap<>();
+    Map<String, Map<String, Handler>> targets = new HashMap<>();
+    Map<String, List<String>> targetIds = new HashMap<>();
 
     for (EventHook eh : eventHooks) {
+      List<String> ids = getTargetIds(eh);
+      targetIds.put(eh.getUid(), ids);
+
       if (eh.isDisabled()) {
         continue;
       }
 
-      targets.put(eh.getUid(), new ArrayList<>());
+      Map<String, Handler> handlers = new LinkedHashMap<>();
+      targets.put(eh.getUid(), handlers);
+
+      for (int i = 0; i < eh.getTargets().size(); i++) {
+        Target target = eh.getTargets().get(i);
+        String targetId = ids.get(i);
 
-      for (Target target : eh.getTargets()) {
         if (WebhookTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new WebhookHandler((WebhookTarget) target));
+          handlers.put(
+              targetId, new WebhookHandler((WebhookTarget) target, dispatcher.isBatched()));
         } else if (ConsoleTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new ConsoleHandler((ConsoleTarget) target));
+          handlers.put(targetId, new ConsoleHandler((ConsoleTarget) target));
         } else if (JmsTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new JmsHandler((JmsTarget) target));
+          handlers.put(targetId, new JmsHandler((JmsTarget) target));
         } else if (KafkaTarget.TYPE.equals(target.getType())) {
-          targets.get(eh.getUid()).add(new KafkaHandler((KafkaTarget) target));
+          handlers.put(targetId, new KafkaHandler((KafkaTarget) target));
         }
       }
     }
 
+    int removed = outboxStore.deleteOrphans(targetIds);
+
+    if (removed > 0) {
+      log.info("Removed {} undelivered event(s) of deleted event hooks or targets", removed);
+    }
+
     eventHookContext = EventHookContext.builder().eventHooks(eventHooks).targets(targets).build();
   }
+
+  /**
+   * Returns the IDs of the targets of the given event hook, in the order of the targets. The ID of
+   * a target is its client ID, which is kept when the target is changed or moved. Targets without
+   * client ID or with the client ID of a previous target are told apart by their position.
+   */
+  static List<String> getTargetIds(EventHook eventHook) {
+    List<String> ids = new ArrayList<>();
+
+    for (int i = 0; i < eventHook.getTargets().size(); i++) {
+      String clientId = eventHook.getTargets().get(i).getClientId();
+      ids.add(clientId == null || ids.contains(clientId) ? clientId + "#" + i : clientId);
+    }
+
+    return ids;
+  }
 }
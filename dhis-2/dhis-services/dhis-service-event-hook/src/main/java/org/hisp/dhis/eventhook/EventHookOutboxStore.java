@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores event hook events which wait to be delivered to a target. Each row is an event for a
+ * single target of an event hook, identified by the client ID of the target so that events stay
+ * with their target when the targets of the event hook are changed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventHookOutboxStore {
+
+  /**
+   * @param id the ID of the outbox row
+   * @param payload the serialized event
+   * @param attempts number of failed attempts so far
+   * @param created when the event was added to the outbox
+   */
+  public record Entry(long id, String payload, int attempts, Instant created) {}
+
+  /**
+   * @param eventHookUid the event hook the events belong to
+   * @param targetId the ID of the target within the event hook
+   * @param payload the serialized event
+   */
+  public record Delivery(String eventHookUid, String targetId, String payload) {}
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void add(@Nonnull List<Delivery> deliveries) {
+    if (deliveries.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate(
+        "insert into eventhookoutbox (eventhookuid, targetid, payload, created, nextattempt) "
+            + "values (?, ?, ?, ?, ?)",
+        deliveries,
+        deliveries.size(),
+        (ps, delivery) -> {
+          ps.setString(1, delivery.eventHookUid());
+          ps.setString(2, delivery.targetId());
+          ps.setString(3, delivery.payload());
+          ps.setTimestamp(4, now);
+          ps.setTimestamp(5, now);
+        });
+  }
+
+  /**
+   * Claims the oldest due events of a target. Claimed events are not due again until the lease
+   * expired, so that other threads or nodes do not deliver them at the same time. Rows locked by
+   * another claim are skipped.
+   *
+   * <p>When claiming in order, no events are claimed while an older event of the target waits for a
+   * retry or is claimed already, and claims of the same target are serialized across nodes. An
+   * event which is moved to the dead letters no longer holds back newer events.
+   *
+   * @param eventHookUid the event hook
+   * @param targetId the ID of the target within the event hook
+   * @param limit max number of events to claim
+   * @param leaseMillis how long the events are claimed
+   * @param inOrder whether to only claim events which have no older pending event
+   * @return the claimed events, oldest first
+   */
+  @Nonnull
+  @Transactional
+  public List<Entry> claimDue(
+      String eventHookUid, String targetId, int limit, long leaseMillis, boolean inOrder) {
+    if (inOrder) {
+      // the lock is held until commit, so the claim sees the leases of a concurrent claim
+      jdbcTemplate.queryForList(
+          "select pg_advisory_xact_lock(?)",
+          ("eventhookoutbox:" + eventHookUid + ":" + targetId).hashCode());
+    }
+
+    Instant now = Instant.now();
+    Timestamp nowTimestamp = Timestamp.from(now);
+    String headOfLine =
+        inOrder
+            ? "and not exists (select 1 from eventhookoutbox p "
+                + "where p.eventhookuid = o.eventhookuid and p.targetid = o.targetid "
+                + "and p.deadletter = false and p.nextattempt > ? "
+                + "and p.eventhookoutboxid < o.eventhookoutboxid) "
+            : "";
+    List<Object> args = new ArrayList<>();
+    args.add(Timestamp.from(now.plusMillis(leaseMillis)));
+    args.add(eventHookUid);
+    args.add(targetId);
+    args.add(nowTimestamp);
+    if (inOrder) {
+      args.add(nowTimestamp);
+    }
+    args.add(limit);
+
+    List<Entry> entries =
+        jdbcTemplate.query(
+            "update eventhookoutbox set nextattempt = ? where eventhookoutboxid in ("
+                + "select o.eventhookoutboxid from eventhookoutbox o "
+                + "where o.eventhookuid = ? and o.targetid = ? and o.deadletter = false "
+                + "and o.nextattempt <= ? "
+                + headOfLine
+                + "order by o.eventhookoutboxid limit ? for update skip locked) "
+                + "returning eventhookoutboxid, payload, attempts, created",
+            (rs, rowNum) ->
+                new Entry(
+                    rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getTimestamp(4).toInstant()),
+            args.toArray());
+    // the update does not return rows in the order of the sub-select
+    entries.sort((a, b) -> Long.compare(a.id(), b.id()));
+    return entries;
+  }
+
+  public void delete(@Nonnull Collection<Long> ids) {
+    jdbcTemplate.batchUpdate(
+        "delete from eventhookoutbox where eventhookoutboxid = ?",
+        ids,
+        ids.size(),
+        (ps, id) -> ps.setLong(1, id));
+  }
+
+  /** Schedules the next attempt of the given events after a failed attempt. */
+  public void retry(@Nonnull Collection<Long> ids, Instant nextAttempt, String error) {
+    Timestamp next = Timestamp.from(nextAttempt);
+    jdbcTemplate.batchUpdate(
+        "update eventhookoutbox set attempts = attempts + 1, nextattempt = ?, lasterror = ? "
+            + "where eventhookoutboxid = ?",
+        ids,
+        ids.size(),
+        (ps, id) -> {
+          ps.setTimestamp(1, next);
+          ps.setString(2, error);
+          ps.setLong(3, id);
+        });
+  }
+
+  /** Marks the given events as dead letters, they are kept but never attempted again. */
+  public void deadLetter(@Nonnull Collection<Long> ids, String error) {
+    jdbcTemplate.batchUpdate(
+        "update eventhookoutbox set attempts = attempts + 1, lasterror = ?, deadletter = true "
+            + "where eventhookoutboxid = ?",
+        ids,
+        ids.size(),
+        (ps, id) -> {
+          ps.setString(1, error);
+          ps.setLong(2, id);
+        });
+  }
+
+  /**
+   * Schedules the dead letters of the given event hook for delivery again, with a new number of
+   * attempts.
+   *
+   * @return number of scheduled events
+   */
+  public int redriveDeadLetters(String eventHookUid) {
+    return jdbcTemplate.update(
+        "update eventhookoutbox set deadletter = false, attempts = 0, nextattempt = ? "
+            + "where eventhookuid = ? and deadletter = true",
+        Timestamp.from(Instant.now()),
+        eventHookUid);
+  }
+
+  /**
+   * Removes the dead letters of the given event hook.
+   *
+   * @return number of removed events
+   */
+  public int deleteDeadLetters(String eventHookUid) {
+    return jdbcTemplate.update(
+        "delete from eventhookoutbox where eventhookuid = ? and deadletter = true", eventHookUid);
+  }
+
+  /**
+   * Removes events of event hooks or targets which no longer exist.
+   *
+   * @param targetIdsByEventHookUid the IDs of the targets of all existing event hooks
+   * @return number of removed events
+   */
+  public int deleteOrphans(@Nonnull Map<String, List<String>> targetIdsByEventHookUid) {
+    List<String> eventHookUids = new ArrayList<>();
+    List<String> targetIds = new ArrayList<>();
+    targetIdsByEventHookUid.forEach(
+        (eventHookUid, ids) ->
+            ids.forEach(
+                targetId -> {
+                  eventHookUids.add(eventHookUid);
+                  targetIds.add(targetId);
+                }));
+    return jdbcTemplate.update(
+        "delete from eventhookoutbox o where not exists ("
+            + "select 1 from unnest(?, ?) as t (eventhookuid, targetid) "
+            + "where t.eventhookuid = o.eventhookuid and t.targetid = o.targetid)",
+        ps -> {
+          ps.setArray(1, ps.getConnection().createArrayOf("varchar", eventHookUids.toArray()));
+          ps.setArray(2, ps.getConnection().createArrayOf("varchar", targetIds.toArray()));
+        });
+  }
+}
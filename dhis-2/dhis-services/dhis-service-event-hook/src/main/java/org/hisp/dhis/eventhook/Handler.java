@@ -27,12 +27,21 @@
  */
 package org.hisp.dhis.eventhook;
 
+import java.util.List;
+
 /**
  * @author Morten Olav Hansen
  */
 @FunctionalInterface
 public interface Handler extends AutoCloseable {
-  void run(EventHook eventHook, Event event, String payload);
+  /**
+   * Delivers the given serialized events to the target of this handler.
+   *
+   * @param eventHook the event hook the events belong to
+   * @param payloads the serialized events, oldest first
+   * @throws EventHookException if the events could not be delivered, they are retried later
+   */
+  void run(EventHook eventHook, List<String> payloads) throws EventHookException;
 
   @Override
   default void close() {}
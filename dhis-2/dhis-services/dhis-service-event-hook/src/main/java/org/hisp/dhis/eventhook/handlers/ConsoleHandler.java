@@ -27,8 +27,8 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.ConsoleTarget;
@@ -41,7 +41,7 @@ public class ConsoleHandler implements Handler {
   public ConsoleHandler(ConsoleTarget target) {}
 
   @Override
-  public void run(EventHook eventHook, Event event, String payload) {
-    log.info(payload);
+  public void run(EventHook eventHook, List<String> payloads) {
+    payloads.forEach(log::info);
   }
 }
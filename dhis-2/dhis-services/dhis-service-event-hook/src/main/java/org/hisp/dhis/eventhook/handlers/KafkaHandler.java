@@ -27,13 +27,20 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.StringSerializer;
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookException;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.KafkaTarget;
 
@@ -42,6 +49,9 @@ import org.hisp.dhis.eventhook.targets.KafkaTarget;
  */
 @Slf4j
 public class KafkaHandler implements Handler {
+  /** Slightly longer than the delivery timeout of the producer. */
+  private static final long SEND_TIMEOUT = 130_000;
+
   private final KafkaTarget target;
 
   private KafkaProducer<String, String> producer;
@@ -84,18 +94,33 @@ public class KafkaHandler implements Handler {
   }
 
   @Override
-  public void run(EventHook eventHook, Event event, String payload) {
+  public void run(EventHook eventHook, List<String> payloads) throws EventHookException {
     if (producer == null) {
-      log.error(
+      throw new EventHookException(
           "Kafka is not properly configured. Please check Event Hook '"
               + eventHook.getName()
               + "' with ID '"
               + eventHook.getUid()
               + "'");
-      return;
     }
 
-    producer.send(new ProducerRecord<>(target.getTopic(), null, payload));
+    List<Future<RecordMetadata>> sent = new ArrayList<>(payloads.size());
+
+    for (String payload : payloads) {
+      sent.add(producer.send(new ProducerRecord<>(target.getTopic(), null, payload)));
+    }
+
+    try {
+      for (Future<RecordMetadata> future : sent) {
+        future.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new EventHookException("Interrupted while sending to Kafka target", ex);
+    } catch (ExecutionException | TimeoutException ex) {
+      throw new EventHookException(
+          "Could not send message to Kafka topic: " + target.getTopic(), ex);
+    }
   }
 
   @Override
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.config.ConnectionConfig;
@@ -35,8 +36,8 @@ import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.util.Timeout;
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookException;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.WebhookTarget;
 import org.hisp.dhis.system.util.HttpUtils;
@@ -57,14 +58,28 @@ public class WebhookHandler implements Handler {
 
   private final RestTemplate restTemplate;
 
-  public WebhookHandler(WebhookTarget target) {
+  /** If true, events are always posted as a JSON array, otherwise one request per event. */
+  private final boolean batched;
+
+  public WebhookHandler(WebhookTarget target, boolean batched) {
     this.webhookTarget = target;
+    this.batched = batched;
     this.restTemplate = new RestTemplate();
     configure(this.restTemplate);
   }
 
   @Override
-  public void run(EventHook eventHook, Event event, String payload) {
+  public void run(EventHook eventHook, List<String> payloads) throws EventHookException {
+    if (batched) {
+      post(eventHook, "[" + String.join(",", payloads) + "]");
+    } else {
+      for (String payload : payloads) {
+        post(eventHook, payload);
+      }
+    }
+  }
+
+  private void post(EventHook eventHook, String payload) throws EventHookException {
     HttpHeaders httpHeaders = new HttpHeaders();
     httpHeaders.setContentType(MediaType.parseMediaType(webhookTarget.getContentType()));
     httpHeaders.setAll(webhookTarget.getHeaders());
@@ -85,7 +100,7 @@ public class WebhookHandler implements Handler {
           HttpUtils.resolve(response.getStatusCode()).name(),
           response.getBody());
     } catch (RestClientException ex) {
-      log.error(ex.getMessage());
+      throw new EventHookException(ex.getMessage(), ex);
     }
   }
 
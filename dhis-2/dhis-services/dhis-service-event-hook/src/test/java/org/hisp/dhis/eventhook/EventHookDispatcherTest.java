@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.hisp.dhis.eventhook.EventHookOutboxStore.Entry;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventHookDispatcherTest {
+  private static final String TARGET_ID = "target";
+
+  @Mock private EventHookOutboxStore outboxStore;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private Handler handler;
+
+  private EventHook eventHook;
+
+  @BeforeEach
+  void setUp() {
+    eventHook = new EventHook();
+    eventHook.setUid("eventHookA1");
+  }
+
+  @Test
+  void testGetRetryDelay_DoublesUpToMax() {
+    EventHookDispatcher dispatcher = createDispatcher(10, 1, 10, Runnable::run);
+
+    assertEquals(1_000, dispatcher.getRetryDelay(1));
+    assertEquals(2_000, dispatcher.getRetryDelay(2));
+    assertEquals(4_000, dispatcher.getRetryDelay(3));
+    assertEquals(5_000, dispatcher.getRetryDelay(4));
+    assertEquals(5_000, dispatcher.getRetryDelay(100));
+  }
+
+  @Test
+  void testDispatch_DeletesDeliveredEvents() throws EventHookException {
+    EventHookDispatcher dispatcher = createDispatcher(10, 1, 10, Runnable::run);
+    when(outboxStore.claimDue(eq("eventHookA1"), eq(TARGET_ID), eq(10), anyLong(), eq(true)))
+        .thenReturn(List.of(entry(1, "{\"a\":1}", 0), entry(2, "{\"a\":2}", 0)));
+
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+
+    verify(handler).run(eventHook, List.of("{\"a\":1}", "{\"a\":2}"));
+    verify(outboxStore).delete(List.of(1L, 2L));
+    verify(outboxStore, never()).retry(any(), any(), any());
+  }
+
+  @Test
+  void testDispatch_ClaimsNextBatchWhileBatchesAreFull() throws EventHookException {
+    EventHookDispatcher dispatcher = createDispatcher(2, 1, 10, Runnable::run);
+    when(outboxStore.claimDue(eq("eventHookA1"), eq(TARGET_ID), eq(2), anyLong(), eq(true)))
+        .thenReturn(List.of(entry(1, "1", 0), entry(2, "2", 0)), List.of(entry(3, "3", 0)));
+
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+
+    verify(handler).run(eventHook, List.of("1", "2"));
+    verify(handler).run(eventHook, List.of("3"));
+    verify(outboxStore).delete(List.of(1L, 2L));
+    verify(outboxStore).delete(List.of(3L));
+  }
+
+  @Test
+  void testDispatch_RetriesFailedBatchWithBackoff() throws EventHookException {
+    EventHookDispatcher dispatcher = createDispatcher(2, 1, 10, Runnable::run);
+    when(outboxStore.claimDue(eq("eventHookA1"), eq(TARGET_ID), eq(2), anyLong(), eq(true)))
+        .thenReturn(List.of(entry(1, "1", 2), entry(2, "2", 2)));
+    doThrow(new EventHookException("Connection refused")).when(handler).run(any(), any());
+
+    Instant before = Instant.now();
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+
+    // third attempt failed, so the next attempt is delayed by 4 times the retry delay
+    ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+    verify(outboxStore).retry(eq(List.of(1L, 2L)), nextAttempt.capture(), eq("Connection refused"));
+    assertFalse(nextAttempt.getValue().isBefore(before.plusMillis(4_000)));
+    assertTrue(nextAttempt.getValue().isBefore(Instant.now().plusMillis(4_001)));
+    verify(outboxStore, never()).delete(any());
+    verify(outboxStore, never()).deadLetter(any(), anyString());
+  }
+
+  @Test
+  void testDispatch_DeadLettersAfterMaxAttempts() throws EventHookException {
+    EventHookDispatcher dispatcher = createDispatcher(2, 1, 3, Runnable::run);
+    when(outboxStore.claimDue(eq("eventHookA1"), eq(TARGET_ID), eq(2), anyLong(), eq(true)))
+        .thenReturn(List.of(entry(1, "1", 2)));
+    doThrow(new EventHookException("Bad gateway")).when(handler).run(any(), any());
+
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+
+    verify(outboxStore).deadLetter(List.of(1L), "Bad gateway");
+    verify(outboxStore, never()).retry(any(), any(), any());
+    verify(outboxStore, never()).delete(any());
+  }
+
+  @Test
+  void testDispatch_LimitsConcurrentDeliveriesPerTarget() {
+    List<Runnable> tasks = new ArrayList<>();
+    EventHookDispatcher dispatcher = createDispatcher(10, 2, 10, tasks::add);
+    Handler otherHandler = mock(Handler.class);
+
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+    assertEquals(2, tasks.size());
+
+    dispatcher.dispatch(eventHook, Map.of("other", otherHandler));
+    assertEquals(4, tasks.size());
+
+    when(outboxStore.claimDue(eq("eventHookA1"), eq(TARGET_ID), eq(10), anyLong(), eq(false)))
+        .thenReturn(List.of());
+    tasks.remove(0).run();
+
+    dispatcher.dispatch(eventHook, Map.of(TARGET_ID, handler));
+    assertEquals(4, tasks.size());
+  }
+
+  private EventHookDispatcher createDispatcher(
+      int batchSize, int concurrency, int maxAttempts, Executor executor) {
+    when(config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_BATCH_SIZE))
+        .thenReturn(batchSize);
+    when(config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_CONCURRENCY))
+        .thenReturn(concurrency);
+    when(config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_MAX_ATTEMPTS))
+        .thenReturn(maxAttempts);
+    when(config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_RETRY_DELAY)).thenReturn(1_000);
+    when(config.getIntProperty(ConfigurationKey.EVENT_HOOK_DELIVERY_MAX_RETRY_DELAY))
+        .thenReturn(5_000);
+    return new EventHookDispatcher(outboxStore, executor, config, new SimpleMeterRegistry());
+  }
+
+  private static Entry entry(long id, String payload, int attempts) {
+    return new Entry(id, payload, attempts, Instant.now());
+  }
+}
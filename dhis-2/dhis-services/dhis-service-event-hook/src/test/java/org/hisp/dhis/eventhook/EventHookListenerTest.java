@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.hisp.dhis.eventhook.targets.ConsoleTarget;
+import org.hisp.dhis.eventhook.targets.WebhookTarget;
+import org.junit.jupiter.api.Test;
+
+class EventHookListenerTest {
+  @Test
+  void testGetTargetIds_StableWhenTargetsAreReordered() {
+    Target webhook = new WebhookTarget().setClientId("webhook");
+    Target console = new ConsoleTarget().setClientId("console");
+    EventHook eventHook = new EventHook();
+
+    eventHook.setTargets(List.of(webhook, console));
+    assertEquals(List.of("webhook", "console"), EventHookListener.getTargetIds(eventHook));
+
+    eventHook.setTargets(List.of(console, webhook));
+    assertEquals(List.of("console", "webhook"), EventHookListener.getTargetIds(eventHook));
+  }
+
+  @Test
+  void testGetTargetIds_DuplicateOrMissingClientIds() {
+    EventHook eventHook = new EventHook();
+    eventHook.setTargets(
+        List.of(
+            new WebhookTarget().setClientId("webhook"),
+            new WebhookTarget().setClientId("webhook"),
+            new ConsoleTarget().setClientId(null)));
+
+    assertEquals(
+        List.of("webhook", "webhook#1", "null#2"), EventHookListener.getTargetIds(eventHook));
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookException;
+import org.hisp.dhis.eventhook.targets.WebhookTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebhookHandlerTest {
+  private HttpServer server;
+
+  private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+  private final List<String> contentTypes = new CopyOnWriteArrayList<>();
+
+  private volatile int status = 200;
+
+  private final EventHook eventHook = new EventHook();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/hook",
+        exchange -> {
+          try (InputStream in = exchange.getRequestBody()) {
+            bodies.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+          }
+          contentTypes.add(exchange.getRequestHeaders().getFirst("Content-Type"));
+          byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(status, response.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+          }
+        });
+    server.start();
+    eventHook.setUid("eventHookA1");
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testRun_BatchedPostsJsonArray() throws EventHookException {
+    WebhookHandler handler = new WebhookHandler(target(), true);
+
+    handler.run(eventHook, List.of("{\"a\":1}", "{\"a\":2}", "{\"a\":3}"));
+
+    assertEquals(List.of("[{\"a\":1},{\"a\":2},{\"a\":3}]"), bodies);
+    assertEquals(List.of("application/json"), contentTypes);
+  }
+
+  @Test
+  void testRun_BatchedPostsSingleEventAsJsonArray() throws EventHookException {
+    WebhookHandler handler = new WebhookHandler(target(), true);
+
+    handler.run(eventHook, List.of("{\"a\":1}"));
+
+    assertEquals(List.of("[{\"a\":1}]"), bodies);
+  }
+
+  @Test
+  void testRun_UnbatchedPostsOneRequestPerEvent() throws EventHookException {
+    WebhookHandler handler = new WebhookHandler(target(), false);
+
+    handler.run(eventHook, List.of("{\"a\":1}", "{\"a\":2}"));
+
+    assertEquals(List.of("{\"a\":1}", "{\"a\":2}"), bodies);
+  }
+
+  @Test
+  void testRun_ErrorStatusFailsDelivery() {
+    status = 503;
+    WebhookHandler handler = new WebhookHandler(target(), true);
+
+    assertThrows(
+        EventHookException.class, () -> handler.run(eventHook, List.of("{\"a\":1}", "{\"a\":2}")));
+    assertEquals(1, bodies.size());
+  }
+
+  private WebhookTarget target() {
+    return new WebhookTarget()
+        .setUrl(
+            "http://"
+                + server.getAddress().getHostString()
+                + ":"
+                + server.getAddress().getPort()
+                + "/hook");
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fieldfiltering;
+
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.common.PrimaryKeyObject;
+import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.Schema;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.system.util.ReflectionUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Initializes the associations of already loaded entities that a field filter is going to traverse,
+ * so that {@link FieldFilterService} does not lazy load them one owner at a time.
+ *
+ * <p>The fields are resolved into a tree of association paths. Each association is then loaded with
+ * one join fetch query per batch of owners, which bounds the number of queries for a list request
+ * by the number of requested association paths rather than by the number of objects returned.
+ * Singular references of which only the identifier is requested are not fetched as the proxy
+ * already knows its identifier.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FieldFetchPlanner {
+  private static final int BATCH_SIZE = 1_000;
+
+  private static final String ID = "id";
+
+  private final FieldPathHelper fieldPathHelper;
+
+  private final SchemaService schemaService;
+
+  private final EntityManager entityManager;
+
+  /**
+   * Fetches the associations the given fields include for the given persistent objects.
+   *
+   * @param klass the class of the objects.
+   * @param objects the persistent objects, which must be attached to the current session.
+   * @param fields the field filters as given to {@link FieldFilterParams}.
+   */
+  public void prefetch(Class<?> klass, List<?> objects, List<String> fields) {
+    if (objects.isEmpty() || fields == null || fields.isEmpty()) {
+      return;
+    }
+
+    List<FieldPath> fieldPaths =
+        fieldPathHelper.apply(FieldFilterParser.parse(String.join(",", fields)), klass);
+
+    FetchNode root = plan(klass, fieldPaths);
+
+    if (root.children.isEmpty()) {
+      return;
+    }
+
+    int queries = fetch(root, new ArrayList<>(objects));
+
+    log.debug("Prefetched associations of {} with {} queries", klass.getSimpleName(), queries);
+  }
+
+  private FetchNode plan(Class<?> klass, List<FieldPath> fieldPaths) {
+    FetchNode root = new FetchNode(klass, null, null, null);
+
+    for (FieldPath fieldPath : fieldPaths) {
+      List<String> segments = new ArrayList<>(fieldPath.getPath());
+      segments.add(fieldPath.getName());
+
+      FetchNode node = root;
+
+      for (String segment : segments) {
+        if (node.property != null && !ID.equals(segment)) {
+          node.fetch = true;
+        }
+
+        FetchNode child = node.children.get(segment);
+
+        if (child == null) {
+          child = createNode(node.klass, segment);
+
+          if (child == null) {
+            break;
+          }
+
+          node.children.put(segment, child);
+        }
+
+        node = child;
+      }
+    }
+
+    return root;
+  }
+
+  private FetchNode createNode(Class<?> klass, String segment) {
+    Schema schema = schemaService.getDynamicSchema(klass);
+    Property property = schema.getProperty(segment);
+
+    if (property == null
+        || property.getFieldName() == null
+        || property.getGetterMethod() == null
+        || !property.isPersisted()) {
+      return null;
+    }
+
+    EntityType<?> entityType = getEntityType(klass);
+
+    if (entityType == null) {
+      return null;
+    }
+
+    Attribute<?, ?> attribute;
+
+    try {
+      attribute = entityType.getAttribute(property.getFieldName());
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+
+    if (!attribute.isAssociation() && !attribute.isCollection()) {
+      return null;
+    }
+
+    Class<?> itemKlass = property.isCollection() ? property.getItemKlass() : property.getKlass();
+    FetchNode node = new FetchNode(itemKlass, property, entityType, attribute.getName());
+    node.fetch = attribute.isCollection();
+
+    return node;
+  }
+
+  private EntityType<?> getEntityType(Class<?> klass) {
+    try {
+      return entityManager.getMetamodel().entity(klass);
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Fetches the children of the given node for the given owners and descends into the fetched
+   * associations.
+   *
+   * @return the number of queries executed.
+   */
+  private int fetch(FetchNode node, List<Object> owners) {
+    int queries = 0;
+
+    for (FetchNode child : node.children.values()) {
+      if (child.fetch) {
+        queries += fetchAssociation(child, owners);
+      }
+
+      if (!child.children.isEmpty()) {
+        queries += fetch(child, getValues(child.property, owners));
+      }
+    }
+
+    return queries;
+  }
+
+  private int fetchAssociation(FetchNode node, List<Object> owners) {
+    List<Long> ids =
+        owners.stream()
+            .filter(PrimaryKeyObject.class::isInstance)
+            .map(o -> ((PrimaryKeyObject) o).getId())
+            .filter(id -> id > 0)
+            .distinct()
+            .toList();
+
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    String hql =
+        "select o from "
+            + node.ownerType.getName()
+            + " o left join fetch o."
+            + node.attribute
+            + " where o.id in (:ids)";
+
+    List<List<Long>> partitions = Lists.partition(ids, BATCH_SIZE);
+
+    for (List<Long> partition : partitions) {
+      entityManager
+          .createQuery(hql)
+          .setFlushMode(FlushModeType.COMMIT)
+          .setParameter("ids", partition)
+          .getResultList();
+    }
+
+    return partitions.size();
+  }
+
+  private List<Object> getValues(Property property, List<Object> owners) {
+    Set<Object> values = new LinkedHashSet<>();
+
+    for (Object owner : owners) {
+      Object value = ReflectionUtils.invokeMethod(owner, property.getGetterMethod());
+
+      if (value instanceof Collection<?> collection) {
+        values.addAll(collection);
+      } else if (value != null) {
+        values.add(value);
+      }
+    }
+
+    return new ArrayList<>(values);
+  }
+
+  private static final class FetchNode {
+    private final Class<?> klass;
+
+    private final Property property;
+
+    private final EntityType<?> ownerType;
+
+    private final String attribute;
+
+    private final Map<String, FetchNode> children = new LinkedHashMap<>();
+
+    private boolean fetch;
+
+    private FetchNode(
+        Class<?> klass, Property property, EntityType<?> ownerType, String attribute) {
+      this.klass = klass;
+      this.property = property;
+      this.ownerType = ownerType;
+      this.attribute = attribute;
+    }
+  }
+}
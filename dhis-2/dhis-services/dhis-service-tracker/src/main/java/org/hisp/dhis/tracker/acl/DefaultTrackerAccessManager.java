@@ -40,6 +40,7 @@ import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.program.Enrollment;
 import org.hisp.dhis.program.Event;
 import org.hisp.dhis.program.Program;
@@ -66,6 +67,7 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
   private final AclService aclService;
   private final TrackerOwnershipManager ownershipAccessManager;
   private final ProgramService programService;
+  private final OrganisationUnitService organisationUnitService;
 
   /**
    * Check the data read permissions and ownership of a tracked entity given the programs for which
@@ -282,7 +284,7 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
     Program program = enrollment.getProgram();
     List<String> errors = new ArrayList<>();
     OrganisationUnit ou = enrollment.getOrganisationUnit();
-    if (ou != null && !user.isInUserHierarchy(ou.getStoredPath())) {
+    if (ou != null && !organisationUnitService.isInHierarchy(ou, user.getUserOrgUnitIds())) {
       errors.add("User has no create access to organisation unit: " + ou.getUid());
     }
 
@@ -336,7 +338,7 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
 
     } else {
       OrganisationUnit ou = enrollment.getOrganisationUnit();
-      if (ou != null && !user.isInUserHierarchy(ou.getStoredPath())) {
+      if (ou != null && !organisationUnitService.isInHierarchy(ou, user.getUserOrgUnitIds())) {
         errors.add("User has no write access to organisation unit: " + ou.getUid());
       }
     }
@@ -371,7 +373,7 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
       }
     } else {
       OrganisationUnit ou = enrollment.getOrganisationUnit();
-      if (ou != null && !user.isInUserHierarchy(ou.getStoredPath())) {
+      if (ou != null && !organisationUnitService.isInHierarchy(ou, user.getUserOrgUnitIds())) {
         errors.add("User has no delete access to organisation unit: " + ou.getUid());
       }
     }
@@ -447,8 +449,8 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
     if (ou != null) {
       boolean isInHierarchy =
           event.isCreatableInSearchScope()
-              ? user.isInUserEffectiveSearchOrgUnitHierarchy(ou.getStoredPath())
-              : user.isInUserHierarchy(ou.getStoredPath());
+              ? organisationUnitService.isInHierarchy(ou, user.getUserEffectiveSearchOrgUnitIds())
+              : organisationUnitService.isInHierarchy(ou, user.getUserOrgUnitIds());
 
       if (!isInHierarchy) {
         errors.add("User has no create access to organisation unit: " + ou.getUid());
@@ -493,7 +495,8 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
       canManageWithRegistration(errors, user, programStage, program);
 
       OrganisationUnit ou = event.getOrganisationUnit();
-      if (ou != null && !user.isInUserEffectiveSearchOrgUnitHierarchy(ou.getStoredPath())) {
+      if (ou != null
+          && !organisationUnitService.isInHierarchy(ou, user.getUserEffectiveSearchOrgUnitIds())) {
         errors.add("User has no update access to organisation unit: " + ou.getUid());
       }
 
@@ -528,7 +531,7 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
     List<String> errors = new ArrayList<>();
     if (program.isWithoutRegistration()) {
       OrganisationUnit ou = event.getOrganisationUnit();
-      if (ou != null && !user.isInUserHierarchy(ou.getStoredPath())) {
+      if (ou != null && !organisationUnitService.isInHierarchy(ou, user.getUserOrgUnitIds())) {
         errors.add("User has no delete access to organisation unit: " + ou.getUid());
       }
 
@@ -748,10 +751,10 @@ public class DefaultTrackerAccessManager implements TrackerAccessManager {
     }
 
     if (program != null && (program.isClosed() || program.isProtected())) {
-      return user.isInUserHierarchy(orgUnit.getStoredPath());
+      return organisationUnitService.isInHierarchy(orgUnit, user.getUserOrgUnitIds());
     }
 
-    return user.isInUserEffectiveSearchOrgUnitHierarchy(orgUnit.getStoredPath());
+    return organisationUnitService.isInHierarchy(orgUnit, user.getUserEffectiveSearchOrgUnitIds());
   }
 
   @Override
@@ -27,7 +27,9 @@
  */
 package org.hisp.dhis.tracker.export;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -49,25 +51,50 @@ public class Page<T> {
   private final Long total;
   private final Integer prevPage;
   private final Integer nextPage;
+  private final String nextPageToken;
 
   /**
    * Create a new page based on an existing one but with given {@code items}. Page related counts
    * will not be changed so make sure the given {@code items} match the previous page size.
    */
   public <U> Page<U> withItems(List<U> items) {
-    return new Page<>(items, this.page, this.pageSize, this.total, this.prevPage, this.nextPage);
+    return new Page<>(
+        items,
+        this.page,
+        this.pageSize,
+        this.total,
+        this.prevPage,
+        this.nextPage,
+        this.nextPageToken);
   }
 
   public static <T> Page<T> withTotals(List<T> items, int page, int pageSize, long total) {
-    return new Page<>(items, page, pageSize, total, null, null);
+    return new Page<>(items, page, pageSize, total, null, null, null);
   }
 
   public static <T> Page<T> withoutTotals(List<T> items, int page, int pageSize) {
-    return new Page<>(items, page, pageSize, null, null, null);
+    return new Page<>(items, page, pageSize, null, null, null, null);
   }
 
   public static <T> Page<T> withPrevAndNext(
       List<T> items, int page, int pageSize, Integer prevPage, Integer nextPage) {
-    return new Page<>(items, page, pageSize, null, prevPage, nextPage);
+    return new Page<>(items, page, pageSize, null, prevPage, nextPage, null);
+  }
+
+  /**
+   * Create a page that is continued by a {@link PageToken}. Given {@code items} are expected to be
+   * fetched with a limit of {@code pageSize + 1}. The additional item is only used to determine
+   * whether there is a next page and is not part of the returned page. The next page token points
+   * at the last item of the returned page.
+   */
+  public static <T> Page<T> withNextPageToken(
+      List<T> items, int pageSize, Long total, Function<T, PageToken> pageToken) {
+    if (items.size() <= pageSize) {
+      return new Page<>(items, 1, pageSize, total, null, null, null);
+    }
+
+    List<T> pageItems = new ArrayList<>(items.subList(0, pageSize));
+    String nextPageToken = pageToken.apply(pageItems.get(pageSize - 1)).encode();
+    return new Page<>(pageItems, 1, pageSize, total, null, null, nextPageToken);
   }
 }
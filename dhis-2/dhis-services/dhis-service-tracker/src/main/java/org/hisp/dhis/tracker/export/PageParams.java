@@ -35,6 +35,10 @@ import lombok.ToString;
 /**
  * {@link PageParams} represent the parameters that configure the page of items to be returned. By
  * default, the total number of items will not be fetched.
+ *
+ * <p>Pages are addressed by page number unless a {@link #pageToken} is given. Paging by token
+ * continues after the last item of the previous page instead of skipping over all previous pages,
+ * so every page costs the same no matter how deep it is.
  */
 @Getter
 @ToString
@@ -52,9 +56,25 @@ public class PageParams {
   /** Indicates whether to fetch the total number of items. */
   final boolean pageTotal;
 
+  /**
+   * The opaque {@link PageToken} of the page to be returned. An empty token requests the first
+   * page. Paging is done by page number if the token is null.
+   */
+  final String pageToken;
+
   public PageParams(Integer page, Integer pageSize, Boolean pageTotal) {
+    this(page, pageSize, pageTotal, null);
+  }
+
+  public PageParams(Integer page, Integer pageSize, Boolean pageTotal, String pageToken) {
     this.page = Objects.requireNonNullElse(page, DEFAULT_PAGE);
     this.pageSize = Objects.requireNonNullElse(pageSize, DEFAULT_PAGE_SIZE);
     this.pageTotal = Boolean.TRUE.equals(pageTotal);
+    this.pageToken = pageToken;
+  }
+
+  /** Indicates whether to page using a {@link PageToken} instead of a page number. */
+  public boolean isCursor() {
+    return pageToken != null;
   }
 }
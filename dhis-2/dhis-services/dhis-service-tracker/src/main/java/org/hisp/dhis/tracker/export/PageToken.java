@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.common.SortDirection;
+
+/**
+ * {@link PageToken} points at the last item of a page so that the next page can be fetched using a
+ * keyset condition instead of an offset. It holds the values of all columns the items are ordered
+ * by, ending with the primary key which makes the order unique.
+ *
+ * <p>Clients only ever see the opaque {@link #encode() encoded} token. Tokens are only valid for
+ * the order they have been created for.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageToken {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String PARAMETER_PREFIX = "pagetoken";
+
+  private final List<Object> values;
+
+  /**
+   * Create a token from the order column values of an item. Supported are strings, numbers,
+   * booleans, dates and null.
+   */
+  public static PageToken of(List<Object> values) {
+    return new PageToken(new ArrayList<>(values));
+  }
+
+  /**
+   * Decodes given {@code token}.
+   *
+   * @return the decoded token or null if the token is null or empty which means the first page is
+   *     requested
+   * @throws IllegalArgumentException if the token is not a valid page token
+   */
+  public static PageToken decode(String token) {
+    if (StringUtils.isEmpty(token)) {
+      return null;
+    }
+
+    try {
+      List<String> encodedValues =
+          MAPPER.readValue(Base64.getUrlDecoder().decode(token), new TypeReference<>() {});
+      List<Object> values = new ArrayList<>(encodedValues.size());
+      for (String value : encodedValues) {
+        values.add(decodeValue(value));
+      }
+      return new PageToken(values);
+    } catch (IllegalArgumentException
+        | IndexOutOfBoundsException
+        | DateTimeParseException
+        | IOException e) {
+      throw new IllegalArgumentException(String.format("Invalid page token '%s'", token));
+    }
+  }
+
+  /** Encodes this token into an opaque string that is safe to be used in URLs. */
+  public String encode() {
+    List<String> encodedValues = values.stream().map(PageToken::encodeValue).toList();
+    try {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(
+              MAPPER.writeValueAsString(encodedValues).getBytes(StandardCharsets.UTF_8));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to encode page token", e);
+    }
+  }
+
+  /**
+   * Returns a condition matching all items ordered after the item this token points at. Columns are
+   * compared in given order. Nulls are considered larger than any value, matching the default null
+   * ordering of PostgreSQL. The condition uses named parameters which are added to given {@code
+   * parameters}.
+   *
+   * @param columns columns the items are ordered by, ending with the primary key
+   * @param directions sort direction of each column
+   * @param parameters named parameters used in the condition
+   * @return a condition usable in SQL and HQL
+   * @throws IllegalArgumentException if the token was created for a different order
+   */
+  public String getCondition(
+      List<String> columns, List<SortDirection> directions, Map<String, Object> parameters) {
+    if (columns.size() != values.size()) {
+      throw new IllegalArgumentException(
+          "Page token does not match the requested order. Start again from the first page.");
+    }
+
+    List<String> equalColumns = new ArrayList<>();
+    List<String> conditions = new ArrayList<>();
+    for (int i = 0; i < columns.size(); i++) {
+      String column = columns.get(i);
+      Object value = values.get(i);
+      String parameter = PARAMETER_PREFIX + i;
+      if (value != null) {
+        parameters.put(parameter, value);
+      }
+
+      String after = getAfterCondition(column, value, parameter, directions.get(i));
+      if (after != null) {
+        conditions.add(
+            Stream.concat(equalColumns.stream(), Stream.of(after))
+                .collect(Collectors.joining(" and ", "(", ")")));
+      }
+      equalColumns.add(value == null ? column + " is null" : column + " = :" + parameter);
+    }
+
+    if (conditions.isEmpty()) {
+      return "1 = 0";
+    }
+    return conditions.stream().collect(Collectors.joining(" or ", "(", ")"));
+  }
+
+  private static String getAfterCondition(
+      String column, Object value, String parameter, SortDirection direction) {
+    if (value == null) {
+      return direction.isAscending() ? null : column + " is not null";
+    }
+
+    if (direction.isAscending()) {
+      return "(" + column + " > :" + parameter + " or " + column + " is null)";
+    }
+    return column + " < :" + parameter;
+  }
+
+  private static String encodeValue(Object value) {
+    if (value == null) {
+      return null;
+    } else if (value instanceof String string) {
+      return "s" + string;
+    } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+      return "l" + value;
+    } else if (value instanceof BigDecimal decimal) {
+      return "n" + decimal.toPlainString();
+    } else if (value instanceof Boolean bool) {
+      return "b" + bool;
+    } else if (value instanceof Date date) {
+      return "t" + date.toInstant();
+    }
+
+    throw new IllegalArgumentException(
+        String.format("Cannot page by values of type '%s'", value.getClass().getSimpleName()));
+  }
+
+  private static Object decodeValue(String value) {
+    if (value == null) {
+      return null;
+    }
+
+    String content = value.substring(1);
+    return switch (value.charAt(0)) {
+      case 's' -> content;
+      case 'l' -> Long.valueOf(content);
+      case 'n' -> new BigDecimal(content);
+      case 'b' -> Boolean.valueOf(content);
+      case 't' -> Timestamp.from(Instant.parse(content));
+      default -> throw new IllegalArgumentException("Unknown page token value type");
+    };
+  }
+}
@@ -37,7 +37,10 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -51,6 +54,7 @@ import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.query.Query;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.SortDirection;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.common.hibernate.SoftDeleteHibernateObjectStore;
 import org.hisp.dhis.commons.util.SqlHelper;
@@ -61,7 +65,9 @@ import org.hisp.dhis.program.ProgramType;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.Page;
+import org.hisp.dhis.tracker.export.PageCountCache;
 import org.hisp.dhis.tracker.export.PageParams;
+import org.hisp.dhis.tracker.export.PageToken;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -76,23 +82,27 @@ class HibernateEnrollmentStore extends SoftDeleteHibernateObjectStore<Enrollment
 
   /**
    * Enrollments can be ordered by given fields which correspond to fields on {@link
-   * org.hisp.dhis.program.Enrollment}.
+   * org.hisp.dhis.program.Enrollment}. Maps fields to their values which are used in page tokens.
    */
-  private static final Set<String> ORDERABLE_FIELDS =
-      Set.of(
-          "completedDate",
-          "created",
-          "createdAtClient",
-          "enrollmentDate",
-          "lastUpdated",
-          "lastUpdatedAtClient");
+  private static final Map<String, Function<Enrollment, Object>> ORDERABLE_FIELDS =
+      Map.of(
+          "completedDate", Enrollment::getCompletedDate,
+          "created", Enrollment::getCreated,
+          "createdAtClient", Enrollment::getCreatedAtClient,
+          "enrollmentDate", Enrollment::getEnrollmentDate,
+          "lastUpdated", Enrollment::getLastUpdated,
+          "lastUpdatedAtClient", Enrollment::getLastUpdatedAtClient);
+
+  private final PageCountCache pageCountCache;
 
   public HibernateEnrollmentStore(
       EntityManager entityManager,
       JdbcTemplate jdbcTemplate,
       ApplicationEventPublisher publisher,
-      AclService aclService) {
+      AclService aclService,
+      PageCountCache pageCountCache) {
     super(entityManager, jdbcTemplate, publisher, Enrollment.class, aclService, true);
+    this.pageCountCache = pageCountCache;
   }
 
   private String buildCountEnrollmentHql(EnrollmentQueryParams params) {
@@ -112,6 +122,10 @@ class HibernateEnrollmentStore extends SoftDeleteHibernateObjectStore<Enrollment
 
   @Override
   public Page<Enrollment> getEnrollments(EnrollmentQueryParams params, PageParams pageParams) {
+    if (pageParams.isCursor()) {
+      return getEnrollmentsByPageToken(params, pageParams);
+    }
+
     String hql = buildEnrollmentHql(params).getFullQuery();
 
     Query<Enrollment> query = getQuery(hql);
@@ -122,6 +136,52 @@ class HibernateEnrollmentStore extends SoftDeleteHibernateObjectStore<Enrollment
     return getPage(pageParams, query.list(), enrollmentCount);
   }
 
+  /**
+   * Fetches the page of enrollments following the enrollment the page token points at. Fetches one
+   * more enrollment than the page size to determine whether there is a next page.
+   */
+  private Page<Enrollment> getEnrollmentsByPageToken(
+      EnrollmentQueryParams params, PageParams pageParams) {
+    QueryWithOrderBy queryWithOrderBy = buildEnrollmentHql(params);
+    String hql = queryWithOrderBy.getQuery();
+
+    Map<String, Object> parameters = new HashMap<>();
+    PageToken pageToken = PageToken.decode(pageParams.getPageToken());
+    if (pageToken != null) {
+      List<String> columns = new ArrayList<>();
+      List<SortDirection> directions = new ArrayList<>();
+      for (Order order : params.getOrder()) {
+        columns.add("en." + order.getField());
+        directions.add(order.getDirection());
+      }
+      columns.add("en.id");
+      directions.add(SortDirection.DESC);
+
+      // the query always has a where clause as it at least restricts the program type
+      hql += " and " + pageToken.getCondition(columns, directions, parameters);
+    }
+
+    Query<Enrollment> query = getQuery(hql + " " + queryWithOrderBy.getOrderBy());
+    parameters.forEach(query::setParameter);
+    query.setMaxResults(pageParams.getPageSize() + 1);
+
+    Long total =
+        pageParams.isPageTotal()
+            ? pageCountCache.get(buildCountEnrollmentHql(params), () -> countEnrollments(params))
+            : null;
+    return Page.withNextPageToken(
+        query.list(), pageParams.getPageSize(), total, en -> getPageToken(params, en));
+  }
+
+  private static PageToken getPageToken(EnrollmentQueryParams params, Enrollment enrollment) {
+    List<Object> values = new ArrayList<>();
+    for (Order order : params.getOrder()) {
+      values.add(ORDERABLE_FIELDS.get((String) order.getField()).apply(enrollment));
+    }
+    values.add(enrollment.getId());
+    return PageToken.of(values);
+  }
+
   private long countEnrollments(EnrollmentQueryParams params) {
     String hql = buildCountEnrollmentHql(params);
 
@@ -310,7 +370,7 @@ class HibernateEnrollmentStore extends SoftDeleteHibernateObjectStore<Enrollment
 
   @Override
   public Set<String> getOrderableFields() {
-    return ORDERABLE_FIELDS;
+    return ORDERABLE_FIELDS.keySet();
   }
 
   @Override
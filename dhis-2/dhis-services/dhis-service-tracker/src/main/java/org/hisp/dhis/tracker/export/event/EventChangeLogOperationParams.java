@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.tracker.export.event;
 
+import java.util.Date;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -44,6 +45,12 @@ public class EventChangeLogOperationParams {
   private Order order;
   private Pair<String, QueryFilter> filter;
 
+  /** Include change logs created on or after this date. */
+  private Date startDate;
+
+  /** Include change logs created before this date. */
+  private Date endDate;
+
   public static class EventChangeLogOperationParamsBuilder {
 
     // Do not remove these unused methods. They hide the order and filter fields from the builder
@@ -129,6 +129,14 @@ public class HibernateEventChangeLogStore {
       hql += String.format(" and %s = :filterValue ", filterField);
     }
 
+    if (operationParams.getStartDate() != null) {
+      hql += String.format(" and %s >= :startDate ", COLUMN_CHANGELOG_CREATED);
+    }
+
+    if (operationParams.getEndDate() != null) {
+      hql += String.format(" and %s < :endDate ", COLUMN_CHANGELOG_CREATED);
+    }
+
     hql += String.format("order by %s".formatted(sortExpressions(operationParams.getOrder())));
 
     Query query = entityManager.createQuery(hql);
@@ -140,6 +148,14 @@ public class HibernateEventChangeLogStore {
       query.setParameter("filterValue", filter.getValue().getFilter());
     }
 
+    if (operationParams.getStartDate() != null) {
+      query.setParameter("startDate", operationParams.getStartDate());
+    }
+
+    if (operationParams.getEndDate() != null) {
+      query.setParameter("endDate", operationParams.getEndDate());
+    }
+
     List<Object[]> results = query.getResultList();
     List<EventChangeLog> eventChangeLogs =
         results.stream()
@@ -68,6 +68,7 @@ import org.hisp.dhis.common.AssignedUserSelectionMode;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryOperator;
+import org.hisp.dhis.common.SortDirection;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.common.collection.CollectionUtils;
 import org.hisp.dhis.commons.util.SqlHelper;
@@ -98,7 +99,9 @@ import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.acl.TrackerAccessManager;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.Page;
+import org.hisp.dhis.tracker.export.PageCountCache;
 import org.hisp.dhis.tracker.export.PageParams;
+import org.hisp.dhis.tracker.export.PageToken;
 import org.hisp.dhis.tracker.export.RelationshipItemMapper;
 import org.hisp.dhis.tracker.export.relationship.RelationshipStore;
 import org.hisp.dhis.user.CurrentUserUtil;
@@ -204,6 +207,7 @@ class JdbcEventStore {
   private static final String COLUMN_EVENT_ASSIGNED_USER_DISPLAY_NAME = "user_assigned_name";
   private static final String COLUMN_USER_UID = "u_uid";
   private static final String DEFAULT_ORDER = COLUMN_EVENT_ID + " desc";
+
   private static final String COLUMN_ORG_UNIT_PATH = "ou_path";
   private static final String USER_SCOPE_ORG_UNIT_PATH_LIKE_MATCH_QUERY =
       " ou.path like CONCAT(orgunit.path, '%') ";
@@ -242,6 +246,9 @@ class JdbcEventStore {
           entry("assignedUser", COLUMN_EVENT_ASSIGNED_USER_USERNAME),
           entry("assignedUser.displayName", COLUMN_EVENT_ASSIGNED_USER_DISPLAY_NAME));
 
+  /** Fields stored as JSON which can be ordered by but not be used in a {@link PageToken}. */
+  private static final Set<String> JSON_ORDERABLE_FIELDS = Set.of("createdBy", "lastUpdatedBy");
+
   // Cannot use DefaultRenderService mapper. Does not work properly -
   // DHIS2-6102
   private static final ObjectReader eventDataValueJsonReader =
@@ -260,17 +267,32 @@ class JdbcEventStore {
 
   private final TrackerAccessManager trackerAccessManager;
 
+  private final PageCountCache pageCountCache;
+
   public List<Event> getEvents(EventQueryParams queryParams) {
-    return fetchEvents(queryParams, null);
+    return fetchEvents(queryParams, null, null);
   }
 
   public Page<Event> getEvents(EventQueryParams queryParams, PageParams pageParams) {
-    List<Event> events = fetchEvents(queryParams, pageParams);
-    LongSupplier eventCount = () -> getEventCount(queryParams);
+    if (pageParams.isCursor()) {
+      Map<String, PageToken> pageTokens = new HashMap<>();
+      List<Event> events = fetchEvents(queryParams, pageParams, pageTokens);
+      Long total = pageParams.isPageTotal() ? getEventCount(queryParams, true) : null;
+      return Page.withNextPageToken(
+          events, pageParams.getPageSize(), total, event -> pageTokens.get(event.getUid()));
+    }
+
+    List<Event> events = fetchEvents(queryParams, pageParams, null);
+    LongSupplier eventCount = () -> getEventCount(queryParams, false);
     return getPage(pageParams, events, eventCount);
   }
 
-  private List<Event> fetchEvents(EventQueryParams queryParams, PageParams pageParams) {
+  /**
+   * Fetches events. Page tokens pointing at each event are collected into given {@code pageTokens}
+   * when paging by cursor.
+   */
+  private List<Event> fetchEvents(
+      EventQueryParams queryParams, PageParams pageParams, Map<String, PageToken> pageTokens) {
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
     setAccessiblePrograms(currentUser, queryParams);
 
@@ -290,6 +312,7 @@ class JdbcEventStore {
     String sql = buildSql(queryParams, pageParams, mapSqlParameterSource, currentUser);
     TrackerIdSchemeParam dataElementIdScheme =
         queryParams.getIdSchemeParams().getDataElementIdScheme();
+    List<OrderColumn> orderColumns = getOrderColumns(queryParams);
 
     return jdbcTemplate.query(
         sql,
@@ -314,6 +337,9 @@ class JdbcEventStore {
               event.setId(resultSet.getLong(COLUMN_EVENT_ID));
               event.setUid(eventUid);
               eventsByUid.put(eventUid, event);
+              if (pageTokens != null) {
+                pageTokens.put(eventUid, getPageToken(resultSet, orderColumns));
+              }
               dataElementUids.put(eventUid, new HashSet<>());
 
               TrackedEntity te = new TrackedEntity();
@@ -580,7 +606,11 @@ class JdbcEventStore {
     return ORDERABLE_FIELDS.keySet();
   }
 
-  private long getEventCount(EventQueryParams params) {
+  /**
+   * Counts the events matching given {@code params}. A cached count is used if {@code cached} is
+   * true, which is the case when paging by cursor.
+   */
+  private long getEventCount(EventQueryParams params, boolean cached) {
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
     setAccessiblePrograms(currentUser, params);
 
@@ -596,6 +626,16 @@ class JdbcEventStore {
 
     sql = sql.replaceFirst("limit \\d+ offset \\d+", "");
 
+    if (cached) {
+      String countSql = sql;
+      return pageCountCache.get(
+          countSql + mapSqlParameterSource.getValues(),
+          () -> countEvents(countSql, mapSqlParameterSource));
+    }
+    return countEvents(sql, mapSqlParameterSource);
+  }
+
+  private long countEvents(String sql, MapSqlParameterSource mapSqlParameterSource) {
     RowCountHandler rowCountHandler = new RowCountHandler();
     jdbcTemplate.query(sql, mapSqlParameterSource, rowCountHandler);
     return rowCountHandler.getCount();
@@ -632,12 +672,21 @@ class JdbcEventStore {
     }
     sqlBuilder.append(" from (");
 
-    sqlBuilder.append(getEventSelectQuery(queryParams, mapSqlParameterSource, user));
+    if (pageParams != null && pageParams.isCursor()) {
+      sqlBuilder.append(
+          getKeysetPageQuery(
+              getEventSelectQuery(queryParams, mapSqlParameterSource, user),
+              queryParams,
+              pageParams,
+              mapSqlParameterSource));
+    } else {
+      sqlBuilder.append(getEventSelectQuery(queryParams, mapSqlParameterSource, user));
 
-    sqlBuilder.append(getOrderQuery(queryParams));
+      sqlBuilder.append(getOrderQuery(queryParams));
 
-    if (pageParams != null) {
-      sqlBuilder.append(getLimitAndOffsetClause(pageParams));
+      if (pageParams != null) {
+        sqlBuilder.append(getLimitAndOffsetClause(pageParams));
+      }
     }
 
     sqlBuilder.append(") as event left join (");
@@ -1600,6 +1649,76 @@ left join dataelement de on de.uid = eventdatavalue.dataelement_uid
     return " limit " + pageSize + " offset " + offset + " ";
   }
 
+  /**
+   * Wraps given event select so that its column aliases can be used to continue after the event a
+   * page token points at. Fetches one more event than the page size to determine whether there is a
+   * next page.
+   */
+  private String getKeysetPageQuery(
+      String eventSelectQuery,
+      EventQueryParams params,
+      PageParams pageParams,
+      MapSqlParameterSource mapSqlParameterSource) {
+    for (Order order : params.getOrder()) {
+      if (order.getField() instanceof String field && JSON_ORDERABLE_FIELDS.contains(field)) {
+        throw new IllegalArgumentException(
+            String.format("Cannot page by page token when ordering by '%s'.", field));
+      }
+    }
+
+    StringBuilder sql =
+        new StringBuilder("select * from (").append(eventSelectQuery).append(") as ev_page ");
+
+    PageToken pageToken = PageToken.decode(pageParams.getPageToken());
+    if (pageToken != null) {
+      List<OrderColumn> orderColumns = getOrderColumns(params);
+      Map<String, Object> parameters = new HashMap<>();
+      sql.append("where ")
+          .append(
+              pageToken.getCondition(
+                  orderColumns.stream().map(OrderColumn::column).toList(),
+                  orderColumns.stream().map(OrderColumn::direction).toList(),
+                  parameters))
+          .append(" ");
+      mapSqlParameterSource.addValues(parameters);
+    }
+
+    return sql.append(getOrderQuery(params))
+        .append(" limit ")
+        .append(pageParams.getPageSize() + 1)
+        .append(" ")
+        .toString();
+  }
+
+  private PageToken getPageToken(ResultSet resultSet, List<OrderColumn> orderColumns)
+      throws SQLException {
+    List<Object> values = new ArrayList<>(orderColumns.size());
+    for (OrderColumn orderColumn : orderColumns) {
+      values.add(resultSet.getObject(orderColumn.column()));
+    }
+    return PageToken.of(values);
+  }
+
+  /**
+   * Returns the columns events are ordered by including the event id, which makes the order unique.
+   */
+  private List<OrderColumn> getOrderColumns(EventQueryParams params) {
+    List<OrderColumn> orderColumns = new ArrayList<>();
+    for (Order order : params.getOrder()) {
+      if (order.getField() instanceof String field && ORDERABLE_FIELDS.containsKey(field)) {
+        orderColumns.add(new OrderColumn(ORDERABLE_FIELDS.get(field), order.getDirection()));
+      } else if (order.getField() instanceof TrackedEntityAttribute tea) {
+        orderColumns.add(new OrderColumn(tea.getUid() + "_value", order.getDirection()));
+      } else if (order.getField() instanceof DataElement de) {
+        orderColumns.add(new OrderColumn(de.getUid(), order.getDirection()));
+      }
+    }
+    orderColumns.add(new OrderColumn(COLUMN_EVENT_ID, SortDirection.DESC));
+    return orderColumns;
+  }
+
+  private record OrderColumn(String column, SortDirection direction) {}
+
   private String getOrderQuery(EventQueryParams params) {
     ArrayList<String> orderFields = new ArrayList<>();
 
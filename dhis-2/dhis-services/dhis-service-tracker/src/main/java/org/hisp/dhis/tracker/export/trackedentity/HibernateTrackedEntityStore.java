@@ -44,6 +44,7 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -57,6 +58,7 @@ import org.hisp.dhis.common.AssignedUserSelectionMode;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.QueryFilter;
+import org.hisp.dhis.common.SortDirection;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.common.hibernate.SoftDeleteHibernateObjectStore;
 import org.hisp.dhis.commons.util.SqlHelper;
@@ -70,11 +72,14 @@ import org.hisp.dhis.trackedentity.TrackedEntity;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.tracker.export.Order;
 import org.hisp.dhis.tracker.export.Page;
+import org.hisp.dhis.tracker.export.PageCountCache;
 import org.hisp.dhis.tracker.export.PageParams;
+import org.hisp.dhis.tracker.export.PageToken;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Repository;
 
@@ -132,20 +137,25 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
 
   private final SystemSettingsProvider settingsProvider;
 
+  private final PageCountCache pageCountCache;
+
   public HibernateTrackedEntityStore(
       EntityManager entityManager,
       JdbcTemplate jdbcTemplate,
       ApplicationEventPublisher publisher,
       AclService aclService,
       OrganisationUnitStore organisationUnitStore,
-      SystemSettingsProvider settingsProvider) {
+      SystemSettingsProvider settingsProvider,
+      PageCountCache pageCountCache) {
     super(entityManager, jdbcTemplate, publisher, TrackedEntity.class, aclService, false);
 
     checkNotNull(organisationUnitStore);
     checkNotNull(settingsProvider);
+    checkNotNull(pageCountCache);
 
     this.organisationUnitStore = organisationUnitStore;
     this.settingsProvider = settingsProvider;
+    this.pageCountCache = pageCountCache;
   }
 
   @Override
@@ -166,6 +176,10 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
   @Override
   public Page<TrackedEntityIdentifiers> getTrackedEntityIds(
       TrackedEntityQueryParams params, PageParams pageParams) {
+    if (pageParams.isCursor()) {
+      return getTrackedEntityIdsByPageToken(params, pageParams);
+    }
+
     String sql = getQuery(params, pageParams);
     SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
 
@@ -181,6 +195,40 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return getPage(pageParams, ids, teCount);
   }
 
+  /**
+   * Fetches the page of tracked entities following the tracked entity the page token points at.
+   * Fetches one more tracked entity than the page size to determine whether there is a next page.
+   */
+  private Page<TrackedEntityIdentifiers> getTrackedEntityIdsByPageToken(
+      TrackedEntityQueryParams params, PageParams pageParams) {
+    Map<String, Object> parameters = new HashMap<>();
+    String sql = getQuery(params, pageParams, parameters);
+    SqlRowSet rowSet = new NamedParameterJdbcTemplate(jdbcTemplate).queryForRowSet(sql, parameters);
+
+    checkMaxTrackedEntityCountReached(params, rowSet);
+
+    List<OrderColumn> orderColumns = getOrderColumns(params);
+    List<TrackedEntityIdentifiers> ids = new ArrayList<>();
+    Map<String, PageToken> pageTokens = new HashMap<>();
+    while (rowSet.next()) {
+      String uid = rowSet.getString("uid");
+      ids.add(new TrackedEntityIdentifiers(rowSet.getLong("trackedentityid"), uid));
+
+      List<Object> values = new ArrayList<>(orderColumns.size());
+      for (OrderColumn orderColumn : orderColumns) {
+        values.add(rowSet.getObject(orderColumn.label()));
+      }
+      pageTokens.put(uid, PageToken.of(values));
+    }
+
+    Long total =
+        pageParams.isPageTotal()
+            ? pageCountCache.get(getCountQuery(params), () -> getTrackedEntityCount(params))
+            : null;
+    return Page.withNextPageToken(
+        ids, pageParams.getPageSize(), total, id -> pageTokens.get(id.uid()));
+  }
+
   private Page<TrackedEntityIdentifiers> getPage(
       PageParams pageParams, List<TrackedEntityIdentifiers> ids, LongSupplier enrollmentCount) {
     if (pageParams.isPageTotal()) {
@@ -277,10 +325,20 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
    * @return SQL string
    */
   private String getQuery(TrackedEntityQueryParams params, PageParams pageParams) {
+    return getQuery(params, pageParams, new HashMap<>());
+  }
+
+  /**
+   * Generates SQL based on "params" like {@link #getQuery(TrackedEntityQueryParams, PageParams)}.
+   * Named parameters of a page token condition are added to given {@code parameters} when paging by
+   * cursor.
+   */
+  private String getQuery(
+      TrackedEntityQueryParams params, PageParams pageParams, Map<String, Object> parameters) {
     StringBuilder stringBuilder = new StringBuilder(getQuerySelect(params));
     return stringBuilder
         .append("FROM ")
-        .append(getFromSubQuery(params, false, pageParams))
+        .append(getFromSubQuery(params, false, pageParams, parameters))
         .append(getQueryOrderBy(params, false))
         .toString();
   }
@@ -296,7 +354,7 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return SELECT_COUNT_INSTANCE_FROM
         + getQuerySelect(params)
         + "FROM "
-        + getFromSubQuery(params, true, null)
+        + getFromSubQuery(params, true, null, Map.of())
         + " ) tecount";
   }
 
@@ -311,7 +369,7 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return SELECT_COUNT_INSTANCE_FROM
         + getQuerySelect(params)
         + "FROM "
-        + getFromSubQuery(params, true, null)
+        + getFromSubQuery(params, true, null, Map.of())
         + (params.getProgram().getMaxTeiCountToReturn() > 0
             ? getLimitClause(params.getProgram().getMaxTeiCountToReturn() + 1)
             : "")
@@ -338,11 +396,13 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
                 "TE.deleted",
                 "TE.trackedentitytypeid"));
 
-    // all orderable fields are already in the select. Only when ordering by enrollment date do we
-    // need to add a column, so we can order by it
+    // all orderable fields are already in the select. Only when ordering by enrollment date or
+    // attributes do we need to add a column, so we can order by it and create page tokens
     for (Order order : params.getOrder()) {
       if (order.getField() instanceof String field && ENROLLMENT_DATE_KEY.equals(field)) {
         select.add(ENROLLMENT_DATE_ALIAS);
+      } else if (order.getField() instanceof TrackedEntityAttribute tea) {
+        select.add(MAIN_QUERY_ALIAS + "." + quote(tea.getUid()));
       }
     }
 
@@ -358,7 +418,10 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
    * @return an SQL sub-query
    */
   private String getFromSubQuery(
-      TrackedEntityQueryParams params, boolean isCountQuery, PageParams pageParams) {
+      TrackedEntityQueryParams params,
+      boolean isCountQuery,
+      PageParams pageParams,
+      Map<String, Object> parameters) {
     SqlHelper whereAnd = new SqlHelper(true);
     StringBuilder fromSubQuery =
         new StringBuilder()
@@ -380,6 +443,21 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
             .append(getFromSubQueryTrackedEntityConditions(whereAnd, params))
             .append(getFromSubQueryEnrollmentConditions(whereAnd, params));
 
+    if (pageParams != null && pageParams.isCursor()) {
+      PageToken pageToken = PageToken.decode(pageParams.getPageToken());
+      if (pageToken != null) {
+        List<OrderColumn> orderColumns = getOrderColumns(params);
+        fromSubQuery
+            .append(whereAnd.whereAnd())
+            .append(
+                pageToken.getCondition(
+                    orderColumns.stream().map(OrderColumn::column).toList(),
+                    orderColumns.stream().map(OrderColumn::direction).toList(),
+                    parameters))
+            .append(SPACE);
+      }
+    }
+
     if (!isCountQuery) {
       // SORT
       fromSubQuery
@@ -965,6 +1043,37 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
         + "' ";
   }
 
+  /**
+   * Returns the columns tracked entities are ordered by including the tracked entity id, which
+   * makes the order unique. Columns are referenced by their expression in the sub-query and by
+   * their label in the main query.
+   */
+  private List<OrderColumn> getOrderColumns(TrackedEntityQueryParams params) {
+    List<OrderColumn> orderColumns = new ArrayList<>();
+    for (Order order : params.getOrder()) {
+      if (order.getField() instanceof String field && ENROLLMENT_DATE_KEY.equals(field)) {
+        orderColumns.add(
+            new OrderColumn(
+                ENROLLMENT_ALIAS + ".enrollmentdate", ENROLLMENT_DATE_ALIAS, order.getDirection()));
+      } else if (order.getField() instanceof String field && ORDERABLE_FIELDS.containsKey(field)) {
+        orderColumns.add(
+            new OrderColumn(
+                MAIN_QUERY_ALIAS + "." + ORDERABLE_FIELDS.get(field),
+                ORDERABLE_FIELDS.get(field),
+                order.getDirection()));
+      } else if (order.getField() instanceof TrackedEntityAttribute tea) {
+        orderColumns.add(
+            new OrderColumn(quote(tea.getUid()) + ".value", tea.getUid(), order.getDirection()));
+      }
+    }
+    orderColumns.add(
+        new OrderColumn(
+            MAIN_QUERY_ALIAS + ".trackedentityid", "trackedentityid", SortDirection.DESC));
+    return orderColumns;
+  }
+
+  private record OrderColumn(String column, String label, SortDirection direction) {}
+
   private String getLimitClause(int limit) {
     return "LIMIT " + limit;
   }
@@ -1032,6 +1141,9 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
    *
    * <p>The limit is set in the sub-query, so the latter joins have fewer rows to consider.
    *
+   * <p>When paging by cursor there is no offset. One more tracked entity than the page size is
+   * fetched to determine whether there is a next page.
+   *
    * @return a SQL LIMIT and OFFSET clause, or empty string if no LIMIT can be deducted.
    */
   private String getFromSubQueryLimitAndOffset(
@@ -1040,6 +1152,16 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     int limit = params.getMaxTeLimit();
     int teQueryLimit = settingsProvider.getCurrentSettings().getTrackedEntityMaxLimit();
 
+    if (pageParams != null && pageParams.isCursor()) {
+      int pageLimit = pageParams.getPageSize() + 1;
+      return limitOffset
+          .append(LIMIT)
+          .append(SPACE)
+          .append(limit == 0 ? pageLimit : Math.min(limit + 1, pageLimit))
+          .append(SPACE)
+          .toString();
+    }
+
     if (limit == 0 && pageParams == null) {
       if (teQueryLimit > 0) {
         return limitOffset
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for the sub-queries of the {@link TrackedEntityAggregate}.
+ *
+ * <p>Every sub-query holds a database connection while it runs, so the number of threads is bound
+ * to a fraction of the connection pool (see {@link ConfigurationKey#TRACKER_AGGREGATE_POOL_SIZE}).
+ * Sub-queries exceeding the pool size wait in a bounded queue. Once the queue is full the
+ * requesting thread runs the sub-query itself, which slows down new requests instead of piling up
+ * work.
+ *
+ * <p>The queue depth, the time sub-queries wait for a thread and the latency of each sub-query are
+ * exposed as metrics.
+ */
+@Slf4j
+@Component
+class AggregateExecutor {
+  private static final String METRIC_QUEUE_SIZE = "dhis2.tracker.aggregate.queue.size";
+
+  private static final String METRIC_ACTIVE = "dhis2.tracker.aggregate.active";
+
+  private static final String METRIC_WAIT = "dhis2.tracker.aggregate.wait";
+
+  private static final String METRIC_QUERY = "dhis2.tracker.aggregate.query";
+
+  private static final String THREAD_NAME = "TRACKER-TE-FETCH-";
+
+  private final ThreadPoolExecutor pool;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Timer waitTimer;
+
+  private final Map<String, Executor> queryExecutors = new ConcurrentHashMap<>();
+
+  AggregateExecutor(DhisConfigurationProvider config, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
+    int poolSize = config.getIntProperty(ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE);
+    if (poolSize <= 0) {
+      poolSize = Math.max(1, config.getIntProperty(ConfigurationKey.CONNECTION_POOL_MAX_SIZE) / 2);
+    }
+    int queueSize = config.getIntProperty(ConfigurationKey.TRACKER_AGGREGATE_QUEUE_SIZE);
+
+    this.pool =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+            threadFactory(config.isEnabled(ConfigurationKey.TRACKER_AGGREGATE_VIRTUAL_THREADS)),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    this.pool.allowCoreThreadTimeOut(true);
+
+    Gauge.builder(METRIC_QUEUE_SIZE, pool, p -> p.getQueue().size())
+        .description("Number of tracked entity aggregate sub-queries waiting for a thread")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_ACTIVE, pool, ThreadPoolExecutor::getActiveCount)
+        .description("Number of tracked entity aggregate sub-queries running")
+        .register(meterRegistry);
+    this.waitTimer =
+        Timer.builder(METRIC_WAIT)
+            .description("Time tracked entity aggregate sub-queries wait for a thread")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Returns an executor for the sub-query with the given name. The latency of the tasks run by the
+   * returned executor is recorded under the name of the sub-query.
+   *
+   * @param query the name of the sub-query, e.g. "enrollments"
+   * @return an executor running the tasks on the aggregate thread pool
+   */
+  Executor forQuery(String query) {
+    return queryExecutors.computeIfAbsent(query, this::createQueryExecutor);
+  }
+
+  private Executor createQueryExecutor(String query) {
+    Timer queryTimer =
+        Timer.builder(METRIC_QUERY)
+            .description("Latency of tracked entity aggregate sub-queries")
+            .tag("query", query)
+            .register(meterRegistry);
+
+    return task -> {
+      long submitted = System.nanoTime();
+      pool.execute(
+          () -> {
+            long started = System.nanoTime();
+            waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+              task.run();
+            } finally {
+              queryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+          });
+    };
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Returns a factory for virtual threads if requested and supported by the JVM, otherwise a
+   * factory for daemon platform threads.
+   */
+  private static ThreadFactory threadFactory(boolean virtualThreads) {
+    if (virtualThreads) {
+      try {
+        // Thread.ofVirtual().name(THREAD_NAME, 0).factory() is only available in Java 21+
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder =
+            builderClass
+                .getMethod("name", String.class, long.class)
+                .invoke(builder, THREAD_NAME, 0L);
+        return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      } catch (ReflectiveOperationException e) {
+        log.warn("Virtual threads are not supported by this JVM, using platform threads");
+      }
+    }
+
+    return new ThreadFactoryBuilder().setNameFormat(THREAD_NAME + "%d").setDaemon(true).build();
+  }
+}
@@ -31,7 +31,6 @@ import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.hisp.dhis.common.OrganisationUnitSelectionMode.ALL;
 import static org.hisp.dhis.tracker.export.trackedentity.aggregates.AsyncUtils.conditionalAsyncFetch;
-import static org.hisp.dhis.tracker.export.trackedentity.aggregates.ThreadPoolManager.getPool;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -93,6 +92,8 @@ public class TrackedEntityAggregate {
 
   @Nonnull private final CacheProvider cacheProvider;
 
+  @Nonnull private final AggregateExecutor executor;
+
   private Cache<Set<TrackedEntityAttribute>> teAttributesCache;
 
   private Cache<Map<Program, Set<TrackedEntityAttribute>>> programTeAttributesCache;
@@ -178,7 +179,7 @@ public class TrackedEntityAggregate {
         conditionalAsyncFetch(
             ctx.getParams().isIncludeRelationships(),
             () -> trackedEntityStore.getRelationships(ids, ctx),
-            getPool());
+            executor.forQuery("relationships"));
 
     /*
      * Async fetch Enrollments for the given TrackedEntity id (only if
@@ -188,7 +189,7 @@ public class TrackedEntityAggregate {
         conditionalAsyncFetch(
             ctx.getParams().isIncludeEnrollments(),
             () -> enrollmentAggregate.findByTrackedEntityIds(identifiers, ctx),
-            getPool());
+            executor.forQuery("enrollments"));
 
     /*
      * Async fetch all ProgramOwner for the given TrackedEntity id
@@ -197,19 +198,21 @@ public class TrackedEntityAggregate {
         conditionalAsyncFetch(
             ctx.getParams().isIncludeProgramOwners(),
             () -> trackedEntityStore.getProgramOwners(ids),
-            getPool());
+            executor.forQuery("programOwners"));
 
     /*
      * Async Fetch TrackedEntities by id
      */
     final CompletableFuture<Map<String, TrackedEntity>> trackedEntitiesAsync =
-        supplyAsync(() -> trackedEntityStore.getTrackedEntities(ids, ctx), getPool());
+        supplyAsync(
+            () -> trackedEntityStore.getTrackedEntities(ids, ctx),
+            executor.forQuery("trackedEntities"));
 
     /*
      * Async fetch TrackedEntity Attributes by TrackedEntity id
      */
     final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync =
-        supplyAsync(() -> trackedEntityStore.getAttributes(ids), getPool());
+        supplyAsync(() -> trackedEntityStore.getAttributes(ids), executor.forQuery("attributes"));
 
     /*
      * Async fetch Owned TE mapped to the provided program attributes by
@@ -219,7 +222,7 @@ public class TrackedEntityAggregate {
         conditionalAsyncFetch(
             user.isPresent(),
             () -> trackedEntityStore.getOwnedTrackedEntities(ids, ctx, orgUnitMode == ALL),
-            getPool());
+            executor.forQuery("ownedTrackedEntities"));
     /*
      * Execute all queries and merge the results
      */
@@ -272,7 +275,7 @@ public class TrackedEntityAggregate {
                       })
                   .toList();
             },
-            getPool())
+            executor.forQuery("merge"))
         .join();
   }
 
@@ -341,17 +344,23 @@ public class TrackedEntityAggregate {
   private Context getSecurityContext(String userUID, List<String> userGroupUIDs) {
     final CompletableFuture<List<Long>> getTrackedEntityTypes =
         supplyAsync(
-            () -> aclStore.getAccessibleTrackedEntityTypes(userUID, userGroupUIDs), getPool());
+            () -> aclStore.getAccessibleTrackedEntityTypes(userUID, userGroupUIDs),
+            executor.forQuery("trackedEntityTypesAcl"));
 
     final CompletableFuture<List<Long>> getPrograms =
-        supplyAsync(() -> aclStore.getAccessiblePrograms(userUID, userGroupUIDs), getPool());
+        supplyAsync(
+            () -> aclStore.getAccessiblePrograms(userUID, userGroupUIDs),
+            executor.forQuery("programsAcl"));
 
     final CompletableFuture<List<Long>> getProgramStages =
-        supplyAsync(() -> aclStore.getAccessibleProgramStages(userUID, userGroupUIDs), getPool());
+        supplyAsync(
+            () -> aclStore.getAccessibleProgramStages(userUID, userGroupUIDs),
+            executor.forQuery("programStagesAcl"));
 
     final CompletableFuture<List<Long>> getRelationshipTypes =
         supplyAsync(
-            () -> aclStore.getAccessibleRelationshipTypes(userUID, userGroupUIDs), getPool());
+            () -> aclStore.getAccessibleRelationshipTypes(userUID, userGroupUIDs),
+            executor.forQuery("relationshipTypesAcl"));
 
     return allOf(getTrackedEntityTypes, getPrograms, getProgramStages, getRelationshipTypes)
         .thenApplyAsync(
@@ -362,7 +371,7 @@ public class TrackedEntityAggregate {
                     .programStages(getProgramStages.join())
                     .relationshipTypes(getRelationshipTypes.join())
                     .build(),
-            getPool())
+            executor.forQuery("securityContext"))
         .join();
   }
 }
@@ -39,4 +39,10 @@ public enum FlushMode {
 
   /** Let the importer decide the flushing. */
   AUTO,
+
+  /**
+   * Like {@link #AUTO}, but events are written with JDBC batch statements once all events of the
+   * import have been processed.
+   */
+  BATCH,
 }
@@ -36,14 +36,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.dataelement.DataElement;
@@ -55,29 +58,147 @@ import org.hisp.dhis.reservedvalue.ReservedValueService;
 import org.hisp.dhis.tracker.TrackerType;
 import org.hisp.dhis.tracker.export.event.EventChangeLogService;
 import org.hisp.dhis.tracker.export.trackedentity.TrackedEntityChangeLogService;
+import org.hisp.dhis.tracker.imports.AtomicMode;
+import org.hisp.dhis.tracker.imports.FlushMode;
 import org.hisp.dhis.tracker.imports.bundle.TrackerBundle;
 import org.hisp.dhis.tracker.imports.bundle.TrackerObjectsMapper;
 import org.hisp.dhis.tracker.imports.domain.DataValue;
 import org.hisp.dhis.tracker.imports.job.NotificationTrigger;
 import org.hisp.dhis.tracker.imports.job.TrackerNotificationDataBundle;
 import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
+import org.hisp.dhis.tracker.imports.report.Entity;
+import org.hisp.dhis.tracker.imports.report.TrackerTypeReport;
 import org.hisp.dhis.user.UserDetails;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 /**
  * @author Luciano Fiandesio
  */
+@Slf4j
 @Component
 public class EventPersister
     extends AbstractTrackerPersister<org.hisp.dhis.tracker.imports.domain.Event, Event> {
   private final EventChangeLogService eventChangeLogService;
 
+  private final JdbcEventBatchStore eventBatchStore;
+
   public EventPersister(
       ReservedValueService reservedValueService,
       TrackedEntityChangeLogService trackedEntityChangeLogService,
-      EventChangeLogService eventChangeLogService) {
+      EventChangeLogService eventChangeLogService,
+      JdbcEventBatchStore eventBatchStore) {
     super(reservedValueService, trackedEntityChangeLogService);
     this.eventChangeLogService = eventChangeLogService;
+    this.eventBatchStore = eventBatchStore;
+  }
+
+  @Override
+  public TrackerTypeReport persist(EntityManager entityManager, TrackerBundle bundle) {
+    if (FlushMode.BATCH != bundle.getFlushMode()) {
+      return super.persist(entityManager, bundle);
+    }
+
+    return persistBatch(entityManager, bundle);
+  }
+
+  /**
+   * Persists the events of the bundle with JDBC batch statements instead of persisting or merging
+   * them one by one. Events are converted and their data values, notifications and reports are
+   * handled exactly like in {@link AbstractTrackerPersister#persist(EntityManager, TrackerBundle)}.
+   * Change logs reference the events and are therefore only written once all events have been
+   * written.
+   */
+  private TrackerTypeReport persistBatch(EntityManager entityManager, TrackerBundle bundle) {
+    TrackerTypeReport typeReport = new TrackerTypeReport(getType());
+    List<TrackerNotificationDataBundle> notificationDataBundles = new ArrayList<>();
+    Set<String> updatedTrackedEntities = new HashSet<>();
+
+    List<Event> newEvents = new ArrayList<>();
+    List<Event> updatedEvents = new ArrayList<>();
+    List<Runnable> changeLogs = new ArrayList<>();
+
+    // tracked entities and enrollments of this bundle have to be written before the events
+    // referencing them
+    entityManager.flush();
+
+    TrackerPreheat preheat = bundle.getPreheat();
+    for (org.hisp.dhis.tracker.imports.domain.Event trackerDto : bundle.getEvents()) {
+      Entity objectReport = new Entity(getType(), trackerDto.getUid());
+      List<NotificationTrigger> triggers = determineNotificationTriggers(preheat, trackerDto);
+
+      try {
+        Event originalEvent = cloneEntityProperties(preheat, trackerDto);
+        Event event = convert(bundle, trackerDto);
+        // the event is written with JDBC, Hibernate must not write it again
+        if (entityManager.contains(event)) {
+          entityManager.detach(event);
+        }
+
+        List<Runnable> eventChangeLogs = new ArrayList<>();
+        handleDataValues(
+            entityManager,
+            preheat,
+            trackerDto.getDataValues(),
+            event,
+            bundle.getUser(),
+            eventChangeLogs::add);
+        eventChangeLogs.add(
+            () ->
+                eventChangeLogService.addFieldChangeLog(
+                    originalEvent, event, bundle.getUser().getUsername()));
+
+        if (isNew(bundle, trackerDto)) {
+          newEvents.add(event);
+          typeReport.getStats().incCreated();
+        } else {
+          updatedEvents.add(event);
+          typeReport.getStats().incUpdated();
+          Optional.ofNullable(getUpdatedTrackedEntity(event))
+              .ifPresent(updatedTrackedEntities::add);
+        }
+        typeReport.addEntity(objectReport);
+        changeLogs.addAll(eventChangeLogs);
+
+        if (!bundle.isSkipSideEffects()) {
+          notificationDataBundles.add(handleNotifications(bundle, event, triggers));
+        }
+
+        updatePreheat(preheat, event);
+      } catch (Exception e) {
+        String msg =
+            "A Tracker Entity of type '"
+                + getType().getName()
+                + "' ("
+                + trackerDto.getUid()
+                + ") failed to persist.";
+
+        if (AtomicMode.ALL.equals(bundle.getAtomicMode())) {
+          throw new PersistenceException(msg, e);
+        }
+
+        log.warn(msg + "\nThe Import process will process remaining entities.", e);
+        typeReport.getStats().incIgnored();
+      }
+    }
+
+    try {
+      eventBatchStore.insert(newEvents);
+      eventBatchStore.update(updatedEvents);
+    } catch (DataAccessException e) {
+      // a failing batch cannot be attributed to a single event, so it fails the whole import
+      throw new PersistenceException("Events failed to persist.", e);
+    }
+
+    changeLogs.forEach(Runnable::run);
+
+    if (!bundle.getEvents().isEmpty()) {
+      bundle.setUpdatedTrackedEntities(updatedTrackedEntities);
+    }
+
+    typeReport.getNotificationDataBundles().addAll(notificationDataBundles);
+
+    return typeReport;
   }
 
   @Override
@@ -169,16 +290,22 @@ public class EventPersister
       Event payloadEntity,
       Event currentEntity,
       UserDetails user) {
-    handleDataValues(entityManager, preheat, event.getDataValues(), payloadEntity, user);
+    handleDataValues(
+        entityManager, preheat, event.getDataValues(), payloadEntity, user, Runnable::run);
     eventChangeLogService.addFieldChangeLog(currentEntity, payloadEntity, user.getUsername());
   }
 
+  /**
+   * Applies the payload data values to the event. Change logs are handed to {@code changeLog}, so
+   * callers can decide when to write them.
+   */
   private void handleDataValues(
       EntityManager entityManager,
       TrackerPreheat preheat,
       Set<DataValue> payloadDataValues,
       Event event,
-      UserDetails user) {
+      UserDetails user,
+      Consumer<Runnable> changeLog) {
     Map<String, EventDataValue> dataValueDBMap =
         Optional.ofNullable(event)
             .map(
@@ -194,22 +321,35 @@ public class EventPersister
           EventDataValue dbDataValue = dataValueDBMap.get(dataElement.getUid());
 
           if (isNewDataValue(dbDataValue, dataValue)) {
-            eventChangeLogService.addEventChangeLog(
-                event, dataElement, null, dataValue.getValue(), CREATE, user.getUsername());
+            changeLog.accept(
+                () ->
+                    eventChangeLogService.addEventChangeLog(
+                        event,
+                        dataElement,
+                        null,
+                        dataValue.getValue(),
+                        CREATE,
+                        user.getUsername()));
             saveDataValue(dataValue, event, dataElement, user, entityManager, preheat);
           } else if (isUpdate(dbDataValue, dataValue)) {
-            eventChangeLogService.addEventChangeLog(
-                event,
-                dataElement,
-                dbDataValue.getValue(),
-                dataValue.getValue(),
-                UPDATE,
-                user.getUsername());
+            String previousValue = dbDataValue.getValue();
+            changeLog.accept(
+                () ->
+                    eventChangeLogService.addEventChangeLog(
+                        event,
+                        dataElement,
+                        previousValue,
+                        dataValue.getValue(),
+                        UPDATE,
+                        user.getUsername()));
             updateDataValue(
                 dbDataValue, dataValue, event, dataElement, user, entityManager, preheat);
           } else if (isDeletion(dbDataValue, dataValue)) {
-            eventChangeLogService.addEventChangeLog(
-                event, dataElement, dbDataValue.getValue(), null, DELETE, user.getUsername());
+            String previousValue = dbDataValue.getValue();
+            changeLog.accept(
+                () ->
+                    eventChangeLogService.addEventChangeLog(
+                        event, dataElement, previousValue, null, DELETE, user.getUsername()));
             deleteDataValue(dbDataValue, event, dataElement, entityManager, preheat);
           }
         });
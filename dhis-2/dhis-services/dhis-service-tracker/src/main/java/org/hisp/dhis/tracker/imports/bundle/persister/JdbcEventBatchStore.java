@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.bundle.persister;
+
+import static org.hisp.dhis.hibernate.jsonb.type.JsonBinaryType.MAPPER;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.eventdatavalue.EventDataValue;
+import org.hisp.dhis.note.Note;
+import org.hisp.dhis.program.Event;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes events, their data values and their notes with JDBC batch statements. Used by the {@link
+ * EventPersister} when an import is run with {@link org.hisp.dhis.tracker.imports.FlushMode#BATCH}.
+ *
+ * <p>The statements mirror the Hibernate mapping of {@link Event} and {@link Note}. Primary keys
+ * are allocated from the same sequences Hibernate uses and are set on the given entities, so they
+ * can be referenced by Hibernate-managed entities (e.g. change logs or relationship items) written
+ * later in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcEventBatchStore {
+  private static final ObjectWriter DATA_VALUES_WRITER =
+      MAPPER.writerFor(new TypeReference<Map<String, EventDataValue>>() {});
+
+  private static final String INSERT_EVENT_SQL =
+      """
+      insert into event (eventid, uid, code, created, createdbyuserinfo, lastupdated,
+          lastupdatedbyuserinfo, createdatclient, lastupdatedatclient, lastsynchronized,
+          enrollmentid, programstageid, attributeoptioncomboid, deleted, storedby, scheduleddate,
+          occurreddate, organisationunitid, status, completedby, completeddate, geometry,
+          assigneduserid, eventdatavalues)
+      values (:id, :uid, :code, :created, cast(:createdByUserInfo as jsonb), :lastUpdated,
+          cast(:lastUpdatedByUserInfo as jsonb), :createdAtClient, :lastUpdatedAtClient,
+          :lastSynchronized, :enrollment, :programStage, :attributeOptionCombo, :deleted,
+          :storedBy, :scheduledDate, :occurredDate, :organisationUnit, :status, :completedBy,
+          :completedDate, ST_GeomFromText(cast(:geometry as text), :srid), :assignedUser,
+          cast(:eventDataValues as jsonb))
+      """;
+
+  private static final String UPDATE_EVENT_SQL =
+      """
+      update event set code = :code, lastupdated = :lastUpdated,
+          lastupdatedbyuserinfo = cast(:lastUpdatedByUserInfo as jsonb),
+          createdatclient = :createdAtClient, lastupdatedatclient = :lastUpdatedAtClient,
+          enrollmentid = :enrollment, programstageid = :programStage,
+          attributeoptioncomboid = :attributeOptionCombo, deleted = :deleted,
+          scheduleddate = :scheduledDate, occurreddate = :occurredDate,
+          organisationunitid = :organisationUnit, status = :status, completedby = :completedBy,
+          completeddate = :completedDate,
+          geometry = ST_GeomFromText(cast(:geometry as text), :srid),
+          assigneduserid = :assignedUser, eventdatavalues = cast(:eventDataValues as jsonb)
+      where eventid = :id
+      """;
+
+  private static final String INSERT_NOTE_SQL =
+      """
+      insert into note (noteid, uid, created, lastupdatedby, notetext, creator)
+      values (:id, :uid, :created, :lastUpdatedBy, :noteText, :creator)
+      """;
+
+  private static final String INSERT_EVENT_NOTE_SQL =
+      """
+      insert into event_notes (eventid, noteid, sort_order)
+      values (:event, :note, :sortOrder)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Inserts the given new events and their notes.
+   *
+   * @param events events which do not exist in the database yet
+   */
+  public void insert(@Nonnull List<Event> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    List<Long> ids = nextIds("programstageinstance_sequence", events.size());
+    for (int i = 0; i < events.size(); i++) {
+      events.get(i).setId(ids.get(i));
+    }
+
+    jdbcTemplate.batchUpdate(
+        INSERT_EVENT_SQL,
+        events.stream().map(this::toParameters).toArray(MapSqlParameterSource[]::new));
+
+    insertNotes(events);
+  }
+
+  /**
+   * Updates the given existing events and inserts the notes which have been added to them.
+   *
+   * @param events events which already exist in the database
+   */
+  public void update(@Nonnull List<Event> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.batchUpdate(
+        UPDATE_EVENT_SQL,
+        events.stream().map(this::toParameters).toArray(MapSqlParameterSource[]::new));
+
+    insertNotes(events);
+  }
+
+  private void insertNotes(List<Event> events) {
+    List<EventNote> notes = new ArrayList<>();
+    for (Event event : events) {
+      for (int i = 0; i < event.getNotes().size(); i++) {
+        Note note = event.getNotes().get(i);
+        if (note.getId() == 0) {
+          notes.add(new EventNote(event, note, i + 1));
+        }
+      }
+    }
+
+    if (notes.isEmpty()) {
+      return;
+    }
+
+    List<Long> ids = nextIds("note_sequence", notes.size());
+    for (int i = 0; i < notes.size(); i++) {
+      notes.get(i).note().setId(ids.get(i));
+    }
+
+    jdbcTemplate.batchUpdate(
+        INSERT_NOTE_SQL,
+        notes.stream()
+            .map(EventNote::note)
+            .map(
+                note ->
+                    new MapSqlParameterSource()
+                        .addValue("id", note.getId())
+                        .addValue("uid", note.getUid())
+                        .addValue("created", note.getCreated(), Types.TIMESTAMP)
+                        .addValue("lastUpdatedBy", getId(note.getLastUpdatedBy()), Types.BIGINT)
+                        .addValue("noteText", note.getNoteText())
+                        .addValue("creator", note.getCreator()))
+            .toArray(MapSqlParameterSource[]::new));
+    jdbcTemplate.batchUpdate(
+        INSERT_EVENT_NOTE_SQL,
+        notes.stream()
+            .map(
+                n ->
+                    new MapSqlParameterSource()
+                        .addValue("event", n.event().getId())
+                        .addValue("note", n.note().getId())
+                        .addValue("sortOrder", n.sortOrder()))
+            .toArray(MapSqlParameterSource[]::new));
+  }
+
+  private List<Long> nextIds(String sequence, int count) {
+    return jdbcTemplate.queryForList(
+        "select nextval('" + sequence + "') from generate_series(1, :count)",
+        Map.of("count", count),
+        Long.class);
+  }
+
+  private MapSqlParameterSource toParameters(Event event) {
+    Date now = new Date();
+    return new MapSqlParameterSource()
+        .addValue("id", event.getId())
+        .addValue("uid", event.getUid())
+        .addValue("code", event.getCode(), Types.VARCHAR)
+        .addValue("created", event.getCreated() == null ? now : event.getCreated(), Types.TIMESTAMP)
+        .addValue("createdByUserInfo", toJson(event.getCreatedByUserInfo()), Types.VARCHAR)
+        .addValue(
+            "lastUpdated",
+            event.getLastUpdated() == null ? now : event.getLastUpdated(),
+            Types.TIMESTAMP)
+        .addValue("lastUpdatedByUserInfo", toJson(event.getLastUpdatedByUserInfo()), Types.VARCHAR)
+        .addValue("createdAtClient", event.getCreatedAtClient(), Types.TIMESTAMP)
+        .addValue("lastUpdatedAtClient", event.getLastUpdatedAtClient(), Types.TIMESTAMP)
+        .addValue("lastSynchronized", event.getLastSynchronized(), Types.TIMESTAMP)
+        .addValue("enrollment", getId(event.getEnrollment()), Types.BIGINT)
+        .addValue("programStage", getId(event.getProgramStage()), Types.BIGINT)
+        .addValue("attributeOptionCombo", getId(event.getAttributeOptionCombo()), Types.BIGINT)
+        .addValue("deleted", event.isDeleted())
+        .addValue("storedBy", event.getStoredBy(), Types.VARCHAR)
+        .addValue("scheduledDate", event.getScheduledDate(), Types.TIMESTAMP)
+        .addValue("occurredDate", event.getOccurredDate(), Types.TIMESTAMP)
+        .addValue("organisationUnit", getId(event.getOrganisationUnit()), Types.BIGINT)
+        .addValue("status", event.getStatus().name())
+        .addValue("completedBy", event.getCompletedBy(), Types.VARCHAR)
+        .addValue("completedDate", event.getCompletedDate(), Types.TIMESTAMP)
+        .addValue(
+            "geometry",
+            event.getGeometry() == null ? null : event.getGeometry().toText(),
+            Types.VARCHAR)
+        .addValue("srid", event.getGeometry() == null ? 0 : event.getGeometry().getSRID())
+        .addValue("assignedUser", getId(event.getAssignedUser()), Types.BIGINT)
+        .addValue("eventDataValues", toDataValuesJson(event.getEventDataValues()), Types.VARCHAR);
+  }
+
+  private static Long getId(IdentifiableObject object) {
+    return object == null ? null : object.getId();
+  }
+
+  private static String toJson(Object object) {
+    if (object == null) {
+      return null;
+    }
+
+    try {
+      return MAPPER.writeValueAsString(object);
+    } catch (JsonProcessingException e) {
+      throw new PersistenceException(e);
+    }
+  }
+
+  private static String toDataValuesJson(Set<EventDataValue> eventDataValues) {
+    Map<String, EventDataValue> dataValues = new HashMap<>();
+    for (EventDataValue eventDataValue : eventDataValues) {
+      dataValues.put(eventDataValue.getDataElement(), eventDataValue);
+    }
+
+    try {
+      return DATA_VALUES_WRITER.writeValueAsString(dataValues);
+    } catch (JsonProcessingException e) {
+      throw new PersistenceException(e);
+    }
+  }
+
+  private record EventNote(Event event, Note note, int sortOrder) {}
+}
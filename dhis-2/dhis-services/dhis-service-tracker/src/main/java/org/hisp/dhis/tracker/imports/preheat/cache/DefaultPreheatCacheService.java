@@ -27,50 +27,86 @@
  */
 package org.hisp.dhis.tracker.imports.preheat.cache;
 
+import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import lombok.RequiredArgsConstructor;
 import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
 import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.cache.Region;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.CacheInvalidationEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 /**
  * Pre-heat cache implementation for metadata objects.
  *
+ * <p>Every cached object is tagged with the metadata version that was current when the object was
+ * fetched from the database. Any metadata change committed on this or another node of the cluster
+ * increments the version, which makes all previously cached objects stale at once. Stale entries
+ * are never returned and are evicted lazily when they are looked up.
+ *
  * @author Luciano Fiandesio
  */
 @RequiredArgsConstructor
 @Service
 public class DefaultPreheatCacheService implements PreheatCacheService {
+  /** Upper bound for caches which do not declare a capacity. */
+  private static final long MAX_CAPACITY = 10_000;
+
+  private final DhisConfigurationProvider config;
+
+  private final Environment environment;
+
   /**
    * Data structure to hold the metadata cache:
    *
-   * <p>- the key is the full class name of the metadata class getting cached (e.g.
-   * "org.hisp.dhis.program.Program")
+   * <p>- the key is the cache key of the metadata class getting cached (e.g. "Program-UID")
    *
    * <p>- the value is a Cache2K cache holding the objects to cache
    *
    * <p>Caveat: this data structure may reference multiple times the same objects, if different
    * {@link TrackerIdScheme} are used during different imports.
    */
-  private static final Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
+  private final Map<String, Cache<String, VersionedObject>> cache = new ConcurrentHashMap<>();
+
+  private final AtomicLong version = new AtomicLong();
 
   @Override
   public Optional<IdentifiableObject> get(final String cacheKey, final String id) {
-    if (isCacheEnabled() && cache.containsKey(cacheKey)) {
-      return Optional.ofNullable(cache.get(cacheKey).get(id));
+    if (!isCacheEnabled()) {
+      return Optional.empty();
     }
 
-    return Optional.empty();
+    Cache<String, VersionedObject> c = cache.get(cacheKey);
+    if (c == null) {
+      return Optional.empty();
+    }
+
+    VersionedObject entry = c.peek(id);
+    if (entry == null) {
+      return Optional.empty();
+    }
+
+    if (entry.version() != version.get()) {
+      c.removeIfEquals(id, entry);
+      return Optional.empty();
+    }
+
+    return Optional.of(entry.object());
   }
 
   @Override
@@ -89,10 +125,9 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
       return value;
     }
 
+    long currentVersion = getVersion();
     value = mappingFunction.apply(cacheKey, id);
-    if (value.isPresent()) {
-      put(cacheKey, id, value.get(), cacheTTL, capacity);
-    }
+    value.ifPresent(o -> put(cacheKey, id, o, currentVersion, cacheTTL, capacity));
 
     return value;
   }
@@ -105,63 +140,86 @@ public class DefaultPreheatCacheService implements PreheatCacheService {
   @Override
   public List<IdentifiableObject> getAll(String cacheKey) {
     List<IdentifiableObject> res = new ArrayList<>();
-    if (hasKey(cacheKey)) {
-      cache.get(cacheKey).keys().forEach(k -> res.add(cache.get(cacheKey).get(k)));
+    Cache<String, VersionedObject> c = cache.get(cacheKey);
+    if (c != null) {
+      long currentVersion = version.get();
+      c.entries()
+          .forEach(
+              e -> {
+                if (e.getValue().version() == currentVersion) {
+                  res.add(e.getValue().object());
+                }
+              });
     }
     return res;
   }
 
+  @Override
+  public long getVersion() {
+    return version.get();
+  }
+
   @Override
   public void put(
       final String cacheKey,
       final String id,
       IdentifiableObject object,
+      final long version,
       final int cacheTTL,
       final long capacity) {
     if (cacheKey == null || id == null || object == null) return;
 
-    if (isCacheEnabled()) {
-      if (cache.containsKey(cacheKey)) {
-        cache.get(cacheKey).put(id, object);
-      } else {
-        Cache<String, IdentifiableObject> c =
-            new Cache2kBuilder<String, IdentifiableObject>() {}.expireAfterWrite(
-                    cacheTTL, TimeUnit.MINUTES)
-                .name(cacheKey)
-                .permitNullValues(false)
-                .entryCapacity(capacity == -1 ? Long.MAX_VALUE : capacity)
-                .resilienceDuration(30, TimeUnit.SECONDS) // cope with at
-                // most 30
-                // seconds
-                // outage before propagating exceptions
-                .build();
-
-        c.put(id, object);
-
-        cache.put(cacheKey, c);
+    if (isCacheEnabled() && version == this.version.get()) {
+      Cache<String, VersionedObject> c =
+          cache.computeIfAbsent(cacheKey, k -> createCache(k, cacheTTL, capacity));
+      VersionedObject entry = new VersionedObject(version, object);
+      c.put(id, entry);
+
+      // the metadata might have changed while the object was being added
+      if (version != this.version.get()) {
+        c.removeIfEquals(id, entry);
       }
     }
   }
 
+  private Cache<String, VersionedObject> createCache(String cacheKey, int cacheTTL, long capacity) {
+    return new Cache2kBuilder<String, VersionedObject>() {}.expireAfterWrite(
+            cacheTTL, TimeUnit.MINUTES)
+        // cache names are global to the JVM, make them unique per service instance
+        .name(Integer.toHexString(System.identityHashCode(this)) + "-" + cacheKey)
+        .permitNullValues(false)
+        .entryCapacity(capacity == -1 ? MAX_CAPACITY : Math.min(capacity, MAX_CAPACITY))
+        .resilienceDuration(30, TimeUnit.SECONDS) // cope with at
+        // most 30
+        // seconds
+        // outage before propagating exceptions
+        .build();
+  }
+
   @EventListener
   @Override
   public void handleApplicationCachesCleared(ApplicationCacheClearedEvent event) {
     invalidateCache();
   }
 
+  @EventListener
+  @Override
+  public void handleCacheInvalidation(CacheInvalidationEvent event) {
+    if (event.getRegion() == Region.trackerPreheatCache) {
+      invalidateCache();
+    }
+  }
+
   @Override
   public void invalidateCache() {
+    version.incrementAndGet();
     cache.values().forEach(Cache::removeAll);
   }
 
   private boolean isCacheEnabled() {
-    return false;
-
-    // Due to concerns and issues with the current cache implementation, we
-    // decided to
-    // deactivate the cache in the preheat completely for now.
-    // return !isTestRun( this.environment.getActiveProfiles() )
-    // && config.isEnabled(
-    // ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+    return !isTestRun(environment.getActiveProfiles())
+        && config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED);
   }
+
+  private record VersionedObject(long version, IdentifiableObject object) {}
 }
@@ -32,6 +32,7 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.CacheInvalidationEvent;
 
 /**
  * A DHIS2 metadata cache implementation to reduce db lookups during pre-heat
@@ -83,15 +84,30 @@ public interface PreheatCacheService {
   List<IdentifiableObject> getAll(String cacheKey);
 
   /**
-   * Adds an object to the pre-heat cache.
+   * Returns the current metadata version of the cache. The version is incremented every time the
+   * cache is invalidated. Callers must read it before fetching the objects they intend to {@link
+   * #put} so that objects loaded concurrently with a metadata change are never cached.
+   */
+  long getVersion();
+
+  /**
+   * Adds an object to the pre-heat cache. The object is ignored if the cache has been invalidated
+   * since {@code version} was read.
    *
    * @param cacheKey the full class name of the object being cached
    * @param id the identifier of the object being cached, used as cache key
    * @param object The object being cached
+   * @param version the version returned by {@link #getVersion()} before the object was fetched
    * @param cacheTTL The amount of **minutes**
    * @param capacity The maximum number of entries hold by the cache.
    */
-  void put(String cacheKey, String id, IdentifiableObject object, int cacheTTL, long capacity);
+  void put(
+      String cacheKey,
+      String id,
+      IdentifiableObject object,
+      long version,
+      int cacheTTL,
+      long capacity);
 
   /** Invalidates all caches. */
   void invalidateCache();
@@ -102,4 +118,12 @@ public interface PreheatCacheService {
    * @param event the {@link ApplicationCacheClearedEvent}.
    */
   void handleApplicationCachesCleared(ApplicationCacheClearedEvent event);
+
+  /**
+   * Event handler for {@link CacheInvalidationEvent}, invalidates all caches for the {@link
+   * org.hisp.dhis.common.cache.Region#trackerPreheatCache} region.
+   *
+   * @param event the {@link CacheInvalidationEvent}.
+   */
+  void handleCacheInvalidation(CacheInvalidationEvent event);
 }
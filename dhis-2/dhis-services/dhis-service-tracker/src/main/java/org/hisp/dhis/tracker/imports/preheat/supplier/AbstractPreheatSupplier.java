@@ -27,15 +27,11 @@
  */
 package org.hisp.dhis.tracker.imports.preheat.supplier;
 
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.StopWatch;
-import org.hisp.dhis.common.IdentifiableObject;
-import org.hisp.dhis.hibernate.HibernateProxyUtils;
 import org.hisp.dhis.tracker.imports.domain.TrackerObjects;
 import org.hisp.dhis.tracker.imports.preheat.TrackerPreheat;
-import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
 
 /**
  * A {@link PreheatSupplier} subclass can implement this abstract class to execute code before and
@@ -45,10 +41,6 @@ import org.hisp.dhis.tracker.imports.preheat.cache.PreheatCacheService;
  */
 @Slf4j
 public abstract class AbstractPreheatSupplier implements PreheatSupplier {
-  private static final int CACHE_TTL = 60;
-
-  private static final long CACHE_CAPACITY = 1000;
-
   @Override
   public void add(TrackerObjects trackerObjects, TrackerPreheat preheat) {
     StopWatch watch = null;
@@ -71,15 +63,4 @@ public abstract class AbstractPreheatSupplier implements PreheatSupplier {
 
   /** Template method: executes preheat logic from the subclass */
   public abstract void preheatAdd(TrackerObjects trackerObjects, TrackerPreheat preheat);
-
-  protected void addToCache(PreheatCacheService cache, List<? extends IdentifiableObject> objects) {
-    objects.forEach(
-        rt ->
-            cache.put(
-                HibernateProxyUtils.getRealClass(rt).getName(),
-                rt.getUid(),
-                rt,
-                CACHE_TTL,
-                CACHE_CAPACITY));
-  }
 }
@@ -93,6 +93,7 @@ public class DefaultsSupplier extends AbstractPreheatSupplier {
                 (k, n) -> Optional.ofNullable(mapper.map(manager.getByName(klass, name))),
                 CACHE_TTL,
                 CACHE_CAPACITY);
-    metadata.ifPresent(t -> preheat.putDefault(klass, t));
+    // the cached default is shared by concurrent imports, every import works on its own copy
+    metadata.map(mapper::map).ifPresent(t -> preheat.putDefault(klass, t));
   }
 }
@@ -116,8 +116,9 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
     }
   }
 
-  private String buildCacheKey(Schema schema) {
-    return schema.getKlass().getSimpleName();
+  private String buildCacheKey(Schema schema, TrackerIdScheme idScheme) {
+    // objects are cached by the identifier of the scheme used to look them up
+    return schema.getKlass().getSimpleName() + "-" + idScheme.name();
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -129,7 +130,7 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
     TrackerIdScheme idScheme = idSchemeParam.getIdScheme();
 
     List<IdentifiableObject> objects;
-    final String cacheKey = buildCacheKey(schema);
+    final String cacheKey = buildCacheKey(schema, idScheme);
 
     if (isCacheable()) // check if this strategy requires caching
     {
@@ -141,6 +142,10 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
             .ifPresent(identifiableObject -> foundInCache.put(id, identifiableObject));
       }
 
+      // the version must be read before querying, so that objects loaded while the metadata is
+      // being changed are not cached
+      long version = cache.getVersion();
+
       // is there any object which was not found in cache?
       if (ids.size() > foundInCache.size()) {
         // remove from the list of ids the ids found in cache
@@ -159,13 +164,21 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         objects.forEach(
             o ->
                 cache.put(
-                    cacheKey, idSchemeParam.getIdentifier(o), o, getCacheTTL(), getCapacity()));
+                    cacheKey,
+                    idSchemeParam.getIdentifier(o),
+                    o,
+                    version,
+                    getCacheTTL(),
+                    getCapacity()));
 
         // add back the cached objects to the final list
         objects.addAll(foundInCache.values());
       } else {
         objects = new ArrayList<>(foundInCache.values());
       }
+
+      // cached objects are shared by concurrent imports, every import works on its own copy
+      objects = map(objects, mapper);
     } else {
       objects =
           map(
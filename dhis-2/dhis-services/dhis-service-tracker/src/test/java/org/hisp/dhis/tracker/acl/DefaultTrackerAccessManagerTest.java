@@ -34,9 +34,13 @@ import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
 import static org.hisp.dhis.test.TestBase.createProgram;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.when;
 
 import java.util.Set;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserDetails;
@@ -44,11 +48,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultTrackerAccessManagerTest {
 
+  @Mock private OrganisationUnitService organisationUnitService;
+
   @InjectMocks private DefaultTrackerAccessManager trackerAccessManager;
 
   private Program program;
@@ -62,6 +69,13 @@ class DefaultTrackerAccessManagerTest {
     program = createProgram('A');
     orgUnit = createOrganisationUnit('A');
     user = new User();
+
+    when(organisationUnitService.isInHierarchy(any(), anySet()))
+        .thenAnswer(
+            invocation ->
+                invocation
+                    .<Set<String>>getArgument(1)
+                    .contains(invocation.<OrganisationUnit>getArgument(0).getUid()));
   }
 
   @Test
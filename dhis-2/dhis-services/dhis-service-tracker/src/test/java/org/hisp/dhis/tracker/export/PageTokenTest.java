@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export;
+
+import static org.hisp.dhis.test.utils.Assertions.assertStartsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hisp.dhis.common.SortDirection;
+import org.junit.jupiter.api.Test;
+
+class PageTokenTest {
+
+  @Test
+  void shouldDecodeEncodedToken() {
+    Timestamp timestamp = Timestamp.from(Instant.parse("2024-03-01T10:15:30.123456Z"));
+    PageToken pageToken =
+        PageToken.of(Arrays.asList("abc", 12L, new BigDecimal("1.50"), true, timestamp, null));
+
+    PageToken decoded = PageToken.decode(pageToken.encode());
+
+    assertEquals(pageToken, decoded);
+  }
+
+  @Test
+  void shouldDecodeEmptyTokenToNull() {
+    assertNull(PageToken.decode(""));
+    assertNull(PageToken.decode(null));
+  }
+
+  @Test
+  void shouldFailDecodingInvalidToken() {
+    Exception exception = assertThrows(IllegalArgumentException.class, () -> PageToken.decode("x"));
+
+    assertStartsWith("Invalid page token", exception.getMessage());
+  }
+
+  @Test
+  void shouldCreateConditionForMixedSortDirections() {
+    PageToken pageToken = PageToken.of(List.of("2024-01-01", 5L));
+    Map<String, Object> parameters = new HashMap<>();
+
+    String condition =
+        pageToken.getCondition(
+            List.of("date", "id"), List.of(SortDirection.ASC, SortDirection.DESC), parameters);
+
+    assertEquals(
+        "(((date > :pagetoken0 or date is null)) or (date = :pagetoken0 and id < :pagetoken1))",
+        condition);
+    assertEquals(Map.of("pagetoken0", "2024-01-01", "pagetoken1", 5L), parameters);
+  }
+
+  @Test
+  void shouldCreateConditionForNullValues() {
+    PageToken pageToken = PageToken.of(Arrays.asList(null, null, 5L));
+    Map<String, Object> parameters = new HashMap<>();
+
+    String condition =
+        pageToken.getCondition(
+            List.of("asc_date", "desc_date", "id"),
+            List.of(SortDirection.ASC, SortDirection.DESC, SortDirection.DESC),
+            parameters);
+
+    assertEquals(
+        "((asc_date is null and desc_date is not null) or (asc_date is null and desc_date is null"
+            + " and id < :pagetoken2))",
+        condition);
+    assertEquals(Map.of("pagetoken2", 5L), parameters);
+  }
+
+  @Test
+  void shouldFailCreatingConditionForDifferentOrder() {
+    PageToken pageToken = PageToken.of(List.of(5L));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            pageToken.getCondition(
+                List.of("date", "id"),
+                List.of(SortDirection.ASC, SortDirection.DESC),
+                new HashMap<>()));
+  }
+}
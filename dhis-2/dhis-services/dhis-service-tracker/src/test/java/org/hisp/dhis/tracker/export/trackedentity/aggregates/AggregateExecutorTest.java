@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.export.trackedentity.aggregates;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AggregateExecutorTest {
+  @Mock private DhisConfigurationProvider config;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private AggregateExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldRecordLatencyPerQuery() {
+    executor = createExecutor(2, 10);
+
+    assertEquals("a", supplyAsync(() -> "a", executor.forQuery("enrollments")).join());
+    assertEquals("b", supplyAsync(() -> "b", executor.forQuery("enrollments")).join());
+    assertEquals("c", supplyAsync(() -> "c", executor.forQuery("events")).join());
+
+    assertEquals(
+        2,
+        meterRegistry
+            .get("dhis2.tracker.aggregate.query")
+            .tag("query", "enrollments")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        meterRegistry.get("dhis2.tracker.aggregate.query").tag("query", "events").timer().count());
+    assertEquals(3, meterRegistry.get("dhis2.tracker.aggregate.wait").timer().count());
+  }
+
+  @Test
+  void shouldRunQueryOnCallerThreadWhenQueueIsFull() throws InterruptedException {
+    executor = createExecutor(1, 1);
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> blocking =
+        runAsync(
+            () -> {
+              running.countDown();
+              await(release);
+            },
+            executor.forQuery("blocking"));
+    running.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> queued =
+        supplyAsync(() -> Thread.currentThread().getName(), executor.forQuery("queued"));
+
+    assertEquals(1.0, meterRegistry.get("dhis2.tracker.aggregate.queue.size").gauge().value());
+
+    String caller = Thread.currentThread().getName();
+    assertEquals(
+        caller,
+        supplyAsync(() -> Thread.currentThread().getName(), executor.forQuery("rejected")).join());
+
+    release.countDown();
+    blocking.join();
+    assertTrue(queued.join().startsWith("TRACKER-TE-FETCH-"));
+  }
+
+  private AggregateExecutor createExecutor(int poolSize, int queueSize) {
+    when(config.getIntProperty(ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE)).thenReturn(poolSize);
+    when(config.getIntProperty(ConfigurationKey.TRACKER_AGGREGATE_QUEUE_SIZE))
+        .thenReturn(queueSize);
+    when(config.isEnabled(ConfigurationKey.TRACKER_AGGREGATE_VIRTUAL_THREADS)).thenReturn(false);
+    return new AggregateExecutor(config, meterRegistry);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
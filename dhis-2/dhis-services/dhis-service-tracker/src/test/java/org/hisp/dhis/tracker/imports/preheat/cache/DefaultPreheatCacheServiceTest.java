@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.imports.preheat.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.cache.Region;
+import org.hisp.dhis.common.event.CacheInvalidationEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultPreheatCacheServiceTest {
+
+  private static final String CACHE_KEY = "Program-UID";
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private Environment environment;
+
+  private DefaultPreheatCacheService cacheService;
+
+  private Program program;
+
+  @BeforeEach
+  void setUp() {
+    when(environment.getActiveProfiles()).thenReturn(new String[0]);
+    when(config.isEnabled(ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED)).thenReturn(true);
+
+    cacheService = new DefaultPreheatCacheService(config, environment);
+
+    program = new Program();
+    program.setUid("PrZMWi7rBga");
+  }
+
+  @Test
+  void shouldReturnCachedObject() {
+    cacheService.put(CACHE_KEY, program.getUid(), program, cacheService.getVersion(), 10, 10);
+
+    assertEquals(Optional.of(program), cacheService.get(CACHE_KEY, program.getUid()));
+  }
+
+  @Test
+  void shouldNotReturnObjectCachedBeforeInvalidation() {
+    cacheService.put(CACHE_KEY, program.getUid(), program, cacheService.getVersion(), 10, 10);
+
+    cacheService.invalidateCache();
+
+    assertTrue(cacheService.get(CACHE_KEY, program.getUid()).isEmpty());
+  }
+
+  @Test
+  void shouldNotCacheObjectFetchedBeforeInvalidation() {
+    long version = cacheService.getVersion();
+
+    cacheService.handleCacheInvalidation(
+        new CacheInvalidationEvent(this, Region.trackerPreheatCache));
+    cacheService.put(CACHE_KEY, program.getUid(), program, version, 10, 10);
+
+    assertTrue(cacheService.get(CACHE_KEY, program.getUid()).isEmpty());
+  }
+
+  @Test
+  void shouldIgnoreInvalidationOfOtherRegions() {
+    cacheService.put(CACHE_KEY, program.getUid(), program, cacheService.getVersion(), 10, 10);
+
+    cacheService.handleCacheInvalidation(
+        new CacheInvalidationEvent(this, Region.defaultObjectCache));
+
+    assertEquals(Optional.of(program), cacheService.get(CACHE_KEY, program.getUid()));
+  }
+
+  @Test
+  void shouldCacheValueComputedByMappingFunction() {
+    Optional<IdentifiableObject> value =
+        cacheService.get(CACHE_KEY, program.getUid(), (k, id) -> Optional.of(program), 10, 10);
+
+    assertEquals(Optional.of(program), value);
+    assertEquals(Optional.of(program), cacheService.get(CACHE_KEY, program.getUid()));
+  }
+}
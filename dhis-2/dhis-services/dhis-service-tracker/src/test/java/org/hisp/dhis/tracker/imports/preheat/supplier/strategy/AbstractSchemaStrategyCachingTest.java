@@ -30,6 +30,7 @@ package org.hisp.dhis.tracker.imports.preheat.supplier.strategy;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -93,7 +94,7 @@ class AbstractSchemaStrategyCachingTest extends TestBase {
     String uid = CodeGenerator.generateUid();
 
     Program program = rnd.nextObject(Program.class);
-    when(cache.get(Program.class.getSimpleName(), uid)).thenReturn(Optional.of(program));
+    when(cache.get("Program-UID", uid)).thenReturn(Optional.of(program));
 
     ProgramStrategy strategy = new ProgramStrategy(schemaService, queryService, manager, cache);
 
@@ -103,10 +104,11 @@ class AbstractSchemaStrategyCachingTest extends TestBase {
         schema,
         TrackerIdSchemeParam.UID,
         singletonList(singletonList(uid)),
-        ProgramMapper.INSTANCE.getClass());
+        ProgramMapper.class);
 
     // Then
     assertThat(preheat.getAll(Program.class), hasSize(1));
+    assertNotSame(program, preheat.getAll(Program.class).get(0));
   }
 
   @Test
@@ -118,7 +120,8 @@ class AbstractSchemaStrategyCachingTest extends TestBase {
 
     Program program = rnd.nextObject(Program.class);
 
-    when(cache.get(Program.class.getSimpleName(), uid)).thenReturn(Optional.empty());
+    when(cache.get("Program-UID", uid)).thenReturn(Optional.empty());
+    when(cache.getVersion()).thenReturn(3L);
 
     doReturn(singletonList(program)).when(queryService).query(any(Query.class));
     ProgramStrategy strategy = new ProgramStrategy(schemaService, queryService, manager, cache);
@@ -134,6 +137,6 @@ class AbstractSchemaStrategyCachingTest extends TestBase {
     // Then
     assertThat(preheat.getAll(Program.class), hasSize(1));
 
-    verify(cache, times(1)).put(eq("Program"), anyString(), any(), eq(20), eq(10L));
+    verify(cache, times(1)).put(eq("Program-UID"), anyString(), any(), eq(3L), eq(20), eq(10L));
   }
 }
@@ -27,25 +27,28 @@
  */
 package org.hisp.dhis.dataanalysis;
 
+import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
+
+import com.google.common.collect.Lists;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.datavalue.DeflatedDataValue;
-import org.hisp.dhis.jdbc.batchhandler.MinMaxDataElementBatchHandler;
-import org.hisp.dhis.minmax.MinMaxDataElement;
 import org.hisp.dhis.minmax.MinMaxDataElementService;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.Period;
-import org.hisp.dhis.system.util.MathUtils;
-import org.hisp.quick.BatchHandler;
-import org.hisp.quick.BatchHandlerFactory;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.joda.time.DateTime;
 import org.springframework.stereotype.Service;
 
@@ -56,12 +59,16 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Service("org.hisp.dhis.dataanalysis.MinMaxOutlierAnalysisService")
 public class MinMaxOutlierAnalysisService implements MinMaxDataAnalysisService {
+  /** Max number of data elements for which values are generated by a single statement. */
+  private static final int GENERATION_CHUNK_SIZE = 100;
+
+  /** Max number of statements generating values running in parallel. */
+  private static final int GENERATION_PARALLELISM = 4;
+
   private final DataAnalysisStore dataAnalysisStore;
 
   private final MinMaxDataElementService minMaxDataElementService;
 
-  private final BatchHandlerFactory batchHandlerFactory;
-
   // -------------------------------------------------------------------------
   // DataAnalysisService implementation
   // -------------------------------------------------------------------------
@@ -89,67 +96,100 @@ public class MinMaxOutlierAnalysisService implements MinMaxDataAnalysisService {
         elements, categoryOptionCombos, periods, orgUnit, MAX_OUTLIERS);
   }
 
+  /**
+   * Without a job, failures can not be reported through the progress. The first failure is thrown
+   * once the stages have finished instead.
+   */
   @Override
   public void generateMinMaxValues(
       OrganisationUnit orgUnit, Collection<DataElement> dataElements, Double stdDevFactor) {
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    generateMinMaxValues(
+        orgUnit,
+        dataElements,
+        stdDevFactor,
+        JobProgress.noop(),
+        ex -> failure.compareAndSet(null, ex));
+
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  @Override
+  public void generateMinMaxValues(
+      OrganisationUnit orgUnit,
+      Collection<DataElement> dataElements,
+      Double stdDevFactor,
+      JobProgress progress) {
+    generateMinMaxValues(orgUnit, dataElements, stdDevFactor, progress, ex -> {});
+  }
+
+  /**
+   * Generates min-max values while passing any failure of a stage or work item to the given
+   * consumer before the failure is handled by the progress.
+   */
+  private void generateMinMaxValues(
+      OrganisationUnit orgUnit,
+      Collection<DataElement> dataElements,
+      Double stdDevFactor,
+      JobProgress progress,
+      Consumer<RuntimeException> onFailure) {
+    List<DataElement> elements =
+        dataElements.stream().filter(de -> de.getValueType().isNumeric()).toList();
+
     log.info(
-        "Starting min-max value generation, no of data elements: "
-            + dataElements.size()
-            + ", parent: "
-            + orgUnit.getUid());
+        "Starting min-max value generation, no of data elements: {}, parent: {}",
+        elements.size(),
+        orgUnit.getUid());
 
     Date from = new DateTime(1, 1, 1, 1, 1).toDate();
 
-    minMaxDataElementService.removeMinMaxDataElements(dataElements, orgUnit);
-
-    log.debug("Deleted existing min-max values");
-
-    BatchHandler<MinMaxDataElement> batchHandler =
-        batchHandlerFactory.createBatchHandler(MinMaxDataElementBatchHandler.class).init();
-
-    for (DataElement dataElement : dataElements) {
-      if (dataElement.getValueType().isNumeric()) {
-        Set<CategoryOptionCombo> categoryOptionCombos = dataElement.getCategoryOptionCombos();
-
-        List<DataAnalysisMeasures> measuresList =
-            dataAnalysisStore.getDataAnalysisMeasures(
-                dataElement, categoryOptionCombos, orgUnit, from);
-
-        for (DataAnalysisMeasures measures : measuresList) {
-          int min =
-              (int)
-                  Math.round(
-                      MathUtils.getLowBound(
-                          measures.getStandardDeviation(), stdDevFactor, measures.getAverage()));
-          int max =
-              (int)
-                  Math.round(
-                      MathUtils.getHighBound(
-                          measures.getStandardDeviation(), stdDevFactor, measures.getAverage()));
-
-          switch (dataElement.getValueType()) {
-            case INTEGER_POSITIVE:
-            case INTEGER_ZERO_OR_POSITIVE:
-              min = Math.max(0, min); // Cannot be < 0
-              break;
-            case INTEGER_NEGATIVE:
-              max = Math.min(0, max); // Cannot be > 0
-              break;
-          }
-
-          OrganisationUnit ou = new OrganisationUnit();
-          ou.setId(measures.getOrgUnitId());
-
-          CategoryOptionCombo coc = new CategoryOptionCombo();
-          coc.setId(measures.getCategoryOptionComboId());
-
-          batchHandler.addObject(new MinMaxDataElement(dataElement, ou, coc, min, max, true));
-        }
-      }
+    AtomicBoolean removed = new AtomicBoolean();
+
+    progress.startingStage("Deleting existing min-max values");
+    progress.runStage(
+        () ->
+            reportFailure(
+                onFailure,
+                () -> {
+                  minMaxDataElementService.removeMinMaxDataElements(dataElements, orgUnit);
+                  removed.set(true);
+                }));
+
+    if (!removed.get()) {
+      return;
     }
 
-    log.info("Min-max value generation done");
+    List<List<DataElement>> partitions = Lists.partition(elements, GENERATION_CHUNK_SIZE);
+    AtomicInteger count = new AtomicInteger();
+
+    progress.startingStage(
+        "Generating min-max values for " + elements.size() + " data elements",
+        partitions.size(),
+        SKIP_ITEM);
+    progress.runStageInParallel(
+        GENERATION_PARALLELISM,
+        partitions,
+        partition -> "Generating min-max values for " + partition.size() + " data elements",
+        partition ->
+            reportFailure(
+                onFailure,
+                () ->
+                    count.addAndGet(
+                        dataAnalysisStore.generateMinMaxValues(
+                            partition, orgUnit, from, stdDevFactor))));
+
+    log.info("Min-max value generation done, no of values: {}", count.get());
+  }
 
-    batchHandler.flush();
+  private static void reportFailure(Consumer<RuntimeException> onFailure, Runnable work) {
+    try {
+      work.run();
+    } catch (RuntimeException ex) {
+      onFailure.accept(ex);
+      throw ex;
+    }
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dataanalysis;
+
+import java.util.Collection;
+import java.util.HashSet;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.dataset.DataSetService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.MinMaxValueGenerationJobParameters;
+import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates the min-max values for the data elements of a set of data sets and an organisation
+ * unit.
+ */
+@Component
+@RequiredArgsConstructor
+public class MinMaxValueGenerationJob implements Job {
+  private final MinMaxDataAnalysisService minMaxDataAnalysisService;
+
+  private final DataSetService dataSetService;
+
+  private final OrganisationUnitService organisationUnitService;
+
+  private final SystemSettingsProvider settingsProvider;
+
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public JobType getJobType() {
+    return JobType.MIN_MAX_VALUE_GENERATION;
+  }
+
+  @Override
+  public void execute(JobConfiguration config, JobProgress progress) {
+    MinMaxValueGenerationJobParameters params =
+        (MinMaxValueGenerationJobParameters) config.getJobParameters();
+
+    progress.startingProcess("Min-max value generation");
+
+    OrganisationUnit orgUnit =
+        organisationUnitService.getOrganisationUnit(params.getOrganisationUnit());
+    if (orgUnit == null) {
+      progress.failedProcess("No valid organisation unit: " + params.getOrganisationUnit());
+      return;
+    }
+
+    Collection<DataElement> dataElements =
+        transactionTemplate.execute(status -> getDataElements(params.getDataSets()));
+
+    double factor = settingsProvider.getCurrentSettings().getFactorOfDeviation();
+
+    minMaxDataAnalysisService.generateMinMaxValues(orgUnit, dataElements, factor, progress);
+
+    progress.completedProcess(null);
+  }
+
+  private Collection<DataElement> getDataElements(Collection<String> dataSetIds) {
+    Collection<DataElement> dataElements = new HashSet<>();
+    for (String dataSetId : dataSetIds) {
+      DataSet dataSet = dataSetService.getDataSet(dataSetId);
+      if (dataSet != null) {
+        dataElements.addAll(dataSet.getDataElements());
+      }
+    }
+    return dataElements;
+  }
+}
@@ -64,6 +64,8 @@ import org.springframework.stereotype.Repository;
 public class JdbcDataAnalysisStore implements DataAnalysisStore {
 
   @Qualifier("readOnlyJdbcTemplate")
+  private final JdbcTemplate readOnlyJdbcTemplate;
+
   private final JdbcTemplate jdbcTemplate;
 
   @Override
@@ -102,7 +104,7 @@ public class JdbcDataAnalysisStore implements DataAnalysisStore {
             + "and dv.deleted is false "
             + "group by dv.sourceid, dv.categoryoptioncomboid;";
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet = readOnlyJdbcTemplate.queryForRowSet(sql);
 
     while (rowSet.next()) {
       int orgUnitId = rowSet.getInt(1);
@@ -118,6 +120,62 @@ public class JdbcDataAnalysisStore implements DataAnalysisStore {
     return measures;
   }
 
+  @Override
+  public int generateMinMaxValues(
+      Collection<DataElement> dataElements,
+      OrganisationUnit orgUnit,
+      Date from,
+      double stdDevFactor) {
+    if (dataElements.isEmpty() || orgUnit == null) {
+      return 0;
+    }
+
+    String dataElementIds = getCommaDelimitedString(getIdentifiers(dataElements));
+
+    // Rounding by floor(x + 0.5) to match Math.round, while bounds of integer
+    // value types are clamped to zero like the value type allows. Option combos
+    // are those of the data element category combo and of any data set element
+    // category combo override, like DataElement.getCategoryOptionCombos
+
+    String sql =
+        "insert into minmaxdataelement (minmaxdataelementid, sourceid, dataelementid, "
+            + "categoryoptioncomboid, minimumvalue, maximumvalue, generatedvalue) "
+            + "select nextval('hibernate_sequence'), m.sourceid, m.dataelementid, m.categoryoptioncomboid, "
+            + "case when m.valuetype in ('INTEGER_POSITIVE', 'INTEGER_ZERO_OR_POSITIVE') "
+            + "then greatest(0, m.minvalue) else m.minvalue end, "
+            + "case when m.valuetype = 'INTEGER_NEGATIVE' "
+            + "then least(0, m.maxvalue) else m.maxvalue end, "
+            + "true "
+            + "from ("
+            + "select dv.sourceid, dv.dataelementid, dv.categoryoptioncomboid, de.valuetype, "
+            + "cast(floor(avg(cast(dv.value as double precision)) "
+            + "- ? * stddev_pop(cast(dv.value as double precision)) + 0.5) as integer) as minvalue, "
+            + "cast(floor(avg(cast(dv.value as double precision)) "
+            + "+ ? * stddev_pop(cast(dv.value as double precision)) + 0.5) as integer) as maxvalue "
+            + "from datavalue dv "
+            + "inner join period pe on dv.periodid = pe.periodid "
+            + "inner join dataelement de on dv.dataelementid = de.dataelementid "
+            + "where dv.dataelementid in ("
+            + dataElementIds
+            + ") "
+            + "and exists (select 1 from categorycombos_optioncombos cc "
+            + "where cc.categoryoptioncomboid = dv.categoryoptioncomboid "
+            + "and (cc.categorycomboid = de.categorycomboid "
+            + "or cc.categorycomboid in (select dse.categorycomboid from datasetelement dse "
+            + "where dse.dataelementid = dv.dataelementid))) "
+            + "and pe.startdate >= '"
+            + DateUtils.toMediumDate(from)
+            + "' "
+            + "and dv.sourceid = "
+            + orgUnit.getId()
+            + " "
+            + "and dv.deleted is false "
+            + "group by dv.sourceid, dv.dataelementid, dv.categoryoptioncomboid, de.valuetype "
+            + "having stddev_pop(cast(dv.value as double precision)) <> 0) as m;";
+
+    return jdbcTemplate.update(sql, stdDevFactor, stdDevFactor);
+  }
+
   @Override
   public List<DeflatedDataValue> getMinMaxViolations(
       Collection<DataElement> dataElements,
@@ -170,7 +228,7 @@ public class JdbcDataAnalysisStore implements DataAnalysisStore {
             + limit
             + ";";
 
-    return jdbcTemplate.query(sql, new DeflatedDataValueNameMinMaxRowMapper(null, null));
+    return readOnlyJdbcTemplate.query(sql, new DeflatedDataValueNameMinMaxRowMapper(null, null));
   }
 
   @Override
@@ -251,7 +309,7 @@ public class JdbcDataAnalysisStore implements DataAnalysisStore {
           ps.setString(2, categoryOptionCombo.getName());
         };
 
-    return jdbcTemplate.query(
+    return readOnlyJdbcTemplate.query(
         sql, pss, new DeflatedDataValueNameMinMaxRowMapper(lowerBoundMap, upperBoundMap));
   }
 
@@ -304,6 +362,6 @@ public class JdbcDataAnalysisStore implements DataAnalysisStore {
             + limit
             + ";";
 
-    return jdbcTemplate.query(sql, new DeflatedDataValueNameMinMaxRowMapper(null, null));
+    return readOnlyJdbcTemplate.query(sql, new DeflatedDataValueNameMinMaxRowMapper(null, null));
   }
 }
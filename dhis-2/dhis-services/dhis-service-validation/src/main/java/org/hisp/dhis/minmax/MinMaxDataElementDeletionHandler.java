@@ -27,37 +27,34 @@
  */
 package org.hisp.dhis.minmax;
 
-import lombok.RequiredArgsConstructor;
+import java.util.List;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
-import org.hisp.dhis.system.deletion.DeletionHandler;
+import org.hisp.dhis.system.deletion.JdbcDeletionHandler;
 import org.springframework.stereotype.Component;
 
 /**
  * @author Lars Helge Overland
  */
 @Component
-@RequiredArgsConstructor
-public class MinMaxDataElementDeletionHandler extends DeletionHandler {
-  private final MinMaxDataElementService minMaxDataElementService;
-
+public class MinMaxDataElementDeletionHandler extends JdbcDeletionHandler {
   @Override
   protected void register() {
-    whenDeleting(DataElement.class, this::deleteDataElement);
-    whenDeleting(OrganisationUnit.class, this::deleteOrganisationUnit);
-    whenDeleting(CategoryOptionCombo.class, this::deleteCategoryOptionCombo);
+    whenDeletingAll(DataElement.class, this::deleteDataElements);
+    whenDeletingAll(OrganisationUnit.class, this::deleteOrganisationUnits);
+    whenDeletingAll(CategoryOptionCombo.class, this::deleteCategoryOptionCombos);
   }
 
-  private void deleteDataElement(DataElement dataElement) {
-    minMaxDataElementService.removeMinMaxDataElements(dataElement);
+  private void deleteDataElements(List<DataElement> dataElements) {
+    deleteAll("delete from minmaxdataelement where dataelementid in (:ids)", dataElements);
   }
 
-  private void deleteOrganisationUnit(OrganisationUnit source) {
-    minMaxDataElementService.removeMinMaxDataElements(source);
+  private void deleteOrganisationUnits(List<OrganisationUnit> sources) {
+    deleteAll("delete from minmaxdataelement where sourceid in (:ids)", sources);
   }
 
-  private void deleteCategoryOptionCombo(CategoryOptionCombo optionCombo) {
-    minMaxDataElementService.removeMinMaxDataElements(optionCombo);
+  private void deleteCategoryOptionCombos(List<CategoryOptionCombo> optionCombos) {
+    deleteAll("delete from minmaxdataelement where categoryoptioncomboid in (:ids)", optionCombos);
   }
 }
@@ -27,88 +27,53 @@
  */
 package org.hisp.dhis.validation;
 
-import static org.hisp.dhis.system.deletion.DeletionVeto.ACCEPT;
-
-import lombok.RequiredArgsConstructor;
+import java.util.List;
+import java.util.Map;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.Period;
-import org.hisp.dhis.system.deletion.DeletionHandler;
 import org.hisp.dhis.system.deletion.DeletionVeto;
+import org.hisp.dhis.system.deletion.JdbcDeletionHandler;
 import org.springframework.stereotype.Component;
 
 /**
  * @author Stian Sandvold
  */
 @Component
-@RequiredArgsConstructor
-public class ValidationResultDeletionHandler extends DeletionHandler {
+public class ValidationResultDeletionHandler extends JdbcDeletionHandler {
   private static final DeletionVeto VETO = new DeletionVeto(ValidationResult.class);
 
-  private final ValidationResultService validationResultService;
-
   @Override
   protected void register() {
-    whenDeleting(ValidationRule.class, this::deleteValidationRule);
+    whenDeletingAll(ValidationRule.class, this::deleteValidationRules);
     whenDeleting(Period.class, this::deletePeriod);
-    whenDeleting(OrganisationUnit.class, this::deleteOrganisationUnit);
-    whenDeleting(CategoryOptionCombo.class, this::deleteCategoryOptionCombo);
-    whenVetoing(ValidationRule.class, this::allowDeleteValidationRule);
+    whenDeletingAll(OrganisationUnit.class, this::deleteOrganisationUnits);
+    whenDeletingAll(CategoryOptionCombo.class, this::deleteCategoryOptionCombos);
+    whenVetoingAll(ValidationRule.class, this::allowDeleteValidationRules);
   }
 
-  private void deleteValidationRule(ValidationRule validationRule) {
-    validationResultService
-        .getAllValidationResults()
-        .forEach(
-            validationResult -> {
-              if (validationResult.getValidationRule().equals(validationRule)) {
-                validationResultService.deleteValidationResult(validationResult);
-              }
-            });
+  private void deleteValidationRules(List<ValidationRule> validationRules) {
+    deleteAll("delete from validationresult where validationruleid in (:ids)", validationRules);
   }
 
   private void deletePeriod(Period period) {
-    validationResultService
-        .getAllValidationResults()
-        .forEach(
-            validationResult -> {
-              if (validationResult.getPeriod().equals(period)) {
-                validationResultService.deleteValidationResult(validationResult);
-              }
-            });
+    delete("delete from validationresult where periodid = :id", Map.of("id", period.getId()));
   }
 
-  private void deleteOrganisationUnit(OrganisationUnit organisationUnit) {
-    validationResultService
-        .getAllValidationResults()
-        .forEach(
-            validationResult -> {
-              if (validationResult.getOrganisationUnit().equals(organisationUnit)) {
-                validationResultService.deleteValidationResult(validationResult);
-              }
-            });
+  private void deleteOrganisationUnits(List<OrganisationUnit> organisationUnits) {
+    deleteAll("delete from validationresult where organisationunitid in (:ids)", organisationUnits);
   }
 
-  private void deleteCategoryOptionCombo(CategoryOptionCombo dataElementCategoryOptionCombo) {
-    validationResultService
-        .getAllValidationResults()
-        .forEach(
-            validationResult -> {
-              if (validationResult
-                  .getAttributeOptionCombo()
-                  .equals(dataElementCategoryOptionCombo)) {
-                validationResultService.deleteValidationResult(validationResult);
-              }
-            });
+  private void deleteCategoryOptionCombos(List<CategoryOptionCombo> optionCombos) {
+    deleteAll("delete from validationresult where attributeoptioncomboid in (:ids)", optionCombos);
   }
 
-  private DeletionVeto allowDeleteValidationRule(ValidationRule validationRule) {
-    for (ValidationResult validationResult : validationResultService.getAllValidationResults()) {
-      if (validationResult.getValidationRule().equals(validationRule)) {
-        return VETO;
-      }
-    }
-
-    return ACCEPT;
+  private Map<ValidationRule, DeletionVeto> allowDeleteValidationRules(
+      List<ValidationRule> validationRules) {
+    return vetoAllIfExists(
+        VETO,
+        "select o.id from unnest(array[:ids]) as o(id) "
+            + "where exists (select 1 from validationresult where validationruleid = o.id)",
+        validationRules);
   }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dataanalysis;
+
+import static org.hisp.dhis.test.TestBase.createDataElement;
+import static org.hisp.dhis.test.TestBase.createOrganisationUnit;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.minmax.MinMaxDataElementService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Tests the failure handling of {@link MinMaxOutlierAnalysisService#generateMinMaxValues}. */
+@ExtendWith(MockitoExtension.class)
+class MinMaxValueGenerationTest {
+  @Mock private DataAnalysisStore dataAnalysisStore;
+
+  @Mock private MinMaxDataElementService minMaxDataElementService;
+
+  @InjectMocks private MinMaxOutlierAnalysisService service;
+
+  private OrganisationUnit orgUnit;
+
+  private List<DataElement> dataElements;
+
+  @BeforeEach
+  void setUp() {
+    orgUnit = createOrganisationUnit('A');
+    dataElements = List.of(createDataElement('A'));
+  }
+
+  @Test
+  void testGenerateThrowsFailureWithoutJob() {
+    when(dataAnalysisStore.generateMinMaxValues(anyCollection(), any(), any(), anyDouble()))
+        .thenThrow(new IllegalStateException("Generation failed"));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> service.generateMinMaxValues(orgUnit, dataElements, 2.0));
+  }
+
+  @Test
+  void testGenerateReportsFailureToJob() {
+    when(dataAnalysisStore.generateMinMaxValues(anyCollection(), any(), any(), anyDouble()))
+        .thenThrow(new IllegalStateException("Generation failed"));
+
+    assertDoesNotThrow(
+        () -> service.generateMinMaxValues(orgUnit, dataElements, 2.0, JobProgress.noop()));
+  }
+
+  @Test
+  void testGenerateSkippedWhenRemovalFails() {
+    doThrow(new IllegalStateException("Removal failed"))
+        .when(minMaxDataElementService)
+        .removeMinMaxDataElements(dataElements, orgUnit);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> service.generateMinMaxValues(orgUnit, dataElements, 2.0));
+    verify(dataAnalysisStore, never())
+        .generateMinMaxValues(anyCollection(), any(), any(), anyDouble());
+  }
+}
@@ -29,9 +29,12 @@ package org.hisp.dhis.artemis.audit;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -46,6 +49,9 @@ import org.springframework.stereotype.Component;
  * <p>To avoid excessive memory pressure, max 200 messages can stay in the queue: in-excess messages
  * are processed immediately.
  *
+ * <p>Equal messages which are already buffered are coalesced. The buffered messages are tracked in
+ * a hash set, as a lookup in the {@link DelayQueue} itself requires a linear scan.
+ *
  * @author Luciano Fiandesio
  */
 @Slf4j
@@ -57,10 +63,20 @@ public class AuditScheduler {
 
   private final AuditProducerSupplier auditProducerSupplier;
 
+  private final long delay;
+
   private final BlockingQueue<QueuedAudit> delayed = new DelayQueue<>();
 
+  private final Set<QueuedAudit> queued = ConcurrentHashMap.newKeySet();
+
+  @Autowired
   public AuditScheduler(AuditProducerSupplier auditProducerSupplier) {
+    this(auditProducerSupplier, DELAY);
+  }
+
+  AuditScheduler(AuditProducerSupplier auditProducerSupplier, long delay) {
     this.auditProducerSupplier = auditProducerSupplier;
+    this.delay = delay;
   }
 
   public void addAuditItem(final Audit auditItem) {
@@ -69,12 +85,12 @@ public class AuditScheduler {
           String.format("add Audit object with content %s to delayed queue", auditItem.toLog()));
     }
 
-    final QueuedAudit postponed = new QueuedAudit(auditItem, DELAY);
+    final QueuedAudit postponed = new QueuedAudit(auditItem, delay);
 
     if (delayed.size() >= MAX_SIZE) {
       auditProducerSupplier.publish(auditItem);
     } else {
-      if (!delayed.contains(postponed)) {
+      if (queued.add(postponed)) {
         boolean wasAddedToQueue = delayed.offer(postponed);
         log.debug("Audit queue accepted new audit item: {}", wasAddedToQueue);
       }
@@ -86,6 +102,7 @@ public class AuditScheduler {
     final Collection<QueuedAudit> expired = new ArrayList<>();
 
     delayed.drainTo(expired);
+    queued.removeAll(expired);
 
     expired.stream().map(QueuedAudit::getAuditItem).forEach(auditProducerSupplier::publish);
   }
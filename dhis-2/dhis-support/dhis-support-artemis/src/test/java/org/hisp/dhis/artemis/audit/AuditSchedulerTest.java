@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.artemis.audit;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.hisp.dhis.audit.AuditScope;
+import org.hisp.dhis.audit.AuditType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuditSchedulerTest {
+  @Mock private AuditProducerSupplier auditProducerSupplier;
+
+  @Test
+  void testProcess_CoalescesEqualAudits() {
+    AuditScheduler scheduler = new AuditScheduler(auditProducerSupplier, 0);
+    Audit audit = createAudit("DataElemUID");
+
+    scheduler.addAuditItem(audit);
+    scheduler.addAuditItem(createAudit("DataElemUID"));
+    scheduler.process();
+
+    verify(auditProducerSupplier).publish(audit);
+  }
+
+  @Test
+  void testProcess_QueuesAuditAgainAfterPublishing() {
+    AuditScheduler scheduler = new AuditScheduler(auditProducerSupplier, 0);
+    Audit audit = createAudit("DataElemUID");
+
+    scheduler.addAuditItem(audit);
+    scheduler.process();
+    scheduler.addAuditItem(audit);
+    scheduler.process();
+
+    verify(auditProducerSupplier, times(2)).publish(audit);
+  }
+
+  @Test
+  void testProcess_PublishesDistinctAudits() {
+    AuditScheduler scheduler = new AuditScheduler(auditProducerSupplier, 0);
+    Audit auditA = createAudit("DataElemUIA");
+    Audit auditB = createAudit("DataElemUIB");
+
+    scheduler.addAuditItem(auditA);
+    scheduler.addAuditItem(auditB);
+    scheduler.process();
+
+    verify(auditProducerSupplier).publish(auditA);
+    verify(auditProducerSupplier).publish(auditB);
+  }
+
+  @Test
+  void testAddAuditItem_PublishesImmediatelyWhenQueueIsFull() {
+    AuditScheduler scheduler = new AuditScheduler(auditProducerSupplier);
+
+    for (int i = 0; i < 200; i++) {
+      scheduler.addAuditItem(createAudit("DataElem" + i));
+    }
+
+    Audit excess = createAudit("DataElemXXX");
+    scheduler.addAuditItem(excess);
+    scheduler.process();
+
+    verify(auditProducerSupplier).publish(excess);
+    verify(auditProducerSupplier, never()).publish(createAudit("DataElem0"));
+  }
+
+  private static Audit createAudit(String uid) {
+    return Audit.builder()
+        .auditType(AuditType.UPDATE)
+        .auditScope(AuditScope.METADATA)
+        .klass("org.hisp.dhis.dataelement.DataElement")
+        .uid(uid)
+        .build();
+  }
+}
@@ -38,6 +38,9 @@ import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.cacheinvalidation.BaseCacheEvictionService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.MetadataObject;
+import org.hisp.dhis.common.cache.Region;
+import org.hisp.dhis.common.event.CacheInvalidationEvent;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataset.CompleteDataSetRegistration;
 import org.hisp.dhis.dataset.DataSet;
@@ -49,7 +52,9 @@ import org.hisp.dhis.trackedentity.TrackedEntity;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
+import org.hisp.dhis.user.User;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
@@ -66,6 +71,8 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
     implements RedisPubSubListener<String, String> {
   protected String serverInstanceId;
 
+  private final ApplicationEventPublisher eventPublisher;
+
   public CacheInvalidationListener(
       SessionFactory sessionFactory,
       PaginationCacheManager paginationCacheManager,
@@ -73,6 +80,7 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       IdentifiableObjectManager idObjectManager,
       TrackedEntityAttributeService trackedEntityAttributeService,
       PeriodService periodService,
+      ApplicationEventPublisher eventPublisher,
       @Qualifier("cacheInvalidationServerId") String serverInstanceId) {
     super(
         sessionFactory,
@@ -82,6 +90,7 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
         trackedEntityAttributeService,
         periodService);
 
+    this.eventPublisher = eventPublisher;
     this.serverInstanceId = serverInstanceId;
   }
 
@@ -138,6 +147,15 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       paginationCacheManager.evictCache(entityClass.getName());
       sessionFactory.getCache().evict(entityClass, entityId);
     }
+
+    if (MetadataObject.class.isAssignableFrom(entityClass)
+        && !User.class.isAssignableFrom(entityClass)) {
+      eventPublisher.publishEvent(new CacheInvalidationEvent(this, Region.trackerPreheatCache));
+    }
+
+    if (OrganisationUnit.class.isAssignableFrom(entityClass)) {
+      eventPublisher.publishEvent(new CacheInvalidationEvent(this, Region.inUserOrgUnitHierarchy));
+    }
   }
 
   private Serializable getEntityId(String message) throws ClassNotFoundException {
@@ -29,9 +29,11 @@ package org.hisp.dhis.cacheinvalidation.redis;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import org.hibernate.SessionFactory;
 import org.hibernate.cache.internal.DisabledCaching;
@@ -39,6 +41,8 @@ import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hisp.dhis.cache.PaginationCacheManager;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.cache.Region;
+import org.hisp.dhis.common.event.CacheInvalidationEvent;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.junit.jupiter.api.AfterEach;
@@ -47,6 +51,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * @author Morten Svanæs <msvanaes@dhis2.org>
@@ -67,6 +73,8 @@ class CacheInvalidationListenerTest {
 
   @Mock protected DisabledCaching disabledCaching;
 
+  @Mock protected ApplicationEventPublisher eventPublisher;
+
   private CacheInvalidationListener cacheInvalidationListener;
 
   private AutoCloseable closeable;
@@ -85,6 +93,7 @@ class CacheInvalidationListenerTest {
             idObjectManager,
             trackedEntityAttributeService,
             periodService,
+            eventPublisher,
             "SERVER_A");
 
     lenient().when(sessionFactory.getCache()).thenReturn(disabledCaching);
@@ -145,4 +154,28 @@ class CacheInvalidationListenerTest {
     verify(sessionFactory.getCache(), times(1)).evict(any(), any());
     verify(paginationCacheManager, times(1)).evictCache(anyString());
   }
+
+  @Test
+  @DisplayName("Should invalidate the tracker preheat cache on metadata messages")
+  void testMetadataMessage() {
+    String message =
+        "SERVER_B" + ":" + "UPDATE" + ":" + "org.hisp.dhis.dataelement.DataElement" + ":" + "1";
+    cacheInvalidationListener.message(CacheInvalidationConfig.CHANNEL_NAME, message);
+
+    verify(eventPublisher, times(1))
+        .publishEvent(
+            argThat(
+                (ApplicationEvent e) ->
+                    e instanceof CacheInvalidationEvent event
+                        && event.getRegion() == Region.trackerPreheatCache));
+  }
+
+  @Test
+  @DisplayName("Should not invalidate the tracker preheat cache on user messages")
+  void testUserMessage() {
+    String message = "SERVER_B" + ":" + "UPDATE" + ":" + "org.hisp.dhis.user.User" + ":" + "1";
+    cacheInvalidationListener.message(CacheInvalidationConfig.CHANNEL_NAME, message);
+
+    verifyNoInteractions(eventPublisher);
+  }
 }
@@ -0,0 +1,3 @@
+-- Flags program indicators which are computed when populating the analytics tables
+alter table programindicator
+    add column if not exists materialized boolean not null default false;
@@ -0,0 +1,63 @@
+-- Change log of data values and events used to drive latest analytics partition updates.
+-- The triggers which populate the table are created on startup when enabled in dhis.conf.
+create table if not exists analyticschangelog (
+    changelogid bigserial not null primary key,
+    tablename varchar(50) not null,
+    scopeid bigint,
+    key varchar(255) not null,
+    op char(1) not null,
+    txid bigint not null default txid_current(),
+    created timestamp not null default now()
+);
+
+create index if not exists in_analyticschangelog_tablename_txid
+    on analyticschangelog(tablename, txid);
+
+-- Committed high-water marks of the change log per source table. Entries with a transaction ID
+-- below txid are reflected in the main analytics tables, entries with a transaction ID below
+-- latesttxid are reflected in the latest analytics partition.
+create table if not exists analyticschangelogmark (
+    tablename varchar(50) not null primary key,
+    txid bigint not null,
+    latesttxid bigint not null
+);
+
+create or replace function analyticschangelog_datavalue() returns trigger as
+$$
+declare
+    old_key varchar(255);
+    new_key varchar(255);
+begin
+    if (TG_OP = 'UPDATE' or TG_OP = 'DELETE') then
+        old_key := concat_ws('-', OLD.dataelementid, OLD.periodid, OLD.sourceid,
+            OLD.categoryoptioncomboid, OLD.attributeoptioncomboid);
+        insert into analyticschangelog (tablename, key, op) values ('datavalue', old_key, left(TG_OP, 1));
+    end if;
+    if (TG_OP = 'INSERT' or TG_OP = 'UPDATE') then
+        new_key := concat_ws('-', NEW.dataelementid, NEW.periodid, NEW.sourceid,
+            NEW.categoryoptioncomboid, NEW.attributeoptioncomboid);
+        if (old_key is null or old_key <> new_key) then
+            insert into analyticschangelog (tablename, key, op) values ('datavalue', new_key, left(TG_OP, 1));
+        end if;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+create or replace function analyticschangelog_event() returns trigger as
+$$
+declare
+    ev record;
+begin
+    if (TG_OP = 'DELETE') then
+        ev := OLD;
+    else
+        ev := NEW;
+    end if;
+    insert into analyticschangelog (tablename, scopeid, key, op)
+    select 'event', ps.programid, ev.uid, left(TG_OP, 1)
+    from programstage ps
+    where ps.programstageid = ev.programstageid;
+    return null;
+end;
+$$ language plpgsql;
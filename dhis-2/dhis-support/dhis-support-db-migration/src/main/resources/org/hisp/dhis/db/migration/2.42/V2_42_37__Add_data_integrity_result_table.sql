@@ -0,0 +1,13 @@
+-- Persisted results of data integrity summary and details checks
+
+create table if not exists dataintegrityresult (
+    name varchar(255) not null,
+    type varchar(50) not null,
+    starttime timestamp not null,
+    finishedtime timestamp not null,
+    error text,
+    count integer,
+    percentage double precision,
+    issues jsonb,
+    constraint dataintegrityresult_pkey primary key (name, type)
+);
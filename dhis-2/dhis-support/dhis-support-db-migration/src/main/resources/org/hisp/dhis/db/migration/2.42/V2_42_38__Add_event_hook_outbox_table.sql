@@ -0,0 +1,17 @@
+-- Outbox of event hook events waiting to be delivered to a target of an event hook
+
+create table if not exists eventhookoutbox (
+    eventhookoutboxid bigserial not null,
+    eventhookuid varchar(11) not null,
+    targetid varchar(255) not null,
+    payload text not null,
+    created timestamp not null,
+    attempts integer not null default 0,
+    nextattempt timestamp not null,
+    lasterror text,
+    deadletter boolean not null default false,
+    constraint eventhookoutbox_pkey primary key (eventhookoutboxid)
+);
+
+create index if not exists in_eventhookoutbox_due
+    on eventhookoutbox (eventhookuid, targetid, nextattempt) where deadletter = false;
@@ -81,6 +81,22 @@ public enum ConfigurationKey {
    */
   NODE_PRIMARY_LEADER("node.primary_leader", "false", false),
 
+  /**
+   * When true, every node claims and runs due jobs instead of only the leader. The leader still
+   * takes care of housekeeping. (default: OFF)
+   */
+  SCHEDULING_DISTRIBUTED("scheduling.distributed", Constants.OFF, false),
+
+  /** Max number of jobs a node runs concurrently when scheduling is distributed. (default: 4) */
+  SCHEDULING_NODE_CAPACITY("scheduling.node.capacity", "4", false),
+
+  /**
+   * Max number of jobs of the same type running concurrently in the cluster, as comma separated
+   * {@code TYPE=limit} pairs, e.g. {@code DATA_INTEGRITY=2,EVENT_HOOK=4}. Types not listed run at
+   * most one at a time.
+   */
+  SCHEDULING_JOB_TYPE_CONCURRENCY("scheduling.job_type.concurrency", "", false),
+
   /** Encryption password (sensitive). */
   ENCRYPTION_PASSWORD("encryption.password", "", true),
 
@@ -406,6 +422,27 @@ public enum ConfigurationKey {
 
   PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT("tracker.temporary.ownership.timeout", "3", false),
 
+  /** Whether metadata preheated by tracker imports is cached across imports. (default: ON) */
+  TRACKER_IMPORT_PREHEAT_CACHE_ENABLED("tracker.import.preheat.cache.enabled", Constants.ON, false),
+
+  /**
+   * Max number of tracked entity aggregate sub-queries running concurrently. A value of 0 uses half
+   * of {@link #CONNECTION_POOL_MAX_SIZE}. (default: 0)
+   */
+  TRACKER_AGGREGATE_POOL_SIZE("tracker.aggregate.pool.size", "0", false),
+
+  /**
+   * Max number of tracked entity aggregate sub-queries waiting for a thread. Once the queue is full
+   * the requesting thread runs the sub-query itself. (default: 1000)
+   */
+  TRACKER_AGGREGATE_QUEUE_SIZE("tracker.aggregate.queue.size", "1000", false),
+
+  /**
+   * Whether tracked entity aggregate sub-queries run on virtual threads, if supported by the JVM.
+   * (default: OFF)
+   */
+  TRACKER_AGGREGATE_VIRTUAL_THREADS("tracker.aggregate.virtual_threads", Constants.OFF, false),
+
   /** Use unlogged tables during analytics export. (default: ON) */
   ANALYTICS_TABLE_UNLOGGED("analytics.table.unlogged", Constants.ON),
 
@@ -421,6 +458,37 @@ public enum ConfigurationKey {
    */
   ANALYTICS_TABLE_SKIP_COLUMN("analytics.table.skip_column", "", false),
 
+  /**
+   * Populate the aggregate analytics table with a single scan of the data value table per
+   * partition, instead of one scan per value type category. Applies to the analytics database in
+   * use. (default: false)
+   */
+  ANALYTICS_TABLE_SINGLE_PASS_POPULATION(
+      "analytics.table.single_pass_population", Constants.OFF, false),
+
+  /**
+   * Granularity of the aggregate analytics table partitions, can be 'YEAR', 'QUARTER' or 'MONTH'.
+   * Sub-yearly granularity requires the PostgreSQL analytics database and the ISO calendar.
+   * (default: YEAR)
+   */
+  ANALYTICS_TABLE_PARTITION_GRANULARITY("analytics.table.partition_granularity", "YEAR", false),
+
+  /**
+   * Capture inserts, updates and deletes of data values and events in a change log table through
+   * database triggers, and use the change log to find changed data during latest analytics
+   * partition updates. Requires the PostgreSQL analytics database. (default: OFF)
+   */
+  ANALYTICS_TABLE_CHANGE_LOG("analytics.table.change_log", Constants.OFF, false),
+
+  /**
+   * Stream unpaged event and enrollment query responses (JSON and CSV) straight from the database
+   * cursor instead of building the full response in memory. (default: ON)
+   */
+  ANALYTICS_QUERY_STREAMING("analytics.query.streaming", Constants.ON, false),
+
+  /** Number of rows fetched per round trip when streaming query responses. (default: 1000) */
+  ANALYTICS_QUERY_STREAMING_FETCH_SIZE("analytics.query.streaming.fetch_size", "1000", false),
+
   /**
    * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded Artemis which lives in
    * the same process as your DHIS2 instance), NATIVE (connects to an external Artemis instance,
@@ -541,6 +609,26 @@ public enum ConfigurationKey {
   /** Save audits to database table "audit". (default: off). */
   AUDIT_DATABASE("audit.database", Constants.OFF, false),
 
+  /**
+   * Maximum number of audits consumed from the audit queues which are saved to the database in one
+   * batch. Pending audits are saved at least every second. (default: 500).
+   */
+  AUDIT_DATABASE_BATCH_SIZE("audit.database.batch_size", "500", false),
+
+  /**
+   * Number of monthly partitions to create ahead of time for audit tables which were converted to
+   * partitioned tables with the audit table partitioning maintenance operation. Inserts fail when
+   * the partition of the current month is missing, running the audit table partitioning job creates
+   * it. (default: 3).
+   */
+  AUDIT_TABLE_PARTITIONS_AHEAD("audit.table.partitions_ahead", "3", false),
+
+  /**
+   * Number of months to keep in partitioned audit tables. Older monthly partitions are dropped, 0
+   * keeps all partitions. (default: 0).
+   */
+  AUDIT_TABLE_RETENTION_MONTHS("audit.table.retention_months", "0", false),
+
   /** Sets the audit matrix for metadata. (default: none). */
   AUDIT_METADATA_MATRIX("audit.metadata", "", false),
 
@@ -694,7 +782,61 @@ public enum ConfigurationKey {
    * The maximum number of possible category combination. This is computed by multiplying the number
    * of options in each category in a category combo with each other.
    */
-  METADATA_CATEGORIES_MAX_COMBINATIONS("metadata.categories.max_combinations", "500", false);
+  METADATA_CATEGORIES_MAX_COMBINATIONS("metadata.categories.max_combinations", "500", false),
+
+  /** Max number of data integrity checks which run in parallel. (default: 4) */
+  DATA_INTEGRITY_PARALLELISM("data_integrity.parallelism", "4", false),
+
+  /** Max number of data integrity checks marked as slow which run in parallel. (default: 1) */
+  DATA_INTEGRITY_SLOW_PARALLELISM("data_integrity.slow_parallelism", "1", false),
+
+  /**
+   * Max number of event hook events sent to a target in one request. Webhook targets receive a JSON
+   * array when more than one event is sent. (default: 1)
+   */
+  EVENT_HOOK_DELIVERY_BATCH_SIZE("event_hook.delivery.batch_size", "1", false),
+
+  /**
+   * Max number of requests sent to a single event hook target in parallel, across all nodes when
+   * the value is 1. Events are only delivered in order with a value of 1, until an event is moved
+   * to the dead letters. (default: 1)
+   */
+  EVENT_HOOK_DELIVERY_CONCURRENCY("event_hook.delivery.concurrency", "1", false),
+
+  /**
+   * Max number of attempts to deliver an event hook event before it is moved to the dead letters.
+   * (default: 10)
+   */
+  EVENT_HOOK_DELIVERY_MAX_ATTEMPTS("event_hook.delivery.max_attempts", "10", false),
+
+  /**
+   * Delay in milliseconds before the first retry of a failed event hook delivery. The delay doubles
+   * with each further attempt. (default: 1000)
+   */
+  EVENT_HOOK_DELIVERY_RETRY_DELAY("event_hook.delivery.retry_delay", "1000", false),
+
+  /**
+   * Max delay in milliseconds between two attempts of an event hook delivery. (default: 3600000)
+   */
+  EVENT_HOOK_DELIVERY_MAX_RETRY_DELAY("event_hook.delivery.max_retry_delay", "3600000", false),
+
+  /** Timeout in milliseconds for connecting to the target of a route. (default: 5000) */
+  ROUTE_CONNECT_TIMEOUT("route.connect_timeout", "5000", false),
+
+  /**
+   * Timeout in milliseconds for waiting on data from the target of a route, applies between two
+   * consecutive reads rather than to the full response. (default: 10000)
+   */
+  ROUTE_SOCKET_TIMEOUT("route.socket_timeout", "10000", false),
+
+  /**
+   * Timeout in milliseconds for waiting on a free connection from the connection pool of a route.
+   * (default: 1000)
+   */
+  ROUTE_CONNECTION_REQUEST_TIMEOUT("route.connection_request_timeout", "1000", false),
+
+  /** Max number of open connections to the target of a single route. (default: 20) */
+  ROUTE_MAX_CONNECTIONS("route.max_connections", "20", false);
 
   private final String key;
 
@@ -183,6 +183,9 @@ public class HibernateConfig {
 
     properties.put(AvailableSettings.HBM2DDL_AUTO, getHibernateSchemaAction(dhisConfig));
 
+    // Audit tables can be converted to partitioned tables, which must pass schema validation
+    properties.put(AvailableSettings.EXTRA_PHYSICAL_TABLE_TYPES, "PARTITIONED TABLE");
+
     // TODO: this is anti-pattern and should be turn off
     properties.put("hibernate.allow_update_outside_transaction", "true");
 
@@ -172,17 +172,6 @@ public class DefaultCacheProvider implements CacheProvider {
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1))));
   }
 
-  @Override
-  public <V> Cache<V> createInUserOrgUnitHierarchyCache() {
-    return registerCache(
-        this.<V>newBuilder()
-            .forRegion(Region.inUserOrgUnitHierarchy.name())
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .withInitialCapacity((int) getActualSize(SIZE_1K))
-            .forceInMemory()
-            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
-  }
-
   @Override
   public <V> Cache<V> createInUserSearchOrgUnitHierarchyCache() {
     return registerCache(
@@ -481,4 +470,19 @@ public class DefaultCacheProvider implements CacheProvider {
             .forceInMemory()
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
+
+  /**
+   * Cache for total counts of paginated tracker exports. Counts are estimates that are refreshed
+   * after expiry, so that paging through a large export does not recount all items on every page.
+   */
+  @Override
+  public <V> Cache<V> createTrackerPageCountCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.trackerPageCountCache.name())
+            .expireAfterWrite(5, MINUTES)
+            .withInitialCapacity((int) getActualSize(SIZE_100))
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
 }
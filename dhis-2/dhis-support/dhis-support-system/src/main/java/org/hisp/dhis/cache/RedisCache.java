@@ -32,22 +32,49 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toSet;
 import static org.springframework.util.Assert.hasText;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 
 /**
  * A redis backed implementation of {@link Cache}. This implementation uses a shared redis cache
  * server for any number of instances.
  *
+ * <p>Values computed by {@link #get(String, Function)} are loaded at most once per key at a time:
+ * within a node by waiting for the load in progress, across nodes by a short-lived redis lock per
+ * key. Nodes that do not get the lock wait for the value to appear for as long as the lock lives
+ * before they compute the value themselves.
+ *
  * @author Ameen Mohamed
  */
+@Slf4j
 public class RedisCache<V> implements Cache<V> {
   private static final String VALUE_CANNOT_BE_NULL = "Value cannot be null";
 
+  /** How long a node may hold the lock to load a key before other nodes load it as well. */
+  private static final long LOCK_SECONDS = 10;
+
+  private static final long LOCK_POLL_MILLIS = 50;
+
+  private static final byte[] UNLOCK_SCRIPT =
+      """
+      if redis.call('get', KEYS[1]) == ARGV[1] then
+        return redis.call('del', KEYS[1])
+      end
+      return 0
+      """
+          .getBytes(StandardCharsets.UTF_8);
+
   private RedisTemplate<String, V> redisTemplate;
 
   private boolean refreshExpriryOnAccess;
@@ -60,6 +87,10 @@ public class RedisCache<V> implements Cache<V> {
 
   private boolean expiryEnabled;
 
+  private long refreshAheadInSeconds;
+
+  private final SingleFlight<V> loads = new SingleFlight<>();
+
   /**
    * Constructor for instantiating RedisCache.
    *
@@ -73,6 +104,15 @@ public class RedisCache<V> implements Cache<V> {
     this.cacheRegion = cacheBuilder.getRegion();
     this.defaultValue = cacheBuilder.getDefaultValue();
     this.expiryEnabled = cacheBuilder.isExpiryEnabled();
+    long refreshAhead = cacheBuilder.getRefreshAheadInSeconds();
+    // the age of a redis value is derived from its TTL so refresh-ahead needs expiry
+    this.refreshAheadInSeconds =
+        expiryEnabled
+                && !refreshExpriryOnAccess
+                && refreshAhead > 0
+                && refreshAhead < expiryInSeconds
+            ? refreshAhead
+            : 0L;
   }
 
   @Override
@@ -109,20 +149,118 @@ public class RedisCache<V> implements Cache<V> {
     V value = redisTemplate.boundValueOps(redisKey).get();
 
     if (null == value) {
-      value = mappingFunction.apply(key);
-
-      if (null != value) {
-        if (expiryEnabled) {
-          redisTemplate.boundValueOps(redisKey).set(value, expiryInSeconds, SECONDS);
-        } else {
-          redisTemplate.boundValueOps(redisKey).set(value);
-        }
-      }
+      value = loads.load(key, () -> loadLocked(key, mappingFunction));
+    } else if (isDueForRefresh(redisKey)) {
+      loads.loadInBackground(key, () -> reloadLocked(key, mappingFunction));
     }
 
     return Optional.ofNullable(value).orElse(defaultValue);
   }
 
+  private V loadLocked(String key, Function<String, V> mappingFunction) {
+    String redisKey = generateKey(key);
+    String lockKey = generateLockKey(key);
+    String token = UUID.randomUUID().toString();
+    if (tryLock(lockKey, token)) {
+      try {
+        // another node might have completed loading the key just before this one got the lock
+        V value = redisTemplate.boundValueOps(redisKey).get();
+        return value != null ? value : load(key, mappingFunction);
+      } finally {
+        unlock(lockKey, token);
+      }
+    }
+    long waitUntil = System.currentTimeMillis() + SECONDS.toMillis(LOCK_SECONDS);
+    while (System.currentTimeMillis() < waitUntil) {
+      try {
+        Thread.sleep(LOCK_POLL_MILLIS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      V value = redisTemplate.boundValueOps(redisKey).get();
+      if (value != null) {
+        return value;
+      }
+      if (!Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+        break; // the loading node finished without a value or gave up
+      }
+    }
+    return load(key, mappingFunction);
+  }
+
+  private V reloadLocked(String key, Function<String, V> mappingFunction) {
+    String lockKey = generateLockKey(key);
+    String token = UUID.randomUUID().toString();
+    if (!tryLock(lockKey, token)) {
+      return null; // another node is already reloading
+    }
+    try {
+      return load(key, mappingFunction);
+    } finally {
+      unlock(lockKey, token);
+    }
+  }
+
+  private V load(String key, Function<String, V> mappingFunction) {
+    V value = mappingFunction.apply(key);
+
+    if (null != value) {
+      String redisKey = generateKey(key);
+      if (expiryEnabled) {
+        redisTemplate.boundValueOps(redisKey).set(value, expiryInSeconds, SECONDS);
+      } else {
+        redisTemplate.boundValueOps(redisKey).set(value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * A value is due for refresh when its remaining TTL shows it is older than the refresh-ahead
+   * duration.
+   */
+  private boolean isDueForRefresh(String redisKey) {
+    if (refreshAheadInSeconds <= 0) {
+      return false;
+    }
+    Long ttl = redisTemplate.getExpire(redisKey, SECONDS);
+    return ttl != null && ttl >= 0 && expiryInSeconds - ttl >= refreshAheadInSeconds;
+  }
+
+  private boolean tryLock(String lockKey, String token) {
+    return Boolean.TRUE.equals(
+        redisTemplate.execute(
+            (RedisCallback<Boolean>)
+                connection ->
+                    connection
+                        .stringCommands()
+                        .set(
+                            toBytes(lockKey),
+                            toBytes(token),
+                            Expiration.seconds(LOCK_SECONDS),
+                            SetOption.SET_IF_ABSENT)));
+  }
+
+  private void unlock(String lockKey, String token) {
+    try {
+      redisTemplate.execute(
+          (RedisCallback<Long>)
+              connection ->
+                  connection
+                      .scriptingCommands()
+                      .eval(
+                          UNLOCK_SCRIPT, ReturnType.INTEGER, 1, toBytes(lockKey), toBytes(token)));
+    } catch (RuntimeException ex) {
+      // the lock expires by itself
+      log.warn("Failed to release cache lock " + lockKey, ex);
+    }
+  }
+
+  private static byte[] toBytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
   @Override
   public Stream<V> getAll() {
     Set<String> keySet = redisTemplate.keys(getAllKeysInRegionPattern());
@@ -188,6 +326,10 @@ public class RedisCache<V> implements Cache<V> {
     return cacheRegion.concat(":").concat(key);
   }
 
+  private String generateLockKey(String key) {
+    return "lock:".concat(generateKey(key));
+  }
+
   private String getAllKeysInRegionPattern() {
     return generateKey("*");
   }
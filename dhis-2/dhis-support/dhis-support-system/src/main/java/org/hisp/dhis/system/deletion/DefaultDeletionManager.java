@@ -29,7 +29,12 @@ package org.hisp.dhis.system.deletion;
 
 import static java.lang.String.format;
 
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -49,7 +54,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * TODO: Add support for failed allow tests on "transitive" deletion handlers which are called as
+ * Handlers are kept in their set based form. Handlers registered for single objects are wrapped to
+ * be called once per object, so that single and bulk deletes run the same handler pipeline.
+ *
+ * <p>TODO: Add support for failed allow tests on "transitive" deletion handlers which are called as
  * part of delete methods.
  *
  * @author Lars Helge Overland
@@ -58,82 +66,176 @@ import org.springframework.transaction.annotation.Transactional;
 @Component("deletionManager")
 public class DefaultDeletionManager implements DeletionManager {
 
+  /** Max number of objects passed to a set based handler at once. */
+  private static final int BATCH_SIZE = 1_000;
+
   @SuppressWarnings("rawtypes")
   private static final Queue EMPTY = new LinkedList();
 
-  private final ConcurrentMap<Class<?>, Queue<Function<?, DeletionVeto>>> vetoHandlersByType =
+  private final ConcurrentMap<Class<?>, Queue<VetoStep<?>>> vetoHandlersByType =
       new ConcurrentHashMap<>();
 
-  private final ConcurrentMap<Class<?>, Queue<Consumer<?>>> deletionHandlersByType =
+  private final ConcurrentMap<Class<?>, Queue<DeletionStep<?>>> deletionHandlersByType =
       new ConcurrentHashMap<>();
 
   @Override
   public <T extends IdentifiableObject> void whenVetoing(
       Class<T> type, Function<T, DeletionVeto> vetoFunction) {
-    vetoHandlersByType
-        .computeIfAbsent(type, key -> new ConcurrentLinkedQueue<>())
-        .add(vetoFunction);
+    addVetoHandler(
+        type, new VetoStep<>(vetoFunction.toString(), objects -> vetoEach(objects, vetoFunction)));
+  }
+
+  @Override
+  public <T extends IdentifiableObject> void whenVetoingAll(
+      Class<T> type, Function<List<T>, Map<T, DeletionVeto>> vetoFunction) {
+    addVetoHandler(type, new VetoStep<>(vetoFunction.toString(), vetoFunction));
   }
 
   @Override
   public <T extends IdentifiableObject> void whenDeleting(Class<T> type, Consumer<T> action) {
-    deletionHandlersByType.computeIfAbsent(type, key -> new ConcurrentLinkedQueue<>()).add(action);
+    addDeletionHandler(
+        type, new DeletionStep<>(action.toString(), objects -> objects.forEach(action)));
+  }
+
+  @Override
+  public <T extends IdentifiableObject> void whenDeletingAll(
+      Class<T> type, Consumer<List<T>> action) {
+    addDeletionHandler(type, new DeletionStep<>(action.toString(), action));
   }
 
   @Override
   public <T extends EmbeddedObject> void whenDeletingEmbedded(Class<T> type, Consumer<T> action) {
-    deletionHandlersByType.computeIfAbsent(type, key -> new ConcurrentLinkedQueue<>()).add(action);
+    addDeletionHandler(
+        type, new DeletionStep<>(action.toString(), objects -> objects.forEach(action)));
+  }
+
+  private <T> void addVetoHandler(Class<T> type, VetoStep<T> handler) {
+    vetoHandlersByType.computeIfAbsent(type, key -> new ConcurrentLinkedQueue<>()).add(handler);
+  }
+
+  private <T> void addDeletionHandler(Class<T> type, DeletionStep<T> handler) {
+    deletionHandlersByType.computeIfAbsent(type, key -> new ConcurrentLinkedQueue<>()).add(handler);
   }
 
   @Override
   @Transactional
   @EventListener(condition = "#event.rollback")
   public void onDeletion(ObjectDeletionRequestedEvent event) {
-    deleteObjects(event.getSource());
+    deleteObject(event.getSource());
   }
 
   @Override
   @Transactional(noRollbackFor = DeleteNotAllowedException.class)
   @EventListener(condition = "!#event.rollback")
   public void onDeletionWithoutRollBack(ObjectDeletionRequestedEvent event) {
-    deleteObjects(event.getSource());
+    deleteObject(event.getSource());
   }
 
-  private <T> void deleteObjects(T object) {
-    Class<T> clazz = getClazz(object);
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    Queue<Function<T, DeletionVeto>> vetoHandlers =
-        (Queue) vetoHandlersByType.getOrDefault(clazz, EMPTY);
+  @Override
+  @Transactional(noRollbackFor = DeleteNotAllowedException.class)
+  public <T extends IdentifiableObject> Map<T, DeletionVeto> onDeletionOfAll(
+      Class<T> type, List<T> objects) {
+    Map<T, DeletionVeto> vetoes = new LinkedHashMap<>();
+    List<T> accepted = new ArrayList<>();
+
+    // All veto handlers run before the first deletion handler, so that a failing veto handler does
+    // not veto objects of which related objects have been removed already. A failing handler only
+    // vetoes the objects of its own batch, the related objects removed for earlier batches belong
+    // to objects which are deleted.
+
+    for (List<T> batch : Lists.partition(objects, BATCH_SIZE)) {
+      try {
+        Map<T, DeletionVeto> vetoed = vetoObjects(type, batch);
+        vetoes.putAll(vetoed);
+        batch.stream().filter(object -> !vetoed.containsKey(object)).forEach(accepted::add);
+      } catch (DeleteNotAllowedException ex) {
+        vetoBatch(type, batch, ex, vetoes);
+      }
+    }
+
+    for (List<T> batch : Lists.partition(accepted, BATCH_SIZE)) {
+      try {
+        removeRelatedObjects(type, batch);
+      } catch (DeleteNotAllowedException ex) {
+        vetoBatch(type, batch, ex, vetoes);
+      }
+    }
+
+    return vetoes;
+  }
+
+  private static <T> void vetoBatch(
+      Class<T> type, List<T> batch, DeleteNotAllowedException ex, Map<T, DeletionVeto> vetoes) {
+    DeletionVeto veto = new DeletionVeto(type, ex.getMessage());
+    batch.forEach(object -> vetoes.put(object, veto));
+  }
+
+  private <T> void deleteObject(T object) {
+    Map<T, DeletionVeto> vetoes = deleteObjects(getClazz(object), List.of(object));
+
+    if (!vetoes.isEmpty()) {
+      throw new DeleteNotAllowedException(
+          new ErrorMessage(ErrorCode.E4030, vetoes.get(object).getMessage()));
+    }
+  }
+
+  /**
+   * Runs the veto handlers for the given objects, followed by the deletion handlers for the objects
+   * which are not vetoed.
+   *
+   * @return the vetoed objects with their veto
+   */
+  private <T> Map<T, DeletionVeto> deleteObjects(Class<T> clazz, List<T> objects) {
+    Map<T, DeletionVeto> vetoes = vetoObjects(clazz, objects);
+
+    if (vetoes.size() < objects.size()) {
+      removeRelatedObjects(
+          clazz, objects.stream().filter(object -> !vetoes.containsKey(object)).toList());
+    }
+
+    return vetoes;
+  }
+
+  /**
+   * Runs the veto handlers for the given objects.
+   *
+   * @return the vetoed objects with their veto
+   */
+  private <T> Map<T, DeletionVeto> vetoObjects(Class<T> clazz, List<T> objects) {
     @SuppressWarnings({"rawtypes", "unchecked"})
-    Queue<Consumer<T>> deletionHandlers = (Queue) deletionHandlersByType.getOrDefault(clazz, EMPTY);
-    if (vetoHandlers.isEmpty() && deletionHandlers.isEmpty()) {
-      log.debug("No deletion handlers registered, aborting deletion handling");
-      return;
+    Queue<VetoStep<T>> vetoHandlers = (Queue) vetoHandlersByType.getOrDefault(clazz, EMPTY);
+    if (vetoHandlers.isEmpty()) {
+      return Map.of();
     }
 
     log.debug("Veto handlers detected: " + vetoHandlers.size());
-    log.debug("Deletion handlers detected: " + deletionHandlers.size());
 
     String className = clazz.getSimpleName();
 
     // ---------------------------------------------------------------------
-    // Verify that object is allowed to be deleted
+    // Verify that objects are allowed to be deleted
     // ---------------------------------------------------------------------
 
+    Map<T, DeletionVeto> vetoes = new LinkedHashMap<>();
+    List<T> accepted = new ArrayList<>(objects);
+
     String handlerName = "";
     try {
-      for (Function<T, DeletionVeto> handler : vetoHandlers) {
-        handlerName = handler.toString();
-        log.debug("Check if allowed using " + handlerName + " for class " + className);
+      for (VetoStep<T> handler : vetoHandlers) {
+        if (accepted.isEmpty()) {
+          break;
+        }
 
-        DeletionVeto veto = handler.apply(object);
+        handlerName = handler.name();
+        log.debug("Check if allowed using " + handlerName + " for class " + className);
 
-        if (veto.isVetoed()) {
-          ErrorMessage errorMessage = new ErrorMessage(ErrorCode.E4030, veto.getMessage());
+        Map<T, DeletionVeto> vetoed = handler.function().apply(accepted);
 
-          log.debug("Delete was not allowed by " + handlerName + ": " + errorMessage);
+        if (!vetoed.isEmpty()) {
+          log.debug("Delete of " + vetoed.size() + " object(s) was not allowed by " + handlerName);
 
-          throw new DeleteNotAllowedException(errorMessage);
+          vetoes.putAll(vetoed);
+          accepted.removeIf(vetoed::containsKey);
         }
       }
     } catch (DeleteNotAllowedException ex) {
@@ -148,18 +250,29 @@ public class DefaultDeletionManager implements DeletionManager {
                   handlerName, ex.getMessage())));
     }
 
-    // ---------------------------------------------------------------------
-    // Delete associated objects
-    // ---------------------------------------------------------------------
+    return vetoes;
+  }
 
-    handlerName = "";
+  /** Runs the deletion handlers for the given objects. */
+  private <T> void removeRelatedObjects(Class<T> clazz, List<T> objects) {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    Queue<DeletionStep<T>> deletionHandlers =
+        (Queue) deletionHandlersByType.getOrDefault(clazz, EMPTY);
+    if (deletionHandlers.isEmpty()) {
+      return;
+    }
+
+    log.debug("Deletion handlers detected: " + deletionHandlers.size());
+
+    String className = clazz.getSimpleName();
+    String handlerName = "";
     try {
-      for (Consumer<T> handler : deletionHandlers) {
-        handlerName = handler.toString();
+      for (DeletionStep<T> handler : deletionHandlers) {
+        handlerName = handler.name();
 
-        log.debug("Deleting object using " + handlerName + " for class " + className);
+        log.debug("Deleting objects using " + handlerName + " for class " + className);
 
-        handler.accept(object);
+        handler.action().accept(objects);
       }
     } catch (Exception ex) {
       log.error("Deletion failed, deletion handler '" + handlerName + "' threw an exception: ", ex);
@@ -171,11 +284,30 @@ public class DefaultDeletionManager implements DeletionManager {
                   handlerName, ex.getMessage())));
     }
 
-    log.debug("Deleted objects associated with object of type " + className);
+    log.debug("Deleted objects associated with objects of type " + className);
+  }
+
+  private static <T> Map<T, DeletionVeto> vetoEach(
+      List<T> objects, Function<T, DeletionVeto> vetoFunction) {
+    Map<T, DeletionVeto> vetoes = new LinkedHashMap<>();
+
+    for (T object : objects) {
+      DeletionVeto veto = vetoFunction.apply(object);
+
+      if (veto.isVetoed()) {
+        vetoes.put(object, veto);
+      }
+    }
+
+    return vetoes;
   }
 
   @SuppressWarnings("unchecked")
   private <T> Class<T> getClazz(T object) {
     return HibernateProxyUtils.getRealClass(object);
   }
+
+  private record VetoStep<T>(String name, Function<List<T>, Map<T, DeletionVeto>> function) {}
+
+  private record DeletionStep<T>(String name, Consumer<List<T>> action) {}
 }
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.system.deletion;
 
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.PostConstruct;
@@ -42,6 +44,10 @@ import org.springframework.beans.factory.annotation.Autowired;
  * if there exists objects that are dependent on the DataElement and are considered not be deleted.
  * The return value could be a hint for which object is denying the deletion, like the name.
  *
+ * <p>Handlers which can check or remove the associations of many objects with a single query should
+ * register with {@link #whenVetoingAll(Class, Function)} and {@link #whenDeletingAll(Class,
+ * Consumer)}, so that bulk deletes do not run a query per deleted object.
+ *
  * @author Lars Helge Overland
  */
 public abstract class DeletionHandler {
@@ -57,11 +63,21 @@ public abstract class DeletionHandler {
     manager.whenVetoing(type, vetoFunction);
   }
 
+  protected final <T extends IdentifiableObject> void whenVetoingAll(
+      Class<T> type, Function<List<T>, Map<T, DeletionVeto>> vetoFunction) {
+    manager.whenVetoingAll(type, vetoFunction);
+  }
+
   protected final <T extends IdentifiableObject> void whenDeleting(
       Class<T> type, Consumer<T> action) {
     manager.whenDeleting(type, action);
   }
 
+  protected final <T extends IdentifiableObject> void whenDeletingAll(
+      Class<T> type, Consumer<List<T>> action) {
+    manager.whenDeletingAll(type, action);
+  }
+
   protected final <T extends EmbeddedObject> void whenDeletingEmbedded(
       Class<T> type, Consumer<T> action) {
     manager.whenDeletingEmbedded(type, action);
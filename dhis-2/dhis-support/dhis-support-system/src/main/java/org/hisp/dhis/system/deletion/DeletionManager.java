@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.system.deletion;
 
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.hisp.dhis.common.EmbeddedObject;
@@ -50,6 +52,17 @@ public interface DeletionManager {
   <T extends IdentifiableObject> void whenVetoing(
       Class<T> type, Function<T, DeletionVeto> vetoFunction);
 
+  /**
+   * Register a handler for vetoing which checks many objects of the same type at once.
+   *
+   * @param type type of objects about to be deleted
+   * @param vetoFunction a {@link Function} that when given the objects about to be deleted returns
+   *     the {@link DeletionVeto} for each vetoed object, objects not contained are accepted
+   * @param <T> type of the objects about to be deleted
+   */
+  <T extends IdentifiableObject> void whenVetoingAll(
+      Class<T> type, Function<List<T>, Map<T, DeletionVeto>> vetoFunction);
+
   /**
    * Register a handler to listen deletion of a given object type.
    *
@@ -59,6 +72,15 @@ public interface DeletionManager {
    */
   <T extends IdentifiableObject> void whenDeleting(Class<T> type, Consumer<T> action);
 
+  /**
+   * Register a handler to listen deletion of many objects of a given type at once.
+   *
+   * @param type type of objects being deleted
+   * @param action action to perform when the objects are deleted, accepting the deleted objects
+   * @param <T> type of the objects being deleted
+   */
+  <T extends IdentifiableObject> void whenDeletingAll(Class<T> type, Consumer<List<T>> action);
+
   /**
    * Register a handler to listen deletion of a given object type.
    *
@@ -85,4 +107,20 @@ public interface DeletionManager {
    * @param event consumed event
    */
   void onDeletionWithoutRollBack(ObjectDeletionRequestedEvent event);
+
+  /**
+   * Runs the veto and deletion handlers for many objects of the same type which are about to be
+   * deleted. Handlers registered for many objects are called once per batch of objects, handlers
+   * registered for single objects once per object. The deletion handlers are only called for the
+   * objects which are not vetoed.
+   *
+   * <p>Vetoed objects must not be deleted by the caller, all other objects must be deleted.
+   *
+   * @param type type of objects about to be deleted
+   * @param objects the objects about to be deleted
+   * @return the {@link DeletionVeto} for each vetoed object
+   * @param <T> type of the objects about to be deleted
+   */
+  <T extends IdentifiableObject> Map<T, DeletionVeto> onDeletionOfAll(
+      Class<T> type, List<T> objects);
 }
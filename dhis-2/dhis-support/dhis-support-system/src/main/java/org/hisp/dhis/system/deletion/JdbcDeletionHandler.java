@@ -27,8 +27,14 @@
  */
 package org.hisp.dhis.system.deletion;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -57,10 +63,48 @@ public abstract class JdbcDeletionHandler extends DeletionHandler {
     return exists(sql, parameters) ? veto : DeletionVeto.ACCEPT;
   }
 
+  /**
+   * Vetoes the deletion of the objects whose ID is returned by the given query.
+   *
+   * @param veto the veto for each vetoed object
+   * @param sql query returning the IDs of the vetoed objects, the IDs of all objects are passed as
+   *     parameter {@code ids}
+   * @param objects the objects about to be deleted
+   * @return the vetoed objects with their veto
+   */
+  protected final <T extends IdentifiableObject> Map<T, DeletionVeto> vetoAllIfExists(
+      DeletionVeto veto, String sql, Collection<T> objects) {
+    Set<Long> vetoed =
+        new HashSet<>(
+            npTemplate.queryForList(
+                sql, Map.of("ids", IdentifiableObjectUtils.getIdentifiers(objects)), Long.class));
+    if (vetoed.isEmpty()) {
+      return Map.of();
+    }
+    Map<T, DeletionVeto> vetoes = new LinkedHashMap<>();
+    for (T object : objects) {
+      if (vetoed.contains(object.getId())) {
+        vetoes.put(object, veto);
+      }
+    }
+    return vetoes;
+  }
+
   protected final int delete(String sql, Map<String, Object> parameters) {
     return npTemplate.update(sql, parameters);
   }
 
+  /**
+   * Runs a set based delete for the given objects.
+   *
+   * @param sql the delete statement, the IDs of all objects are passed as parameter {@code ids}
+   * @param objects the deleted objects
+   * @return number of deleted rows
+   */
+  protected final int deleteAll(String sql, Collection<? extends IdentifiableObject> objects) {
+    return npTemplate.update(sql, Map.of("ids", IdentifiableObjectUtils.getIdentifiers(objects)));
+  }
+
   protected final String firstMatch(String sql, Map<String, Object> parameters) {
     if (!sql.toLowerCase().contains("limit 1")) {
       sql = sql + " limit 1";
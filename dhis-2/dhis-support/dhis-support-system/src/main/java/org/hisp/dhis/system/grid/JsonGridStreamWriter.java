@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.hisp.dhis.common.adapter.OutputFormatter.maybeFormat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridStreamWriter;
+
+/**
+ * Streams a {@link Grid} as JSON with the same members as the serialized {@link ListGrid}. Headers
+ * and meta-data are written before the rows, the height and references after them.
+ */
+public class JsonGridStreamWriter implements GridStreamWriter {
+
+  private final JsonGenerator generator;
+
+  private int width = -1;
+
+  private int height;
+
+  public JsonGridStreamWriter(ObjectMapper mapper, OutputStream out) {
+    try {
+      this.generator = mapper.getFactory().createGenerator(out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public void writeStart(Grid grid) {
+    try {
+      generator.writeStartObject();
+      generator.writeObjectField("headers", grid.getHeaders());
+      generator.writeObjectField("metaData", grid.getMetaData());
+      generator.writeObjectField("rowContext", Map.of());
+      generator.writeNumberField("headerWidth", grid.getHeaderWidth());
+      generator.writeArrayFieldStart("rows");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public void writeRow(List<Object> row) {
+    try {
+      generator.writeStartArray();
+      for (Object value : row) {
+        generator.writeString(
+            value != null ? String.valueOf(maybeFormat(value)) : StringUtils.EMPTY);
+      }
+      generator.writeEndArray();
+      if (width < 0) {
+        width = row.size();
+      }
+      height++;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public void writeEnd(Grid grid) {
+    try {
+      generator.writeEndArray();
+      generator.writeNumberField("height", height);
+      generator.writeNumberField("width", Math.max(width, 0));
+      generator.writeObjectField("refs", grid.getRefs());
+      generator.writeEndObject();
+      generator.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
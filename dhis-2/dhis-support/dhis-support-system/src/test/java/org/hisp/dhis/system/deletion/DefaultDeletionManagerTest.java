@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.deletion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.dataelement.DataElement;
+import org.junit.jupiter.api.Test;
+
+class DefaultDeletionManagerTest {
+  private final DefaultDeletionManager deletionManager = new DefaultDeletionManager();
+
+  private final List<DataElement> objects =
+      IntStream.range(0, 1_500).mapToObj(i -> createDataElement()).toList();
+
+  private final List<DataElement> firstBatch = objects.subList(0, 1_000);
+
+  private final List<DataElement> secondBatch = objects.subList(1_000, 1_500);
+
+  @Test
+  void testOnDeletionOfAllVetoesBatchOfFailingVetoHandler() {
+    List<String> calls = new ArrayList<>();
+    List<DataElement> deleted = new ArrayList<>();
+    deletionManager.whenVetoingAll(
+        DataElement.class,
+        batch -> {
+          calls.add("veto");
+          if (batch.contains(secondBatch.get(0))) {
+            throw new IllegalStateException("Veto failed");
+          }
+          return Map.of();
+        });
+    deletionManager.whenDeletingAll(
+        DataElement.class,
+        batch -> {
+          calls.add("delete");
+          deleted.addAll(batch);
+        });
+
+    Map<DataElement, DeletionVeto> vetoes =
+        deletionManager.onDeletionOfAll(DataElement.class, objects);
+
+    assertEquals(Set.copyOf(secondBatch), vetoes.keySet());
+    assertEquals(firstBatch, deleted);
+    assertEquals(List.of("veto", "veto", "delete"), calls);
+  }
+
+  @Test
+  void testOnDeletionOfAllVetoesBatchOfFailingDeletionHandler() {
+    List<DataElement> deleted = new ArrayList<>();
+    deletionManager.whenDeletingAll(
+        DataElement.class,
+        batch -> {
+          if (batch.contains(secondBatch.get(0))) {
+            throw new IllegalStateException("Deletion failed");
+          }
+          deleted.addAll(batch);
+        });
+
+    Map<DataElement, DeletionVeto> vetoes =
+        deletionManager.onDeletionOfAll(DataElement.class, objects);
+
+    assertEquals(Set.copyOf(secondBatch), vetoes.keySet());
+    assertEquals(firstBatch, deleted);
+  }
+
+  @Test
+  void testOnDeletionOfAllKeepsVetoesOfHandlers() {
+    DataElement vetoed = secondBatch.get(0);
+    List<DataElement> deleted = new ArrayList<>();
+    deletionManager.whenVetoing(
+        DataElement.class,
+        object -> object == vetoed ? new DeletionVeto(DataElement.class) : DeletionVeto.ACCEPT);
+    deletionManager.whenDeletingAll(DataElement.class, deleted::addAll);
+
+    Map<DataElement, DeletionVeto> vetoes =
+        deletionManager.onDeletionOfAll(DataElement.class, objects);
+
+    assertEquals(Set.of(vetoed), vetoes.keySet());
+    assertEquals(objects.size() - 1, deleted.size());
+  }
+
+  private static DataElement createDataElement() {
+    DataElement dataElement = new DataElement();
+    dataElement.setUid(CodeGenerator.generateUid());
+    return dataElement;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.List;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.GridStreamWriter;
+import org.hisp.dhis.common.ValueType;
+import org.junit.jupiter.api.Test;
+
+/** Tests that streaming a grid produces the same output as writing the complete grid. */
+class GridStreamWriterTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void testCsvGridStreamWriter() throws Exception {
+    Grid grid = createGrid();
+    StringWriter expected = new StringWriter();
+    GridUtils.toCsv(grid, expected);
+
+    StringWriter actual = new StringWriter();
+    stream(grid, new CsvGridStreamWriter(actual));
+
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  @Test
+  void testJsonGridStreamWriter() throws Exception {
+    Grid grid = createGrid();
+    JsonNode expected = mapper.valueToTree(grid);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    stream(grid, new JsonGridStreamWriter(mapper, out));
+    JsonNode actual = mapper.readTree(out.toByteArray());
+
+    for (String member : List.of("headers", "rows", "height", "width", "headerWidth", "refs")) {
+      assertEquals(expected.get(member), actual.get(member), member);
+    }
+  }
+
+  @Test
+  void testJsonGridStreamWriter_NoRows() throws Exception {
+    Grid grid = new ListGrid().addHeader(new GridHeader("a", "A", ValueType.TEXT, false, false));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    stream(grid, new JsonGridStreamWriter(mapper, out));
+    JsonNode actual = mapper.readTree(out.toByteArray());
+
+    assertEquals(0, actual.get("height").asInt());
+    assertEquals(0, actual.get("width").asInt());
+    assertEquals(0, actual.get("rows").size());
+  }
+
+  private static void stream(Grid grid, GridStreamWriter writer) {
+    writer.writeStart(grid);
+    grid.getRows().forEach(writer::writeRow);
+    writer.writeEnd(grid);
+  }
+
+  private static Grid createGrid() {
+    Grid grid =
+        new ListGrid()
+            .addHeader(new GridHeader("ou", "Org unit", ValueType.TEXT, false, false))
+            .addHeader(new GridHeader("value", "Value", ValueType.NUMBER, false, false));
+    grid.addRow().addValue("Sierra Leone, \"Bo\"").addValue(12.5d);
+    grid.addRow().addValue("Kailahun").addValue(null);
+    return grid;
+  }
+}
@@ -983,4 +983,30 @@ class GridTest {
     // Then
     assertEquals("Header param `headerDoesNotExist` does not exist", thrown.getMessage());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testCopy() {
+    Map<String, Object> items = new HashMap<>();
+    items.put("a", "A");
+    gridA.addMetaData("items", items);
+
+    ListGrid copy = ((ListGrid) gridA).copy();
+
+    assertEquals(gridA.getHeaders(), copy.getHeaders());
+    assertEquals(gridA.getRows(), copy.getRows());
+    assertEquals(gridA.getMetaData(), copy.getMetaData());
+    assertEquals(1, copy.getIndexOfHeader("ColB"));
+
+    copy.removeColumn(0);
+    copy.addRow().addValue(51).addValue(52);
+    ((Map<String, Object>) copy.getMetaData().get("items")).put("b", "B");
+
+    assertEquals(3, gridA.getWidth());
+    assertEquals(4, gridA.getHeight());
+    assertEquals(List.of(11, 12, 13), gridA.getRow(0));
+    assertEquals(1, ((Map<?, ?>) gridA.getMetaData().get("items")).size());
+    assertEquals(2, copy.getWidth());
+    assertEquals(5, copy.getHeight());
+  }
 }
@@ -28,18 +28,25 @@
 package org.hisp.dhis.dataanalysis;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.Lists;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.hisp.dhis.category.Category;
 import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.dataset.DataSetService;
 import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.minmax.MinMaxDataElement;
+import org.hisp.dhis.minmax.MinMaxDataElementService;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.MonthlyPeriodType;
@@ -69,6 +76,10 @@ class DataAnalysisStoreTest extends PostgresIntegrationTestBase {
 
   @Autowired private DataValueService dataValueService;
 
+  @Autowired private MinMaxDataElementService minMaxDataElementService;
+
+  @Autowired private DataSetService dataSetService;
+
   private DataElement dataElementA;
 
   private DataElement dataElementB;
@@ -164,4 +175,75 @@ class DataAnalysisStoreTest extends PostgresIntegrationTestBase {
     assertEquals(measures.get(0).getAverage(), DELTA, 12.78);
     assertEquals(measures.get(0).getStandardDeviation(), DELTA, 15.26);
   }
+
+  @Test
+  void testGenerateMinMaxValues() {
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodA, organisationUnitB, "5", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodB, organisationUnitB, "2", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodC, organisationUnitB, "1", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodD, organisationUnitB, "12", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodE, organisationUnitB, "10", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodF, organisationUnitB, "7", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodG, organisationUnitB, "52", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodH, organisationUnitB, "23", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodI, organisationUnitB, "3", categoryOptionCombo));
+    dataValueService.addDataValue(
+        createDataValue(dataElementB, periodJ, organisationUnitB, "15", categoryOptionCombo));
+    assertEquals(
+        1,
+        dataAnalysisStore.generateMinMaxValues(List.of(dataElementB), organisationUnitB, from, 2));
+    MinMaxDataElement minMax =
+        minMaxDataElementService.getMinMaxDataElement(
+            organisationUnitB, dataElementB, categoryOptionCombo);
+    // average 13, standard deviation 14.49
+    assertEquals(-16, minMax.getMin());
+    assertEquals(42, minMax.getMax());
+    assertTrue(minMax.isGenerated());
+  }
+
+  @Test
+  void testGenerateMinMaxValuesForDataSetCategoryCombo() {
+    CategoryOption categoryOptionA = createCategoryOption('A');
+    CategoryOption categoryOptionB = createCategoryOption('B');
+    categoryService.addCategoryOption(categoryOptionA);
+    categoryService.addCategoryOption(categoryOptionB);
+    Category category = createCategory('A', categoryOptionA, categoryOptionB);
+    categoryService.addCategory(category);
+    CategoryCombo dataSetCategoryCombo = createCategoryCombo('A', category);
+    categoryService.addCategoryCombo(dataSetCategoryCombo);
+    categoryService.generateOptionCombos(dataSetCategoryCombo);
+    CategoryOptionCombo optionCombo = dataSetCategoryCombo.getOptionCombos().iterator().next();
+
+    DataSet dataSet = createDataSet('A');
+    dataSet.addDataSetElement(dataElementA, dataSetCategoryCombo);
+    dataSetService.addDataSet(dataSet);
+
+    List<Period> periods =
+        List.of(
+            periodA, periodB, periodC, periodD, periodE, periodF, periodG, periodH, periodI,
+            periodJ);
+    List<String> values = List.of("5", "2", "1", "12", "10", "7", "52", "23", "3", "15");
+    for (int i = 0; i < periods.size(); i++) {
+      dataValueService.addDataValue(
+          createDataValue(
+              dataElementA, periods.get(i), organisationUnitA, values.get(i), optionCombo));
+    }
+
+    assertEquals(
+        1,
+        dataAnalysisStore.generateMinMaxValues(List.of(dataElementA), organisationUnitA, from, 2));
+    MinMaxDataElement minMax =
+        minMaxDataElementService.getMinMaxDataElement(organisationUnitA, dataElementA, optionCombo);
+    assertEquals(-16, minMax.getMin());
+    assertEquals(42, minMax.getMax());
+  }
 }
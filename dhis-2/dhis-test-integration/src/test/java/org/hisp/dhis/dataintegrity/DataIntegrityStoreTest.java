@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dataintegrity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.dataintegrity.DataIntegrityDetails.DataIntegrityIssue;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Tests the persistence of data integrity results in {@link DataIntegrityStore}. */
+@Transactional
+class DataIntegrityStoreTest extends PostgresIntegrationTestBase {
+
+  @Autowired private DataIntegrityStore dataIntegrityStore;
+
+  private final DataIntegrityCheck checkA =
+      DataIntegrityCheck.builder().name("test_check_a").build();
+
+  private final DataIntegrityCheck checkB =
+      DataIntegrityCheck.builder().name("test_check_b").build();
+
+  @Test
+  void testSaveAndGetSummaries() {
+    Date startTime = new Date(1_700_000_000_000L);
+    Date finishedTime = new Date(1_700_000_005_000L);
+    dataIntegrityStore.saveSummary(
+        new DataIntegritySummary(checkA, startTime, finishedTime, null, 5, 12.5));
+    dataIntegrityStore.saveSummary(
+        new DataIntegritySummary(checkB, startTime, finishedTime, "Check failed", -1, null));
+
+    Map<String, DataIntegritySummary> summaries =
+        dataIntegrityStore.getSummaries(List.of(checkA, checkB));
+
+    assertEquals(Set.of("test_check_a", "test_check_b"), summaries.keySet());
+    DataIntegritySummary summaryA = summaries.get("test_check_a");
+    assertEquals(checkA, summaryA.getCheck());
+    assertEquals(startTime.getTime(), summaryA.getStartTime().getTime());
+    assertEquals(finishedTime.getTime(), summaryA.getFinishedTime().getTime());
+    assertNull(summaryA.getError());
+    assertEquals(5, summaryA.getCount());
+    assertEquals(12.5, summaryA.getPercentage());
+    DataIntegritySummary summaryB = summaries.get("test_check_b");
+    assertEquals("Check failed", summaryB.getError());
+    assertEquals(-1, summaryB.getCount());
+    assertNull(summaryB.getPercentage());
+  }
+
+  @Test
+  void testSaveSummaryReplacesPrevious() {
+    dataIntegrityStore.saveSummary(
+        new DataIntegritySummary(checkA, new Date(), new Date(), null, 5, 12.5));
+    Date finishedTime = new Date(System.currentTimeMillis() + 1000);
+    dataIntegrityStore.saveSummary(
+        new DataIntegritySummary(checkA, new Date(), finishedTime, null, 7, 17.5));
+
+    DataIntegritySummary summary =
+        dataIntegrityStore.getSummaries(List.of(checkA)).get("test_check_a");
+
+    assertEquals(finishedTime.getTime(), summary.getFinishedTime().getTime());
+    assertEquals(7, summary.getCount());
+    assertEquals(17.5, summary.getPercentage());
+  }
+
+  @Test
+  void testSaveAndGetDetails() {
+    List<DataIntegrityIssue> issues =
+        List.of(
+            new DataIntegrityIssue("uid1", "Issue 1", "Comment", List.of("Ref A", "Ref B")),
+            new DataIntegrityIssue("uid2", "Issue 2", null, null));
+    dataIntegrityStore.saveDetails(
+        new DataIntegrityDetails(checkA, new Date(), new Date(), null, issues));
+
+    DataIntegrityDetails details =
+        dataIntegrityStore.getDetails(List.of(checkA)).get("test_check_a");
+
+    assertEquals(checkA, details.getCheck());
+    assertNull(details.getError());
+    assertEquals(2, details.getIssues().size());
+    DataIntegrityIssue issue1 = details.getIssues().get(0);
+    assertEquals("uid1", issue1.getId());
+    assertEquals("Issue 1", issue1.getName());
+    assertEquals("Comment", issue1.getComment());
+    assertEquals(List.of("Ref A", "Ref B"), issue1.getRefs());
+    DataIntegrityIssue issue2 = details.getIssues().get(1);
+    assertEquals("uid2", issue2.getId());
+    assertNull(issue2.getComment());
+    assertNull(issue2.getRefs());
+  }
+
+  @Test
+  void testGetNamesByType() {
+    dataIntegrityStore.saveSummary(
+        new DataIntegritySummary(checkA, new Date(), new Date(), null, 0, 0d));
+    dataIntegrityStore.saveDetails(
+        new DataIntegrityDetails(checkB, new Date(), new Date(), null, List.of()));
+
+    Set<String> summaryNames = dataIntegrityStore.getSummaryNames();
+    assertTrue(summaryNames.contains("test_check_a"));
+    assertFalse(summaryNames.contains("test_check_b"));
+    Set<String> detailsNames = dataIntegrityStore.getDetailsNames();
+    assertTrue(detailsNames.contains("test_check_b"));
+    assertFalse(detailsNames.contains("test_check_a"));
+    assertTrue(dataIntegrityStore.getSummaries(List.of(checkB)).isEmpty());
+    assertTrue(dataIntegrityStore.getDetails(List.of(checkA)).isEmpty());
+  }
+
+  @Test
+  void testQueryLastUpdated() {
+    assertNull(dataIntegrityStore.queryLastUpdated("select cast(null as timestamp)"));
+    assertEquals(
+        new Date(1_700_000_000_000L),
+        dataIntegrityStore.queryLastUpdated("select to_timestamp(1700000000)"));
+  }
+}
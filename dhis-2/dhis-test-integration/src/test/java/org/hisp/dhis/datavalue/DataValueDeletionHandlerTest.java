@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datavalue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.DeleteNotAllowedException;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.system.deletion.DeletionManager;
+import org.hisp.dhis.system.deletion.DeletionVeto;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class DataValueDeletionHandlerTest extends PostgresIntegrationTestBase {
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private DeletionManager deletionManager;
+
+  @Autowired private DataValueService dataValueService;
+
+  @Autowired private PeriodService periodService;
+
+  @Autowired private CategoryService categoryService;
+
+  @Autowired private EntityManager entityManager;
+
+  private DataElement dataElementA;
+
+  private DataElement dataElementB;
+
+  private OrganisationUnit orgUnitA;
+
+  private OrganisationUnit orgUnitB;
+
+  private OrganisationUnit orgUnitC;
+
+  @BeforeEach
+  void setUp() {
+    dataElementA = createDataElement('A');
+    dataElementB = createDataElement('B');
+    manager.save(dataElementA);
+    manager.save(dataElementB);
+    orgUnitA = createOrganisationUnit('A');
+    orgUnitB = createOrganisationUnit('B');
+    orgUnitC = createOrganisationUnit('C');
+    manager.save(orgUnitA);
+    manager.save(orgUnitB);
+    manager.save(orgUnitC);
+    Period period = createPeriod(getDay(5), getDay(6));
+    periodService.addPeriod(period);
+    CategoryOptionCombo optionCombo = categoryService.getDefaultCategoryOptionCombo();
+
+    dataValueService.addDataValue(
+        createDataValue(dataElementA, period, orgUnitB, optionCombo, optionCombo, "1"));
+    entityManager.flush();
+  }
+
+  @Test
+  void testVetoDeleteOrganisationUnits() {
+    Map<OrganisationUnit, DeletionVeto> vetoes =
+        deletionManager.onDeletionOfAll(
+            OrganisationUnit.class, List.of(orgUnitA, orgUnitB, orgUnitC));
+
+    assertEquals(Set.of(orgUnitB), vetoes.keySet());
+  }
+
+  @Test
+  void testVetoDeleteDataElements() {
+    Map<DataElement, DeletionVeto> vetoes =
+        deletionManager.onDeletionOfAll(DataElement.class, List.of(dataElementA, dataElementB));
+
+    assertEquals(Set.of(dataElementA), vetoes.keySet());
+  }
+
+  @Test
+  void testVetoDeleteOrganisationUnit() {
+    assertThrows(DeleteNotAllowedException.class, () -> manager.delete(orgUnitB));
+  }
+}
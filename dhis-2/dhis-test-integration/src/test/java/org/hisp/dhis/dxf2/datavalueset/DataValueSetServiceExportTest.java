@@ -37,7 +37,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
@@ -70,6 +73,7 @@ import org.hisp.dhis.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
  * @author Lars Helge Overland
@@ -95,6 +99,8 @@ class DataValueSetServiceExportTest extends PostgresIntegrationTestBase {
 
   @Autowired private ObjectMapper jsonMapper;
 
+  @Autowired private JdbcTemplate jdbcTemplate;
+
   private DataElement deA;
 
   private DataElement deB;
@@ -477,6 +483,42 @@ class DataValueSetServiceExportTest extends PostgresIntegrationTestBase {
     assertEquals(14, dvs.getDataValues().size());
   }
 
+  @Test
+  void testExportLastUpdatedKeysetPages() throws IOException {
+    // equal timestamps so that page boundaries fall between values which only differ in the
+    // trailing key columns
+    jdbcTemplate.update("update datavalue set lastupdated = '2024-01-01 00:00:00'");
+    Date lastUpdated = getDate(1970, 1, 1);
+    List<Integer> pageSizes = new ArrayList<>();
+    Set<List<String>> keys = new HashSet<>();
+    DataValueKeyset after = null;
+
+    while (true) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      DataValueKeyset last =
+          dataValueSetService.exportDataValueSetJson(lastUpdated, out, new IdSchemes(), 5, after);
+      DataValueSet dvs = jsonMapper.readValue(out.toByteArray(), DataValueSet.class);
+      if (last == null) {
+        assertEquals(0, dvs.getDataValues().size());
+        break;
+      }
+      pageSizes.add(dvs.getDataValues().size());
+      for (org.hisp.dhis.dxf2.datavalue.DataValue dv : dvs.getDataValues()) {
+        keys.add(
+            List.of(
+                dv.getDataElement(),
+                dv.getPeriod(),
+                dv.getOrgUnit(),
+                dv.getCategoryOptionCombo(),
+                dv.getAttributeOptionCombo()));
+      }
+      after = last;
+    }
+
+    assertEquals(List.of(5, 5, 2), pageSizes);
+    assertEquals(12, keys.size());
+  }
+
   @Test
   void testMissingDataSetElementGroup() {
     ByteArrayOutputStream out = new ByteArrayOutputStream();
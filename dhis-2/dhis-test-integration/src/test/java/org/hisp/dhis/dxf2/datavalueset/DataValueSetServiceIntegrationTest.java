@@ -90,6 +90,7 @@ import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.period.PeriodTypeEnum;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.security.Authorities;
 import org.hisp.dhis.security.acl.AccessStringHelper;
 import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
@@ -951,7 +952,7 @@ class DataValueSetServiceIntegrationTest extends PostgresIntegrationTestBase {
   void testImportDataValuesCsv() {
     ImportSummary summary =
         dataValueSetService.importDataValueSetCsv(
-            readFile("dxf2/datavalueset/dataValueSetB.csv"), null, null);
+            readFile("dxf2/datavalueset/dataValueSetB.csv"), null, null, JobProgress.noop());
 
     assertSuccessWithImportedUpdatedDeleted(12, 0, 0, summary);
   }
@@ -964,7 +965,8 @@ class DataValueSetServiceIntegrationTest extends PostgresIntegrationTestBase {
         dataValueSetService.importDataValueSetCsv(
             readFile("dxf2/datavalueset/dataValueSetWithDataSetHeader.csv"),
             new ImportOptions().setDataSet("pBOMPrpg1QX"),
-            null);
+            null,
+            JobProgress.noop());
 
     assertSuccessWithImportedUpdatedDeleted(3, 0, 0, summary);
     assertDataValuesCount(3);
@@ -978,7 +980,8 @@ class DataValueSetServiceIntegrationTest extends PostgresIntegrationTestBase {
         dataValueSetService.importDataValueSetCsv(
             readFile("dxf2/datavalueset/dataValueSetBNoHeader.csv"),
             new ImportOptions().setFirstRowIsHeader(false),
-            null);
+            null,
+            JobProgress.noop());
 
     assertSuccessWithImportedUpdatedDeleted(12, 0, 0, summary);
     assertDataValuesCount(12);
@@ -988,7 +991,10 @@ class DataValueSetServiceIntegrationTest extends PostgresIntegrationTestBase {
   void testImportDataValuesBooleanCsv() {
     ImportConflicts summary =
         dataValueSetService.importDataValueSetCsv(
-            readFile("dxf2/datavalueset/dataValueSetBooleanTest.csv"), null, null);
+            readFile("dxf2/datavalueset/dataValueSetBooleanTest.csv"),
+            null,
+            null,
+            JobProgress.noop());
 
     String description = summary.getConflictsDescription();
     assertEquals(4, summary.getTotalConflictOccurrenceCount(), description);
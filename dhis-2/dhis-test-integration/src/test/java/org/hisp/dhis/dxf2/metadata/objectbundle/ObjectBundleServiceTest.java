@@ -38,6 +38,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.Sets;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +59,7 @@ import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetElement;
 import org.hisp.dhis.dataset.Section;
 import org.hisp.dhis.dxf2.metadata.AtomicMode;
+import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleCommitReport;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleValidationReport;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.importexport.ImportStrategy;
@@ -1133,6 +1136,57 @@ class ObjectBundleServiceTest extends PostgresIntegrationTestBase {
     assertEquals(3, root.getChildren().size());
   }
 
+  @Test
+  void testDeleteOrgUnitTogetherWithChildren() throws IOException {
+    importOrgUnitsWithLevels(ImportStrategy.CREATE_AND_UPDATE);
+    assertEquals(4, manager.getAll(OrganisationUnit.class).size());
+
+    ObjectBundleCommitReport report = importOrgUnitsWithLevels(ImportStrategy.DELETE);
+
+    assertEquals(4, report.getTypeReport(OrganisationUnit.class).getStats().getDeleted());
+    assertEquals(0, report.getTypeReport(OrganisationUnit.class).getStats().getIgnored());
+    assertTrue(manager.getAll(OrganisationUnit.class).isEmpty());
+  }
+
+  @Test
+  void testDeleteOrgUnitWithoutChildrenIsVetoed() throws IOException {
+    importOrgUnitsWithLevels(ImportStrategy.CREATE_AND_UPDATE);
+    OrganisationUnit root = manager.get(OrganisationUnit.class, "inVD5SdytkT");
+    OrganisationUnit object = new OrganisationUnit();
+    object.setUid(root.getUid());
+
+    ObjectBundleParams params = new ObjectBundleParams();
+    params.setObjectBundleMode(ObjectBundleMode.COMMIT);
+    params.setImportStrategy(ImportStrategy.DELETE);
+    params.setAtomicMode(NONE);
+    params.setObjects(Map.of(OrganisationUnit.class, List.of(object)));
+    ObjectBundle bundle = objectBundleService.create(params);
+    objectBundleValidationService.validate(bundle);
+    ObjectBundleCommitReport report = objectBundleService.commit(bundle);
+
+    assertEquals(0, report.getTypeReport(OrganisationUnit.class).getStats().getDeleted());
+    assertEquals(1, report.getTypeReport(OrganisationUnit.class).getStats().getIgnored());
+    assertEquals(4, manager.getAll(OrganisationUnit.class).size());
+  }
+
+  /** Imports the units of ou_with_levels.json with the root listed before its children. */
+  private ObjectBundleCommitReport importOrgUnitsWithLevels(ImportStrategy strategy)
+      throws IOException {
+    Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> metadata =
+        renderService.fromMetadata(
+            new ClassPathResource("dxf2/ou_with_levels.json").getInputStream(), RenderFormat.JSON);
+    List<IdentifiableObject> units = new ArrayList<>(metadata.get(OrganisationUnit.class));
+    units.sort(Comparator.comparing(unit -> ((OrganisationUnit) unit).getParent() != null));
+    ObjectBundleParams params = new ObjectBundleParams();
+    params.setObjectBundleMode(ObjectBundleMode.COMMIT);
+    params.setImportStrategy(strategy);
+    params.setAtomicMode(AtomicMode.ALL);
+    params.setObjects(Map.of(OrganisationUnit.class, units));
+    ObjectBundle bundle = objectBundleService.create(params);
+    assertFalse(objectBundleValidationService.validate(bundle).hasErrorReports());
+    return objectBundleService.commit(bundle);
+  }
+
   @Test
   void testCreateAndUpdateDataSetWithSections() throws IOException {
     Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> metadata =
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.eventhook.EventHookOutboxStore.Delivery;
+import org.hisp.dhis.eventhook.EventHookOutboxStore.Entry;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests the claiming, retrying and dead-lettering of events in {@link EventHookOutboxStore}. The
+ * tests do not run in a transaction so that claims of concurrent transactions can be tested.
+ */
+class EventHookOutboxStoreTest extends PostgresIntegrationTestBase {
+  private static final long LEASE = 60_000;
+
+  @Autowired private EventHookOutboxStore outboxStore;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final String hookA = CodeGenerator.generateUid();
+
+  private final String hookB = CodeGenerator.generateUid();
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("delete from eventhookoutbox");
+  }
+
+  @Test
+  void testClaimDue_OldestFirstUpToLimit() {
+    add(hookA, "target1", "e1", "e2", "e3");
+
+    List<Entry> entries = outboxStore.claimDue(hookA, "target1", 2, LEASE, false);
+
+    assertEquals(List.of("e1", "e2"), getPayloads(entries));
+    assertEquals(0, entries.get(0).attempts());
+  }
+
+  @Test
+  void testClaimDue_OnlyEventsOfTarget() {
+    add(hookA, "target1", "e1");
+    add(hookA, "target2", "e2");
+    add(hookB, "target1", "e3");
+
+    assertEquals(
+        List.of("e1"), getPayloads(outboxStore.claimDue(hookA, "target1", 10, LEASE, false)));
+    assertEquals(
+        List.of("e2"), getPayloads(outboxStore.claimDue(hookA, "target2", 10, LEASE, false)));
+    assertEquals(
+        List.of("e3"), getPayloads(outboxStore.claimDue(hookB, "target1", 10, LEASE, false)));
+  }
+
+  @Test
+  void testClaimDue_ClaimedEventsAreNotDueUntilLeaseExpired() {
+    add(hookA, "target1", "e1", "e2");
+
+    assertEquals(2, outboxStore.claimDue(hookA, "target1", 10, LEASE, false).size());
+    assertTrue(outboxStore.claimDue(hookA, "target1", 10, LEASE, false).isEmpty());
+  }
+
+  @Test
+  void testClaimDue_ExpiredLeaseIsClaimedAgain() {
+    add(hookA, "target1", "e1");
+
+    assertEquals(1, outboxStore.claimDue(hookA, "target1", 10, 0, false).size());
+    assertEquals(
+        List.of("e1"), getPayloads(outboxStore.claimDue(hookA, "target1", 10, LEASE, false)));
+  }
+
+  @Test
+  void testClaimDue_SkipsEventsLockedByConcurrentClaim() throws InterruptedException {
+    add(hookA, "target1", "e1", "e2", "e3");
+
+    CountDownLatch claimed = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Entry> lockedEntries = new ArrayList<>();
+    Thread concurrentClaim =
+        new Thread(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      lockedEntries.addAll(outboxStore.claimDue(hookA, "target1", 2, LEASE, false));
+                      claimed.countDown();
+                      await(release);
+                    }));
+    concurrentClaim.start();
+
+    try {
+      assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+      List<Entry> entries = outboxStore.claimDue(hookA, "target1", 10, LEASE, false);
+
+      assertEquals(List.of("e1", "e2"), getPayloads(lockedEntries));
+      assertEquals(List.of("e3"), getPayloads(entries));
+    } finally {
+      release.countDown();
+      concurrentClaim.join();
+    }
+  }
+
+  @Test
+  void testClaimDue_InOrderWaitsForOlderEventToBeRetried() {
+    add(hookA, "target1", "e1", "e2");
+    List<Long> ids = getIds(outboxStore.claimDue(hookA, "target1", 1, LEASE, true));
+
+    outboxStore.retry(ids, Instant.now().plusSeconds(3600), "Failed");
+
+    assertTrue(outboxStore.claimDue(hookA, "target1", 10, LEASE, true).isEmpty());
+    assertEquals(
+        List.of("e2"), getPayloads(outboxStore.claimDue(hookA, "target1", 10, LEASE, false)));
+  }
+
+  @Test
+  void testClaimDue_InOrderWaitsForOlderClaimedEvent() {
+    add(hookA, "target1", "e1", "e2");
+
+    assertEquals(
+        List.of("e1"), getPayloads(outboxStore.claimDue(hookA, "target1", 1, LEASE, true)));
+    assertTrue(outboxStore.claimDue(hookA, "target1", 10, LEASE, true).isEmpty());
+  }
+
+  @Test
+  void testClaimDue_InOrderIsNotHeldBackByDeadLetter() {
+    add(hookA, "target1", "e1", "e2");
+    List<Long> ids = getIds(outboxStore.claimDue(hookA, "target1", 1, LEASE, true));
+
+    outboxStore.deadLetter(ids, "Failed");
+
+    assertEquals(
+        List.of("e2"), getPayloads(outboxStore.claimDue(hookA, "target1", 10, LEASE, true)));
+  }
+
+  @Test
+  void testRetry_EventsAreDueAtNextAttempt() {
+    add(hookA, "target1", "e1", "e2");
+    List<Long> ids = getIds(outboxStore.claimDue(hookA, "target1", 10, LEASE, false));
+
+    outboxStore.retry(ids.subList(0, 1), Instant.now().minusSeconds(1), "Failed");
+    outboxStore.retry(ids.subList(1, 2), Instant.now().plusSeconds(3600), "Failed");
+
+    List<Entry> entries = outboxStore.claimDue(hookA, "target1", 10, LEASE, false);
+    assertEquals(List.of("e1"), getPayloads(entries));
+    assertEquals(1, entries.get(0).attempts());
+    assertEquals(
+        "Failed",
+        jdbcTemplate.queryForObject(
+            "select lasterror from eventhookoutbox where eventhookoutboxid = ?",
+            String.class,
+            ids.get(0)));
+  }
+
+  @Test
+  void testDeadLetter_EventsAreKeptButNeverDue() {
+    add(hookA, "target1", "e1");
+    List<Long> ids = getIds(outboxStore.claimDue(hookA, "target1", 10, 0, false));
+
+    outboxStore.deadLetter(ids, "Failed");
+
+    assertTrue(outboxStore.claimDue(hookA, "target1", 10, LEASE, false).isEmpty());
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "select count(*) from eventhookoutbox where deadletter = true and attempts = 1",
+            Integer.class));
+  }
+
+  @Test
+  void testDelete() {
+    add(hookA, "target1", "e1", "e2");
+    List<Long> ids = getIds(outboxStore.claimDue(hookA, "target1", 1, 0, false));
+
+    outboxStore.delete(ids);
+
+    assertEquals(
+        List.of("e2"), getPayloads(outboxStore.claimDue(hookA, "target1", 10, LEASE, false)));
+  }
+
+  @Test
+  void testDeleteOrphans_RemovesEventsOfRemovedHooksAndTargets() {
+    add(hookA, "target1", "e1");
+    add(hookA, "target2", "e2");
+    add(hookB, "target1", "e3");
+
+    assertEquals(2, outboxStore.deleteOrphans(Map.of(hookA, List.of("target1", "target3"))));
+
+    assertEquals(
+        List.of("e1"), getPayloads(outboxStore.claimDue(hookA, "target1", 10, LEASE, false)));
+    assertTrue(outboxStore.claimDue(hookA, "target2", 10, LEASE, false).isEmpty());
+    assertTrue(outboxStore.claimDue(hookB, "target1", 10, LEASE, false).isEmpty());
+  }
+
+  @Test
+  void testDeleteOrphans_RemovesAllWithoutHooks() {
+    add(hookA, "target1", "e1", "e2");
+
+    assertEquals(2, outboxStore.deleteOrphans(Map.of()));
+  }
+
+  private void add(String eventHookUid, String targetId, String... payloads) {
+    for (String payload : payloads) {
+      // added one by one so that the IDs follow the order of the payloads
+      outboxStore.add(List.of(new Delivery(eventHookUid, targetId, payload)));
+    }
+  }
+
+  private static List<String> getPayloads(List<Entry> entries) {
+    return entries.stream().map(Entry::payload).toList();
+  }
+
+  private static List<Long> getIds(List<Entry> entries) {
+    return entries.stream().map(Entry::id).toList();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
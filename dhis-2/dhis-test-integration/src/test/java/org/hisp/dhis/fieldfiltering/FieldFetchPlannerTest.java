@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fieldfiltering;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.List;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementGroup;
+import org.hisp.dhis.test.integration.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class FieldFetchPlannerTest extends PostgresIntegrationTestBase {
+  @Autowired private FieldFetchPlanner planner;
+
+  @Autowired private IdentifiableObjectManager manager;
+
+  @Autowired private CategoryService categoryService;
+
+  private PersistenceUnitUtil persistenceUnitUtil;
+
+  @BeforeEach
+  void setUp() {
+    CategoryCombo categoryCombo = categoryService.getDefaultCategoryCombo();
+
+    DataElement deA = createDataElement('A', categoryCombo);
+    DataElement deB = createDataElement('B', categoryCombo);
+    DataElement deC = createDataElement('C', categoryCombo);
+    manager.save(List.of(deA, deB, deC));
+
+    DataElementGroup degA = createDataElementGroup('A');
+    degA.addDataElement(deA);
+    degA.addDataElement(deB);
+    DataElementGroup degB = createDataElementGroup('B');
+    degB.addDataElement(deC);
+    manager.save(List.of(degA, degB));
+
+    entityManager.flush();
+    entityManager.clear();
+
+    persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+  }
+
+  @Test
+  void testPrefetchCollectionAndNestedReference() {
+    List<DataElementGroup> groups = manager.getAll(DataElementGroup.class);
+
+    planner.prefetch(
+        DataElementGroup.class, groups, List.of("id,dataElements[id,name,categoryCombo[name]]"));
+
+    for (DataElementGroup group : groups) {
+      assertTrue(persistenceUnitUtil.isLoaded(group, "members"));
+
+      for (DataElement dataElement : group.getMembers()) {
+        assertTrue(persistenceUnitUtil.isLoaded(dataElement.getCategoryCombo()));
+      }
+    }
+  }
+
+  @Test
+  void testPrefetchSkipsUnrequestedAssociations() {
+    List<DataElementGroup> groups = manager.getAll(DataElementGroup.class);
+
+    planner.prefetch(DataElementGroup.class, groups, List.of("id,name"));
+
+    for (DataElementGroup group : groups) {
+      assertFalse(persistenceUnitUtil.isLoaded(group, "members"));
+    }
+  }
+}
@@ -31,10 +31,13 @@ import static org.hisp.dhis.test.utils.Assertions.assertContainsOnly;
 import static org.hisp.dhis.tracker.Assertions.assertNoErrors;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -334,6 +337,46 @@ class OrderAndFilterEventChangeLogTest extends TrackerTest {
     assertContainsOnly(List.of(dataElement), changeLogDataElements);
   }
 
+  @Test
+  void shouldFilterChangeLogsWhenFilteringByCreatedDateRange()
+      throws ForbiddenException, NotFoundException {
+    Event event = getEvent("QRYjLTiJTrA");
+    String dataElementUid = getFirstDataElement(event);
+
+    updateDataValues(event, dataElementUid, "20", "25");
+
+    List<EventChangeLog> changeLogs =
+        eventChangeLogService
+            .getEventChangeLog(
+                UID.of(event.getUid()),
+                EventChangeLogOperationParams.builder().build(),
+                defaultPageParams)
+            .getItems();
+    Date newest = changeLogs.get(0).getCreated();
+
+    List<EventChangeLog> fromNewest =
+        eventChangeLogService
+            .getEventChangeLog(
+                UID.of(event.getUid()),
+                EventChangeLogOperationParams.builder().startDate(newest).build(),
+                defaultPageParams)
+            .getItems();
+    List<EventChangeLog> beforeNewest =
+        eventChangeLogService
+            .getEventChangeLog(
+                UID.of(event.getUid()),
+                EventChangeLogOperationParams.builder().endDate(newest).build(),
+                defaultPageParams)
+            .getItems();
+
+    assertAll(
+        () -> assertFalse(fromNewest.isEmpty()),
+        () -> assertFalse(beforeNewest.isEmpty()),
+        () -> assertEquals(changeLogs.size(), fromNewest.size() + beforeNewest.size()),
+        () -> assertTrue(fromNewest.stream().noneMatch(cl -> cl.getCreated().before(newest))),
+        () -> assertTrue(beforeNewest.stream().allMatch(cl -> cl.getCreated().before(newest))));
+  }
+
   private Stream<Arguments> provideEventField() {
     return Stream.of(
         Arguments.of("occurredAt"), Arguments.of("scheduledAt"), Arguments.of("geometry"));
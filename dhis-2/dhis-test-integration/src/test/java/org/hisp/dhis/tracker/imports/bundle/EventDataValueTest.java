@@ -41,6 +41,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.eventdatavalue.EventDataValue;
 import org.hisp.dhis.program.Event;
 import org.hisp.dhis.tracker.TrackerTest;
+import org.hisp.dhis.tracker.imports.FlushMode;
 import org.hisp.dhis.tracker.imports.TrackerImportParams;
 import org.hisp.dhis.tracker.imports.TrackerImportService;
 import org.hisp.dhis.tracker.imports.TrackerImportStrategy;
@@ -141,4 +142,32 @@ class EventDataValueTest extends TrackerTest {
         updatedDataValueMap.get(updatedDataElementId).getCreated());
     assertEquals("Fourth updated", updatedDataValueMap.get(updatedDataElementId).getValue());
   }
+
+  @Test
+  void testEventDataValueUpdateWithBatchFlushMode() throws IOException {
+    TrackerImportParams params = TrackerImportParams.builder().flushMode(FlushMode.BATCH).build();
+    ImportReport importReport =
+        trackerImportService.importTracker(params, fromJson("tracker/event_with_data_values.json"));
+
+    assertNoErrors(importReport);
+    assertEquals(1, importReport.getStats().getCreated());
+    manager.clear();
+    List<Event> events = manager.getAll(Event.class);
+    assertEquals(1, events.size());
+    assertEquals(4, events.get(0).getEventDataValues().size());
+
+    params.setImportStrategy(TrackerImportStrategy.CREATE_AND_UPDATE);
+    importReport =
+        trackerImportService.importTracker(
+            params, fromJson("tracker/event_with_updated_data_values.json"));
+
+    assertNoErrors(importReport);
+    assertEquals(1, importReport.getStats().getUpdated());
+    manager.clear();
+    Event updatedEvent = manager.get(Event.class, events.get(0).getUid());
+    List<String> values =
+        updatedEvent.getEventDataValues().stream().map(EventDataValue::getValue).toList();
+    assertEquals(3, values.size());
+    assertThat(values, hasItem("Fourth updated"));
+  }
 }
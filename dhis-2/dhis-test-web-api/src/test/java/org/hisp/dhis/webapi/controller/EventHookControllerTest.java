@@ -28,6 +28,7 @@
 package org.hisp.dhis.webapi.controller;
 
 import static org.hisp.dhis.http.HttpAssertions.assertStatus;
+import static org.hisp.dhis.test.webapi.Assertions.assertWebMessage;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -41,6 +42,8 @@ import org.hisp.dhis.jsontree.JsonList;
 import org.hisp.dhis.jsontree.JsonObject;
 import org.hisp.dhis.test.webapi.PostgresControllerIntegrationTestBase;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -50,6 +53,8 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Transactional
 class EventHookControllerTest extends PostgresControllerIntegrationTestBase {
+  @Autowired private JdbcTemplate jdbcTemplate;
+
   @Test
   void testGetEventHooks() {
     JsonObject eventHooks = GET("/eventHooks").content(HttpStatus.OK);
@@ -153,4 +158,77 @@ class EventHookControllerTest extends PostgresControllerIntegrationTestBase {
     DELETE("/eventHooks/{id}", (Object) id).content(HttpStatus.OK);
     GET("/eventHooks/{id}", id).content(HttpStatus.NOT_FOUND);
   }
+
+  @Test
+  void testUpdateEventHookKeepsClientIdOfTargets() {
+    String id =
+        assertStatus(
+            HttpStatus.CREATED, POST("/eventHooks", Path.of("event-hook/webhook-http-basic.json")));
+    String clientId = getClientIdOfFirstTarget(id);
+
+    assertStatus(
+        HttpStatus.OK, PUT("/eventHooks/" + id, Path.of("event-hook/webhook-http-basic.json")));
+
+    assertEquals(clientId, getClientIdOfFirstTarget(id));
+  }
+
+  @Test
+  void testRedriveDeadLetters() {
+    String id =
+        assertStatus(
+            HttpStatus.CREATED, POST("/eventHooks", Path.of("event-hook/webhook-http-basic.json")));
+    addDeadLetter(id);
+
+    assertWebMessage(
+        "OK",
+        200,
+        "OK",
+        "1 dead letter(s) scheduled for delivery",
+        POST("/eventHooks/" + id + "/deadLetters/redrive").content(HttpStatus.OK));
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "select count(*) from eventhookoutbox where deadletter = false and attempts = 0",
+            Integer.class));
+  }
+
+  @Test
+  void testDeleteDeadLetters() {
+    String id =
+        assertStatus(
+            HttpStatus.CREATED, POST("/eventHooks", Path.of("event-hook/webhook-http-basic.json")));
+    addDeadLetter(id);
+
+    assertWebMessage(
+        "OK",
+        200,
+        "OK",
+        "1 dead letter(s) removed",
+        DELETE("/eventHooks/" + id + "/deadLetters").content(HttpStatus.OK));
+    assertEquals(
+        0, jdbcTemplate.queryForObject("select count(*) from eventhookoutbox", Integer.class));
+  }
+
+  @Test
+  void testRedriveDeadLetters_NotFound() {
+    POST("/eventHooks/xyz/deadLetters/redrive").content(HttpStatus.NOT_FOUND);
+  }
+
+  private String getClientIdOfFirstTarget(String id) {
+    return GET("/eventHooks/{id}", id)
+        .content(HttpStatus.OK)
+        .get("targets")
+        .asList(JsonObject.class)
+        .get(0)
+        .getString("clientId")
+        .string();
+  }
+
+  private void addDeadLetter(String eventHookUid) {
+    jdbcTemplate.update(
+        "insert into eventhookoutbox "
+            + "(eventhookuid, targetid, payload, created, nextattempt, attempts, deadletter) "
+            + "values (?, 'target', '{}', now(), now(), 10, true)",
+        eventHookUid);
+  }
 }
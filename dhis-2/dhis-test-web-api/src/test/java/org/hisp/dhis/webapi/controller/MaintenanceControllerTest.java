@@ -125,6 +125,30 @@ class MaintenanceControllerTest extends PostgresControllerIntegrationTestBase {
         POST("/maintenance/dataPruning/dataElements/xzy").error(HttpStatus.FORBIDDEN).getMessage());
   }
 
+  @Test
+  void testPartitionAuditTables() {
+    assertWebMessage(
+        "OK",
+        200,
+        "OK",
+        "Converted 4 audit tables into tables partitioned by month",
+        POST("/maintenance/auditTablePartitioning").content());
+    assertWebMessage(
+        "OK",
+        200,
+        "OK",
+        "Converted 0 audit tables into tables partitioned by month",
+        POST("/maintenance/auditTablePartitioning").content());
+  }
+
+  @Test
+  void testPartitionAuditTables_MissingAuthority() {
+    switchToNewUser("guest");
+    assertEquals(
+        "Access is denied, requires one Authority from [F_PERFORM_MAINTENANCE]",
+        POST("/maintenance/auditTablePartitioning").error(HttpStatus.FORBIDDEN).getMessage());
+  }
+
   @Test
   void testAppReload() {
     assertWebMessage("OK", 200, "OK", "Apps reloaded", GET("/maintenance/appReload").content());
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2004-2023, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller;
+
+import static org.hisp.dhis.http.HttpAssertions.assertStatus;
+import static org.hisp.dhis.http.HttpClientAdapter.Body;
+import static org.hisp.dhis.http.HttpClientAdapter.ContentType;
+import static org.hisp.dhis.http.HttpClientAdapter.Header;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hisp.dhis.http.HttpClientAdapter.HttpResponse;
+import org.hisp.dhis.http.HttpStatus;
+import org.hisp.dhis.test.webapi.H2ControllerIntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests the {@link RouteController} against a target API which is served by a local HTTP server.
+ */
+@Transactional
+class RouteControllerTest extends H2ControllerIntegrationTestBase {
+  private HttpServer target;
+
+  private final List<ReceivedRequest> received = new CopyOnWriteArrayList<>();
+
+  private record ReceivedRequest(
+      String method,
+      String path,
+      String query,
+      String contentType,
+      String body,
+      String user,
+      String blocked) {}
+
+  @BeforeEach
+  void setUp() throws IOException {
+    target = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    target.createContext("/api/echo", exchange -> respond(exchange, 201, true));
+    target.createContext("/api/accepted", exchange -> respond(exchange, 202, false));
+    target.createContext("/api/missing", exchange -> respond(exchange, 404, true));
+    target.createContext("/api/unavailable", exchange -> respond(exchange, 503, true));
+    target.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    target.stop(0);
+  }
+
+  @Test
+  void testRun_StreamsRequestAndResponse() {
+    String id = postRoute(getTargetUrl(target) + "/**");
+
+    HttpResponse response =
+        POST(
+            "/routes/" + id + "/run/echo?page=2",
+            Body("{\"name\":\"abc\"}"),
+            ContentType("application/json"),
+            Header("X-Blocked", "secret"));
+
+    assertStatus(HttpStatus.CREATED, response);
+    String expected = "{\"echo\":{\"name\":\"abc\"}}";
+    assertEquals(
+        "abc", response.content(HttpStatus.CREATED).getObject("echo").getString("name").string());
+    assertEquals(
+        String.valueOf(expected.getBytes(StandardCharsets.UTF_8).length),
+        response.header("Content-Length"));
+    assertEquals("\"v1\"", response.header("ETag"));
+    assertNull(response.header("X-Target-Secret"));
+
+    assertEquals(1, received.size());
+    ReceivedRequest request = received.get(0);
+    assertEquals("POST", request.method());
+    assertEquals("/api/echo", request.path());
+    assertEquals("page=2", request.query());
+    assertEquals("application/json", request.contentType());
+    assertEquals("{\"name\":\"abc\"}", request.body());
+    assertEquals(getAdminUser().getUsername(), request.user());
+    assertNull(request.blocked());
+  }
+
+  @Test
+  void testRun_PassesThroughStatus() {
+    String id = postRoute(getTargetUrl(target) + "/**");
+
+    HttpResponse response = GET("/routes/" + id + "/run/accepted");
+
+    assertStatus(HttpStatus.ACCEPTED, response);
+    assertEquals("GET", received.get(0).method());
+    assertEquals("", received.get(0).body());
+  }
+
+  @Test
+  void testRun_MapsErrorStatusOfTarget() {
+    String id = postRoute(getTargetUrl(target) + "/**");
+
+    assertStatus(HttpStatus.NOT_FOUND, GET("/routes/" + id + "/run/missing"));
+    assertStatus(HttpStatus.SERVICE_UNAVAILABLE, GET("/routes/" + id + "/run/unavailable"));
+    assertEquals(2, received.size());
+  }
+
+  @Test
+  void testRun_UnreachableTarget() throws IOException {
+    HttpServer stopped =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    String url = getTargetUrl(stopped) + "/api/echo";
+    stopped.stop(0);
+    String id = postRoute(url);
+
+    assertStatus(HttpStatus.SERVICE_UNAVAILABLE, GET("/routes/" + id + "/run"));
+  }
+
+  @Test
+  void testRun_SubpathNotAllowed() {
+    String id = postRoute(getTargetUrl(target) + "/api/echo");
+
+    assertStatus(HttpStatus.BAD_REQUEST, GET("/routes/" + id + "/run/other"));
+    assertEquals(0, received.size());
+  }
+
+  @Test
+  void testRun_AfterRouteUpdate() throws IOException {
+    String id = postRoute(getTargetUrl(target) + "/**");
+    assertStatus(HttpStatus.ACCEPTED, GET("/routes/" + id + "/run/accepted"));
+
+    HttpServer other =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    other.createContext("/api/accepted", exchange -> respond(exchange, 200, false));
+    other.start();
+    try {
+      assertStatus(
+          HttpStatus.OK,
+          PUT(
+              "/routes/" + id,
+              "{'name':'route','code':'route','url':'" + getTargetUrl(other) + "/**'}"));
+
+      assertStatus(HttpStatus.OK, GET("/routes/" + id + "/run/accepted"));
+      assertEquals(1, received.size());
+    } finally {
+      other.stop(0);
+    }
+  }
+
+  private String postRoute(String url) {
+    return assertStatus(
+        HttpStatus.CREATED, POST("/routes", "{'name':'route','code':'route','url':'" + url + "'}"));
+  }
+
+  private static String getTargetUrl(HttpServer server) {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  private void respond(HttpExchange exchange, int status, boolean hasBody) throws IOException {
+    String body;
+    try (InputStream in = exchange.getRequestBody()) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    received.add(
+        new ReceivedRequest(
+            exchange.getRequestMethod(),
+            exchange.getRequestURI().getPath(),
+            exchange.getRequestURI().getQuery(),
+            exchange.getRequestHeaders().getFirst("Content-Type"),
+            body,
+            exchange.getRequestHeaders().getFirst("X-Forwarded-User"),
+            exchange.getRequestHeaders().getFirst("X-Blocked")));
+
+    exchange.getResponseHeaders().add("ETag", "\"v1\"");
+    exchange.getResponseHeaders().add("X-Target-Secret", "secret");
+    if (!hasBody) {
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+      return;
+    }
+    byte[] response =
+        ("{\"echo\":" + (body.isEmpty() ? "null" : body) + "}").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, response.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(response);
+    }
+  }
+}
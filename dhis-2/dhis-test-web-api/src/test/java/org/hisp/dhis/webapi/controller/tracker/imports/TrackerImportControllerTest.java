@@ -182,7 +182,7 @@ class TrackerImportControllerTest extends PostgresControllerIntegrationTestBase
         "Bad Request",
         400,
         "ERROR",
-        "Value 'INVALID' is not valid for parameter flushMode. Valid values are: [OBJECT, AUTO]",
+        "Value 'INVALID' is not valid for parameter flushMode. Valid values are: [OBJECT, AUTO, BATCH]",
         POST("/tracker?async=false&flushMode=INVALID", "{}").content(HttpStatus.BAD_REQUEST));
   }
 
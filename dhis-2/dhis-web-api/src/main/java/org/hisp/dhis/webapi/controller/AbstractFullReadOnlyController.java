@@ -66,6 +66,7 @@ import org.hisp.dhis.feedback.ConflictException;
 import org.hisp.dhis.feedback.ForbiddenException;
 import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.fieldfilter.FieldFilterService;
+import org.hisp.dhis.fieldfiltering.FieldFetchPlanner;
 import org.hisp.dhis.fieldfiltering.FieldFilterParams;
 import org.hisp.dhis.query.Criterion;
 import org.hisp.dhis.query.GetObjectListParams;
@@ -122,6 +123,8 @@ public abstract class AbstractFullReadOnlyController<
 
   @Autowired protected org.hisp.dhis.fieldfiltering.FieldFilterService fieldFilterService;
 
+  @Autowired protected FieldFetchPlanner fieldFetchPlanner;
+
   @Autowired protected LinkService linkService;
 
   @Autowired protected AclService aclService;
@@ -209,6 +212,7 @@ public abstract class AbstractFullReadOnlyController<
     postProcessResponseEntities(entities, params);
 
     List<String> fields = params.getFieldsJsonList();
+    fieldFetchPlanner.prefetch(getEntityClass(), entities, fields);
     handleLinksAndAccess(entities, fields, false);
 
     Pager pager = null;
@@ -175,6 +175,8 @@ public class AuditController {
       @OpenApi.Param({UID.class, CategoryOptionCombo.class}) @RequestParam(required = false)
           String cc,
       @RequestParam(required = false) List<AuditOperationType> auditType,
+      @RequestParam(required = false) Date startDate,
+      @RequestParam(required = false) Date endDate,
       @RequestParam(required = false) Boolean skipPaging,
       @RequestParam(required = false) Boolean paging,
       @RequestParam(required = false, defaultValue = "50") int pageSize,
@@ -203,7 +205,9 @@ public class AuditController {
             .setOrgUnits(organisationUnits)
             .setCategoryOptionCombo(categoryOptionCombo)
             .setAttributeOptionCombo(attributeOptionCombo)
-            .setAuditTypes(auditOperationTypes);
+            .setAuditTypes(auditOperationTypes)
+            .setStartDate(startDate)
+            .setEndDate(endDate);
 
     List<DataValueAudit> dataValueAudits;
     Pager pager = null;
@@ -224,6 +228,8 @@ public class AuditController {
                   .setCategoryOptionCombo(categoryOptionCombo)
                   .setAttributeOptionCombo(attributeOptionCombo)
                   .setAuditTypes(auditOperationTypes)
+                  .setStartDate(startDate)
+                  .setEndDate(endDate)
                   .setPager(pager));
     }
 
@@ -51,6 +51,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import javax.annotation.Nonnull;
 import lombok.AllArgsConstructor;
@@ -69,10 +70,13 @@ import org.hisp.dhis.common.EnrollmentAnalyticsQueryCriteria;
 import org.hisp.dhis.common.EventDataQueryRequest;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.program.Enrollment;
 import org.hisp.dhis.security.RequiresAuthority;
 import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.hisp.dhis.system.grid.CsvGridStreamWriter;
+import org.hisp.dhis.system.grid.JsonGridStreamWriter;
 import org.hisp.dhis.webapi.dimension.DimensionFilteringAndPagingService;
 import org.hisp.dhis.webapi.dimension.DimensionMapperService;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
@@ -141,11 +145,20 @@ public class EnrollmentQueryAnalyticsController {
       @PathVariable String program,
       EnrollmentAnalyticsQueryCriteria criteria,
       DhisApiVersion apiVersion,
-      HttpServletResponse response) {
+      HttpServletResponse response)
+      throws IOException {
     EventQueryParams params = getEventQueryParams(program, criteria, apiVersion, false);
 
     contextUtils.configureResponse(response, CONTENT_TYPE_JSON, RESPECT_SYSTEM_SETTING);
 
+    if (enrollmentQueryService.isStreamingEnrollments(params, true)) {
+      enrollmentQueryService.streamEnrollments(
+          params,
+          new JsonGridStreamWriter(
+              JacksonObjectMapperConfig.staticJsonMapper(), response.getOutputStream()));
+      return null;
+    }
+
     return enrollmentQueryService.getEnrollments(params);
   }
 
@@ -205,6 +218,13 @@ public class EnrollmentQueryAnalyticsController {
 
     contextUtils.configureResponse(
         response, CONTENT_TYPE_CSV, RESPECT_SYSTEM_SETTING, "enrollments.csv", true);
+
+    if (enrollmentQueryService.isStreamingEnrollments(params, false)) {
+      enrollmentQueryService.streamEnrollments(
+          params, new CsvGridStreamWriter(response.getWriter()));
+      return;
+    }
+
     Grid grid = enrollmentQueryService.getEnrollments(params);
     toCsv(grid, response.getWriter());
   }
@@ -27,12 +27,24 @@
  */
 package org.hisp.dhis.webapi.controller;
 
+import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.ok;
+
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.common.DhisApiVersion;
 import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.common.UID;
+import org.hisp.dhis.dxf2.webmessage.WebMessage;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookOutboxStore;
+import org.hisp.dhis.feedback.ForbiddenException;
+import org.hisp.dhis.feedback.NotFoundException;
 import org.hisp.dhis.query.GetObjectListParams;
+import org.hisp.dhis.user.CurrentUser;
+import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -44,4 +56,35 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/eventHooks")
 @ApiVersion({DhisApiVersion.DEFAULT, DhisApiVersion.ALL})
 @OpenApi.Document(classifiers = {"team:tracker", "purpose:metadata"})
-public class EventHookController extends AbstractCrudController<EventHook, GetObjectListParams> {}
+public class EventHookController extends AbstractCrudController<EventHook, GetObjectListParams> {
+  private final EventHookOutboxStore outboxStore;
+
+  /** Schedules the events which were given up after the max number of attempts for delivery. */
+  @PostMapping("/{uid}/deadLetters/redrive")
+  public WebMessage redriveDeadLetters(
+      @OpenApi.Param({UID.class, EventHook.class}) @PathVariable("uid") String uid,
+      @CurrentUser UserDetails currentUser)
+      throws NotFoundException, ForbiddenException {
+    checkCanUpdate(uid, currentUser);
+
+    return ok(outboxStore.redriveDeadLetters(uid) + " dead letter(s) scheduled for delivery");
+  }
+
+  /** Removes the events which were given up after the max number of attempts. */
+  @DeleteMapping("/{uid}/deadLetters")
+  public WebMessage deleteDeadLetters(
+      @OpenApi.Param({UID.class, EventHook.class}) @PathVariable("uid") String uid,
+      @CurrentUser UserDetails currentUser)
+      throws NotFoundException, ForbiddenException {
+    checkCanUpdate(uid, currentUser);
+
+    return ok(outboxStore.deleteDeadLetters(uid) + " dead letter(s) removed");
+  }
+
+  private void checkCanUpdate(String uid, UserDetails currentUser)
+      throws NotFoundException, ForbiddenException {
+    if (!aclService.canUpdate(currentUser, getEntity(uid))) {
+      throw new ForbiddenException("You don't have the proper permissions to update this object.");
+    }
+  }
+}
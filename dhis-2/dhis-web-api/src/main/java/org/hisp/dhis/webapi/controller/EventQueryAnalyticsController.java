@@ -51,6 +51,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import javax.annotation.Nonnull;
 import lombok.AllArgsConstructor;
@@ -70,10 +71,13 @@ import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.OpenApi;
 import org.hisp.dhis.common.PrefixedDimension;
 import org.hisp.dhis.common.RequestTypeAware.EndpointAction;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
 import org.hisp.dhis.feedback.ErrorMessage;
 import org.hisp.dhis.program.Event;
 import org.hisp.dhis.security.RequiresAuthority;
 import org.hisp.dhis.setting.SystemSettingsProvider;
+import org.hisp.dhis.system.grid.CsvGridStreamWriter;
+import org.hisp.dhis.system.grid.JsonGridStreamWriter;
 import org.hisp.dhis.util.PeriodCriteriaUtils;
 import org.hisp.dhis.webapi.dimension.DimensionFilteringAndPagingService;
 import org.hisp.dhis.webapi.dimension.DimensionMapperService;
@@ -182,11 +186,20 @@ public class EventQueryAnalyticsController {
       @PathVariable String program,
       EventsAnalyticsQueryCriteria criteria,
       DhisApiVersion apiVersion,
-      HttpServletResponse response) {
+      HttpServletResponse response)
+      throws IOException {
     EventQueryParams params = getEventQueryParams(program, criteria, apiVersion, false, QUERY);
 
     configResponseForJson(response);
 
+    if (eventQueryService.isStreamingEvents(params, true)) {
+      eventQueryService.streamEvents(
+          params,
+          new JsonGridStreamWriter(
+              JacksonObjectMapperConfig.staticJsonMapper(), response.getOutputStream()));
+      return null;
+    }
+
     return eventQueryService.getEvents(params);
   }
 
@@ -236,10 +249,17 @@ public class EventQueryAnalyticsController {
       DhisApiVersion apiVersion,
       HttpServletResponse response)
       throws Exception {
-    toCsv(
-        getListGridWithAttachment(
-            criteria, program, apiVersion, CONTENT_TYPE_CSV, "events.csv", true, response),
-        response.getWriter());
+    EventQueryParams params = getEventQueryParams(program, criteria, apiVersion, false, QUERY);
+
+    contextUtils.configureResponse(
+        response, CONTENT_TYPE_CSV, RESPECT_SYSTEM_SETTING, "events.csv", true);
+
+    if (eventQueryService.isStreamingEvents(params, false)) {
+      eventQueryService.streamEvents(params, new CsvGridStreamWriter(response.getWriter()));
+      return;
+    }
+
+    toCsv(eventQueryService.getEvents(params), response.getWriter());
   }
 
   @GetMapping(value = "/query/{program}.html")
@@ -30,6 +30,7 @@ package org.hisp.dhis.webapi.controller;
 import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.conflict;
 import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.importSummaries;
 import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.ok;
+import static org.hisp.dhis.maintenance.AuditTablePartitionService.AUDIT_TABLES;
 import static org.hisp.dhis.security.Authorities.ALL;
 import static org.hisp.dhis.security.Authorities.F_PERFORM_MAINTENANCE;
 
@@ -46,6 +47,8 @@ import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementService;
 import org.hisp.dhis.dxf2.util.CategoryUtils;
 import org.hisp.dhis.dxf2.webmessage.WebMessage;
+import org.hisp.dhis.maintenance.AuditTablePartitionService;
+import org.hisp.dhis.maintenance.AuditTablePartitionService.AuditTable;
 import org.hisp.dhis.maintenance.MaintenanceService;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
@@ -96,6 +99,8 @@ public class MaintenanceController {
 
   @Autowired private CategoryService categoryService;
 
+  @Autowired private AuditTablePartitionService auditTablePartitionService;
+
   @RequestMapping(
       value = "/analyticsTablesClear",
       method = {RequestMethod.PUT, RequestMethod.POST})
@@ -300,6 +305,29 @@ public class MaintenanceController {
         : conflict("Data could not be pruned");
   }
 
+  /**
+   * Converts the audit and change log tables into tables partitioned by month and creates their
+   * upcoming monthly partitions. Each table is locked exclusively while it is converted.
+   */
+  @RequestMapping(
+      value = "/auditTablePartitioning",
+      method = {RequestMethod.PUT, RequestMethod.POST})
+  @ResponseBody
+  public WebMessage partitionAuditTables() {
+    int monthsAhead = auditTablePartitionService.getPartitionsAhead();
+    int converted = 0;
+
+    for (AuditTable table : AUDIT_TABLES) {
+      if (auditTablePartitionService.convertToPartitioned(table)) {
+        converted++;
+      }
+
+      auditTablePartitionService.createPartitions(table, monthsAhead);
+    }
+
+    return ok("Converted " + converted + " audit tables into tables partitioned by month");
+  }
+
   @GetMapping("/appReload")
   @ResponseBody
   public WebMessage appReload() {
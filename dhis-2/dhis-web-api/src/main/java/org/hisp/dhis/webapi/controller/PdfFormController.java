@@ -52,6 +52,7 @@ import org.hisp.dhis.dxf2.pdfform.PdfFormFontSettings;
 import org.hisp.dhis.dxf2.webmessage.WebMessage;
 import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.JobType;
 import org.hisp.dhis.security.RequiresAuthority;
 import org.hisp.dhis.setting.UserSettings;
@@ -157,7 +158,7 @@ public class PdfFormController {
 
     ImportSummary summary =
         dataValueSetService.importDataValueSetPdf(
-            in, ImportOptions.getDefaultImportOptions(), jobId);
+            in, ImportOptions.getDefaultImportOptions(), jobId, JobProgress.noop());
 
     return importSummary(summary);
   }
@@ -47,7 +47,6 @@ import org.hisp.dhis.user.CurrentUser;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -75,12 +74,13 @@ public class RouteController extends AbstractCrudController<Route, GetObjectList
         RequestMethod.DELETE,
         RequestMethod.PATCH
       })
-  public ResponseEntity<String> run(
+  public void run(
       @PathVariable("id") String id,
       @CurrentUser UserDetails currentUser,
-      HttpServletRequest request)
+      HttpServletRequest request,
+      HttpServletResponse response)
       throws IOException, ForbiddenException, NotFoundException, BadRequestException {
-    return runWithSubpath(id, currentUser, request);
+    runWithSubpath(id, currentUser, request, response);
   }
 
   @RequestMapping(
@@ -92,10 +92,11 @@ public class RouteController extends AbstractCrudController<Route, GetObjectList
         RequestMethod.DELETE,
         RequestMethod.PATCH
       })
-  public ResponseEntity<String> runWithSubpath(
+  public void runWithSubpath(
       @PathVariable("id") String id,
       @CurrentUser UserDetails currentUser,
-      HttpServletRequest request)
+      HttpServletRequest request,
+      HttpServletResponse response)
       throws IOException, ForbiddenException, NotFoundException, BadRequestException {
 
     Route route = routeService.getRouteWithDecryptedAuth(id);
@@ -111,7 +112,7 @@ public class RouteController extends AbstractCrudController<Route, GetObjectList
 
     Optional<String> subPath = getSubPath(request.getPathInfo(), id);
 
-    return routeService.execute(route, currentUser, subPath, request);
+    routeService.execute(route, currentUser, subPath, request, response);
   }
 
   private Optional<String> getSubPath(String path, String id) {
@@ -50,6 +50,17 @@ public interface PageRequestParams {
   /** Indicates whether to include the total number of items and pages in the paginated response. */
   Boolean getTotalPages();
 
+  /**
+   * Returns the opaque token of the page to be returned. Paging by token continues after the last
+   * item of the previous page, which makes every page equally fast to fetch. An empty {@code
+   * pageToken} requests the first page, the next page is requested using the {@code nextPageToken}
+   * of the previous page. Totals are estimates when paging by token.
+   */
+  @OpenApi.Ignore
+  default String getPageToken() {
+    return null;
+  }
+
   /**
    * Indicates whether to return all items {@code skipPaging=true} or a page of items {@code
    * skipPaging=false}.
@@ -57,6 +57,7 @@ import org.hisp.dhis.common.UID;
 import org.hisp.dhis.common.collection.CollectionUtils;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.feedback.BadRequestException;
+import org.hisp.dhis.tracker.export.PageToken;
 import org.hisp.dhis.util.ObjectUtils;
 import org.hisp.dhis.webapi.controller.event.webrequest.OrderCriteria;
 
@@ -469,6 +470,19 @@ public class RequestParamsValidator {
           "Paging cannot be skipped with isSkipPaging=true while also requesting a paginated response with page, pageSize and/or totalPages=true");
     }
 
+    if (params.getPageToken() != null) {
+      if (!params.isPaged() || params.getPage() != null) {
+        throw new BadRequestException(
+            "pageToken cannot be combined with page or with paging disabled via paging=false or skipPaging=true");
+      }
+
+      try {
+        PageToken.decode(params.getPageToken());
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException(e.getMessage());
+      }
+    }
+
     validatePaginationBounds(params.getPage(), params.getPageSize());
   }
 
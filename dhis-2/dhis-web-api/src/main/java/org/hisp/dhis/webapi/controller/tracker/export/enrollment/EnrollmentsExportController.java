@@ -111,7 +111,10 @@ class EnrollmentsExportController {
     if (requestParams.isPaged()) {
       PageParams pageParams =
           new PageParams(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.getTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.getTotalPages(),
+              requestParams.getPageToken());
 
       org.hisp.dhis.tracker.export.Page<org.hisp.dhis.program.Enrollment> enrollmentsPage =
           enrollmentService.getEnrollments(operationParams, pageParams);
@@ -127,7 +130,10 @@ class EnrollmentsExportController {
 
       return ResponseEntity.ok()
           .contentType(MediaType.APPLICATION_JSON)
-          .body(Page.withPager(ENROLLMENTS, enrollmentsPage.withItems(objectNodes)));
+          .body(
+              pageParams.isCursor()
+                  ? Page.withPageToken(ENROLLMENTS, enrollmentsPage.withItems(objectNodes))
+                  : Page.withPager(ENROLLMENTS, enrollmentsPage.withItems(objectNodes)));
     }
 
     // only supports idScheme=UID
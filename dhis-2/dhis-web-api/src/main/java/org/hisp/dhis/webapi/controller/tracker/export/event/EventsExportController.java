@@ -163,7 +163,10 @@ class EventsExportController {
     if (requestParams.isPaged()) {
       PageParams pageParams =
           new PageParams(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.getTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.getTotalPages(),
+              requestParams.getPageToken());
 
       EventOperationParams eventOperationParams =
           eventParamsMapper.map(requestParams, idSchemeParams);
@@ -180,7 +183,10 @@ class EventsExportController {
 
       return ResponseEntity.ok()
           .contentType(MediaType.APPLICATION_JSON)
-          .body(Page.withPager(EVENTS, eventsPage.withItems(objectNodes)));
+          .body(
+              pageParams.isCursor()
+                  ? Page.withPageToken(EVENTS, eventsPage.withItems(objectNodes))
+                  : Page.withPager(EVENTS, eventsPage.withItems(objectNodes)));
     }
 
     List<org.hisp.dhis.webapi.controller.tracker.view.Event> events =
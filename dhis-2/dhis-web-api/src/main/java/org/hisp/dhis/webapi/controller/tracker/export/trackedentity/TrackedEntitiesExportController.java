@@ -172,7 +172,10 @@ class TrackedEntitiesExportController {
     if (requestParams.isPaged()) {
       PageParams pageParams =
           new PageParams(
-              requestParams.getPage(), requestParams.getPageSize(), requestParams.getTotalPages());
+              requestParams.getPage(),
+              requestParams.getPageSize(),
+              requestParams.getTotalPages(),
+              requestParams.getPageToken());
 
       org.hisp.dhis.tracker.export.Page<org.hisp.dhis.trackedentity.TrackedEntity>
           trackedEntitiesPage =
@@ -189,7 +192,10 @@ class TrackedEntitiesExportController {
 
       return ResponseEntity.ok()
           .contentType(MediaType.APPLICATION_JSON)
-          .body(Page.withPager(TRACKED_ENTITIES, trackedEntitiesPage.withItems(objectNodes)));
+          .body(
+              pageParams.isCursor()
+                  ? Page.withPageToken(TRACKED_ENTITIES, trackedEntitiesPage.withItems(objectNodes))
+                  : Page.withPager(TRACKED_ENTITIES, trackedEntitiesPage.withItems(objectNodes)));
     }
 
     // only supports idScheme=UID
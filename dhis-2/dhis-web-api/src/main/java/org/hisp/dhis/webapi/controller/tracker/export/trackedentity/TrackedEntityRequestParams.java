@@ -73,6 +73,12 @@ public class TrackedEntityRequestParams implements PageRequestParams {
   @OpenApi.Property(defaultValue = "false")
   private Boolean totalPages = false;
 
+  /**
+   * Opaque token of the page to be returned. Use an empty token to request the first page and the
+   * {@code nextPageToken} of the previous page to request the next one.
+   */
+  private String pageToken;
+
   /**
    * @deprecated use {@link #paging} instead
    */
@@ -29,6 +29,7 @@ package org.hisp.dhis.webapi.controller.tracker.view;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -96,7 +97,21 @@ public class Page<T> {
     this.pageSize = null;
     this.total = null;
     this.pageCount = null;
-    this.pager = new Pager(page, pageSize, null, null, prevPage, nextPage);
+    this.pager = new Pager(page, pageSize, null, null, prevPage, nextPage, null);
+  }
+
+  /**
+   * Create a page that is continued by a page token instead of a page number. This page will also
+   * not include any of the deprecated flat pagination fields.
+   */
+  private Page(String key, List<T> values, int pageSize, Long total, String nextPageToken) {
+    this.items.put(key, values);
+    this.page = null;
+    this.pageSize = null;
+    this.total = null;
+    this.pageCount = null;
+    Integer count = total == null ? null : (int) Math.ceil(total / (double) pageSize);
+    this.pager = new Pager(null, pageSize, total, count, null, null, nextPageToken);
   }
 
   /**
@@ -125,7 +140,7 @@ public class Page<T> {
     this.pageSize = pageSize;
     this.total = null;
     this.pageCount = null;
-    this.pager = new Pager(page, pageSize, null, null, null, null);
+    this.pager = new Pager(page, pageSize, null, null, null, null, null);
   }
 
   /**
@@ -141,7 +156,7 @@ public class Page<T> {
     this.pageSize = pageSize;
     this.total = total;
     this.pageCount = (int) Math.ceil(total / (double) pageSize);
-    this.pager = new Pager(page, pageSize, total, this.pageCount, null, null);
+    this.pager = new Pager(page, pageSize, total, this.pageCount, null, null, null);
   }
 
   /**
@@ -176,6 +191,17 @@ public class Page<T> {
         key, pager.getItems(), pager.getPage(), pager.getPageSize(), prevPage, nextPage);
   }
 
+  /**
+   * Returns a page which will serialize the items into {@link #items} under given {@code key}. The
+   * next page can be fetched using {@link Pager#nextPageToken} which is only set if there is a next
+   * page. Totals are only included if {@link org.hisp.dhis.tracker.export.Page#getTotal()} is not
+   * null.
+   */
+  public static <T> Page<T> withPageToken(String key, org.hisp.dhis.tracker.export.Page<T> pager) {
+    return new Page<>(
+        key, pager.getItems(), pager.getPageSize(), pager.getTotal(), pager.getNextPageToken());
+  }
+
   /**
    * Returns a page which will only serialize the items into {@link #items} under given {@code key}.
    * All other fields will be omitted from the JSON.
@@ -196,6 +222,11 @@ public class Page<T> {
     @JsonProperty private Integer pageCount;
     @JsonProperty private String prevPage;
     @JsonProperty private String nextPage;
+
+    /** Opaque token of the next page. Only set on pages requested by {@code pageToken}. */
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
   }
 
   private static String getPageLink(String url, Integer page) {
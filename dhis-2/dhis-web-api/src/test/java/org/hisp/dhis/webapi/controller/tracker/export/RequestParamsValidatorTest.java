@@ -438,6 +438,7 @@ class RequestParamsValidatorTest {
     private Boolean totalPages;
     private Boolean skipPaging;
     private Boolean paging;
+    private String pageToken;
   }
 
   private static Stream<Arguments> mutuallyExclusivePaginationParameters() {
@@ -563,4 +564,38 @@ class RequestParamsValidatorTest {
 
     validatePaginationParameters(paginationParameters);
   }
+
+  @Test
+  void shouldPassWhenGivenEmptyPageToken() throws BadRequestException {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setPageToken("");
+    paginationParameters.setPageSize(10);
+
+    validatePaginationParameters(paginationParameters);
+  }
+
+  @Test
+  void shouldFailWhenGivenPageTokenAndPage() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setPageToken("");
+    paginationParameters.setPage(2);
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("pageToken cannot be combined", exception.getMessage());
+  }
+
+  @Test
+  void shouldFailWhenGivenInvalidPageToken() {
+    PaginationParameters paginationParameters = new PaginationParameters();
+    paginationParameters.setPageToken("not-a-token");
+
+    Exception exception =
+        assertThrows(
+            BadRequestException.class, () -> validatePaginationParameters(paginationParameters));
+
+    assertStartsWith("Invalid page token", exception.getMessage());
+  }
 }
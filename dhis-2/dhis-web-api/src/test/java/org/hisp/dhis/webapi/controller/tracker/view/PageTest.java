@@ -35,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.List;
+import org.hisp.dhis.tracker.export.PageToken;
 import org.junit.jupiter.api.Test;
 
 class PageTest {
@@ -207,4 +208,29 @@ class PageTest {
         () -> assertContains("pageSize=" + pageSize, actual),
         () -> assertContains(additionalParam, actual));
   }
+
+  @Test
+  void shouldSetPagerWithPageToken() {
+    List<String> fruits = List.of("apple", "banana", "cherry");
+    org.hisp.dhis.tracker.export.Page<String> exportPage =
+        org.hisp.dhis.tracker.export.Page.withNextPageToken(
+            fruits, 2, 17L, fruit -> PageToken.of(List.of(fruit)));
+
+    Page<String> page = Page.withPageToken("fruits", exportPage);
+
+    assertEquals(List.of("apple", "banana"), page.getItems().get("fruits"));
+    // deprecated fields
+    assertNull(page.getPage());
+    assertNull(page.getPageSize());
+    assertNull(page.getTotal());
+    assertNull(page.getPageCount());
+
+    assertNull(page.getPager().getPage());
+    assertEquals(2, page.getPager().getPageSize());
+    assertEquals(17, page.getPager().getTotal());
+    assertEquals(9, page.getPager().getPageCount());
+    assertNull(page.getPager().getNextPage());
+    assertEquals(
+        PageToken.of(List.of("banana")), PageToken.decode(page.getPager().getNextPageToken()));
+  }
 }